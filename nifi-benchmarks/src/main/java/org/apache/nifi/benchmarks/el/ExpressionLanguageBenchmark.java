@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.el;
+
+import org.apache.nifi.attribute.expression.language.PreparedQuery;
+import org.apache.nifi.attribute.expression.language.Query;
+import org.apache.nifi.attribute.expression.language.StandardEvaluationContext;
+import org.apache.nifi.attribute.expression.language.compile.EvaluationMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluation of typical Expression Language expressions against FlowFile attributes, in each {@link EvaluationMode}.
+ * The <code>prepareAndEvaluate</code> benchmark includes parsing, which is what happens when a property value is not cached.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpressionLanguageBenchmark {
+    private static final Map<String, String> EXPRESSIONS = Map.of(
+        "routing", "${fileSize:gt(1024):and(${filename:endsWith('.csv')})}",
+        "string", "${filename:substringBefore('.'):toUpper():append('-'):append(${uuid})}",
+        "arithmetic", "${fileSize:plus(512):divide(1024):multiply(${ratio})}"
+    );
+
+    private static final Map<String, String> ATTRIBUTES = Map.of(
+        "filename", "records-2024-01-01.csv",
+        "fileSize", "4096",
+        "ratio", "0.75",
+        "uuid", "0b3b2d1e-8c5c-4d7c-9a43-0a6f5c1e2f00",
+        "path", "./"
+    );
+
+    @Param({"routing", "string", "arithmetic"})
+    public String expressionType;
+
+    @Param({"INTERPRETED", "COMPILED"})
+    public EvaluationMode evaluationMode;
+
+    private String expression;
+    private PreparedQuery preparedQuery;
+    private StandardEvaluationContext evaluationContext;
+
+    @Setup
+    public void setup() {
+        expression = EXPRESSIONS.get(expressionType);
+        preparedQuery = Query.prepare(expression, evaluationMode);
+        evaluationContext = new StandardEvaluationContext(ATTRIBUTES);
+    }
+
+    @Benchmark
+    public String evaluate() {
+        return preparedQuery.evaluateExpressions(evaluationContext, null);
+    }
+
+    @Benchmark
+    public String prepareAndEvaluate() {
+        return Query.prepare(expression, evaluationMode).evaluateExpressions(evaluationContext, null);
+    }
+}
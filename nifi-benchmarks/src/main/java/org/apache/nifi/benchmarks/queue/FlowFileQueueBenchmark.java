@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.queue;
+
+import org.apache.nifi.controller.queue.PollStrategy;
+import org.apache.nifi.controller.queue.StandardFlowFileQueue;
+import org.apache.nifi.controller.repository.FlowFileRecord;
+import org.apache.nifi.controller.repository.StandardFlowFileRecord;
+import org.apache.nifi.flowfile.FlowFilePrioritizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures put/poll/acknowledge throughput of a {@link StandardFlowFileQueue}, with and without a prioritizer configured.
+ * Run with increasing thread counts in order to see how throughput scales, for example:
+ * <pre>
+ * java -jar target/benchmarks.jar FlowFileQueueBenchmark -t 1
+ * java -jar target/benchmarks.jar FlowFileQueueBenchmark -t 32
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlowFileQueueBenchmark {
+    private static final int BATCH_SIZE = 100;
+    private static final FlowFilePrioritizer OLDEST_FIRST = (flowFile1, flowFile2) -> Long.compare(flowFile1.getEntryDate(), flowFile2.getEntryDate());
+
+    @Param({"false", "true"})
+    public boolean prioritized;
+
+    @Param({"1000"})
+    public int queuedFlowFiles;
+
+    private final AtomicLong idGenerator = new AtomicLong();
+    private StandardFlowFileQueue queue;
+
+    @Setup
+    public void setup() {
+        queue = new StandardFlowFileQueue("benchmark", null, null, null, null, null, 20_000, "0 sec", 1_000_000L, "1 TB");
+        if (prioritized) {
+            queue.setPriorities(List.of(OLDEST_FIRST));
+        }
+
+        for (int i = 0; i < queuedFlowFiles; i++) {
+            queue.put(createFlowFile());
+        }
+    }
+
+    private FlowFileRecord createFlowFile() {
+        return new StandardFlowFileRecord.Builder()
+            .id(idGenerator.getAndIncrement())
+            .entryDate(System.currentTimeMillis())
+            .size(1024L)
+            .addAttribute("filename", "benchmark")
+            .build();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private final Set<FlowFileRecord> expiredRecords = new HashSet<>();
+        private final List<FlowFileRecord> batch = new ArrayList<>(BATCH_SIZE);
+        private FlowFileRecord flowFile;
+
+        @Setup
+        public void setup(final FlowFileQueueBenchmark benchmark) {
+            flowFile = benchmark.createFlowFile();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(benchmark.createFlowFile());
+            }
+        }
+    }
+
+    @Benchmark
+    public FlowFileRecord putPollAcknowledge(final ThreadState state) {
+        queue.put(state.flowFile);
+
+        final FlowFileRecord polled = queue.poll(state.expiredRecords, PollStrategy.UNPENALIZED_FLOWFILES);
+        if (polled != null) {
+            queue.acknowledge(polled);
+        }
+
+        return polled;
+    }
+
+    @Benchmark
+    public List<FlowFileRecord> putAllPollBatchAcknowledge(final ThreadState state) {
+        queue.putAll(state.batch);
+
+        final List<FlowFileRecord> polled = queue.poll(BATCH_SIZE, state.expiredRecords, PollStrategy.UNPENALIZED_FLOWFILES);
+        queue.acknowledge(polled);
+        return polled;
+    }
+}
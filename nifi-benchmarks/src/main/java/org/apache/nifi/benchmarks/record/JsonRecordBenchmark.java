@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.record;
+
+import org.apache.nifi.NullSuppression;
+import org.apache.nifi.json.JsonParserFactory;
+import org.apache.nifi.json.JsonReadStrategy;
+import org.apache.nifi.json.JsonTreeRowRecordReader;
+import org.apache.nifi.json.OutputGrouping;
+import org.apache.nifi.json.SchemaApplicationStrategy;
+import org.apache.nifi.json.StartingFieldStrategy;
+import org.apache.nifi.json.WriteJsonResult;
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.schema.access.NopSchemaAccessWriter;
+import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.WriteResult;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures reading a JSON array with {@link JsonTreeRowRecordReader} and writing the same Records with {@link WriteJsonResult},
+ * as done by JsonTreeReader and JsonRecordSetWriter. Scores are in record sets per second; multiply by <code>recordCount</code>
+ * for Records per second. The <code>readStrategy</code> parameter corresponds to the Read Strategy property of JsonTreeReader.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonRecordBenchmark {
+    private static final String DATE_FORMAT = RecordFieldType.DATE.getDefaultFormat();
+    private static final String TIME_FORMAT = RecordFieldType.TIME.getDefaultFormat();
+    private static final String TIMESTAMP_FORMAT = RecordFieldType.TIMESTAMP.getDefaultFormat();
+
+    @Param({"1000"})
+    public int recordCount;
+
+    @Param({"TREE", "STREAMING"})
+    public JsonReadStrategy readStrategy;
+
+    private final ComponentLog logger = mock(ComponentLog.class, withSettings().stubOnly());
+    private final JsonParserFactory parserFactory = new JsonParserFactory();
+    private RecordSchema schema;
+    private List<Record> records;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws IOException {
+        final RecordSchema addressSchema = new SimpleRecordSchema(List.of(
+            new RecordField("street", RecordFieldType.STRING.getDataType()),
+            new RecordField("city", RecordFieldType.STRING.getDataType()),
+            new RecordField("zip", RecordFieldType.STRING.getDataType())
+        ));
+        schema = new SimpleRecordSchema(List.of(
+            new RecordField("id", RecordFieldType.LONG.getDataType()),
+            new RecordField("name", RecordFieldType.STRING.getDataType()),
+            new RecordField("balance", RecordFieldType.DOUBLE.getDataType()),
+            new RecordField("active", RecordFieldType.BOOLEAN.getDataType()),
+            new RecordField("tags", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType())),
+            new RecordField("address", RecordFieldType.RECORD.getRecordDataType(addressSchema))
+        ));
+
+        records = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            final Map<String, Object> address = new LinkedHashMap<>();
+            address.put("street", i + " Main Street");
+            address.put("city", "City " + (i % 100));
+            address.put("zip", String.format("%05d", i % 100_000));
+
+            final Map<String, Object> values = new LinkedHashMap<>();
+            values.put("id", (long) i);
+            values.put("name", "Name " + i);
+            values.put("balance", i * 1.25D);
+            values.put("active", i % 2 == 0);
+            values.put("tags", new Object[] {"tag-" + (i % 10), "tag-" + (i % 7)});
+            values.put("address", new MapRecord(addressSchema, address));
+            records.add(new MapRecord(schema, values));
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeRecords(out);
+        json = out.toByteArray();
+    }
+
+    @Benchmark
+    public void read(final Blackhole blackhole) throws IOException, MalformedRecordException {
+        try (final JsonTreeRowRecordReader reader = new JsonTreeRowRecordReader(new ByteArrayInputStream(json), logger, schema, DATE_FORMAT, TIME_FORMAT,
+                TIMESTAMP_FORMAT, StartingFieldStrategy.ROOT_NODE, null, SchemaApplicationStrategy.SELECTED_PART, null, parserFactory, readStrategy)) {
+            Record record;
+            while ((record = reader.nextRecord()) != null) {
+                blackhole.consume(record);
+            }
+        }
+    }
+
+    @Benchmark
+    public WriteResult write() throws IOException {
+        return writeRecords(OutputStream.nullOutputStream());
+    }
+
+    private WriteResult writeRecords(final OutputStream out) throws IOException {
+        try (final WriteJsonResult writer = new WriteJsonResult(logger, schema, new NopSchemaAccessWriter(), out, false, NullSuppression.NEVER_SUPPRESS,
+                OutputGrouping.OUTPUT_ARRAY, DATE_FORMAT, TIME_FORMAT, TIMESTAMP_FORMAT)) {
+            writer.beginRecordSet();
+            for (final Record record : records) {
+                writer.write(record);
+            }
+            return writer.finishRecordSet();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.record;
+
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluation of compiled RecordPaths against a nested Record, as done per Record by processors such as UpdateRecord
+ * and PartitionRecord. The <code>compileAndEvaluate</code> benchmark includes compilation of the path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecordPathBenchmark {
+    private static final Map<String, String> PATHS = Map.of(
+        "child", "/name",
+        "descendant", "/address/city",
+        "predicate", "/accounts[*][./balance > 1000]/id",
+        "function", "substringBefore(/name, ' ')"
+    );
+
+    @Param({"child", "descendant", "predicate", "function"})
+    public String pathType;
+
+    private String path;
+    private RecordPath recordPath;
+    private Record record;
+
+    @Setup
+    public void setup() {
+        path = PATHS.get(pathType);
+        recordPath = RecordPath.compile(path);
+        record = createRecord();
+    }
+
+    @Benchmark
+    public void evaluate(final Blackhole blackhole) {
+        recordPath.evaluate(record).getSelectedFields().map(FieldValue::getValue).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void compileAndEvaluate(final Blackhole blackhole) {
+        RecordPath.compile(path).evaluate(record).getSelectedFields().map(FieldValue::getValue).forEach(blackhole::consume);
+    }
+
+    private static Record createRecord() {
+        final RecordSchema addressSchema = new SimpleRecordSchema(List.of(
+            new RecordField("street", RecordFieldType.STRING.getDataType()),
+            new RecordField("city", RecordFieldType.STRING.getDataType())
+        ));
+        final RecordSchema accountSchema = new SimpleRecordSchema(List.of(
+            new RecordField("id", RecordFieldType.INT.getDataType()),
+            new RecordField("balance", RecordFieldType.DOUBLE.getDataType())
+        ));
+        final RecordSchema schema = new SimpleRecordSchema(List.of(
+            new RecordField("id", RecordFieldType.INT.getDataType()),
+            new RecordField("name", RecordFieldType.STRING.getDataType()),
+            new RecordField("address", RecordFieldType.RECORD.getRecordDataType(addressSchema)),
+            new RecordField("accounts", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.RECORD.getRecordDataType(accountSchema)))
+        ));
+
+        final Record address = new MapRecord(addressSchema, new LinkedHashMap<>(Map.of("street", "123 My Street", "city", "My City")));
+        final Record[] accounts = new Record[8];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = new MapRecord(accountSchema, new LinkedHashMap<>(Map.of("id", i, "balance", i * 500.0D)));
+        }
+
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", 48);
+        values.put("name", "John Doe");
+        values.put("address", address);
+        values.put("accounts", accounts);
+        return new MapRecord(schema, values);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.repository;
+
+import org.apache.nifi.controller.repository.FileSystemRepository;
+import org.apache.nifi.controller.repository.StandardContentRepositoryContext;
+import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
+import org.apache.nifi.events.EventReporter;
+import org.apache.nifi.util.NiFiProperties;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A {@link FileSystemRepository} in a temporary directory, with archiving disabled so that content that is no longer
+ * referenced is deleted by the repository's background threads while a benchmark runs
+ */
+class ContentRepositoryFixture implements AutoCloseable {
+    private final Path directory;
+    private final FileSystemRepository repository;
+
+    ContentRepositoryFixture(final ResourceClaimManager claimManager, final Map<String, String> additionalProperties) throws IOException {
+        directory = Files.createTempDirectory("content-repository-benchmark");
+
+        final Map<String, String> properties = new HashMap<>(additionalProperties);
+        properties.put(NiFiProperties.REPOSITORY_CONTENT_PREFIX + "default", directory.toString());
+        properties.put(NiFiProperties.CONTENT_ARCHIVE_ENABLED, "false");
+
+        repository = new FileSystemRepository(NiFiProperties.createBasicNiFiProperties("", properties));
+        repository.initialize(new StandardContentRepositoryContext(claimManager, EventReporter.NO_OP));
+    }
+
+    FileSystemRepository getRepository() {
+        return repository;
+    }
+
+    @Override
+    public void close() throws IOException {
+        repository.shutdown();
+
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
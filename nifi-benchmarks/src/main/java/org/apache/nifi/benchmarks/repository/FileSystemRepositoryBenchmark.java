@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.repository;
+
+import org.apache.nifi.controller.repository.FileSystemRepository;
+import org.apache.nifi.controller.repository.claim.ContentClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
+import org.apache.nifi.controller.repository.claim.StandardResourceClaimManager;
+import org.apache.nifi.stream.io.StreamUtils;
+import org.apache.nifi.util.NiFiProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing and reading Content Claims in a {@link FileSystemRepository}. Claims smaller than the maximum appendable
+ * claim size share a Resource Claim, so the <code>contentSize</code> parameter determines whether writes are appended to an
+ * existing file or each create a new one. The <code>memoryMappedReads</code> parameter corresponds to
+ * <code>nifi.content.repository.memory.mapped.reads</code>; the claim that is read belongs to a Resource Claim that is no longer
+ * writable, so that it is eligible to be mapped. Run with multiple threads to measure contention, for example:
+ * <pre>
+ * java -jar target/benchmarks.jar FileSystemRepositoryBenchmark -t 8
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileSystemRepositoryBenchmark {
+
+    @Param({"100", "4096", "1048576"})
+    public int contentSize;
+
+    @Param({"false", "true"})
+    public boolean memoryMappedReads;
+
+    private final ResourceClaimManager claimManager = new StandardResourceClaimManager();
+    private ContentRepositoryFixture fixture;
+    private FileSystemRepository repository;
+    private byte[] content;
+    private ContentClaim readClaim;
+    private byte[] readBuffer;
+
+    @Setup
+    public void setup() throws IOException {
+        fixture = new ContentRepositoryFixture(claimManager, Map.of(NiFiProperties.MAX_APPENDABLE_CLAIM_SIZE, NiFiProperties.DEFAULT_MAX_APPENDABLE_CLAIM_SIZE,
+            NiFiProperties.CONTENT_REPOSITORY_MEMORY_MAPPED_READS, String.valueOf(memoryMappedReads)));
+        repository = fixture.getRepository();
+
+        content = new byte[contentSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        readBuffer = new byte[contentSize];
+
+        readClaim = repository.create(false);
+        try (final OutputStream out = repository.write(readClaim)) {
+            out.write(content);
+        }
+        claimManager.freeze(readClaim.getResourceClaim());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public ContentClaim write() throws IOException {
+        final ContentClaim claim = repository.create(false);
+        try (final OutputStream out = repository.write(claim)) {
+            out.write(content);
+        }
+
+        // Release the claim as the FlowFile Repository would when the FlowFile is removed, so that the content is destroyed
+        if (repository.decrementClaimantCount(claim) == 0) {
+            claimManager.markDestructable(claim.getResourceClaim());
+        }
+        return claim;
+    }
+
+    @Benchmark
+    public int read() throws IOException {
+        try (final InputStream in = repository.read(readClaim)) {
+            return StreamUtils.fillBuffer(in, readBuffer, false);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.repository;
+
+import org.apache.nifi.connectable.Connectable;
+import org.apache.nifi.connectable.ConnectableType;
+import org.apache.nifi.connectable.Connection;
+import org.apache.nifi.controller.queue.StandardFlowFileQueue;
+import org.apache.nifi.controller.repository.RepositoryContext;
+import org.apache.nifi.controller.repository.StandardCounterRepository;
+import org.apache.nifi.controller.repository.StandardProcessSession;
+import org.apache.nifi.controller.repository.StandardRepositoryContext;
+import org.apache.nifi.controller.repository.VolatileFlowFileRepository;
+import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
+import org.apache.nifi.controller.repository.claim.StandardResourceClaimManager;
+import org.apache.nifi.controller.repository.metrics.NopPerformanceTracker;
+import org.apache.nifi.controller.repository.metrics.RingBufferEventRepository;
+import org.apache.nifi.flowfile.FlowFile;
+import org.apache.nifi.groups.ProcessGroup;
+import org.apache.nifi.processor.FlowFileFilter;
+import org.apache.nifi.processor.Relationship;
+import org.apache.nifi.provenance.ProvenanceEventRepository;
+import org.apache.nifi.provenance.StandardProvenanceEventRecord;
+import org.apache.nifi.util.NiFiProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures a complete {@link StandardProcessSession} for a processor that pulls a batch of FlowFiles, rewrites their content,
+ * updates an attribute and transfers them to a self-looping Connection. The session uses a {@link org.apache.nifi.controller.repository.FileSystemRepository}
+ * and a {@link VolatileFlowFileRepository}, so the score includes content writes, claim accounting, event and provenance
+ * bookkeeping and enqueueing, but not the FlowFile Repository journal, which is covered by
+ * {@link org.apache.nifi.benchmarks.wali.LengthDelimitedJournalBenchmark}. Scores are in sessions per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessSessionBenchmark {
+    private static final long MAX_APPENDABLE_CLAIM_BYTES = 50 * 1024L;
+    private static final Relationship REL_SUCCESS = new Relationship.Builder().name("success").build();
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    @Param({"1024"})
+    public int contentSize;
+
+    private final ResourceClaimManager claimManager = new StandardResourceClaimManager();
+    private final AtomicLong sessionCount = new AtomicLong();
+    private ContentRepositoryFixture contentRepositoryFixture;
+    private RepositoryContext repositoryContext;
+    private byte[] content;
+
+    @Setup
+    public void setup() throws IOException {
+        contentRepositoryFixture = new ContentRepositoryFixture(claimManager, Map.of(NiFiProperties.MAX_APPENDABLE_CLAIM_SIZE, NiFiProperties.DEFAULT_MAX_APPENDABLE_CLAIM_SIZE));
+
+        final VolatileFlowFileRepository flowFileRepository = new VolatileFlowFileRepository();
+        flowFileRepository.initialize(claimManager);
+
+        final ProvenanceEventRepository provenanceRepository = mock(ProvenanceEventRepository.class, withSettings().stubOnly());
+        when(provenanceRepository.eventBuilder()).thenAnswer(invocation -> new StandardProvenanceEventRecord.Builder());
+
+        final Connectable connectable = mock(Connectable.class, withSettings().stubOnly());
+        final Connection connection = mock(Connection.class, withSettings().stubOnly());
+        final StandardFlowFileQueue queue = new StandardFlowFileQueue("benchmark-queue", flowFileRepository, null, null, null, null,
+            20_000, "0 sec", 0L, "0 B");
+
+        when(connection.getIdentifier()).thenReturn("benchmark-connection");
+        when(connection.getFlowFileQueue()).thenReturn(queue);
+        when(connection.getSource()).thenReturn(connectable);
+        when(connection.getDestination()).thenReturn(connectable);
+        when(connection.poll(any(FlowFileFilter.class), any())).thenAnswer(invocation -> queue.poll((FlowFileFilter) invocation.getArgument(0), invocation.getArgument(1)));
+
+        final ProcessGroup processGroup = mock(ProcessGroup.class, withSettings().stubOnly());
+        when(processGroup.getIdentifier()).thenReturn("benchmark-group");
+
+        when(connectable.getIdentifier()).thenReturn("benchmark-component");
+        when(connectable.getConnectableType()).thenReturn(ConnectableType.FUNNEL);
+        when(connectable.getComponentType()).thenReturn("Benchmark");
+        when(connectable.getProcessGroup()).thenReturn(processGroup);
+        when(connectable.getMaxBackoffPeriod()).thenReturn("10 mins");
+        when(connectable.hasIncomingConnection()).thenReturn(true);
+        when(connectable.getIncomingConnections()).thenReturn(List.of(connection));
+        when(connectable.getConnections()).thenReturn(Set.of(connection));
+        when(connectable.getConnections(any(Relationship.class))).thenReturn(Set.of(connection));
+
+        repositoryContext = new StandardRepositoryContext(connectable, new AtomicLong(), contentRepositoryFixture.getRepository(), flowFileRepository,
+            new RingBufferEventRepository(5), new StandardCounterRepository(), provenanceRepository, null, MAX_APPENDABLE_CLAIM_BYTES);
+
+        content = new byte[contentSize];
+
+        final StandardProcessSession session = createSession();
+        for (int i = 0; i < batchSize; i++) {
+            FlowFile flowFile = session.create();
+            flowFile = session.write(flowFile, out -> out.write(content));
+            session.transfer(flowFile, REL_SUCCESS);
+        }
+        session.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        contentRepositoryFixture.close();
+    }
+
+    private StandardProcessSession createSession() {
+        return new StandardProcessSession(repositoryContext, () -> false, new NopPerformanceTracker());
+    }
+
+    @Benchmark
+    public int updateAndCommit() {
+        final String sessionId = String.valueOf(sessionCount.incrementAndGet());
+
+        final StandardProcessSession session = createSession();
+        final List<FlowFile> flowFiles = session.get(batchSize);
+        for (FlowFile flowFile : flowFiles) {
+            flowFile = session.write(flowFile, out -> out.write(content));
+            flowFile = session.putAttribute(flowFile, "benchmark.session", sessionId);
+            session.transfer(flowFile, REL_SUCCESS);
+        }
+        session.commit();
+
+        return flowFiles.size();
+    }
+}
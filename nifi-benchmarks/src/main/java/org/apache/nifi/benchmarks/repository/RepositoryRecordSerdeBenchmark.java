@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.repository;
+
+import org.apache.nifi.controller.repository.CaffeineFieldCache;
+import org.apache.nifi.controller.repository.ReconstitutedSerializedRepositoryRecord;
+import org.apache.nifi.controller.repository.RepositoryRecordType;
+import org.apache.nifi.controller.repository.SchemaRepositoryRecordSerde;
+import org.apache.nifi.controller.repository.SerializedRepositoryRecord;
+import org.apache.nifi.controller.repository.StandardFlowFileRecord;
+import org.apache.nifi.controller.repository.claim.ContentClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
+import org.apache.nifi.controller.repository.claim.StandardContentClaim;
+import org.apache.nifi.controller.repository.claim.StandardResourceClaimManager;
+import org.apache.nifi.repository.schema.FieldCache;
+import org.apache.nifi.wali.ByteArrayDataOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization and deserialization of FlowFile Repository records with {@link SchemaRepositoryRecordSerde}, which is
+ * performed for every FlowFile in every committed session and again for every FlowFile on recovery. Scores are in batches of
+ * <code>batchSize</code> records per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryRecordSerdeBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"5", "25"})
+    public int attributeCount;
+
+    private final ResourceClaimManager claimManager = new StandardResourceClaimManager();
+    private final FieldCache fieldCache = new CaffeineFieldCache(1_000_000L);
+    private final List<SerializedRepositoryRecord> records = new ArrayList<>(BATCH_SIZE);
+    private final ByteArrayDataOutputStream serializationBuffer = new ByteArrayDataOutputStream(1024 * 1024);
+    private SchemaRepositoryRecordSerde serde;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        serde = new SchemaRepositoryRecordSerde(claimManager, fieldCache);
+
+        final ResourceClaim resourceClaim = claimManager.newResourceClaim("default", "1", "1700000000000-1", false, false);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final ContentClaim contentClaim = new StandardContentClaim(resourceClaim, i * 1024L);
+            final StandardFlowFileRecord.Builder builder = new StandardFlowFileRecord.Builder()
+                .id(i)
+                .entryDate(System.currentTimeMillis())
+                .lineageStart(System.currentTimeMillis(), i)
+                .contentClaim(contentClaim)
+                .size(1024L)
+                .addAttribute("uuid", "00000000-0000-0000-0000-" + String.format("%012d", i))
+                .addAttribute("filename", "file-" + i + ".txt")
+                .addAttribute("path", "./");
+            for (int j = 3; j < attributeCount; j++) {
+                builder.addAttribute("attribute." + j, "value-" + (i % 10) + "-" + j);
+            }
+
+            records.add(new ReconstitutedSerializedRepositoryRecord.Builder()
+                .type(RepositoryRecordType.UPDATE)
+                .queueIdentifier("queue-" + (i % 4))
+                .flowFileRecord(builder.build())
+                .build());
+        }
+
+        final ByteArrayDataOutputStream out = new ByteArrayDataOutputStream(1024 * 1024);
+        final DataOutputStream dataOut = out.getDataOutputStream();
+        serde.writeHeader(dataOut);
+        for (final SerializedRepositoryRecord record : records) {
+            serde.serializeRecord(record, dataOut);
+        }
+        dataOut.flush();
+        serialized = out.getByteArrayOutputStream().toByteArray();
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        serializationBuffer.getByteArrayOutputStream().reset();
+        final DataOutputStream out = serializationBuffer.getDataOutputStream();
+        for (final SerializedRepositoryRecord record : records) {
+            serde.serializeEdit(null, record, out);
+        }
+        return serializationBuffer.getByteArrayOutputStream().size();
+    }
+
+    @Benchmark
+    public void deserialize(final Blackhole blackhole) throws IOException {
+        final SchemaRepositoryRecordSerde deserializer = new SchemaRepositoryRecordSerde(claimManager, fieldCache);
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialized))) {
+            deserializer.readHeader(in);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                blackhole.consume(deserializer.deserializeRecord(in, deserializer.getVersion()));
+            }
+        }
+    }
+}
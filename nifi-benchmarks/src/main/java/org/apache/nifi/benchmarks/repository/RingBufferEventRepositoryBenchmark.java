@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.repository;
+
+import org.apache.nifi.controller.repository.FlowFileEvent;
+import org.apache.nifi.controller.repository.metrics.RingBufferEventRepository;
+import org.apache.nifi.controller.repository.metrics.StandardFlowFileEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the updates that every session commit makes to the {@link RingBufferEventRepository}. With a single component, all threads
+ * update the same component, as happens for a Processor with many concurrent tasks. Run with increasing thread counts in order to see
+ * how throughput scales, and with the GC profiler in order to verify that updates do not allocate, for example:
+ * <pre>
+ * java -jar target/benchmarks.jar RingBufferEventRepositoryBenchmark -t 1
+ * java -jar target/benchmarks.jar RingBufferEventRepositoryBenchmark -t 64 -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RingBufferEventRepositoryBenchmark {
+
+    @Param({"1", "100"})
+    public int components;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private RingBufferEventRepository repository;
+
+    @Setup
+    public void setup() {
+        repository = new RingBufferEventRepository(5);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadEvent {
+        private final FlowFileEvent event = createEvent();
+        private String componentId;
+
+        @Setup
+        public void setup(final RingBufferEventRepositoryBenchmark benchmark) {
+            // Threads are spread evenly across the components
+            componentId = "component-" + (benchmark.threadCounter.getAndIncrement() % benchmark.components);
+        }
+
+        private static FlowFileEvent createEvent() {
+            final StandardFlowFileEvent event = new StandardFlowFileEvent();
+            event.setFlowFilesIn(1);
+            event.setFlowFilesOut(1);
+            event.setContentSizeIn(1024L);
+            event.setContentSizeOut(1024L);
+            event.setBytesRead(1024L);
+            event.setBytesWritten(1024L);
+            event.setProcessingNanos(10_000L);
+            event.setSessionCommitNanos(1_000L);
+            event.setInvocations(1);
+            return event;
+        }
+    }
+
+    @Benchmark
+    public void updateRepository(final ThreadEvent threadEvent) {
+        repository.updateRepository(threadEvent.event, threadEvent.componentId);
+    }
+
+    @Benchmark
+    public FlowFileEvent reportAggregateEvent() {
+        return repository.reportAggregateEvent();
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.scheduling;
+
+import org.apache.nifi.components.state.StateManagerProvider;
+import org.apache.nifi.connectable.Connectable;
+import org.apache.nifi.connectable.Connection;
+import org.apache.nifi.controller.FlowController;
+import org.apache.nifi.controller.GarbageCollectionLog;
+import org.apache.nifi.controller.ScheduledState;
+import org.apache.nifi.controller.Triggerable;
+import org.apache.nifi.controller.queue.PollStrategy;
+import org.apache.nifi.controller.queue.StandardFlowFileQueue;
+import org.apache.nifi.controller.repository.FlowFileEventRepository;
+import org.apache.nifi.controller.repository.FlowFileRecord;
+import org.apache.nifi.controller.repository.RepositoryContext;
+import org.apache.nifi.controller.repository.StandardFlowFileRecord;
+import org.apache.nifi.controller.scheduling.LifecycleState;
+import org.apache.nifi.controller.scheduling.RepositoryContextFactory;
+import org.apache.nifi.controller.scheduling.TimerDrivenSchedulingAgent;
+import org.apache.nifi.engine.FlowEngine;
+import org.apache.nifi.nar.ExtensionManager;
+import org.apache.nifi.processor.ProcessContext;
+import org.apache.nifi.processor.ProcessSessionFactory;
+import org.apache.nifi.util.NiFiProperties;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures how long a FlowFile waits in an incoming queue before a Timer Driven component is triggered to process it, while a number of
+ * other components with empty incoming queues are scheduled alongside it. Each FlowFile is queued after a random pause of up to twice the
+ * Bored Yield Duration, so that it may arrive at any point of a yield. The idleTriggers counter reports how often the idle components were
+ * triggered during each iteration, without finding any work to do.
+ * <p>
+ * The empty park duration polls the queues every Bored Yield Duration, as when nifi.bored.park.duration is not set, while the other value
+ * parks idle components until FlowFiles are queued. Scores are the average wait in microseconds, for example:
+ * </p>
+ * <pre>
+ * java -jar target/benchmarks.jar TimerDrivenSchedulingBenchmark -p idleComponents=8000
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimerDrivenSchedulingBenchmark {
+    private static final String BORED_YIELD_DURATION = "10 millis";
+    private static final long MAX_PAUSE_MILLIS = 20L;
+
+    @Param({"", "1 min"})
+    public String boredParkDuration;
+
+    @Param({"1000"})
+    public int idleComponents;
+
+    @Param({"4"})
+    public int threads;
+
+    private final AtomicLong idGenerator = new AtomicLong();
+    private final AtomicLong idleTriggerCount = new AtomicLong();
+    private final BlockingQueue<FlowFileRecord> processed = new LinkedBlockingQueue<>();
+    private final List<Connectable> connectables = new ArrayList<>();
+    private final List<LifecycleState> lifecycleStates = new ArrayList<>();
+    private FlowEngine flowEngine;
+    private TimerDrivenSchedulingAgent schedulingAgent;
+    private StandardFlowFileQueue queue;
+
+    @Setup
+    public void setup() {
+        final NiFiProperties nifiProperties = NiFiProperties.createBasicNiFiProperties(null,
+            Map.of(NiFiProperties.BORED_YIELD_DURATION, BORED_YIELD_DURATION, NiFiProperties.BORED_PARK_DURATION, boredParkDuration));
+
+        final FlowController flowController = mock(FlowController.class, withSettings().stubOnly());
+        when(flowController.getStateManagerProvider()).thenReturn(mock(StateManagerProvider.class, withSettings().stubOnly()));
+        when(flowController.getGarbageCollectionLog()).thenReturn(mock(GarbageCollectionLog.class, withSettings().stubOnly()));
+        when(flowController.getExtensionManager()).thenReturn(mock(ExtensionManager.class, withSettings().stubOnly()));
+
+        final RepositoryContext repositoryContext = mock(RepositoryContext.class, withSettings().stubOnly());
+        when(repositoryContext.getFlowFileEventRepository()).thenReturn(mock(FlowFileEventRepository.class, withSettings().stubOnly()));
+        final RepositoryContextFactory repositoryContextFactory = mock(RepositoryContextFactory.class, withSettings().stubOnly());
+        when(repositoryContextFactory.newProcessContext(any(), any())).thenReturn(repositoryContext);
+
+        flowEngine = new FlowEngine(threads, "Benchmark Timer-Driven Process", true);
+        schedulingAgent = new TimerDrivenSchedulingAgent(flowController, flowEngine, repositoryContextFactory, nifiProperties);
+
+        // The component under measurement takes one FlowFile each time it is triggered, as a processor that processes a single FlowFile does
+        queue = createQueue();
+        final Connectable connectable = createConnectable("benchmark-component", queue);
+        when(connectable.isIsolated()).thenReturn(false);
+        doAnswer(invocation -> {
+            final FlowFileRecord flowFile = queue.poll(new HashSet<>(), PollStrategy.UNPENALIZED_FLOWFILES);
+            if (flowFile != null) {
+                queue.acknowledge(flowFile);
+                processed.add(flowFile);
+            }
+            return null;
+        }).when(connectable).onTrigger(any(ProcessContext.class), any(ProcessSessionFactory.class));
+        schedule(connectable);
+
+        // Each invocation of an idle component checks whether the component runs on this node before finding that it has no work to do
+        for (int i = 0; i < idleComponents; i++) {
+            final Connectable idleConnectable = createConnectable("idle-component-" + i, createQueue());
+            when(idleConnectable.isIsolated()).thenAnswer(invocation -> {
+                idleTriggerCount.incrementAndGet();
+                return false;
+            });
+            schedule(idleConnectable);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (int i = 0; i < connectables.size(); i++) {
+            schedulingAgent.unschedule(connectables.get(i), lifecycleStates.get(i));
+        }
+        flowEngine.shutdownNow();
+    }
+
+    private StandardFlowFileQueue createQueue() {
+        return new StandardFlowFileQueue("benchmark-queue-" + idGenerator.getAndIncrement(), null, null, null, null, null, 20_000, "0 sec", 10_000L, "1 GB");
+    }
+
+    private Connectable createConnectable(final String identifier, final StandardFlowFileQueue incomingQueue) {
+        final Connectable connectable = mock(Connectable.class, withSettings().stubOnly());
+        final Connection connection = mock(Connection.class, withSettings().stubOnly());
+        when(connection.getFlowFileQueue()).thenReturn(incomingQueue);
+        when(connection.getSource()).thenReturn(mock(Connectable.class, withSettings().stubOnly()));
+
+        when(connectable.getIdentifier()).thenReturn(identifier);
+        when(connectable.getMaxConcurrentTasks()).thenReturn(1);
+        when(connectable.getSchedulingPeriod(TimeUnit.NANOSECONDS)).thenReturn(Triggerable.MINIMUM_SCHEDULING_NANOS);
+        when(connectable.getScheduledState()).thenReturn(ScheduledState.RUNNING);
+        when(connectable.getRunnableComponent()).thenReturn(connectable);
+        when(connectable.getRelationships()).thenReturn(Set.of());
+        when(connectable.hasIncomingConnection()).thenReturn(true);
+        when(connectable.getIncomingConnections()).thenReturn(List.of(connection));
+        return connectable;
+    }
+
+    private void schedule(final Connectable connectable) {
+        final LifecycleState lifecycleState = new LifecycleState(connectable.getIdentifier());
+        schedulingAgent.schedule(connectable, lifecycleState);
+        connectables.add(connectable);
+        lifecycleStates.add(lifecycleState);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class IdleTriggers {
+        public long idleTriggers;
+        private long iterationStart;
+
+        @Setup(Level.Iteration)
+        public void setup(final TimerDrivenSchedulingBenchmark benchmark) {
+            idleTriggers = 0L;
+            iterationStart = benchmark.idleTriggerCount.get();
+        }
+
+        private void update(final TimerDrivenSchedulingBenchmark benchmark) {
+            idleTriggers = benchmark.idleTriggerCount.get() - iterationStart;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void pause() throws InterruptedException {
+        // Level.Invocation is appropriate here, as each invocation waits on the order of milliseconds
+        Thread.sleep(ThreadLocalRandom.current().nextLong(MAX_PAUSE_MILLIS + 1));
+    }
+
+    @Benchmark
+    public FlowFileRecord enqueueToTrigger(final IdleTriggers idleTriggers) throws InterruptedException {
+        queue.put(new StandardFlowFileRecord.Builder()
+            .id(idGenerator.getAndIncrement())
+            .entryDate(System.currentTimeMillis())
+            .size(0L)
+            .build());
+
+        final FlowFileRecord flowFile = processed.take();
+        idleTriggers.update(this);
+        return flowFile;
+    }
+}
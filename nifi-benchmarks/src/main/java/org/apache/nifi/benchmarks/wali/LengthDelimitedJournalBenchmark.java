@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.wali;
+
+import org.apache.nifi.controller.repository.CaffeineFieldCache;
+import org.apache.nifi.controller.repository.ReconstitutedSerializedRepositoryRecord;
+import org.apache.nifi.controller.repository.RepositoryRecordType;
+import org.apache.nifi.controller.repository.SerializedRepositoryRecord;
+import org.apache.nifi.controller.repository.StandardFlowFileRecord;
+import org.apache.nifi.controller.repository.StandardRepositoryRecordSerdeFactory;
+import org.apache.nifi.controller.repository.claim.ResourceClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
+import org.apache.nifi.controller.repository.claim.StandardContentClaim;
+import org.apache.nifi.controller.repository.claim.StandardResourceClaimManager;
+import org.apache.nifi.wali.BlockingQueuePool;
+import org.apache.nifi.wali.ByteArrayDataOutputStream;
+import org.apache.nifi.wali.LengthDelimitedJournal;
+import org.apache.nifi.wali.ObjectPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures transactions written to a {@link LengthDelimitedJournal} holding FlowFile Repository records, as written by
+ * the FlowFile Repository on session commit. With <code>fsync</code> enabled each transaction is forced to disk, as done when
+ * <code>nifi.flowfile.repository.always.sync</code> is true. The journal is rolled over periodically so that the benchmark does
+ * not fill the disk.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LengthDelimitedJournalBenchmark {
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int TRANSACTIONS_PER_JOURNAL = 100_000;
+
+    @Param({"1", "100"})
+    public int recordsPerTransaction;
+
+    @Param({"false", "true"})
+    public boolean fsync;
+
+    private final ResourceClaimManager claimManager = new StandardResourceClaimManager();
+    private final StandardRepositoryRecordSerdeFactory serdeFactory = new StandardRepositoryRecordSerdeFactory(claimManager, new CaffeineFieldCache(1_000_000L));
+    private final ObjectPool<ByteArrayDataOutputStream> streamPool = new BlockingQueuePool<>(8,
+        () -> new ByteArrayDataOutputStream(BUFFER_SIZE),
+        stream -> stream.getByteArrayOutputStream().size() < BUFFER_SIZE,
+        stream -> stream.getByteArrayOutputStream().reset());
+
+    private final List<SerializedRepositoryRecord> transaction = new ArrayList<>();
+    private Path journalDirectory;
+    private LengthDelimitedJournal<SerializedRepositoryRecord> journal;
+    private long transactionId;
+    private int journalTransactions;
+
+    @Setup
+    public void setup() throws IOException {
+        journalDirectory = Files.createTempDirectory("journal-benchmark");
+
+        final ResourceClaim resourceClaim = claimManager.newResourceClaim("default", "1", "1700000000000-1", false, false);
+        for (int i = 0; i < recordsPerTransaction; i++) {
+            transaction.add(new ReconstitutedSerializedRepositoryRecord.Builder()
+                .type(RepositoryRecordType.UPDATE)
+                .queueIdentifier("queue")
+                .flowFileRecord(new StandardFlowFileRecord.Builder()
+                    .id(i)
+                    .entryDate(System.currentTimeMillis())
+                    .lineageStart(System.currentTimeMillis(), i)
+                    .contentClaim(new StandardContentClaim(resourceClaim, i * 1024L))
+                    .size(1024L)
+                    .addAttribute("uuid", "00000000-0000-0000-0000-" + String.format("%012d", i))
+                    .addAttribute("filename", "file-" + i + ".txt")
+                    .addAttribute("path", "./")
+                    .build())
+                .build());
+        }
+
+        rollover();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        journal.dispose();
+        Files.deleteIfExists(journalDirectory);
+    }
+
+    private void rollover() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal.dispose();
+        }
+
+        final File journalFile = journalDirectory.resolve(transactionId + ".journal").toFile();
+        journal = new LengthDelimitedJournal<>(journalFile, serdeFactory, streamPool, transactionId);
+        journal.writeHeader();
+        journalTransactions = 0;
+    }
+
+    @Benchmark
+    public void update() throws IOException {
+        journal.update(transaction, id -> null);
+        if (fsync) {
+            journal.fsync();
+        }
+
+        transactionId++;
+        if (++journalTransactions >= TRANSACTIONS_PER_JOURNAL) {
+            rollover();
+        }
+    }
+}
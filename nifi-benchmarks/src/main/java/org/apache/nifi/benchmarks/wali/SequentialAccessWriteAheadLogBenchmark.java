@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.benchmarks.wali;
+
+import org.apache.nifi.controller.repository.CaffeineFieldCache;
+import org.apache.nifi.controller.repository.ReconstitutedSerializedRepositoryRecord;
+import org.apache.nifi.controller.repository.RepositoryRecordType;
+import org.apache.nifi.controller.repository.SerializedRepositoryRecord;
+import org.apache.nifi.controller.repository.StandardFlowFileRecord;
+import org.apache.nifi.controller.repository.StandardRepositoryRecordSerdeFactory;
+import org.apache.nifi.controller.repository.claim.ResourceClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
+import org.apache.nifi.controller.repository.claim.StandardContentClaim;
+import org.apache.nifi.controller.repository.claim.StandardResourceClaimManager;
+import org.apache.nifi.wali.SequentialAccessWriteAheadLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wali.SyncListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Measures concurrent session commits to a {@link SequentialAccessWriteAheadLog} holding FlowFile Repository records, as
+ * performed by the FlowFile Repository. The <code>journalPartitions</code> parameter corresponds to
+ * <code>nifi.flowfile.repository.journal.partitions</code>, and <code>syncWindowMillis</code> to
+ * <code>nifi.flowfile.repository.sync.window</code>, with each transaction synced to disk when <code>fsync</code> is enabled.
+ * The repository is checkpointed periodically so that the benchmark does not fill the disk.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class SequentialAccessWriteAheadLogBenchmark {
+    private static final int RECORDS_PER_TRANSACTION = 10;
+    private static final long TRANSACTIONS_PER_CHECKPOINT = 100_000L;
+
+    @Param({"1", "4"})
+    public int journalPartitions;
+
+    @Param({"false", "true"})
+    public boolean fsync;
+
+    @Param({"0", "2"})
+    public int syncWindowMillis;
+
+    private final ResourceClaimManager claimManager = new StandardResourceClaimManager();
+    private final AtomicLong recordIdGenerator = new AtomicLong();
+    private final AtomicLong transactionCount = new AtomicLong();
+    private ResourceClaim resourceClaim;
+    private Path storageDirectory;
+    private SequentialAccessWriteAheadLog<SerializedRepositoryRecord> writeAheadLog;
+
+    @Setup
+    public void setup() throws IOException {
+        storageDirectory = Files.createTempDirectory("write-ahead-log-benchmark");
+        resourceClaim = claimManager.newResourceClaim("default", "1", "1700000000000-1", false, false);
+
+        final StandardRepositoryRecordSerdeFactory serdeFactory = new StandardRepositoryRecordSerdeFactory(claimManager, new CaffeineFieldCache(1_000_000L));
+        writeAheadLog = new SequentialAccessWriteAheadLog<>(storageDirectory.toFile(), serdeFactory, SyncListener.NOP_SYNC_LISTENER,
+            TimeUnit.MILLISECONDS.toNanos(syncWindowMillis), journalPartitions);
+        writeAheadLog.recoverRecords();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writeAheadLog.shutdown();
+
+        try (final Stream<Path> paths = Files.walk(storageDirectory)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadTransaction {
+        private final List<SerializedRepositoryRecord> records = new ArrayList<>(RECORDS_PER_TRANSACTION);
+
+        @Setup
+        public void setup(final SequentialAccessWriteAheadLogBenchmark benchmark) {
+            // Each thread updates its own FlowFiles, as each FlowFile is owned by a single session at a time
+            for (int i = 0; i < RECORDS_PER_TRANSACTION; i++) {
+                final long id = benchmark.recordIdGenerator.getAndIncrement();
+                records.add(new ReconstitutedSerializedRepositoryRecord.Builder()
+                    .type(RepositoryRecordType.UPDATE)
+                    .queueIdentifier("queue")
+                    .flowFileRecord(new StandardFlowFileRecord.Builder()
+                        .id(id)
+                        .entryDate(System.currentTimeMillis())
+                        .lineageStart(System.currentTimeMillis(), id)
+                        .contentClaim(new StandardContentClaim(benchmark.resourceClaim, id * 1024L))
+                        .size(1024L)
+                        .addAttribute("uuid", "00000000-0000-0000-0000-" + String.format("%012d", id))
+                        .addAttribute("filename", "file-" + id + ".txt")
+                        .addAttribute("path", "./")
+                        .build())
+                    .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public int update(final ThreadTransaction transaction) throws IOException {
+        final int partitionIndex = writeAheadLog.update(transaction.records, fsync);
+
+        if (transactionCount.incrementAndGet() % TRANSACTIONS_PER_CHECKPOINT == 0) {
+            writeAheadLog.checkpoint();
+        }
+
+        return partitionIndex;
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.nifi.attribute.expression.language;
 
 import org.antlr.runtime.tree.Tree;
+import org.apache.nifi.attribute.expression.language.compile.TypedStringEvaluator;
 import org.apache.nifi.attribute.expression.language.evaluation.Evaluator;
 import org.apache.nifi.expression.AttributeValueDecorator;
 
@@ -28,12 +29,23 @@ public class CompiledExpression implements Expression {
     private final Tree tree;
     private final String expression;
     private final Set<Evaluator<?>> allEvaluators;
+    private final TypedStringEvaluator typedEvaluator;
 
     public CompiledExpression(final String expression, final Evaluator<?> rootEvaluator, final Tree tree, final Set<Evaluator<?>> allEvaluators) {
+        this(expression, rootEvaluator, tree, allEvaluators, null);
+    }
+
+    /**
+     * @param typedEvaluator the statically typed form of the Expression, which is used for evaluation in place of the root Evaluator, or <code>null</code>
+     *                       if the Expression is to be interpreted
+     */
+    public CompiledExpression(final String expression, final Evaluator<?> rootEvaluator, final Tree tree, final Set<Evaluator<?>> allEvaluators,
+                              final TypedStringEvaluator typedEvaluator) {
         this.rootEvaluator = rootEvaluator;
         this.tree = tree;
         this.expression = expression;
         this.allEvaluators = allEvaluators;
+        this.typedEvaluator = typedEvaluator;
     }
 
     public Evaluator<?> getRootEvaluator() {
@@ -55,6 +67,11 @@ public class CompiledExpression implements Expression {
 
     @Override
     public String evaluate(final EvaluationContext evaluationContext, final AttributeValueDecorator decorator) {
+        if (typedEvaluator != null) {
+            final String value = typedEvaluator.evaluate(evaluationContext);
+            return value == null || decorator == null ? value : decorator.decorate(value);
+        }
+
         return Query.evaluateExpression(tree, rootEvaluator, expression, evaluationContext, decorator);
     }
 }
@@ -17,6 +17,7 @@
 package org.apache.nifi.attribute.expression.language;
 
 import org.antlr.runtime.tree.Tree;
+import org.apache.nifi.attribute.expression.language.compile.EvaluationMode;
 import org.apache.nifi.attribute.expression.language.compile.ExpressionCompiler;
 import org.apache.nifi.attribute.expression.language.evaluation.Evaluator;
 import org.apache.nifi.attribute.expression.language.evaluation.QueryResult;
@@ -297,14 +298,23 @@ public class Query {
 
 
     public static PreparedQuery prepareWithParametersPreEvaluated(final String query) throws AttributeExpressionLanguageParsingException {
-        return prepare(query, true);
+        return prepareWithParametersPreEvaluated(query, EvaluationMode.INTERPRETED);
+    }
+
+    public static PreparedQuery prepareWithParametersPreEvaluated(final String query, final EvaluationMode evaluationMode) throws AttributeExpressionLanguageParsingException {
+        return prepare(query, true, evaluationMode);
     }
 
     public static PreparedQuery prepare(final String query) throws AttributeExpressionLanguageParsingException {
-        return prepare(query, false);
+        return prepare(query, EvaluationMode.INTERPRETED);
     }
 
-    private static PreparedQuery prepare(final String rawQuery, final boolean escapeParameterReferences) throws AttributeExpressionLanguageParsingException {
+    public static PreparedQuery prepare(final String query, final EvaluationMode evaluationMode) throws AttributeExpressionLanguageParsingException {
+        return prepare(query, false, evaluationMode);
+    }
+
+    private static PreparedQuery prepare(final String rawQuery, final boolean escapeParameterReferences, final EvaluationMode evaluationMode)
+            throws AttributeExpressionLanguageParsingException {
         if (rawQuery == null) {
             return new EmptyPreparedQuery(null);
         }
@@ -354,7 +364,7 @@ public class Query {
             return new StandardPreparedQuery(expressions);
         }
 
-        final ExpressionCompiler compiler = new ExpressionCompiler();
+        final ExpressionCompiler compiler = new ExpressionCompiler(evaluationMode);
 
         try {
             final List<Expression> expressions = new ArrayList<>();
@@ -153,6 +153,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -272,6 +273,18 @@ import static org.apache.nifi.attribute.expression.language.antlr.AttributeExpre
 
 public class ExpressionCompiler {
     private final Set<Evaluator<?>> evaluators = new HashSet<>();
+    private final EvaluationMode evaluationMode;
+
+    public ExpressionCompiler() {
+        this(EvaluationMode.INTERPRETED);
+    }
+
+    /**
+     * @param evaluationMode the manner in which the Expressions that this compiler compiles are evaluated
+     */
+    public ExpressionCompiler(final EvaluationMode evaluationMode) {
+        this.evaluationMode = Objects.requireNonNull(evaluationMode, "Evaluation Mode required");
+    }
 
     public CompiledExpression compile(final String expression) {
         try {
@@ -289,6 +302,11 @@ public class ExpressionCompiler {
             final Set<Evaluator<?>> allEvaluators = new HashSet<>(evaluators);
             this.evaluators.clear();
 
+            if (evaluationMode == EvaluationMode.COMPILED) {
+                final TypedStringEvaluator typedEvaluator = TypedEvaluatorCompiler.compile(evaluator);
+                return new CompiledExpression(expression, evaluator, tree, allEvaluators, typedEvaluator);
+            }
+
             return new CompiledExpression(expression, evaluator, tree, allEvaluators);
         } catch (final AttributeExpressionLanguageParsingException e) {
             throw e;
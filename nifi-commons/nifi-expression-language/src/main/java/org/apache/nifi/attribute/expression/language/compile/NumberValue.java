@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language.compile;
+
+import org.apache.nifi.attribute.expression.language.evaluation.util.NumberParsing;
+
+/**
+ * A mutable holder for the result of a {@link TypedNumberEvaluator}. A value is either <code>null</code>, a whole number or a decimal,
+ * mirroring the <code>Long</code> and <code>Double</code> values produced by the interpreted Evaluators, but without boxing.
+ */
+final class NumberValue {
+    private boolean isNull = true;
+    private boolean isDecimal;
+    private long wholeValue;
+    private double decimalValue;
+
+    void setNull() {
+        isNull = true;
+        isDecimal = false;
+    }
+
+    void setWhole(final long value) {
+        isNull = false;
+        isDecimal = false;
+        wholeValue = value;
+    }
+
+    void setDecimal(final double value) {
+        isNull = false;
+        isDecimal = true;
+        decimalValue = value;
+    }
+
+    void set(final Number value) {
+        if (value == null) {
+            setNull();
+        } else if (value instanceof Double) {
+            setDecimal(value.doubleValue());
+        } else {
+            setWhole(value.longValue());
+        }
+    }
+
+    boolean isNull() {
+        return isNull;
+    }
+
+    boolean isDecimal() {
+        return isDecimal;
+    }
+
+    long longValue() {
+        return isDecimal ? (long) decimalValue : wholeValue;
+    }
+
+    double doubleValue() {
+        return isDecimal ? decimalValue : wholeValue;
+    }
+
+    Number toNumber() {
+        if (isNull) {
+            return null;
+        }
+
+        if (isDecimal) {
+            return decimalValue;
+        }
+        return wholeValue;
+    }
+
+    String toStringValue() {
+        if (isNull) {
+            return null;
+        }
+
+        return isDecimal ? Double.toString(decimalValue) : Long.toString(wholeValue);
+    }
+
+    /**
+     * Parses the given String in the same manner as the NumberCastEvaluator
+     *
+     * @param value the value to parse
+     * @param result the holder to populate; set to <code>null</code> if the value is not a number
+     */
+    static void parse(final String value, final NumberValue result) {
+        if (value == null) {
+            result.setNull();
+            return;
+        }
+
+        final String trimmed = value.trim();
+        switch (NumberParsing.parse(trimmed)) {
+            case DECIMAL -> result.setDecimal(Double.parseDouble(trimmed));
+            case WHOLE_NUMBER -> {
+                long wholeValue;
+                try {
+                    wholeValue = Long.parseLong(trimmed);
+                } catch (final NumberFormatException e) {
+                    // Will only occur if trimmed is a hex number
+                    wholeValue = Long.decode(trimmed);
+                }
+                result.setWhole(wholeValue);
+            }
+            default -> result.setNull();
+        }
+    }
+}
@@ -0,0 +1,637 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language.compile;
+
+import org.apache.nifi.attribute.expression.language.EvaluationContext;
+import org.apache.nifi.attribute.expression.language.StandardEvaluationContext;
+import org.apache.nifi.attribute.expression.language.evaluation.Evaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.BooleanCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.DecimalCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.NumberCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.StringCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.cast.WholeNumberCastEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.AndEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.AppendEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ContainsEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.DivideEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EndsWithEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EqualsEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.EqualsIgnoreCaseEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.GreaterThanEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.GreaterThanOrEqualEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.IfElseEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.IsEmptyEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.IsNullEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.LengthEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.LessThanEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.LessThanOrEqualEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.MinusEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ModEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.MultiplyEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.NotEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.NotNullEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.OrEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.PlusEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.PrependEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ReplaceEmptyEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ReplaceNullEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.StartsWithEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ToLowerEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.ToUpperEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.functions.TrimEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.BooleanLiteralEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.DecimalLiteralEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.StringLiteralEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.WholeNumberLiteralEvaluator;
+import org.apache.nifi.attribute.expression.language.evaluation.selection.AttributeEvaluator;
+import org.apache.nifi.expression.AttributeExpression.ResultType;
+
+import java.util.Collections;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * <p>
+ * Compiles the tree of {@link Evaluator}s that the {@link ExpressionCompiler} builds for an Expression into a tree of statically typed evaluators.
+ * The interpreted Evaluators wrap every intermediate result in a QueryResult and pass numbers around as boxed <code>Long</code> or <code>Double</code>
+ * values. The typed evaluators instead return Strings and canonical Booleans directly and write numbers into a primitive {@link NumberValue},
+ * so that evaluating an Expression such as <code>${fileSize:plus(1):gt(1024):and(${filename:endsWith('.csv')})}</code> allocates nothing
+ * but its final result.
+ * </p>
+ *
+ * <p>
+ * Only the most commonly used functions are compiled. Any other function, along with everything beneath it in the tree, is evaluated by its
+ * interpreted Evaluator, so an Expression always produces the same result regardless of the {@link EvaluationMode}. This includes the functions that
+ * iterate over multiple attributes, which rely on the per-Evaluator state that is held in the EvaluationContext.
+ * </p>
+ *
+ * <p>
+ * The compiled form of an Expression is held by its {@link org.apache.nifi.attribute.expression.language.CompiledExpression}, alongside the Evaluators
+ * that it falls back to, so that it is discarded along with the Expression.
+ * </p>
+ */
+final class TypedEvaluatorCompiler {
+    private static final EvaluationContext EMPTY_CONTEXT = new StandardEvaluationContext(Collections.emptyMap());
+
+    private TypedEvaluatorCompiler() {
+    }
+
+    /**
+     * Compiles the tree of Evaluators that was built for an Expression
+     *
+     * @param evaluator the root of the tree of Evaluators that was built for the Expression
+     * @return an evaluator that produces the same String as evaluating the Expression through its Evaluators
+     */
+    static TypedStringEvaluator compile(final Evaluator<?> evaluator) {
+        switch (evaluator.getResultType()) {
+            case STRING:
+                return compileString(evaluator);
+            case BOOLEAN: {
+                final TypedBooleanEvaluator compiled = compileBoolean(evaluator);
+                return context -> {
+                    final Boolean value = compiled.evaluate(context);
+                    return value == null ? null : value.toString();
+                };
+            }
+            case WHOLE_NUMBER:
+            case DECIMAL:
+            case NUMBER: {
+                final TypedNumberEvaluator compiled = compileSupportedNumber(evaluator);
+                if (compiled != null) {
+                    return context -> {
+                        final NumberValue result = new NumberValue();
+                        compiled.evaluate(context, result);
+                        return result.toStringValue();
+                    };
+                }
+                break;
+            }
+            default:
+                break;
+        }
+
+        return context -> {
+            final Object value = evaluator.evaluate(context).getValue();
+            return value == null ? null : value.toString();
+        };
+    }
+
+    private static boolean isTyped(final Evaluator<?> evaluator) {
+        return switch (evaluator.getResultType()) {
+            case STRING, BOOLEAN, WHOLE_NUMBER, DECIMAL, NUMBER -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isNumber(final Evaluator<?> evaluator) {
+        return switch (evaluator.getResultType()) {
+            case WHOLE_NUMBER, DECIMAL, NUMBER -> true;
+            default -> false;
+        };
+    }
+
+    private static TypedStringEvaluator compileString(final Evaluator<?> evaluator) {
+        final TypedStringEvaluator compiled = compileSupportedString(evaluator);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        return context -> (String) evaluator.evaluate(context).getValue();
+    }
+
+    private static TypedBooleanEvaluator compileBoolean(final Evaluator<?> evaluator) {
+        final TypedBooleanEvaluator compiled = compileSupportedBoolean(evaluator);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        return context -> (Boolean) evaluator.evaluate(context).getValue();
+    }
+
+    private static TypedNumberEvaluator compileNumber(final Evaluator<?> evaluator) {
+        final TypedNumberEvaluator compiled = compileSupportedNumber(evaluator);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        return (context, result) -> result.set((Number) evaluator.evaluate(context).getValue());
+    }
+
+    private static Function<EvaluationContext, Object> compileObject(final Evaluator<?> evaluator) {
+        switch (evaluator.getResultType()) {
+            case STRING: {
+                final TypedStringEvaluator compiled = compileString(evaluator);
+                return compiled::evaluate;
+            }
+            case BOOLEAN: {
+                final TypedBooleanEvaluator compiled = compileBoolean(evaluator);
+                return compiled::evaluate;
+            }
+            default: {
+                final TypedNumberEvaluator compiled = isNumber(evaluator) ? compileSupportedNumber(evaluator) : null;
+                if (compiled == null) {
+                    return context -> evaluator.evaluate(context).getValue();
+                }
+
+                return context -> {
+                    final NumberValue result = new NumberValue();
+                    compiled.evaluate(context, result);
+                    return result.toNumber();
+                };
+            }
+        }
+    }
+
+    private static TypedStringEvaluator compileSupportedString(final Evaluator<?> evaluator) {
+        switch (evaluator) {
+            case StringLiteralEvaluator literal: {
+                final String value = literal.evaluate(EMPTY_CONTEXT).getValue();
+                return context -> value;
+            }
+            case AttributeEvaluator attribute: {
+                if (attribute.getNameEvaluator() instanceof StringLiteralEvaluator nameLiteral) {
+                    final String attributeName = nameLiteral.evaluate(EMPTY_CONTEXT).getValue();
+                    return context -> context.getExpressionValue(attributeName);
+                }
+
+                final TypedStringEvaluator name = compileString(attribute.getNameEvaluator());
+                return context -> context.getExpressionValue(name.evaluate(context));
+            }
+            case StringCastEvaluator cast: {
+                final Evaluator<?> subjectEvaluator = cast.getSubjectEvaluator();
+                if (subjectEvaluator.getResultType() == ResultType.STRING) {
+                    return compileString(subjectEvaluator);
+                }
+                if (subjectEvaluator.getResultType() == ResultType.BOOLEAN) {
+                    final TypedBooleanEvaluator subject = compileBoolean(subjectEvaluator);
+                    return context -> {
+                        final Boolean value = subject.evaluate(context);
+                        return value == null ? null : value.toString();
+                    };
+                }
+                if (isNumber(subjectEvaluator)) {
+                    final TypedNumberEvaluator subject = compileNumber(subjectEvaluator);
+                    return context -> {
+                        final NumberValue result = new NumberValue();
+                        subject.evaluate(context, result);
+                        return result.toStringValue();
+                    };
+                }
+                return null;
+            }
+            case ToUpperEvaluator toUpper: {
+                final TypedStringEvaluator subject = compileString(toUpper.getSubjectEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    return value == null ? null : value.toUpperCase();
+                };
+            }
+            case ToLowerEvaluator toLower: {
+                final TypedStringEvaluator subject = compileString(toLower.getSubjectEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    return value == null ? null : value.toLowerCase();
+                };
+            }
+            case TrimEvaluator trim: {
+                final TypedStringEvaluator subject = compileString(trim.getSubjectEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    return value == null ? null : value.trim();
+                };
+            }
+            case AppendEvaluator append: {
+                final TypedStringEvaluator subject = compileString(append.getSubjectEvaluator());
+                final TypedStringEvaluator suffix = compileString(append.getAppendEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    final String suffixValue = suffix.evaluate(context);
+                    return (value == null ? "" : value) + (suffixValue == null ? "" : suffixValue);
+                };
+            }
+            case PrependEvaluator prepend: {
+                final TypedStringEvaluator subject = compileString(prepend.getSubjectEvaluator());
+                final TypedStringEvaluator prefix = compileString(prepend.getPrependEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    final String prefixValue = prefix.evaluate(context);
+                    return (prefixValue == null ? "" : prefixValue) + (value == null ? "" : value);
+                };
+            }
+            case ReplaceNullEvaluator replaceNull: {
+                final TypedStringEvaluator subject = compileString(replaceNull.getSubjectEvaluator());
+                final TypedStringEvaluator replacement = compileString(replaceNull.getResultEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    return value == null ? replacement.evaluate(context) : value;
+                };
+            }
+            case ReplaceEmptyEvaluator replaceEmpty: {
+                final TypedStringEvaluator subject = compileString(replaceEmpty.getSubjectEvaluator());
+                final TypedStringEvaluator replacement = compileString(replaceEmpty.getReplacementEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    return value == null || value.isBlank() ? replacement.evaluate(context) : value;
+                };
+            }
+            case IfElseEvaluator ifElse: {
+                final TypedBooleanEvaluator condition = compileBoolean(ifElse.getSubjectEvaluator());
+                final TypedStringEvaluator whenTrue = compileString(ifElse.getTrueEvaluator());
+                final TypedStringEvaluator whenFalse = compileString(ifElse.getFalseEvaluator());
+                return context -> Boolean.TRUE.equals(condition.evaluate(context)) ? whenTrue.evaluate(context) : whenFalse.evaluate(context);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static TypedBooleanEvaluator compileSupportedBoolean(final Evaluator<?> evaluator) {
+        switch (evaluator) {
+            case BooleanLiteralEvaluator literal: {
+                final Boolean value = literal.evaluate(EMPTY_CONTEXT).getValue();
+                return context -> value;
+            }
+            case BooleanCastEvaluator cast: {
+                final TypedStringEvaluator subject = compileString(cast.getSubjectEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    return value == null ? null : Boolean.valueOf(value.trim());
+                };
+            }
+            case EqualsEvaluator equals: {
+                return compileEquals(equals.getSubjectEvaluator(), equals.getCompareToEvaluator());
+            }
+            case EqualsIgnoreCaseEvaluator equalsIgnoreCase: {
+                final Evaluator<?> subjectEvaluator = equalsIgnoreCase.getSubjectEvaluator();
+                final Evaluator<?> compareToEvaluator = equalsIgnoreCase.getCompareToEvaluator();
+                if (subjectEvaluator.getResultType() != ResultType.STRING || compareToEvaluator.getResultType() != ResultType.STRING) {
+                    return null;
+                }
+
+                final TypedStringEvaluator subject = compileString(subjectEvaluator);
+                final TypedStringEvaluator compareTo = compileString(compareToEvaluator);
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    if (value == null) {
+                        return Boolean.FALSE;
+                    }
+
+                    final String compareToValue = compareTo.evaluate(context);
+                    return compareToValue != null && value.equalsIgnoreCase(compareToValue);
+                };
+            }
+            case StartsWithEvaluator startsWith: {
+                final TypedStringEvaluator subject = compileString(startsWith.getSubjectEvaluator());
+                final TypedStringEvaluator search = compileString(startsWith.getSearchEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    if (value == null) {
+                        return Boolean.FALSE;
+                    }
+
+                    final String searchValue = search.evaluate(context);
+                    return searchValue != null && value.startsWith(searchValue);
+                };
+            }
+            case EndsWithEvaluator endsWith: {
+                final TypedStringEvaluator subject = compileString(endsWith.getSubjectEvaluator());
+                final TypedStringEvaluator search = compileString(endsWith.getSearchEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    if (value == null) {
+                        return Boolean.FALSE;
+                    }
+
+                    final String searchValue = search.evaluate(context);
+                    return searchValue != null && value.endsWith(searchValue);
+                };
+            }
+            case ContainsEvaluator contains: {
+                final TypedStringEvaluator subject = compileString(contains.getSubjectEvaluator());
+                final TypedStringEvaluator search = compileString(contains.getSearchEvaluator());
+                return context -> {
+                    final String value = subject.evaluate(context);
+                    if (value == null) {
+                        return Boolean.FALSE;
+                    }
+
+                    final String searchValue = search.evaluate(context);
+                    return searchValue != null && value.contains(searchValue);
+                };
+            }
+            case IsEmptyEvaluator isEmpty: {
+                final Evaluator<?> subjectEvaluator = isEmpty.getSubjectEvaluator();
+                if (subjectEvaluator.getResultType() == ResultType.STRING) {
+                    final TypedStringEvaluator subject = compileString(subjectEvaluator);
+                    return context -> {
+                        final String value = subject.evaluate(context);
+                        return value == null || value.isBlank();
+                    };
+                }
+
+                // The String representation of a Boolean or a number is never blank
+                return compileIsNull(subjectEvaluator);
+            }
+            case IsNullEvaluator isNull: {
+                return compileIsNull(isNull.getSubjectEvaluator());
+            }
+            case NotNullEvaluator notNull: {
+                final TypedBooleanEvaluator isNull = compileIsNull(notNull.getSubjectEvaluator());
+                if (isNull == null) {
+                    return null;
+                }
+
+                return context -> !isNull.evaluate(context);
+            }
+            case NotEvaluator not: {
+                final TypedBooleanEvaluator subject = compileBoolean(not.getSubjectEvaluator());
+                return context -> !subject.evaluate(context);
+            }
+            case AndEvaluator and: {
+                final TypedBooleanEvaluator subject = compileBoolean(and.getSubjectEvaluator());
+                final TypedBooleanEvaluator rhs = compileBoolean(and.getRhsEvaluator());
+                return context -> Boolean.FALSE.equals(subject.evaluate(context)) ? Boolean.FALSE : rhs.evaluate(context);
+            }
+            case OrEvaluator or: {
+                final TypedBooleanEvaluator subject = compileBoolean(or.getSubjectEvaluator());
+                final TypedBooleanEvaluator rhs = compileBoolean(or.getRhsEvaluator());
+                return context -> Boolean.TRUE.equals(subject.evaluate(context)) ? Boolean.TRUE : rhs.evaluate(context);
+            }
+            case GreaterThanEvaluator greaterThan: {
+                return compileComparison(greaterThan.getSubjectEvaluator(), greaterThan.getComparisonEvaluator(), (a, b) -> a > b, (a, b) -> a > b);
+            }
+            case GreaterThanOrEqualEvaluator greaterThanOrEqual: {
+                return compileComparison(greaterThanOrEqual.getSubjectEvaluator(), greaterThanOrEqual.getComparisonEvaluator(), (a, b) -> a >= b, (a, b) -> a >= b);
+            }
+            case LessThanEvaluator lessThan: {
+                return compileComparison(lessThan.getSubjectEvaluator(), lessThan.getComparisonEvaluator(), (a, b) -> a < b, (a, b) -> a < b);
+            }
+            case LessThanOrEqualEvaluator lessThanOrEqual: {
+                return compileComparison(lessThanOrEqual.getSubjectEvaluator(), lessThanOrEqual.getComparisonEvaluator(), (a, b) -> a <= b, (a, b) -> a <= b);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static TypedBooleanEvaluator compileIsNull(final Evaluator<?> subjectEvaluator) {
+        switch (subjectEvaluator.getResultType()) {
+            case STRING: {
+                final TypedStringEvaluator subject = compileString(subjectEvaluator);
+                return context -> subject.evaluate(context) == null;
+            }
+            case BOOLEAN: {
+                final TypedBooleanEvaluator subject = compileBoolean(subjectEvaluator);
+                return context -> subject.evaluate(context) == null;
+            }
+            case WHOLE_NUMBER:
+            case DECIMAL:
+            case NUMBER: {
+                final TypedNumberEvaluator subject = compileNumber(subjectEvaluator);
+                return context -> {
+                    final NumberValue result = new NumberValue();
+                    subject.evaluate(context, result);
+                    return result.isNull();
+                };
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static TypedBooleanEvaluator compileEquals(final Evaluator<?> subjectEvaluator, final Evaluator<?> compareToEvaluator) {
+        if (!isTyped(subjectEvaluator) || !isTyped(compareToEvaluator)) {
+            return null;
+        }
+
+        if (subjectEvaluator.getResultType() == ResultType.STRING && compareToEvaluator.getResultType() == ResultType.STRING) {
+            final TypedStringEvaluator subject = compileString(subjectEvaluator);
+            final TypedStringEvaluator compareTo = compileString(compareToEvaluator);
+            return context -> {
+                final String value = subject.evaluate(context);
+                if (value == null) {
+                    return Boolean.FALSE;
+                }
+
+                final String compareToValue = compareTo.evaluate(context);
+                return compareToValue != null && value.equals(compareToValue);
+            };
+        }
+
+        // Values of differing types are compared by their String representations, as the EqualsEvaluator does
+        final boolean sameType = subjectEvaluator.getResultType() == compareToEvaluator.getResultType();
+        final Function<EvaluationContext, Object> subject = compileObject(subjectEvaluator);
+        final Function<EvaluationContext, Object> compareTo = compileObject(compareToEvaluator);
+        return context -> {
+            final Object value = subject.apply(context);
+            if (value == null) {
+                return Boolean.FALSE;
+            }
+
+            final Object compareToValue = compareTo.apply(context);
+            if (compareToValue == null) {
+                return Boolean.FALSE;
+            }
+
+            return sameType ? value.equals(compareToValue) : String.valueOf(value).equals(String.valueOf(compareToValue));
+        };
+    }
+
+    private static TypedBooleanEvaluator compileComparison(final Evaluator<?> subjectEvaluator, final Evaluator<?> comparisonEvaluator,
+                                                           final LongComparison longComparison, final DoubleComparison doubleComparison) {
+        final TypedNumberEvaluator subject = compileNumber(subjectEvaluator);
+        final TypedNumberEvaluator comparison = compileNumber(comparisonEvaluator);
+        return context -> {
+            final NumberValue result = new NumberValue();
+            subject.evaluate(context, result);
+            if (result.isNull()) {
+                return Boolean.FALSE;
+            }
+
+            final boolean subjectDecimal = result.isDecimal();
+            final long subjectLong = result.longValue();
+            final double subjectDouble = result.doubleValue();
+
+            comparison.evaluate(context, result);
+            if (result.isNull()) {
+                return Boolean.FALSE;
+            }
+
+            if (subjectDecimal || result.isDecimal()) {
+                return doubleComparison.compare(subjectDouble, result.doubleValue());
+            }
+
+            return longComparison.compare(subjectLong, result.longValue());
+        };
+    }
+
+    private static TypedNumberEvaluator compileSupportedNumber(final Evaluator<?> evaluator) {
+        switch (evaluator) {
+            case WholeNumberLiteralEvaluator literal: {
+                final long value = literal.evaluate(EMPTY_CONTEXT).getValue();
+                return (context, result) -> result.setWhole(value);
+            }
+            case DecimalLiteralEvaluator literal: {
+                final double value = literal.evaluate(EMPTY_CONTEXT).getValue();
+                return (context, result) -> result.setDecimal(value);
+            }
+            case LengthEvaluator length: {
+                final TypedStringEvaluator subject = compileString(length.getSubjectEvaluator());
+                return (context, result) -> {
+                    final String value = subject.evaluate(context);
+                    result.setWhole(value == null ? 0 : value.length());
+                };
+            }
+            case NumberCastEvaluator cast: {
+                return compileNumberCast(cast.getSubjectEvaluator());
+            }
+            case WholeNumberCastEvaluator cast: {
+                final TypedNumberEvaluator subject = compileNumberCast(cast.getSubjectEvaluator());
+                if (subject == null) {
+                    return null;
+                }
+
+                return (context, result) -> {
+                    subject.evaluate(context, result);
+                    if (!result.isNull() && result.isDecimal()) {
+                        result.setWhole(result.longValue());
+                    }
+                };
+            }
+            case DecimalCastEvaluator cast: {
+                final TypedNumberEvaluator subject = compileNumberCast(cast.getSubjectEvaluator());
+                if (subject == null) {
+                    return null;
+                }
+
+                return (context, result) -> {
+                    subject.evaluate(context, result);
+                    if (!result.isNull() && !result.isDecimal()) {
+                        result.setDecimal(result.doubleValue());
+                    }
+                };
+            }
+            case PlusEvaluator plus: {
+                return compileArithmetic(plus.getSubjectEvaluator(), plus.getPlusValueEvaluator(), Long::sum, Double::sum);
+            }
+            case MinusEvaluator minus: {
+                return compileArithmetic(minus.getSubjectEvaluator(), minus.getMinusValueEvaluator(), (a, b) -> a - b, (a, b) -> a - b);
+            }
+            case MultiplyEvaluator multiply: {
+                return compileArithmetic(multiply.getSubjectEvaluator(), multiply.getMultiplyValueEvaluator(), (a, b) -> a * b, (a, b) -> a * b);
+            }
+            case DivideEvaluator divide: {
+                return compileArithmetic(divide.getSubjectEvaluator(), divide.getDivideValueEvaluator(), (a, b) -> a / b, (a, b) -> a / b);
+            }
+            case ModEvaluator mod: {
+                return compileArithmetic(mod.getSubjectEvaluator(), mod.getModValueEvaluator(), (a, b) -> a % b, (a, b) -> a % b);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static TypedNumberEvaluator compileNumberCast(final Evaluator<?> subjectEvaluator) {
+        if (subjectEvaluator.getResultType() == ResultType.STRING) {
+            final TypedStringEvaluator subject = compileString(subjectEvaluator);
+            return (context, result) -> NumberValue.parse(subject.evaluate(context), result);
+        }
+        if (isNumber(subjectEvaluator)) {
+            return compileNumber(subjectEvaluator);
+        }
+
+        return null;
+    }
+
+    private static TypedNumberEvaluator compileArithmetic(final Evaluator<?> subjectEvaluator, final Evaluator<?> operandEvaluator,
+                                                          final LongBinaryOperator longOperator, final DoubleBinaryOperator doubleOperator) {
+        final TypedNumberEvaluator subject = compileNumber(subjectEvaluator);
+        final TypedNumberEvaluator operand = compileNumber(operandEvaluator);
+        return (context, result) -> {
+            subject.evaluate(context, result);
+            if (result.isNull()) {
+                return;
+            }
+
+            final boolean subjectDecimal = result.isDecimal();
+            final long subjectLong = result.longValue();
+            final double subjectDouble = result.doubleValue();
+
+            operand.evaluate(context, result);
+            if (result.isNull()) {
+                return;
+            }
+
+            if (subjectDecimal || result.isDecimal()) {
+                result.setDecimal(doubleOperator.applyAsDouble(subjectDouble, result.doubleValue()));
+            } else {
+                result.setWhole(longOperator.applyAsLong(subjectLong, result.longValue()));
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface LongComparison {
+        boolean compare(long a, long b);
+    }
+
+    @FunctionalInterface
+    private interface DoubleComparison {
+        boolean compare(double a, double b);
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language.compile;
+
+import org.apache.nifi.attribute.expression.language.EvaluationContext;
+
+/**
+ * An Expression, or part of an Expression, that has been compiled by the {@link TypedEvaluatorCompiler} and evaluates to a String
+ * without wrapping the result in a QueryResult.
+ */
+@FunctionalInterface
+public interface TypedStringEvaluator {
+
+    /**
+     * @param evaluationContext the context to evaluate against
+     * @return the result of the evaluation, or <code>null</code> if the result is null
+     */
+    String evaluate(EvaluationContext evaluationContext);
+}
@@ -67,4 +67,8 @@ public class AndEvaluator extends BooleanEvaluator {
         return subjectEvaluator;
     }
 
+    public Evaluator<Boolean> getRhsEvaluator() {
+        return rhsEvaluator;
+    }
+
 }
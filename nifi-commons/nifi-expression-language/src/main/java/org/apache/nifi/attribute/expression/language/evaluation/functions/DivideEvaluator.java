@@ -58,4 +58,8 @@ public class DivideEvaluator extends NumberEvaluator {
         return subject;
     }
 
+    public Evaluator<Number> getDivideValueEvaluator() {
+        return divideValue;
+    }
+
 }
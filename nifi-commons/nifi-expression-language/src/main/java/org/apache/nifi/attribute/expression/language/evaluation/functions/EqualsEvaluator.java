@@ -81,4 +81,8 @@ public class EqualsEvaluator extends BooleanEvaluator {
         return subject;
     }
 
+    public Evaluator<?> getCompareToEvaluator() {
+        return compareTo;
+    }
+
 }
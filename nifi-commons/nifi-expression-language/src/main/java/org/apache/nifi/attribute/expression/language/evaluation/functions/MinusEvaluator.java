@@ -58,4 +58,8 @@ public class MinusEvaluator extends NumberEvaluator {
         return subject;
     }
 
+    public Evaluator<Number> getMinusValueEvaluator() {
+        return minusValue;
+    }
+
 }
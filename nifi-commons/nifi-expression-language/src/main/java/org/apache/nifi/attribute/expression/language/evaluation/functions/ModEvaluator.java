@@ -58,4 +58,8 @@ public class ModEvaluator extends NumberEvaluator {
         return subject;
     }
 
+    public Evaluator<Number> getModValueEvaluator() {
+        return modValue;
+    }
+
 }
@@ -58,4 +58,8 @@ public class MultiplyEvaluator extends NumberEvaluator {
         return subject;
     }
 
+    public Evaluator<Number> getMultiplyValueEvaluator() {
+        return multiplyValue;
+    }
+
 }
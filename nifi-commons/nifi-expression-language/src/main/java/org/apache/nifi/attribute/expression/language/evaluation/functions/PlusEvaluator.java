@@ -58,4 +58,8 @@ public class PlusEvaluator extends NumberEvaluator {
         return subject;
     }
 
+    public Evaluator<Number> getPlusValueEvaluator() {
+        return plusValue;
+    }
+
 }
@@ -47,4 +47,9 @@ public class ReplaceEmptyEvaluator extends StringEvaluator {
     public Evaluator<?> getSubjectEvaluator() {
         return subjectEvaluator;
     }
+
+    public Evaluator<String> getReplacementEvaluator() {
+        return replacementEvaluator;
+    }
+
 }
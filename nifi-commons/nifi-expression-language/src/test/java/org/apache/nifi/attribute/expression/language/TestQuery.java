@@ -18,12 +18,14 @@ package org.apache.nifi.attribute.expression.language;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.nifi.attribute.expression.language.Query.Range;
+import org.apache.nifi.attribute.expression.language.compile.EvaluationMode;
 import org.apache.nifi.attribute.expression.language.evaluation.NumberQueryResult;
 import org.apache.nifi.attribute.expression.language.evaluation.QueryResult;
 import org.apache.nifi.attribute.expression.language.exception.AttributeExpressionLanguageException;
 import org.apache.nifi.attribute.expression.language.exception.AttributeExpressionLanguageParsingException;
 import org.apache.nifi.expression.AttributeExpression;
 import org.apache.nifi.expression.AttributeExpression.ResultType;
+import org.apache.nifi.expression.AttributeValueDecorator;
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.parameter.Parameter;
 import org.apache.nifi.parameter.ParameterDescriptor;
@@ -118,25 +120,25 @@ public class TestQuery {
     public void testPrepareWithEscapeChar() {
         final Map<String, String> variables = Collections.singletonMap("foo", "bar");
 
-        assertEquals("bar${foo}$bar", Query.prepare("${foo}$${foo}$$${foo}").evaluateExpressions(new StandardEvaluationContext(variables), null));
+        assertEquals("bar${foo}$bar", prepare("${foo}$${foo}$$${foo}").evaluateExpressions(new StandardEvaluationContext(variables), null));
 
-        final PreparedQuery onlyEscapedQuery = Query.prepare("$${foo}");
+        final PreparedQuery onlyEscapedQuery = prepare("$${foo}");
         final String onlyEscapedEvaluated = onlyEscapedQuery.evaluateExpressions(new StandardEvaluationContext(variables), null);
         assertEquals("${foo}", onlyEscapedEvaluated);
 
-        final PreparedQuery mixedQuery = Query.prepare("${foo}$${foo}");
+        final PreparedQuery mixedQuery = prepare("${foo}$${foo}");
         final String mixedEvaluated = mixedQuery.evaluateExpressions(new StandardEvaluationContext(variables), null);
         assertEquals("bar${foo}", mixedEvaluated);
 
-        final PreparedQuery multipleEscapedQuery = Query.prepare("$${foo}$${bar}");
+        final PreparedQuery multipleEscapedQuery = prepare("$${foo}$${bar}");
         final String multipleEscapedEvaluated = multipleEscapedQuery.evaluateExpressions(new StandardEvaluationContext(variables), null);
         assertEquals("${foo}${bar}", multipleEscapedEvaluated);
 
-        final PreparedQuery multipleEscapedWithTextQuery = Query.prepare("foo$${foo}bar$${bar}");
+        final PreparedQuery multipleEscapedWithTextQuery = prepare("foo$${foo}bar$${bar}");
         final String multipleEscapedWithTextEvaluated = multipleEscapedWithTextQuery.evaluateExpressions(new StandardEvaluationContext(variables), null);
         assertEquals("foo${foo}bar${bar}", multipleEscapedWithTextEvaluated);
 
-        final PreparedQuery multipleMixedQuery = Query.prepare("foo${foo}$${foo}bar${bar}$${bar}");
+        final PreparedQuery multipleMixedQuery = prepare("foo${foo}$${foo}bar${bar}$${bar}");
         final String multipleMixedEvaluated = multipleMixedQuery.evaluateExpressions(new StandardEvaluationContext(variables), null);
         assertEquals("foobar${foo}bar${bar}", multipleMixedEvaluated);
     }
@@ -194,7 +196,7 @@ public class TestQuery {
         final MapParameterLookup parameterLookup = new MapParameterLookup(parameters);
         final EvaluationContext evaluationContext = new StandardEvaluationContext(variables, Collections.emptyMap(), parameterLookup);
 
-        final String evaluated = Query.prepare(query).evaluateExpressions(evaluationContext, null);
+        final String evaluated = prepare(query).evaluateExpressions(evaluationContext, null);
 
         assertEquals(StringUtils.EMPTY, evaluated);
     }
@@ -216,7 +218,7 @@ public class TestQuery {
 
         final EvaluationContext evaluationContext = new StandardEvaluationContext(variables, Collections.emptyMap(), parameterLookup);
 
-        final String evaluated = Query.prepare(query).evaluateExpressions(evaluationContext, null);
+        final String evaluated = prepare(query).evaluateExpressions(evaluationContext, null);
 
         assertEquals(StringUtils.EMPTY, evaluated);
     }
@@ -228,7 +230,7 @@ public class TestQuery {
         final Map<String, String> attributes = new HashMap<>();
         attributes.put("x", "x");
         attributes.put("y", "x");
-        final String result = Query.evaluateExpressions(expression, attributes, null);
+        final String result = evaluateExpressions(expression, attributes, null);
         assertEquals("true", result);
 
         Query.validateExpression(expression, false);
@@ -289,8 +291,8 @@ public class TestQuery {
         assertEquals(1, Query.extractExpressionRanges("'${attr}'").size());
         assertEquals(1, Query.extractExpressionRanges("${attr}").size());
 
-        assertEquals("'My Value'", Query.evaluateExpressions("'${attr}'", attributes, null));
-        assertEquals("'My Value", Query.evaluateExpressions("'${attr}", attributes, null));
+        assertEquals("'My Value'", evaluateExpressions("'${attr}'", attributes, null));
+        assertEquals("'My Value", evaluateExpressions("'${attr}", attributes, null));
     }
 
     @Test
@@ -419,10 +421,10 @@ public class TestQuery {
         verifyEquals("${x:equals(${a})}", attributes, true);
 
         Query.validateExpression("${x:equals('${a}')}", false);
-        assertEquals("true", Query.evaluateExpressions("${x:equals('${a}')}", attributes, null));
+        assertEquals("true", evaluateExpressions("${x:equals('${a}')}", attributes, null));
 
         Query.validateExpression("${x:equals(\"${a}\")}", false);
-        assertEquals("true", Query.evaluateExpressions("${x:equals(\"${a}\")}", attributes, null));
+        assertEquals("true", evaluateExpressions("${x:equals(\"${a}\")}", attributes, null));
     }
 
     @Test
@@ -486,7 +488,7 @@ public class TestQuery {
         phoneBookAttributes.stream()
                 .filter(currentAttribute -> !currentAttribute.equals(updatedAttribute))
                 .forEach(currentAttribute -> {
-                            String expected = Query.evaluateExpressions(currentAttribute, originalAttributes, null, null, ParameterLookup.EMPTY);
+                            String expected = evaluateExpressions(currentAttribute, originalAttributes, null, null, ParameterLookup.EMPTY);
                             verifyEquals(currentAttribute, attributes, expected);
                         }
                 );
@@ -504,7 +506,7 @@ public class TestQuery {
             verifyEquals(targetAttribute, attributes, originalValue);
         }
 
-        String addressBookAfterUpdate = Query.evaluateExpressions(updateExpression, attributes, ParameterLookup.EMPTY);
+        String addressBookAfterUpdate = evaluateExpressions(updateExpression, attributes, ParameterLookup.EMPTY);
         attributes.clear();
         attributes.put("json", addressBookAfterUpdate);
 
@@ -663,10 +665,10 @@ public class TestQuery {
         verifyEquals("${x:equals(${a})}", attributes, true);
 
         Query.validateExpression("${x:equals('${a}')}", false);
-        assertEquals("true", Query.evaluateExpressions("${x:equals('${a}')}", attributes, null));
+        assertEquals("true", evaluateExpressions("${x:equals('${a}')}", attributes, null));
 
         Query.validateExpression("${x:equals(\"${a}\")}", false);
-        assertEquals("true", Query.evaluateExpressions("${x:equals(\"${a}\")}", attributes, null));
+        assertEquals("true", evaluateExpressions("${x:equals(\"${a}\")}", attributes, null));
     }
 
     @Test
@@ -746,7 +748,7 @@ public class TestQuery {
         when(mockFlowFile.getLineageStartDate()).thenReturn(System.currentTimeMillis());
 
         final ValueLookup lookup = new ValueLookup(mockFlowFile);
-        return Query.evaluateExpressions(queryString, lookup, ParameterLookup.EMPTY);
+        return evaluateExpressions(queryString, lookup, ParameterLookup.EMPTY);
     }
 
     @Test
@@ -902,7 +904,7 @@ public class TestQuery {
         verifyEquals("${x:toNumber():gt( ${y:toNumber():plus( ${z:toNumber()} )} )}", attributes, true);
 
         attributes.put("y", "88");
-        assertEquals("true", Query.evaluateExpressions("${x:equals( '${y}' )}", attributes, null));
+        assertEquals("true", evaluateExpressions("${x:equals( '${y}' )}", attributes, null));
     }
 
     @Test
@@ -953,7 +955,7 @@ public class TestQuery {
         TimeZone defaultTimeZone = TimeZone.getTimeZone("Europe/Kiev");
         TimeZone.setDefault(defaultTimeZone);
         try {
-            final String result = Query.evaluateExpressions(query, attributes, null);
+            final String result = evaluateExpressions(query, attributes, null);
 
             final String expectedTime = DateTimeFormatter.ofPattern(format, Locale.US).format(Instant.ofEpochMilli(timestamp).atZone(defaultTimeZone.toZoneId()));
             assertEquals("startDateTime=\"" + expectedTime + "\"", result);
@@ -973,7 +975,7 @@ public class TestQuery {
         final String format = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
 
         final String query = "startDateTime=\"${date:toNumber():toInstant('yyyy/MM/dd HH:mm:ss.SSS', 'America/New_York'):formatInstant(\"" + format + "\", 'America/New_York')}\"";
-        final String result = Query.evaluateExpressions(query, attributes, null);
+        final String result = evaluateExpressions(query, attributes, null);
 
         final String expectedTime = DateTimeFormatter.ofPattern(format, Locale.US)
                 .withZone(ZoneId.of("America/New_York"))
@@ -1003,7 +1005,7 @@ public class TestQuery {
         final Map<String, String> attributes = new HashMap<>();
         attributes.put("date", String.valueOf(givenDateStringInGMT));
         final String query = "${date:toDate(\"yyyy-MM-dd HH:mm:ss\", \"GMT\"):" + formatInvocation + "}";
-        return Query.evaluateExpressions(query, attributes, null);
+        return evaluateExpressions(query, attributes, null);
     }
 
     @Test
@@ -1102,7 +1104,7 @@ public class TestQuery {
         final String query = "${ abc:equals('abc'):or( \n\t${xx:isNull()}\n) }";
         assertEquals(ResultType.BOOLEAN, Query.getResultType(query));
         Query.validateExpression(query, false);
-        assertEquals("true", Query.evaluateExpressions(query, Collections.emptyMap(), ParameterLookup.EMPTY));
+        assertEquals("true", evaluateExpressions(query, Collections.emptyMap(), ParameterLookup.EMPTY));
     }
 
     @Test
@@ -1447,14 +1449,14 @@ public class TestQuery {
         verifyEquals("${entryDate:toNumber():toDate():format('yyyy')}", attributes, String.valueOf(year));
 
         // test for not existing attribute (NIFI-1962)
-        assertEquals("", Query.evaluateExpressions("${notExistingAtt:toDate()}", attributes, null));
+        assertEquals("", evaluateExpressions("${notExistingAtt:toDate()}", attributes, null));
 
         attributes.clear();
         attributes.put("month", "3");
         attributes.put("day", "4");
         attributes.put("year", "2013");
-        assertEquals("63", Query.evaluateExpressions("${year:append('/'):append(${month}):append('/'):append(${day}):toDate('yyyy/MM/dd'):format('D')}", attributes, null));
-        assertEquals("63", Query.evaluateExpressions("${year:append('/'):append('${month}'):append('/'):append('${day}'):toDate('yyyy/MM/dd'):format('D')}", attributes, null));
+        assertEquals("63", evaluateExpressions("${year:append('/'):append(${month}):append('/'):append(${day}):toDate('yyyy/MM/dd'):format('D')}", attributes, null));
+        assertEquals("63", evaluateExpressions("${year:append('/'):append('${month}'):append('/'):append('${day}'):toDate('yyyy/MM/dd'):format('D')}", attributes, null));
 
         verifyEquals("${year:append('/'):append(${month}):append('/'):append(${day}):toDate('yyyy/MM/dd'):format('D')}", attributes, "63");
     }
@@ -1469,7 +1471,7 @@ public class TestQuery {
         verifyEquals("${entryDate:toNumber():toInstant():formatInstant('yyyy', 'America/New_York')}", attributes, String.valueOf(year));
 
         // test for not existing attribute (NIFI-1962)
-        assertEquals("", Query.evaluateExpressions("${notExistingAtt:toInstant()}", attributes, null));
+        assertEquals("", evaluateExpressions("${notExistingAtt:toInstant()}", attributes, null));
 
         attributes.clear();
         attributes.put("month", "3");
@@ -1479,11 +1481,11 @@ public class TestQuery {
         attributes.put("minute", "22");
         attributes.put("second", "59");
 
-        assertEquals("63", Query.evaluateExpressions("${year:append('/'):append(${month}):append('/'):append(${day}):append(' ')" +
+        assertEquals("63", evaluateExpressions("${year:append('/'):append(${month}):append('/'):append(${day}):append(' ')" +
                 ":append(${hour}):append(':'):append(${minute}):append(':'):append(${second}):toInstant('yyyy/M/d HH:mm:ss', 'America/New_York')" +
                 ":formatInstant('D', 'America/New_York')}", attributes, null));
 
-        assertEquals("63", Query.evaluateExpressions("${year:append('/'):append('${month}'):append('/'):append('${day}'):append(' ')" +
+        assertEquals("63", evaluateExpressions("${year:append('/'):append('${month}'):append('/'):append('${day}'):append(' ')" +
                 ":append(${hour}):append(':'):append(${minute}):append(':'):append(${second}):toInstant('yyyy/M/d HH:mm:ss', 'America/New_York')" +
                 ":formatInstant('D', 'America/New_York')}", attributes, null));
 
@@ -1533,10 +1535,10 @@ public class TestQuery {
         final String query = "${anyDelineatedValue('${abc}', ','):equals('b')}";
         assertEquals(ResultType.BOOLEAN, Query.getResultType(query));
 
-        assertEquals("true", Query.evaluateExpressions(query, attributes, null));
-        assertEquals("true", Query.evaluateExpressions("${anyDelineatedValue('${abc}', ','):equals('a')}", attributes, null));
-        assertEquals("true", Query.evaluateExpressions("${anyDelineatedValue('${abc}', ','):equals('c')}", attributes, null));
-        assertEquals("false", Query.evaluateExpressions("${anyDelineatedValue('${abc}', ','):equals('d')}", attributes, null));
+        assertEquals("true", evaluateExpressions(query, attributes, null));
+        assertEquals("true", evaluateExpressions("${anyDelineatedValue('${abc}', ','):equals('a')}", attributes, null));
+        assertEquals("true", evaluateExpressions("${anyDelineatedValue('${abc}', ','):equals('c')}", attributes, null));
+        assertEquals("false", evaluateExpressions("${anyDelineatedValue('${abc}', ','):equals('d')}", attributes, null));
 
         verifyEquals("${anyDelineatedValue(${abc}, ','):equals('b')}", attributes, true);
         verifyEquals("${anyDelineatedValue(${abc}, ','):equals('a')}", attributes, true);
@@ -1551,13 +1553,13 @@ public class TestQuery {
         attributes.put("xyz", "x");
 
         // Assert each part separately.
-        assertEquals("true", Query.evaluateExpressions("${anyDelineatedValue('${abc}', ','):equals('c')}",
+        assertEquals("true", evaluateExpressions("${anyDelineatedValue('${abc}', ','):equals('c')}",
                 attributes, null));
-        assertEquals("false", Query.evaluateExpressions("${anyDelineatedValue('${xyz}', ','):equals('z')}",
+        assertEquals("false", evaluateExpressions("${anyDelineatedValue('${xyz}', ','):equals('z')}",
                 attributes, null));
 
         // Combine them with 'or'.
-        assertEquals("true", Query.evaluateExpressions(
+        assertEquals("true", evaluateExpressions(
                 "${anyDelineatedValue('${abc}', ','):equals('c'):or(${anyDelineatedValue('${xyz}', ','):equals('z')})}",
                 attributes, null));
     }
@@ -1569,13 +1571,13 @@ public class TestQuery {
         attributes.put("xyz", "x,y,z");
 
         // Assert each part separately.
-        assertEquals("true", Query.evaluateExpressions("${anyDelineatedValue('${abc}', ','):gt('2')}",
+        assertEquals("true", evaluateExpressions("${anyDelineatedValue('${abc}', ','):gt('2')}",
                 attributes, null));
-        assertEquals("true", Query.evaluateExpressions("${anyDelineatedValue('${xyz}', ','):equals('z')}",
+        assertEquals("true", evaluateExpressions("${anyDelineatedValue('${xyz}', ','):equals('z')}",
                 attributes, null));
 
         // Combine them with 'and'.
-        assertEquals("true", Query.evaluateExpressions(
+        assertEquals("true", evaluateExpressions(
                 "${anyDelineatedValue('${abc}', ','):gt('2'):and(${anyDelineatedValue('${xyz}', ','):equals('z')})}",
                 attributes, null));
     }
@@ -1589,10 +1591,10 @@ public class TestQuery {
         final String query = "${allDelineatedValues('${abc}', ','):matches('[abc]')}";
 
         assertEquals(ResultType.BOOLEAN, Query.getResultType(query));
-        assertEquals("true", Query.evaluateExpressions(query, attributes, null));
-        assertEquals("true", Query.evaluateExpressions(query, attributes, null));
-        assertEquals("false", Query.evaluateExpressions("${allDelineatedValues('${abc}', ','):matches('[abd]')}", attributes, null));
-        assertEquals("false", Query.evaluateExpressions("${allDelineatedValues('${abc}', ','):equals('a'):not()}", attributes, null));
+        assertEquals("true", evaluateExpressions(query, attributes, null));
+        assertEquals("true", evaluateExpressions(query, attributes, null));
+        assertEquals("false", evaluateExpressions("${allDelineatedValues('${abc}', ','):matches('[abd]')}", attributes, null));
+        assertEquals("false", evaluateExpressions("${allDelineatedValues('${abc}', ','):equals('a'):not()}", attributes, null));
 
         verifyEquals("${allDelineatedValues(${abc}, ','):matches('[abc]')}", attributes, true);
         verifyEquals("${allDelineatedValues(${abc}, ','):matches('[abd]')}", attributes, false);
@@ -1607,27 +1609,27 @@ public class TestQuery {
 
         attributes.put("test", "/my/path");
         assertEquals(ResultType.WHOLE_NUMBER, Query.getResultType(query));
-        assertEquals("3", Query.evaluateExpressions(query, attributes, null));
-        assertEquals("", Query.evaluateExpressions("${test:getDelimitedField(1, '/')}", attributes, null));
-        assertEquals("my", Query.evaluateExpressions("${test:getDelimitedField(2, '/')}", attributes, null));
-        assertEquals("path", Query.evaluateExpressions("${test:getDelimitedField(3, '/')}", attributes, null));
+        assertEquals("3", evaluateExpressions(query, attributes, null));
+        assertEquals("", evaluateExpressions("${test:getDelimitedField(1, '/')}", attributes, null));
+        assertEquals("my", evaluateExpressions("${test:getDelimitedField(2, '/')}", attributes, null));
+        assertEquals("path", evaluateExpressions("${test:getDelimitedField(3, '/')}", attributes, null));
 
         attributes.put("test", "this/is/my/path");
         assertEquals(ResultType.WHOLE_NUMBER, Query.getResultType(query));
-        assertEquals("4", Query.evaluateExpressions(query, attributes, null));
-        assertEquals("this", Query.evaluateExpressions("${test:getDelimitedField(1, '/')}", attributes, null));
-        assertEquals("is", Query.evaluateExpressions("${test:getDelimitedField(2, '/')}", attributes, null));
-        assertEquals("my", Query.evaluateExpressions("${test:getDelimitedField(3, '/')}", attributes, null));
-        assertEquals("path", Query.evaluateExpressions("${test:getDelimitedField(4, '/')}", attributes, null));
+        assertEquals("4", evaluateExpressions(query, attributes, null));
+        assertEquals("this", evaluateExpressions("${test:getDelimitedField(1, '/')}", attributes, null));
+        assertEquals("is", evaluateExpressions("${test:getDelimitedField(2, '/')}", attributes, null));
+        assertEquals("my", evaluateExpressions("${test:getDelimitedField(3, '/')}", attributes, null));
+        assertEquals("path", evaluateExpressions("${test:getDelimitedField(4, '/')}", attributes, null));
 
         attributes.put("test", "/");
         assertEquals(ResultType.WHOLE_NUMBER, Query.getResultType(query));
-        assertEquals("0", Query.evaluateExpressions(query, attributes, null));
+        assertEquals("0", evaluateExpressions(query, attributes, null));
 
         attributes.put("test", "path/");
         assertEquals(ResultType.WHOLE_NUMBER, Query.getResultType(query));
-        assertEquals("1", Query.evaluateExpressions(query, attributes, null));
-        assertEquals("path", Query.evaluateExpressions("${test:getDelimitedField(1, '/')}", attributes, null));
+        assertEquals("1", evaluateExpressions(query, attributes, null));
+        assertEquals("path", evaluateExpressions("${test:getDelimitedField(1, '/')}", attributes, null));
     }
 
     @Test
@@ -1858,17 +1860,17 @@ public class TestQuery {
         attributes.put("hello", "world!");
         attributes.put("dotted", "abc.xyz");
 
-        final String evaluated = Query.evaluateExpressions("${abc:matches('1234${end}4321')}", attributes, null);
+        final String evaluated = evaluateExpressions("${abc:matches('1234${end}4321')}", attributes, null);
         assertEquals("true", evaluated);
 
         attributes.put("end", "888");
-        final String secondEvaluation = Query.evaluateExpressions("${abc:matches('1234${end}4321')}", attributes, null);
+        final String secondEvaluation = evaluateExpressions("${abc:matches('1234${end}4321')}", attributes, null);
         assertEquals("false", secondEvaluation);
 
         verifyEquals("${dotted:matches('abc\\.xyz')}", attributes, true);
 
         // Test for matches(null)
-        assertEquals("false", Query.evaluateExpressions("${abc:matches(${not.here})}", attributes, null));
+        assertEquals("false", evaluateExpressions("${abc:matches(${not.here})}", attributes, null));
     }
 
     @Test
@@ -1880,18 +1882,18 @@ public class TestQuery {
         attributes.put("hello", "world!");
         attributes.put("dotted", "abc.xyz");
 
-        final String evaluated = Query.evaluateExpressions("${abc:find('1234${end}4321')}", attributes, null);
+        final String evaluated = evaluateExpressions("${abc:find('1234${end}4321')}", attributes, null);
         assertEquals("true", evaluated);
 
         attributes.put("end", "888");
 
-        final String secondEvaluation = Query.evaluateExpressions("${abc:find('${end}4321')}", attributes, null);
+        final String secondEvaluation = evaluateExpressions("${abc:find('${end}4321')}", attributes, null);
         assertEquals("false", secondEvaluation);
 
         verifyEquals("${dotted:find('\\.')}", attributes, true);
 
         // Test for find(null)
-        assertEquals("false", Query.evaluateExpressions("${abc:find(${not.here})}", attributes, null));
+        assertEquals("false", evaluateExpressions("${abc:find(${not.here})}", attributes, null));
     }
 
     @Test
@@ -2136,7 +2138,7 @@ public class TestQuery {
         attributes.put("b", "x");
         attributes.put("abcxcba", "hello");
 
-        final String evaluated = Query.evaluateExpressions("${ 'abc${b}cba':substring(0, 1) }", attributes, null);
+        final String evaluated = evaluateExpressions("${ 'abc${b}cba':substring(0, 1) }", attributes, null);
         assertEquals("h", evaluated);
     }
 
@@ -2170,7 +2172,7 @@ public class TestQuery {
         final List<String> expressions = Query.extractExpressions(query);
         assertEquals(1, expressions.size());
         assertEquals("${abc}", expressions.get(0));
-        assertEquals("{ xyz }", Query.evaluateExpressions(query, attributes, ParameterLookup.EMPTY));
+        assertEquals("{ xyz }", evaluateExpressions(query, attributes, ParameterLookup.EMPTY));
     }
 
     @Test
@@ -2477,7 +2479,7 @@ public class TestQuery {
         String multipleResultExpectedResult3 = "abcabcabc";
         List<String> multipleResultExpectedResults = Arrays.asList(multipleResultExpectedResult1, multipleResultExpectedResult2, multipleResultExpectedResult3);
         Query.validateExpression(multipleResultExpression, false);
-        final String actualResult = Query.evaluateExpressions(multipleResultExpression, attributes, null, null, ParameterLookup.EMPTY);
+        final String actualResult = evaluateExpressions(multipleResultExpression, attributes, null, null, ParameterLookup.EMPTY);
         assertTrue(multipleResultExpectedResults.contains(actualResult));
 
         verifyEquals("${str:repeat(4)}", attributes, "abcabcabcabc");
@@ -2611,7 +2613,7 @@ public class TestQuery {
     private void verifyEquals(final String expression, final Map<String, String> attributes, final Map<String, String> stateValues, final ParameterLookup parameterLookup,
                               final Object expectedResult) {
         Query.validateExpression(expression, false);
-        assertEquals(String.valueOf(expectedResult), Query.evaluateExpressions(expression, attributes, null, stateValues, parameterLookup));
+        assertEquals(String.valueOf(expectedResult), evaluateExpressions(expression, attributes, null, stateValues, parameterLookup));
 
         final Query query = Query.compile(expression);
         final QueryResult<?> result = query.evaluate(new StandardEvaluationContext(attributes, stateValues, parameterLookup));
@@ -2643,7 +2645,31 @@ public class TestQuery {
 
     private void verifyEmpty(final String expression, final Map<String, String> attributes) {
         Query.validateExpression(expression, false);
-        assertEquals("", Query.evaluateExpressions(expression, attributes, null));
+        assertEquals("", evaluateExpressions(expression, attributes, null));
+    }
+
+    /**
+     * @return the mode in which the Expressions of each test are evaluated
+     */
+    protected EvaluationMode getEvaluationMode() {
+        return EvaluationMode.INTERPRETED;
+    }
+
+    private PreparedQuery prepare(final String query) {
+        return Query.prepare(query, getEvaluationMode());
+    }
+
+    private String evaluateExpressions(final String rawValue, final Map<String, String> expressionMap, final AttributeValueDecorator decorator, final Map<String, String> stateVariables,
+                                       final ParameterLookup parameterLookup) {
+        return prepare(rawValue).evaluateExpressions(new StandardEvaluationContext(expressionMap, stateVariables, parameterLookup), decorator);
+    }
+
+    private String evaluateExpressions(final String rawValue, final Map<String, String> valueLookup, final ParameterLookup parameterLookup) {
+        return evaluateExpressions(rawValue, valueLookup, null, parameterLookup);
+    }
+
+    private String evaluateExpressions(final String rawValue, final Map<String, String> valueLookup, final AttributeValueDecorator decorator, final ParameterLookup parameterLookup) {
+        return prepare(rawValue).evaluateExpressions(new StandardEvaluationContext(valueLookup, Collections.emptyMap(), parameterLookup), decorator);
     }
 
     private String getResourceAsString(String resourceName) throws IOException {
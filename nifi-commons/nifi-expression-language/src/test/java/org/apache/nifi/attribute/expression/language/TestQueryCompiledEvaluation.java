@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.attribute.expression.language;
+
+import org.apache.nifi.attribute.expression.language.compile.EvaluationMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs all of the {@link TestQuery} tests with Expressions compiled into statically typed evaluators
+ */
+public class TestQueryCompiledEvaluation extends TestQuery {
+
+    @Override
+    protected EvaluationMode getEvaluationMode() {
+        return EvaluationMode.COMPILED;
+    }
+
+    @Test
+    public void testCompiledMatchesInterpreted() {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("filename", "data.csv");
+        attributes.put("fileSize", " 2048 ");
+        attributes.put("ratio", "0.5");
+        attributes.put("hex", "0x10");
+        attributes.put("flag", "TRUE");
+        attributes.put("blank", "  ");
+
+        final String[] expressions = {
+            "${fileSize:plus(1):gt(1024):and(${filename:endsWith('.csv')})}",
+            "${fileSize:toNumber():divide(3)}",
+            "${fileSize:divide(${ratio})}",
+            "${ratio:multiply(4):mod(3)}",
+            "${hex:plus(1)}",
+            "${ratio:toDecimal():equals(0.5)}",
+            "${fileSize:toNumber():equals('2048')}",
+            "${missing:plus(1):isNull()}",
+            "${missing:gt(1)}",
+            "${flag:not()}",
+            "${blank:isEmpty():or(${missing:isEmpty()})}",
+            "${blank:replaceEmpty('x'):append(${missing:replaceNull('y')}):prepend('z'):toUpper()}",
+            "${filename:length():ge(8):ifElse('long', 'short')}",
+            "${filename:substringBefore('.'):equalsIgnoreCase('DATA')}",
+            "${filename:startsWith('da'):and(${filename:contains('.')})}",
+            "${literal(7):minus(10):lt(0)}",
+            "${filename:toLower():trim():notNull()}",
+            "${missing:toDate('yyyy'):isNull()}"
+        };
+
+        for (final String expression : expressions) {
+            final String compiled = Query.prepare(expression, EvaluationMode.COMPILED).evaluateExpressions(new StandardEvaluationContext(attributes), null);
+            final String interpreted = Query.prepare(expression, EvaluationMode.INTERPRETED).evaluateExpressions(new StandardEvaluationContext(attributes), null);
+
+            assertEquals(interpreted, compiled, expression);
+        }
+    }
+
+    @Test
+    public void testDivideByZeroFails() {
+        final Map<String, String> attributes = Map.of("size", "10");
+        final PreparedQuery query = Query.prepare("${size:divide(0)}", EvaluationMode.COMPILED);
+        assertThrows(ArithmeticException.class, () -> query.evaluateExpressions(new StandardEvaluationContext(attributes), null));
+    }
+}
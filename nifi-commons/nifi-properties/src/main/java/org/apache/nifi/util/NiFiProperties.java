@@ -81,26 +81,38 @@ public class NiFiProperties extends ApplicationProperties {
     public static final String REMOTE_CONTENTS_CACHE_EXPIRATION = "nifi.remote.contents.cache.expiration";
     public static final String ADMINISTRATIVE_YIELD_DURATION = "nifi.administrative.yield.duration";
     public static final String BORED_YIELD_DURATION = "nifi.bored.yield.duration";
+    public static final String BORED_PARK_DURATION = "nifi.bored.park.duration";
     public static final String PROCESSOR_SCHEDULING_TIMEOUT = "nifi.processor.scheduling.timeout";
+    public static final String VIRTUAL_THREAD_COMPONENTS = "nifi.scheduling.virtual.thread.components";
     public static final String BACKPRESSURE_COUNT = "nifi.queue.backpressure.count";
     public static final String BACKPRESSURE_SIZE = "nifi.queue.backpressure.size";
+    public static final String EXPRESSION_LANGUAGE_EVALUATION_MODE = "nifi.expression.language.evaluation.mode";
     public static final String UPLOAD_WORKING_DIRECTORY = "nifi.upload.working.directory";
 
     // content repository properties
     public static final String REPOSITORY_CONTENT_PREFIX = "nifi.content.repository.directory.";
     public static final String CONTENT_REPOSITORY_IMPLEMENTATION = "nifi.content.repository.implementation";
     public static final String MAX_APPENDABLE_CLAIM_SIZE = "nifi.content.claim.max.appendable.size";
+    public static final String MAX_INLINE_CONTENT_SIZE = "nifi.content.claim.max.inline.size";
+    public static final String CONTENT_CLAIM_CONCATENATION_ENABLED = "nifi.content.claim.concatenation.enabled";
     public static final String CONTENT_ARCHIVE_MAX_RETENTION_PERIOD = "nifi.content.repository.archive.max.retention.period";
     public static final String CONTENT_ARCHIVE_MAX_USAGE_PERCENTAGE = "nifi.content.repository.archive.max.usage.percentage";
     public static final String CONTENT_ARCHIVE_BACK_PRESSURE_PERCENTAGE = "nifi.content.repository.archive.backpressure.percentage";
     public static final String CONTENT_ARCHIVE_ENABLED = "nifi.content.repository.archive.enabled";
     public static final String CONTENT_ARCHIVE_CLEANUP_FREQUENCY = "nifi.content.repository.archive.cleanup.frequency";
+    public static final String CONTENT_REPOSITORY_MEMORY_MAPPED_READS = "nifi.content.repository.memory.mapped.reads";
+    public static final String CONTENT_REPOSITORY_MEMORY_MAPPED_MAX_SIZE = "nifi.content.repository.memory.mapped.max.size";
+    public static final String CONTENT_REPOSITORY_DEDUPLICATION_ENABLED = "nifi.content.repository.deduplication.enabled";
 
     // flowfile repository properties
     public static final String FLOWFILE_REPOSITORY_IMPLEMENTATION = "nifi.flowfile.repository.implementation";
     public static final String FLOWFILE_REPOSITORY_ALWAYS_SYNC = "nifi.flowfile.repository.always.sync";
+    public static final String FLOWFILE_REPOSITORY_SYNC_WINDOW = "nifi.flowfile.repository.sync.window";
+    public static final String FLOWFILE_REPOSITORY_JOURNAL_PARTITIONS = "nifi.flowfile.repository.journal.partitions";
+    public static final String FLOWFILE_REPOSITORY_CHECKPOINT_MAX_DELTAS = "nifi.flowfile.repository.checkpoint.max.deltas";
     public static final String FLOWFILE_REPOSITORY_DIRECTORY = "nifi.flowfile.repository.directory";
     public static final String FLOWFILE_REPOSITORY_CHECKPOINT_INTERVAL = "nifi.flowfile.repository.checkpoint.interval";
+    public static final String FLOWFILE_REPOSITORY_ATTRIBUTE_STORAGE = "nifi.flowfile.repository.attribute.storage";
     public static final String FLOWFILE_SWAP_MANAGER_IMPLEMENTATION = "nifi.swap.manager.implementation";
     public static final String QUEUE_SWAP_THRESHOLD = "nifi.queue.swap.threshold";
 
@@ -131,6 +143,7 @@ public class NiFiProperties extends ApplicationProperties {
     // questdb status storage properties
     public static final String STATUS_REPOSITORY_QUESTDB_PERSIST_NODE_DAYS = "nifi.status.repository.questdb.persist.node.days";
     public static final String STATUS_REPOSITORY_QUESTDB_PERSIST_COMPONENT_DAYS = "nifi.status.repository.questdb.persist.component.days";
+    public static final String STATUS_REPOSITORY_QUESTDB_PERSIST_COMPONENT_ROLLUP_DAYS = "nifi.status.repository.questdb.persist.component.rollup.days";
     public static final String STATUS_REPOSITORY_QUESTDB_PERSIST_LOCATION = "nifi.status.repository.questdb.persist.location";
     public static final String STATUS_REPOSITORY_QUESTDB_PERSIST_LOCATION_BACKUP = "nifi.status.repository.questdb.persist.location.backup";
     public static final String STATUS_REPOSITORY_QUESTDB_PERSIST_BATCH_SIZE = "nifi.status.repository.questdb.persist.batchsize";
@@ -243,6 +256,7 @@ public class NiFiProperties extends ApplicationProperties {
     public static final String LOAD_BALANCE_CONNECTIONS_PER_NODE = "nifi.cluster.load.balance.connections.per.node";
     public static final String LOAD_BALANCE_MAX_THREAD_COUNT = "nifi.cluster.load.balance.max.thread.count";
     public static final String LOAD_BALANCE_COMMS_TIMEOUT = "nifi.cluster.load.balance.comms.timeout";
+    public static final String LOAD_BALANCE_ADAPTIVE_TRANSACTION_SIZE = "nifi.cluster.load.balance.adaptive.transaction.size";
 
     // zookeeper properties
     public static final String ZOOKEEPER_CONNECT_STRING = "nifi.zookeeper.connect.string";
@@ -349,9 +363,19 @@ public class NiFiProperties extends ApplicationProperties {
     public static final String DEFAULT_NAR_LIBRARY_AUTOLOAD_DIR = "./extensions";
     public static final String DEFAULT_FLOWFILE_CHECKPOINT_INTERVAL = "20 secs";
     public static final String DEFAULT_MAX_APPENDABLE_CLAIM_SIZE = "50 KB";
+    public static final String DEFAULT_MAX_INLINE_CONTENT_SIZE = "0 B";
+    public static final boolean DEFAULT_CONTENT_CLAIM_CONCATENATION_ENABLED = false;
+    public static final boolean DEFAULT_CONTENT_REPOSITORY_MEMORY_MAPPED_READS = false;
+    public static final String DEFAULT_CONTENT_REPOSITORY_MEMORY_MAPPED_MAX_SIZE = "1 GB";
+    public static final boolean DEFAULT_CONTENT_REPOSITORY_DEDUPLICATION_ENABLED = false;
     public static final int DEFAULT_QUEUE_SWAP_THRESHOLD = 20000;
+    public static final String DEFAULT_FLOWFILE_REPOSITORY_ATTRIBUTE_STORAGE = "STANDARD";
+    public static final String DEFAULT_FLOWFILE_REPOSITORY_SYNC_WINDOW = "0 millis";
+    public static final int DEFAULT_FLOWFILE_REPOSITORY_JOURNAL_PARTITIONS = 1;
+    public static final int DEFAULT_FLOWFILE_REPOSITORY_CHECKPOINT_MAX_DELTAS = 0;
     public static final long DEFAULT_BACKPRESSURE_COUNT = 10_000L;
     public static final String DEFAULT_BACKPRESSURE_SIZE = "1 GB";
+    public static final String DEFAULT_EXPRESSION_LANGUAGE_EVALUATION_MODE = "INTERPRETED";
     public static final String DEFAULT_ADMINISTRATIVE_YIELD_DURATION = "30 sec";
     public static final String DEFAULT_COMPONENT_STATUS_SNAPSHOT_FREQUENCY = "5 mins";
     public static final String DEFAULT_BORED_YIELD_DURATION = "10 millis";
@@ -408,6 +432,7 @@ public class NiFiProperties extends ApplicationProperties {
     public static final int DEFAULT_LOAD_BALANCE_CONNECTIONS_PER_NODE = 4;
     public static final int DEFAULT_LOAD_BALANCE_MAX_THREAD_COUNT = 8;
     public static final String DEFAULT_LOAD_BALANCE_COMMS_TIMEOUT = "30 sec";
+    public static final boolean DEFAULT_LOAD_BALANCE_ADAPTIVE_TRANSACTION_SIZE = false;
 
 
     // state management defaults
@@ -427,6 +452,7 @@ public class NiFiProperties extends ApplicationProperties {
     // Status repository defaults
     public static final int DEFAULT_COMPONENT_STATUS_REPOSITORY_PERSIST_NODE_DAYS = 14;
     public static final int DEFAULT_COMPONENT_STATUS_REPOSITORY_PERSIST_COMPONENT_DAYS = 3;
+    public static final int DEFAULT_COMPONENT_STATUS_REPOSITORY_PERSIST_COMPONENT_ROLLUP_DAYS = 30;
     public static final String DEFAULT_COMPONENT_STATUS_REPOSITORY_PERSIST_LOCATION = "./status_repository";
     public static final String DEFAULT_COMPONENT_STATUS_REPOSITORY_PERSIST_LOCATION_BACKUP = "./status_repository_backup";
     public static final String DEFAULT_COMPONENT_STATUS_REPOSITORY_PERSIST_BATCH_SIZE = "1000";
@@ -1422,6 +1448,18 @@ public class NiFiProperties extends ApplicationProperties {
         return getProperty(MAX_APPENDABLE_CLAIM_SIZE, DEFAULT_MAX_APPENDABLE_CLAIM_SIZE);
     }
 
+    /**
+     * Returns the maximum size of content that is stored inline in the FlowFile, rather than in the content repository. A size of
+     * zero disables inline content.
+     * <p>
+     * Default is {@link #DEFAULT_MAX_INLINE_CONTENT_SIZE}
+     *
+     * @return the maximum inline content size
+     */
+    public String getMaxInlineContentSize() {
+        return getProperty(MAX_INLINE_CONTENT_SIZE, DEFAULT_MAX_INLINE_CONTENT_SIZE);
+    }
+
     @Override
     public String getProperty(final String key, final String defaultValue) {
         final String value = getProperty(key);
@@ -1432,6 +1470,32 @@ public class NiFiProperties extends ApplicationProperties {
         return getProperty(BORED_YIELD_DURATION, DEFAULT_BORED_YIELD_DURATION);
     }
 
+    /**
+     * Returns the maximum duration that a component whose incoming queues are empty waits for FlowFiles to be queued before it
+     * checks for work again. Components that wait in this way are triggered as soon as FlowFiles are queued for them.
+     *
+     * @return Bored Park Duration or null when not configured, in which case components use the Bored Yield Duration
+     */
+    public String getBoredParkDuration() {
+        final String duration = getProperty(BORED_PARK_DURATION);
+        return duration == null || duration.isBlank() ? null : duration.trim();
+    }
+
+    /**
+     * Returns the identifiers of the Processors and Process Groups whose Timer Driven components run on virtual threads
+     * rather than on the shared Timer Driven thread pool. A Process Group identifier applies to all components within the group
+     * and its descendant groups.
+     *
+     * @return Set of configured component identifiers, empty when not configured
+     */
+    public Set<String> getVirtualThreadComponents() {
+        final String rawProperty = getProperty(VIRTUAL_THREAD_COMPONENTS, "");
+        return Arrays.stream(rawProperty.split(","))
+                .map(String::trim)
+                .filter(identifier -> !identifier.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
     public File getStateManagementConfigFile() {
         return new File(getProperty(STATE_MANAGEMENT_CONFIG_FILE, DEFAULT_STATE_MANAGEMENT_CONFIG_FILE));
     }
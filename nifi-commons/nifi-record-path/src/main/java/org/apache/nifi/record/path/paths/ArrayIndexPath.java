@@ -36,13 +36,17 @@ public class ArrayIndexPath extends RecordPathSegment {
         this.index = index;
     }
 
+    int getIndex() {
+        return index;
+    }
+
     @Override
     public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
         final Stream<FieldValue> parentResult = getParentPath().evaluate(context);
 
         return parentResult
             .filter(Filters.fieldTypeFilter(RecordFieldType.ARRAY))
-            .filter(fieldValue -> fieldValue.getValue() != null && ((Object[]) fieldValue.getValue()).length > getArrayIndex(((Object[]) fieldValue.getValue()).length))
+            .filter(fieldValue -> fieldValue.getValue() != null && isIndexInBounds(((Object[]) fieldValue.getValue()).length))
             .map(fieldValue -> {
                 final ArrayDataType arrayDataType = (ArrayDataType) fieldValue.getField().getDataType();
                 final DataType elementDataType = arrayDataType.getElementType();
@@ -55,6 +59,11 @@ public class ArrayIndexPath extends RecordPathSegment {
             });
     }
 
+    private boolean isIndexInBounds(final int arrayLength) {
+        final int arrayIndex = getArrayIndex(arrayLength);
+        return arrayIndex >= 0 && arrayIndex < arrayLength;
+    }
+
     private int getArrayIndex(final int arrayLength) {
         return index < 0 ? arrayLength + index : index;
     }
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.record.path.paths;
+
+import org.apache.nifi.record.path.ArrayIndexFieldValue;
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.RecordPathEvaluationContext;
+import org.apache.nifi.record.path.StandardFieldValue;
+import org.apache.nifi.record.path.util.Filters;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * An absolute RecordPath that consists only of child field references and single array indices, such as <code>/address/lines[0]</code>.
+ * Such a path selects at most one field, so it is evaluated directly against the Record rather than as a chain of Streams, and the
+ * {@link #evaluateSingle(Record)} method returns the selected field without creating a Stream at all.
+ * </p>
+ *
+ * <p>
+ * Each child field reference remembers the field that it resolved for the last Record Schema that it encountered. Records that share a
+ * schema therefore look up each field only once, rather than resolving the field by name for every Record that is evaluated.
+ * </p>
+ *
+ * <p>
+ * The fields that are selected are the same as those selected by the {@link ChildFieldPath}, {@link ArrayIndexPath} and {@link RootPath}
+ * segments that the path was compiled from, so that the selected fields can be updated in the same way.
+ * </p>
+ */
+public class DirectFieldPath extends RecordPathSegment {
+    private final Step[] steps;
+    private volatile ResolvedRoot resolvedRoot;
+
+    private DirectFieldPath(final RecordPath compiledPath, final List<Step> steps) {
+        super(compiledPath.getPath(), null, true);
+        this.steps = steps.toArray(new Step[0]);
+    }
+
+    /**
+     * Creates a DirectFieldPath that selects the same field as the given RecordPath, if the given RecordPath consists only of
+     * child field references and single array indices starting at the root of the Record.
+     *
+     * @param recordPath the compiled RecordPath
+     * @return a DirectFieldPath that is equivalent to the given RecordPath, or <code>null</code> if the RecordPath cannot be evaluated directly
+     */
+    public static DirectFieldPath of(final RecordPath recordPath) {
+        if (!(recordPath instanceof RecordPathSegment) || !recordPath.isAbsolute()) {
+            return null;
+        }
+
+        final List<Step> steps = new ArrayList<>();
+        RecordPathSegment segment = (RecordPathSegment) recordPath;
+        while (!(segment instanceof RootPath)) {
+            switch (segment) {
+                case ChildFieldPath childFieldPath -> steps.add(new ChildStep(childFieldPath.getChildName()));
+                case ArrayIndexPath arrayIndexPath -> steps.add(new ArrayIndexStep(arrayIndexPath.getIndex()));
+                case null, default -> {
+                    return null;
+                }
+            }
+
+            segment = segment.getParentPath();
+        }
+
+        Collections.reverse(steps);
+        return new DirectFieldPath(recordPath, steps);
+    }
+
+    /**
+     * Evaluates this path against the given Record
+     *
+     * @param record the Record to evaluate
+     * @return the selected field, or <code>null</code> if no field is selected because an array index does not exist
+     */
+    public FieldValue evaluateSingle(final Record record) {
+        FieldValue fieldValue = new StandardFieldValue(record, getRootField(record.getSchema()), null);
+        for (final Step step : steps) {
+            fieldValue = step.select(fieldValue);
+            if (fieldValue == null) {
+                return null;
+            }
+        }
+
+        return fieldValue;
+    }
+
+    @Override
+    public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
+        return Stream.ofNullable(evaluateSingle(context.getRecord()));
+    }
+
+    private RecordField getRootField(final RecordSchema schema) {
+        final ResolvedRoot resolved = resolvedRoot;
+        if (resolved != null && resolved.schema() == schema) {
+            return resolved.field();
+        }
+
+        final RecordField rootField = new RecordField("root", RecordFieldType.RECORD.getRecordDataType(schema));
+        resolvedRoot = new ResolvedRoot(schema, rootField);
+        return rootField;
+    }
+
+    private interface Step {
+        FieldValue select(FieldValue parent);
+    }
+
+    private record ResolvedRoot(RecordSchema schema, RecordField field) {
+    }
+
+    private record ResolvedChild(RecordSchema schema, RecordField field, RecordField missingField) {
+    }
+
+    private static class ChildStep implements Step {
+        private final String childName;
+        private final RecordField unknownField;
+        private volatile ResolvedChild resolvedChild;
+
+        private ChildStep(final String childName) {
+            this.childName = childName;
+            this.unknownField = new RecordField(childName, RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.STRING.getDataType(), RecordFieldType.RECORD.getDataType()));
+        }
+
+        @Override
+        public FieldValue select(final FieldValue parent) {
+            if (!Filters.isRecord(parent)) {
+                return new StandardFieldValue(null, unknownField, parent);
+            }
+
+            final Record record = (Record) parent.getValue();
+            if (record == null) {
+                if (parent.getField().getDataType() instanceof RecordDataType recordDataType) {
+                    return new StandardFieldValue(null, resolve(recordDataType.getChildSchema()).missingField(), parent);
+                }
+
+                return new StandardFieldValue(null, unknownField, parent);
+            }
+
+            final ResolvedChild resolved = resolve(record.getSchema());
+            if (resolved.field() == null) {
+                return new StandardFieldValue(null, unknownField, parent);
+            }
+
+            final Object value = record.getValue(resolved.field());
+            if (value == null) {
+                return new StandardFieldValue(null, resolved.missingField(), parent);
+            }
+
+            return new StandardFieldValue(value, resolved.field(), parent);
+        }
+
+        private ResolvedChild resolve(final RecordSchema schema) {
+            final ResolvedChild resolved = resolvedChild;
+            if (resolved != null && resolved.schema() == schema) {
+                return resolved;
+            }
+
+            final RecordField field = schema == null ? null : schema.getField(childName).orElse(null);
+            final RecordField missingField = field == null ? unknownField : new RecordField(childName, field.getDataType(), field.isNullable());
+            final ResolvedChild updated = new ResolvedChild(schema, field, missingField);
+            resolvedChild = updated;
+            return updated;
+        }
+    }
+
+    private static class ArrayIndexStep implements Step {
+        private final int index;
+
+        private ArrayIndexStep(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public FieldValue select(final FieldValue parent) {
+            final DataType dataType = parent.getField().getDataType();
+            if (dataType.getFieldType() != RecordFieldType.ARRAY || !(parent.getValue() instanceof Object[] values)) {
+                return null;
+            }
+
+            final int arrayIndex = index < 0 ? values.length + index : index;
+            if (arrayIndex < 0 || arrayIndex >= values.length) {
+                return null;
+            }
+
+            final DataType elementDataType = ((ArrayDataType) dataType).getElementType();
+            final RecordField elementField = new RecordField(parent.getField().getFieldName(), elementDataType);
+            return new ArrayIndexFieldValue(values[arrayIndex], elementField, parent, arrayIndex);
+        }
+    }
+}
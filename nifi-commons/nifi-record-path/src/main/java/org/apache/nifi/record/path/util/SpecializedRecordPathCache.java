@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.record.path.util;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.paths.DirectFieldPath;
+import org.apache.nifi.serialization.record.Record;
+
+import java.util.List;
+
+/**
+ * A cache of compiled RecordPaths, like the {@link RecordPathCache}, that replaces each RecordPath that consists only of child field
+ * references and single array indices with a {@link DirectFieldPath}. Such paths are evaluated without intermediate Streams and
+ * resolve their fields once for each Record Schema, which benefits processors that evaluate the same paths against many Records.
+ * All other RecordPaths are returned as compiled.
+ */
+public class SpecializedRecordPathCache {
+    private final LoadingCache<String, RecordPath> compiledRecordPaths;
+
+    public SpecializedRecordPathCache(final int cacheSize) {
+        compiledRecordPaths = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build(SpecializedRecordPathCache::compile);
+    }
+
+    public RecordPath getCompiled(final String path) {
+        return compiledRecordPaths.get(path);
+    }
+
+    /**
+     * Evaluates the given RecordPath against the given Record, without creating a Stream if the RecordPath is a {@link DirectFieldPath}
+     *
+     * @param recordPath the RecordPath to evaluate
+     * @param record the Record to evaluate
+     * @return the selected fields
+     */
+    public static List<FieldValue> getSelectedFields(final RecordPath recordPath, final Record record) {
+        if (recordPath instanceof DirectFieldPath directFieldPath) {
+            final FieldValue fieldValue = directFieldPath.evaluateSingle(record);
+            return fieldValue == null ? List.of() : List.of(fieldValue);
+        }
+
+        return recordPath.evaluate(record).getSelectedFields().toList();
+    }
+
+    private static RecordPath compile(final String path) {
+        final RecordPath compiled = RecordPath.compile(path);
+        final DirectFieldPath directFieldPath = DirectFieldPath.of(compiled);
+        return directFieldPath == null ? compiled : directFieldPath;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.record.path.util;
+
+import org.apache.nifi.record.path.FieldValue;
+import org.apache.nifi.record.path.RecordPath;
+import org.apache.nifi.record.path.paths.DirectFieldPath;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.MapRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class TestSpecializedRecordPathCache {
+    private static final RecordSchema ADDRESS_SCHEMA = new SimpleRecordSchema(List.of(
+        new RecordField("city", RecordFieldType.STRING.getDataType()),
+        new RecordField("lines", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType()))));
+
+    private static final RecordSchema PERSON_SCHEMA = new SimpleRecordSchema(List.of(
+        new RecordField("name", RecordFieldType.STRING.getDataType(), List.of("fullName")),
+        new RecordField("age", RecordFieldType.INT.getDataType()),
+        new RecordField("address", RecordFieldType.RECORD.getRecordDataType(ADDRESS_SCHEMA)),
+        new RecordField("previousAddress", RecordFieldType.RECORD.getRecordDataType(ADDRESS_SCHEMA)),
+        new RecordField("addresses", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.RECORD.getRecordDataType(ADDRESS_SCHEMA))),
+        new RecordField("numbers", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.INT.getDataType()))));
+
+    private final SpecializedRecordPathCache cache = new SpecializedRecordPathCache(25);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/", "/name", "/fullName", "/age", "/missing", "/name/missing", "/address/city", "/address/missing", "/previousAddress/city",
+        "/previousAddress/missing", "/numbers[0]", "/numbers[-1]", "/numbers[3]", "/numbers[-4]", "/addresses[1]/city", "/addresses[1]/lines[0]", "/addresses[2]/city"})
+    public void testDirectFieldPathSelectsSameFields(final String path) {
+        final RecordPath specialized = cache.getCompiled(path);
+        assertInstanceOf(DirectFieldPath.class, specialized);
+
+        for (int i = 0; i < 3; i++) {
+            final Record record = createPerson(i);
+            final List<FieldValue> expected = RecordPath.compile(path).evaluate(record).getSelectedFields().toList();
+
+            assertEquals(expected, specialized.evaluate(record).getSelectedFields().toList());
+            assertEquals(expected, SpecializedRecordPathCache.getSelectedFields(specialized, record));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/numbers[*]", "/numbers[0..1]", "//city", "/addresses[*]/city", "/*", "/name[. = 'John']", "./name", "substring(/name, 0, 1)"})
+    public void testOtherPathsNotSpecialized(final String path) {
+        final RecordPath compiled = cache.getCompiled(path);
+        assertFalse(compiled instanceof DirectFieldPath);
+        assertEquals(RecordPath.compile(path), compiled);
+    }
+
+    @Test
+    public void testDirectFieldPathSelectsFieldsOfDifferentSchemas() {
+        final RecordPath path = cache.getCompiled("/name");
+        final RecordSchema otherSchema = new SimpleRecordSchema(List.of(
+            new RecordField("id", RecordFieldType.INT.getDataType()),
+            new RecordField("name", RecordFieldType.INT.getDataType())));
+
+        final Record other = new MapRecord(otherSchema, new HashMap<>(Map.of("id", 1, "name", 2)));
+        assertEquals(List.of("John 0", 2, "John 1"), List.of(
+            getSingleValue(path, createPerson(0)), getSingleValue(path, other), getSingleValue(path, createPerson(1))));
+    }
+
+    @Test
+    public void testUpdateDirectFieldPathValue() {
+        final Record record = createPerson(0);
+
+        SpecializedRecordPathCache.getSelectedFields(cache.getCompiled("/address/city"), record)
+            .forEach(fieldValue -> fieldValue.updateValue("Paris"));
+        SpecializedRecordPathCache.getSelectedFields(cache.getCompiled("/numbers[-1]"), record)
+            .forEach(fieldValue -> fieldValue.updateValue(42));
+
+        assertEquals("Paris", ((Record) record.getValue("address")).getValue("city"));
+        assertEquals(42, ((Object[]) record.getValue("numbers"))[2]);
+    }
+
+    private Object getSingleValue(final RecordPath path, final Record record) {
+        return ((DirectFieldPath) path).evaluateSingle(record).getValue();
+    }
+
+    private Record createPerson(final int index) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("name", "John " + index);
+        values.put("age", index == 1 ? null : 30 + index);
+        values.put("address", createAddress("London " + index));
+        values.put("addresses", new Object[] {createAddress("Berlin " + index), createAddress("Rome " + index)});
+        values.put("numbers", new Object[] {index, index + 1, index + 2});
+        return new MapRecord(PERSON_SCHEMA, values);
+    }
+
+    private Record createAddress(final String city) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("city", city);
+        values.put("lines", new Object[] {city + " Street"});
+        return new MapRecord(ADDRESS_SCHEMA, values);
+    }
+}
@@ -20,9 +20,13 @@ package org.apache.nifi.serialization;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.serialization.record.RecordSet;
+import org.apache.nifi.serialization.record.batch.ListRecordBatch;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>
@@ -70,6 +74,53 @@ public interface RecordReader extends Closeable {
      */
     Record nextRecord(boolean coerceTypes, boolean dropUnknownFields) throws IOException, MalformedRecordException;
 
+    /**
+     * Returns up to the given number of records from the stream, or <code>null</code> if no more records are available. Types will be coerced
+     * and any unknown fields will be dropped.
+     *
+     * @param maxRecords the maximum number of records to return
+     * @return the next records in the stream or <code>null</code> if no more records are available
+     *
+     * @throws IOException if unable to read from the underlying data
+     * @throws MalformedRecordException if an unrecoverable failure occurs when trying to parse a record
+     * @throws SchemaValidationException if a Record contains a field that violates the schema and cannot be coerced into the appropriate field type.
+     */
+    default RecordBatch nextBatch(final int maxRecords) throws IOException, MalformedRecordException {
+        return nextBatch(maxRecords, true, true);
+    }
+
+    /**
+     * Returns up to the given number of records from the stream, or <code>null</code> if no more records are available. The batch may contain fewer
+     * records than requested even if more records are available. The records are coerced and unknown fields are handled as described by
+     * {@link #nextRecord(boolean, boolean)}. By default, the batch is made up of the records returned by that method, but readers may override
+     * this method in order to avoid the cost of creating each record individually, such as by reading the values into a
+     * {@link org.apache.nifi.serialization.record.batch.ColumnarRecordBatch}.
+     *
+     * @param maxRecords the maximum number of records to return
+     * @param coerceTypes whether or not fields in the Records should be validated against the schema and coerced when necessary
+     * @param dropUnknownFields if <code>true</code>, any field that is found in the data that is not present in the schema will be dropped
+     *
+     * @return the next records in the stream or <code>null</code> if no more records are available
+     * @throws IOException if unable to read from the underlying data
+     * @throws MalformedRecordException if an unrecoverable failure occurs when trying to parse a record, or a Record contains a field
+     *             that violates the schema and cannot be coerced into the appropriate field type.
+     * @throws SchemaValidationException if a Record contains a field that violates the schema and cannot be coerced into the appropriate
+     *             field type and schema enforcement is enabled
+     */
+    default RecordBatch nextBatch(final int maxRecords, final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        if (maxRecords < 1) {
+            throw new IllegalArgumentException("Maximum number of records must be positive but was " + maxRecords);
+        }
+
+        final List<Record> records = new ArrayList<>(Math.min(maxRecords, RecordBatch.DEFAULT_BATCH_SIZE));
+        Record record;
+        while (records.size() < maxRecords && (record = nextRecord(coerceTypes, dropUnknownFields)) != null) {
+            records.add(record);
+        }
+
+        return records.isEmpty() ? null : new ListRecordBatch(getSchema(), records);
+    }
+
     /**
      * @return a RecordSchema that is appropriate for the records in the stream
      * @throws MalformedRecordException if an unrecoverable failure occurs when trying to parse the underlying data
@@ -20,7 +20,9 @@ package org.apache.nifi.serialization;
 import java.io.IOException;
 import java.io.OutputStream;
 
+import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSet;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 /**
  * <p>
@@ -43,6 +45,25 @@ public interface RecordSetWriter extends RecordWriter {
      */
     WriteResult write(RecordSet recordSet) throws IOException;
 
+    /**
+     * Writes each Record of the given batch as part of the currently active RecordSet. By default, each Record is written using
+     * {@link #write(Record)}, but writers may override this method in order to write the batch more efficiently, for instance
+     * when the schema of the batch matches the schema that is being written.
+     *
+     * @param batch the batch of Records to write
+     *
+     * @return the results of writing the last Record of the batch, or {@link WriteResult#EMPTY} if the batch is empty
+     * @throws IOException if unable to write to the given OutputStream
+     */
+    default WriteResult writeBatch(final RecordBatch batch) throws IOException {
+        WriteResult writeResult = WriteResult.EMPTY;
+        for (final Record record : batch) {
+            writeResult = write(record);
+        }
+
+        return writeResult;
+    }
+
     /**
      * Begins a new RecordSet
      *
@@ -0,0 +1,433 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record;
+
+import org.apache.nifi.serialization.record.batch.ColumnVector;
+import org.apache.nifi.serialization.record.batch.ColumnarRecordBatch;
+import org.apache.nifi.serialization.record.field.FieldConverter;
+import org.apache.nifi.serialization.record.field.StandardFieldConverterRegistry;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>
+ * A Record that reads its values from a row of a {@link ColumnarRecordBatch}, where the values are held in arrays indexed by the position
+ * of each field in the schema, and numeric and boolean values are held as primitives. In addition to the methods of {@link Record},
+ * values can be read by field position, and primitive values can be read without boxing.
+ * </p>
+ *
+ * <p>
+ * The first time that the Record is modified, its values are copied into a {@link MapRecord}, to which all subsequent calls are delegated,
+ * so that modifications behave exactly as they do for a MapRecord and do not affect the batch. Records that are only read, as when converting
+ * between formats, never incur this copy.
+ * </p>
+ */
+public class ColumnarRecord implements Record {
+    private final ColumnarRecordBatch batch;
+    private final int row;
+    private MapRecord modified;
+
+    public ColumnarRecord(final ColumnarRecordBatch batch, final int row) {
+        this.batch = Objects.requireNonNull(batch);
+        this.row = row;
+    }
+
+    /**
+     * @return <code>true</code> if the Record has not been modified and still reads its values from the batch, in which case the
+     *         methods that access values by field position may be used
+     */
+    public boolean isColumnar() {
+        return modified == null;
+    }
+
+    /**
+     * @param fieldIndex the position of the field in the schema
+     * @return <code>true</code> if the field has no value. The field's default value is not taken into account.
+     */
+    public boolean isNull(final int fieldIndex) {
+        return modified == null ? batch.getColumn(fieldIndex).isNull(row) : modified.toMap().get(getSchema().getField(fieldIndex).getFieldName()) == null;
+    }
+
+    /**
+     * @param fieldIndex the position of the field in the schema
+     * @return the value of the field, or the field's default value if it has no value
+     */
+    public Object getValue(final int fieldIndex) {
+        final RecordField field = getSchema().getField(fieldIndex);
+        if (modified != null) {
+            return modified.getValue(field);
+        }
+
+        final Object value = batch.getColumn(fieldIndex).get(row);
+        return value == null ? field.getDefaultValue() : value;
+    }
+
+    /**
+     * @param fieldIndex the position of a LONG, INT, SHORT, BYTE, DOUBLE or FLOAT field in the schema
+     * @return the value of the field, without boxing if it is held as a primitive
+     * @throws org.apache.nifi.serialization.record.util.IllegalTypeConversionException if the field has no value or its value is not a number
+     */
+    public long getLong(final int fieldIndex) {
+        return modified == null ? batch.getColumn(fieldIndex).getLong(row) : DataTypeUtils.toLong(getValue(fieldIndex), getSchema().getField(fieldIndex).getFieldName());
+    }
+
+    /**
+     * @param fieldIndex the position of a DOUBLE, FLOAT, LONG, INT, SHORT or BYTE field in the schema
+     * @return the value of the field, without boxing if it is held as a primitive
+     * @throws org.apache.nifi.serialization.record.util.IllegalTypeConversionException if the field has no value or its value is not a number
+     */
+    public double getDouble(final int fieldIndex) {
+        return modified == null ? batch.getColumn(fieldIndex).getDouble(row) : DataTypeUtils.toDouble(getValue(fieldIndex), getSchema().getField(fieldIndex).getFieldName());
+    }
+
+    /**
+     * @param fieldIndex the position of a BOOLEAN field in the schema
+     * @return the value of the field, without boxing if it is held as a primitive
+     * @throws org.apache.nifi.serialization.record.util.IllegalTypeConversionException if the field has no value or its value is not a boolean
+     */
+    public boolean getBoolean(final int fieldIndex) {
+        return modified == null ? batch.getColumn(fieldIndex).getBoolean(row) : DataTypeUtils.toBoolean(getValue(fieldIndex), getSchema().getField(fieldIndex).getFieldName());
+    }
+
+    private MapRecord modify() {
+        if (modified == null) {
+            modified = new MapRecord(batch.getSchema(), new LinkedHashMap<>(toMap()), batch.isTypeChecked(), batch.isDropUnknownFields());
+        }
+
+        return modified;
+    }
+
+    private Object getExplicitValue(final int fieldIndex) {
+        return fieldIndex < 0 ? null : batch.getColumn(fieldIndex).get(row);
+    }
+
+    private int resolveFieldIndex(final RecordField field) {
+        final int index = batch.getFieldIndex(field.getFieldName());
+        if (index >= 0) {
+            return index;
+        }
+
+        for (final String alias : field.getAliases()) {
+            final int aliasIndex = batch.getFieldIndex(alias);
+            if (aliasIndex >= 0) {
+                return aliasIndex;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public RecordSchema getSchema() {
+        return modified == null ? batch.getSchema() : modified.getSchema();
+    }
+
+    @Override
+    public boolean isTypeChecked() {
+        return batch.isTypeChecked();
+    }
+
+    @Override
+    public boolean isDropUnknownFields() {
+        return batch.isDropUnknownFields();
+    }
+
+    @Override
+    public Object[] getValues() {
+        if (modified != null) {
+            return modified.getValues();
+        }
+
+        final Object[] values = new Object[batch.getSchema().getFieldCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getValue(i);
+        }
+        return values;
+    }
+
+    @Override
+    public Object getValue(final String fieldName) {
+        if (modified != null) {
+            return modified.getValue(fieldName);
+        }
+
+        final int index = batch.getFieldIndex(fieldName);
+        return index < 0 ? null : getValue(index);
+    }
+
+    @Override
+    public Object getValue(final RecordField field) {
+        if (modified != null) {
+            return modified.getValue(field);
+        }
+
+        final int index = resolveFieldIndex(field);
+        final Object explicitValue = getExplicitValue(index);
+        if (explicitValue != null) {
+            return explicitValue;
+        }
+
+        final Object defaultValue = field.getDefaultValue();
+        if (defaultValue != null || index < 0) {
+            return defaultValue;
+        }
+
+        return batch.getSchema().getField(index).getDefaultValue();
+    }
+
+    @Override
+    public String getAsString(final String fieldName) {
+        final Optional<DataType> dataTypeOption = getSchema().getDataType(fieldName);
+        if (dataTypeOption.isPresent()) {
+            return convertToString(getValue(fieldName), dataTypeOption.get().getFormat());
+        }
+
+        final FieldConverter<Object, String> converter = StandardFieldConverterRegistry.getRegistry().getFieldConverter(String.class);
+        return converter.convertField(getValue(fieldName), Optional.empty(), fieldName);
+    }
+
+    @Override
+    public String getAsString(final String fieldName, final String format) {
+        return convertToString(getValue(fieldName), format);
+    }
+
+    @Override
+    public String getAsString(final RecordField field, final String format) {
+        return convertToString(getValue(field), format);
+    }
+
+    private String convertToString(final Object value, final String format) {
+        return value == null ? null : DataTypeUtils.toString(value, format);
+    }
+
+    @Override
+    public Long getAsLong(final String fieldName) {
+        return DataTypeUtils.toLong(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Integer getAsInt(final String fieldName) {
+        return DataTypeUtils.toInteger(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Double getAsDouble(final String fieldName) {
+        return DataTypeUtils.toDouble(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Float getAsFloat(final String fieldName) {
+        return DataTypeUtils.toFloat(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Record getAsRecord(final String fieldName, final RecordSchema schema) {
+        return DataTypeUtils.toRecord(getValue(fieldName), schema, fieldName);
+    }
+
+    @Override
+    public Boolean getAsBoolean(final String fieldName) {
+        return DataTypeUtils.toBoolean(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public LocalDate getAsLocalDate(final String fieldName, final String format) {
+        return convertFieldToDateTime(LocalDate.class, fieldName, format);
+    }
+
+    @Override
+    public LocalDateTime getAsLocalDateTime(final String fieldName, final String format) {
+        return convertFieldToDateTime(LocalDateTime.class, fieldName, format);
+    }
+
+    @Override
+    public OffsetDateTime getAsOffsetDateTime(final String fieldName, final String format) {
+        return convertFieldToDateTime(OffsetDateTime.class, fieldName, format);
+    }
+
+    private <T> T convertFieldToDateTime(final Class<T> clazz, final String fieldName, final String format) {
+        final FieldConverter<Object, T> converter = StandardFieldConverterRegistry.getRegistry().getFieldConverter(clazz);
+        return converter.convertField(getValue(fieldName), Optional.ofNullable(format), fieldName);
+    }
+
+    @Override
+    public Object[] getAsArray(final String fieldName) {
+        return DataTypeUtils.toArray(getValue(fieldName), fieldName, null, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Optional<SerializedForm> getSerializedForm() {
+        if (modified != null) {
+            return modified.getSerializedForm();
+        }
+
+        final Optional<SerializedForm> serializedForm = batch.getSerializedForm(row);
+        if (serializedForm.isEmpty()) {
+            return serializedForm;
+        }
+
+        // Child Records may have been modified since the row was read, in which case the serialized form no longer represents the row
+        final int fieldCount = getSchema().getFieldCount();
+        for (int i = 0; i < fieldCount; i++) {
+            final Object value = batch.getColumn(i).get(row);
+            if (value != null && isSerializedFormReset(value)) {
+                return Optional.empty();
+            }
+        }
+
+        return serializedForm;
+    }
+
+    private static boolean isSerializedFormReset(final Object value) {
+        if (value == null) {
+            return true;
+        }
+
+        if (value instanceof final Record childRecord) {
+            return childRecord.getSerializedForm().isEmpty();
+        } else if (value instanceof final Collection<?> collection) {
+            for (final Object collectionValue : collection) {
+                if (isSerializedFormReset(collectionValue)) {
+                    return true;
+                }
+            }
+        } else if (value instanceof final Object[] array) {
+            for (final Object arrayValue : array) {
+                if (isSerializedFormReset(arrayValue)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void incorporateSchema(final RecordSchema other) {
+        modify().incorporateSchema(other);
+    }
+
+    @Override
+    public void incorporateInactiveFields() {
+        if (modified != null) {
+            modified.incorporateInactiveFields();
+        }
+    }
+
+    @Override
+    public void setValue(final String fieldName, final Object value) {
+        modify().setValue(fieldName, value);
+    }
+
+    @Override
+    public void setValue(final RecordField field, final Object value) {
+        modify().setValue(field, value);
+    }
+
+    @Override
+    public void remove(final RecordField field) {
+        modify().remove(field);
+    }
+
+    @Override
+    public boolean rename(final RecordField field, final String newName) {
+        return modify().rename(field, newName);
+    }
+
+    @Override
+    public void regenerateSchema() {
+        modify().regenerateSchema();
+    }
+
+    @Override
+    public void setArrayValue(final String fieldName, final int arrayIndex, final Object value) {
+        modify().setArrayValue(fieldName, arrayIndex, value);
+    }
+
+    @Override
+    public void setMapValue(final String fieldName, final String mapKey, final Object value) {
+        modify().setMapValue(fieldName, mapKey, value);
+    }
+
+    @Override
+    public Set<String> getRawFieldNames() {
+        if (modified != null) {
+            return modified.getRawFieldNames();
+        }
+
+        final Set<String> fieldNames = new LinkedHashSet<>();
+        final List<RecordField> fields = batch.getSchema().getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            if (!batch.getColumn(i).isNull(row)) {
+                fieldNames.add(fields.get(i).getFieldName());
+            }
+        }
+        return fieldNames;
+    }
+
+    @Override
+    public Map<String, Object> toMap() {
+        if (modified != null) {
+            return modified.toMap();
+        }
+
+        final Map<String, Object> values = new LinkedHashMap<>();
+        final List<RecordField> fields = batch.getSchema().getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            final ColumnVector column = batch.getColumn(i);
+            if (!column.isNull(row)) {
+                values.put(fields.get(i).getFieldName(), column.get(row));
+            }
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 + 41 * toMap().hashCode() + 7 * getSchema().hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof final ColumnarRecord other)) {
+            return false;
+        }
+
+        return getSchema().equals(other.getSchema()) && toMap().equals(other.toMap());
+    }
+
+    @Override
+    public String toString() {
+        return modified == null ? "ColumnarRecord[" + toMap() + "]" : modified.toString();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+
+import java.util.BitSet;
+
+/**
+ * A Column Vector for BOOLEAN fields, which holds values in a BitSet.
+ */
+public class BooleanColumnVector extends PrimitiveColumnVector {
+    private final BitSet values;
+
+    public BooleanColumnVector(final DataType dataType, final int capacity) {
+        super(dataType, capacity);
+        this.values = new BitSet(capacity);
+    }
+
+    /**
+     * Sets the value of the given row without boxing
+     *
+     * @param row the index of the row
+     * @param value the value to set
+     */
+    public void setBoolean(final int row, final boolean value) {
+        values.set(row, value);
+        markPrimitive(row);
+    }
+
+    @Override
+    public boolean getBoolean(final int row) {
+        return isPrimitive(row) ? values.get(row) : super.getBoolean(row);
+    }
+
+    @Override
+    boolean setPrimitive(final int row, final Object value) {
+        if (!(value instanceof final Boolean bool)) {
+            return false;
+        }
+
+        values.set(row, bool);
+        return true;
+    }
+
+    @Override
+    Object getPrimitive(final int row) {
+        return values.get(row);
+    }
+}
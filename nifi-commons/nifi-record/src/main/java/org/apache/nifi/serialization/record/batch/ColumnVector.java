@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.util.IllegalTypeConversionException;
+
+/**
+ * <p>
+ * Holds the values of a single field for every row of a {@link ColumnarRecordBatch}. Numeric and boolean fields are held in
+ * primitive arrays so that they are not boxed unless they are retrieved as Objects.
+ * </p>
+ *
+ * <p>
+ * A value whose class does not exactly match the type of the field, such as a String for an INT field that was read without type
+ * coercion, is held as-is, so that {@link #get(int)} always returns the same Object that was set, or an equal one.
+ * </p>
+ */
+public abstract class ColumnVector {
+    private final DataType dataType;
+    private final int capacity;
+
+    protected ColumnVector(final DataType dataType, final int capacity) {
+        this.dataType = dataType;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates a Column Vector that is specialized for the given type of field
+     *
+     * @param dataType the type of the field whose values are to be held
+     * @param capacity the number of rows that the vector can hold
+     * @return a Column Vector for the given type
+     */
+    public static ColumnVector create(final DataType dataType, final int capacity) {
+        return switch (dataType.getFieldType()) {
+            case LONG, INT, SHORT, BYTE -> new LongColumnVector(dataType, capacity);
+            case DOUBLE, FLOAT -> new DoubleColumnVector(dataType, capacity);
+            case BOOLEAN -> new BooleanColumnVector(dataType, capacity);
+            default -> new ObjectColumnVector(dataType, capacity);
+        };
+    }
+
+    public DataType getDataType() {
+        return dataType;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param row the index of the row
+     * @return <code>true</code> if the row has no value
+     */
+    public abstract boolean isNull(int row);
+
+    /**
+     * @param row the index of the row
+     * @return the value of the row, boxed if it is held as a primitive, or <code>null</code> if the row has no value
+     */
+    public abstract Object get(int row);
+
+    /**
+     * @param row the index of the row
+     * @param value the value to set, or <code>null</code> to clear the value of the row
+     */
+    public abstract void set(int row, Object value);
+
+    /**
+     * @param row the index of the row
+     * @return the value of the row as a long
+     * @throws IllegalTypeConversionException if the row has no value or its value is not a number
+     */
+    public long getLong(final int row) {
+        return toNumber(row).longValue();
+    }
+
+    /**
+     * @param row the index of the row
+     * @return the value of the row as a double
+     * @throws IllegalTypeConversionException if the row has no value or its value is not a number
+     */
+    public double getDouble(final int row) {
+        return toNumber(row).doubleValue();
+    }
+
+    /**
+     * @param row the index of the row
+     * @return the value of the row as a boolean
+     * @throws IllegalTypeConversionException if the row has no value or its value is not a boolean
+     */
+    public boolean getBoolean(final int row) {
+        if (get(row) instanceof final Boolean bool) {
+            return bool;
+        }
+
+        throw new IllegalTypeConversionException("Cannot convert value [" + get(row) + "] of row " + row + " to a boolean");
+    }
+
+    private Number toNumber(final int row) {
+        if (get(row) instanceof final Number number) {
+            return number;
+        }
+
+        throw new IllegalTypeConversionException("Cannot convert value [" + get(row) + "] of row " + row + " to a number");
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[dataType=" + dataType + ", capacity=" + capacity + "]";
+    }
+}
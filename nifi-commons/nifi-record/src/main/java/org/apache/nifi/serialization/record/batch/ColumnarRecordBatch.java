@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.SchemaValidationException;
+import org.apache.nifi.serialization.record.ColumnarRecord;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.SerializedForm;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>
+ * A {@link RecordBatch} that holds the values of each field of its schema in a {@link ColumnVector}, indexed by the position of the field
+ * in the schema. The Records of the batch are {@link ColumnarRecord}s, which read their values from the vectors.
+ * </p>
+ *
+ * <p>
+ * Rows are added until the batch reaches its capacity. Only values of fields in the schema can be held, so a reader that must retain
+ * fields that are not in the schema should produce Records of another type.
+ * </p>
+ */
+public class ColumnarRecordBatch implements RecordBatch {
+    private final RecordSchema schema;
+    private final int capacity;
+    private final boolean typeChecked;
+    private final boolean dropUnknownFields;
+    private final ColumnVector[] columns;
+    private final Map<String, Integer> fieldIndices;
+    private SerializedForm[] serializedForms;
+    private int size = 0;
+
+    public ColumnarRecordBatch(final RecordSchema schema, final int capacity) {
+        this(schema, capacity, false, false);
+    }
+
+    public ColumnarRecordBatch(final RecordSchema schema, final int capacity, final boolean typeChecked, final boolean dropUnknownFields) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative but was " + capacity);
+        }
+
+        this.schema = Objects.requireNonNull(schema);
+        this.capacity = capacity;
+        this.typeChecked = typeChecked;
+        this.dropUnknownFields = dropUnknownFields;
+
+        final List<RecordField> fields = schema.getFields();
+        this.columns = new ColumnVector[fields.size()];
+        this.fieldIndices = new HashMap<>(fields.size() * 2);
+        for (int i = 0; i < columns.length; i++) {
+            final RecordField field = fields.get(i);
+            columns[i] = ColumnVector.create(field.getDataType(), capacity);
+            fieldIndices.put(field.getFieldName(), i);
+        }
+
+        // Aliases are resolved only after all field names, so that a field name always takes precedence over another field's alias
+        for (int i = 0; i < columns.length; i++) {
+            for (final String alias : fields.get(i).getAliases()) {
+                fieldIndices.putIfAbsent(alias, i);
+            }
+        }
+    }
+
+    @Override
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public boolean isTypeChecked() {
+        return typeChecked;
+    }
+
+    public boolean isDropUnknownFields() {
+        return dropUnknownFields;
+    }
+
+    @Override
+    public Record getRecord(final int index) {
+        Objects.checkIndex(index, size);
+        return new ColumnarRecord(this, index);
+    }
+
+    /**
+     * @param fieldIndex the position of the field in the schema
+     * @return the vector that holds the values of the field
+     */
+    public ColumnVector getColumn(final int fieldIndex) {
+        return columns[fieldIndex];
+    }
+
+    /**
+     * @param fieldName the name or alias of a field in the schema
+     * @return the position of the field in the schema, or -1 if the schema has no such field
+     */
+    public int getFieldIndex(final String fieldName) {
+        final Integer index = fieldIndices.get(fieldName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Adds a row with no values. The values are then set using the {@link ColumnVector}s of the batch.
+     *
+     * @return the index of the new row
+     * @throws IllegalStateException if the batch is full
+     */
+    public int addRow() {
+        if (size == capacity) {
+            throw new IllegalStateException("Cannot add a row to Record Batch because it is full with " + capacity + " rows");
+        }
+
+        return size++;
+    }
+
+    /**
+     * Adds a row with the given values. If the batch is type checked, the values are first validated against the schema in the same way
+     * as those of a type checked {@link org.apache.nifi.serialization.record.MapRecord}.
+     *
+     * @param values the values of the row, in the order of the fields in the schema
+     * @return the index of the new row
+     * @throws IllegalStateException if the batch is full
+     * @throws IllegalArgumentException if the number of values does not match the number of fields in the schema
+     * @throws SchemaValidationException if the batch is type checked and a value is not valid for its field
+     */
+    public int addRow(final Object[] values) {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values for Record Batch but received " + values.length);
+        }
+
+        if (typeChecked) {
+            checkTypes(values);
+        }
+
+        final int row = addRow();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(row, values[i]);
+        }
+
+        return row;
+    }
+
+    private void checkTypes(final Object[] values) {
+        final List<RecordField> fields = schema.getFields();
+        for (int i = 0; i < values.length; i++) {
+            final RecordField field = fields.get(i);
+            final Object value = values[i];
+
+            if (value == null) {
+                if (field.isNullable() || field.getDefaultValue() != null) {
+                    continue;
+                }
+
+                throw new SchemaValidationException("Field " + field.getFieldName() + " cannot be null");
+            }
+
+            if (!DataTypeUtils.isCompatibleDataType(value, field.getDataType())) {
+                throw new SchemaValidationException("Field " + field.getFieldName() + " has a value of " + value
+                    + ", which cannot be coerced into the appropriate data type of " + field.getDataType());
+            }
+        }
+    }
+
+    /**
+     * Adds a row with the values of the given Record for each field in the schema. Values of fields that are not in the schema are not retained.
+     *
+     * @param record the Record whose values are to be added
+     * @return the index of the new row
+     * @throws IllegalStateException if the batch is full
+     */
+    public int addRecord(final Record record) {
+        final int row = addRow();
+        final List<RecordField> fields = schema.getFields();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].set(row, record.getValue(fields.get(i)));
+        }
+
+        return row;
+    }
+
+    /**
+     * Associates the serialized form from which a row was read with the row, so that a writer of the same format can write the serialized
+     * form as-is. The form must only be set if it represents exactly the values of the row, so a null value in the row must denote a field
+     * that is absent from the serialized form.
+     *
+     * @param row the index of the row
+     * @param serializedForm the serialized form of the row
+     */
+    public void setSerializedForm(final int row, final SerializedForm serializedForm) {
+        Objects.checkIndex(row, size);
+        if (serializedForms == null) {
+            serializedForms = new SerializedForm[capacity];
+        }
+
+        serializedForms[row] = serializedForm;
+    }
+
+    /**
+     * @param row the index of the row
+     * @return the serialized form from which the row was read, if one was set
+     */
+    public Optional<SerializedForm> getSerializedForm(final int row) {
+        Objects.checkIndex(row, size);
+        return serializedForms == null ? Optional.empty() : Optional.ofNullable(serializedForms[row]);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarRecordBatch[size=" + size + ", capacity=" + capacity + ", schema=" + schema + "]";
+    }
+}
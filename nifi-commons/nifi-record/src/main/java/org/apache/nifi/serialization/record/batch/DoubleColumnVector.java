@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordFieldType;
+
+/**
+ * A Column Vector for DOUBLE and FLOAT fields, which holds values in a double[] and boxes them to the type of the field.
+ */
+public class DoubleColumnVector extends PrimitiveColumnVector {
+    private final boolean floatField;
+    private final double[] values;
+
+    public DoubleColumnVector(final DataType dataType, final int capacity) {
+        super(dataType, capacity);
+
+        final RecordFieldType fieldType = dataType.getFieldType();
+        if (fieldType != RecordFieldType.DOUBLE && fieldType != RecordFieldType.FLOAT) {
+            throw new IllegalArgumentException("Cannot hold values of type " + dataType + " in a Double Column Vector");
+        }
+
+        this.floatField = fieldType == RecordFieldType.FLOAT;
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Sets the value of the given row without boxing. For a FLOAT field, the value must be representable as a float.
+     *
+     * @param row the index of the row
+     * @param value the value to set
+     */
+    public void setDouble(final int row, final double value) {
+        values[row] = value;
+        markPrimitive(row);
+    }
+
+    @Override
+    public double getDouble(final int row) {
+        return isPrimitive(row) ? values[row] : super.getDouble(row);
+    }
+
+    @Override
+    boolean setPrimitive(final int row, final Object value) {
+        if (value.getClass() != (floatField ? Float.class : Double.class)) {
+            return false;
+        }
+
+        values[row] = ((Number) value).doubleValue();
+        return true;
+    }
+
+    @Override
+    Object getPrimitive(final int row) {
+        return floatField ? (Object) (float) values[row] : (Object) values[row];
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link RecordBatch} that holds a List of Records, as produced by Record Readers that do not read into column vectors.
+ */
+public class ListRecordBatch implements RecordBatch {
+    private final RecordSchema schema;
+    private final List<Record> records;
+
+    public ListRecordBatch(final RecordSchema schema, final List<Record> records) {
+        this.schema = Objects.requireNonNull(schema);
+        this.records = Objects.requireNonNull(records);
+    }
+
+    @Override
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public Record getRecord(final int index) {
+        return records.get(index);
+    }
+
+    @Override
+    public String toString() {
+        return "ListRecordBatch[size=" + records.size() + ", schema=" + schema + "]";
+    }
+}
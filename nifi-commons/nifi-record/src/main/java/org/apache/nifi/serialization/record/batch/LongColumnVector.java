@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordFieldType;
+
+/**
+ * A Column Vector for LONG, INT, SHORT and BYTE fields, which holds values in a long[] and boxes them to the type of the field.
+ */
+public class LongColumnVector extends PrimitiveColumnVector {
+    private final RecordFieldType fieldType;
+    private final Class<?> boxedType;
+    private final long[] values;
+
+    public LongColumnVector(final DataType dataType, final int capacity) {
+        super(dataType, capacity);
+        this.fieldType = dataType.getFieldType();
+        this.boxedType = switch (fieldType) {
+            case LONG -> Long.class;
+            case INT -> Integer.class;
+            case SHORT -> Short.class;
+            case BYTE -> Byte.class;
+            default -> throw new IllegalArgumentException("Cannot hold values of type " + dataType + " in a Long Column Vector");
+        };
+        this.values = new long[capacity];
+    }
+
+    /**
+     * Sets the value of the given row without boxing. The value must be within the range of the field's type.
+     *
+     * @param row the index of the row
+     * @param value the value to set
+     */
+    public void setLong(final int row, final long value) {
+        values[row] = value;
+        markPrimitive(row);
+    }
+
+    @Override
+    public long getLong(final int row) {
+        return isPrimitive(row) ? values[row] : super.getLong(row);
+    }
+
+    @Override
+    public double getDouble(final int row) {
+        return isPrimitive(row) ? values[row] : super.getDouble(row);
+    }
+
+    @Override
+    boolean setPrimitive(final int row, final Object value) {
+        if (value.getClass() != boxedType) {
+            return false;
+        }
+
+        values[row] = ((Number) value).longValue();
+        return true;
+    }
+
+    @Override
+    Object getPrimitive(final int row) {
+        final long value = values[row];
+        return switch (fieldType) {
+            case INT -> (int) value;
+            case SHORT -> (short) value;
+            case BYTE -> (byte) value;
+            default -> value;
+        };
+    }
+}
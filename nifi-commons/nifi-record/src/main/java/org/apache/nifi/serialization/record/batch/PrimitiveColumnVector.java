@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.DataType;
+
+import java.util.BitSet;
+
+/**
+ * Base class for Column Vectors that hold values in a primitive array, tracking which rows hold a primitive value and holding
+ * any value that cannot be represented as a primitive of the field's type separately.
+ */
+abstract class PrimitiveColumnVector extends ColumnVector {
+    private final BitSet primitivePresent;
+    private Object[] objectValues;
+
+    PrimitiveColumnVector(final DataType dataType, final int capacity) {
+        super(dataType, capacity);
+        this.primitivePresent = new BitSet(capacity);
+    }
+
+    /**
+     * Stores the given value as a primitive if it is exactly of the boxed type that this vector returns
+     *
+     * @param row the index of the row
+     * @param value the non-null value to store
+     * @return <code>true</code> if the value was stored as a primitive
+     */
+    abstract boolean setPrimitive(int row, Object value);
+
+    /**
+     * @param row the index of a row that holds a primitive value
+     * @return the boxed primitive value
+     */
+    abstract Object getPrimitive(int row);
+
+    final boolean isPrimitive(final int row) {
+        return primitivePresent.get(row);
+    }
+
+    final void markPrimitive(final int row) {
+        primitivePresent.set(row);
+        if (objectValues != null) {
+            objectValues[row] = null;
+        }
+    }
+
+    @Override
+    public boolean isNull(final int row) {
+        return !primitivePresent.get(row) && (objectValues == null || objectValues[row] == null);
+    }
+
+    @Override
+    public Object get(final int row) {
+        if (primitivePresent.get(row)) {
+            return getPrimitive(row);
+        }
+
+        return objectValues == null ? null : objectValues[row];
+    }
+
+    @Override
+    public void set(final int row, final Object value) {
+        if (value != null && setPrimitive(row, value)) {
+            markPrimitive(row);
+            return;
+        }
+
+        primitivePresent.clear(row);
+        if (value == null) {
+            if (objectValues != null) {
+                objectValues[row] = null;
+            }
+            return;
+        }
+
+        if (objectValues == null) {
+            objectValues = new Object[getCapacity()];
+        }
+        objectValues[row] = value;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.batch;
+
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * A batch of Records that share a schema, which allows Record Readers and Record Set Writers to exchange many Records at once.
+ * </p>
+ *
+ * <p>
+ * Implementations may hold the Records' values in column vectors, in which case a writer can read each field's values directly
+ * from the vectors instead of calling {@link Record#getValue(String)} for each Record.
+ * </p>
+ */
+public interface RecordBatch extends Iterable<Record> {
+
+    /**
+     * The number of Records that callers read in a single batch unless they have reason to choose another size
+     */
+    int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * @return the schema of the Records in the batch
+     */
+    RecordSchema getSchema();
+
+    /**
+     * @return the number of Records in the batch
+     */
+    int size();
+
+    /**
+     * @param index the index of the Record, from 0 (inclusive) to {@link #size()} (exclusive)
+     * @return the Record at the given index
+     * @throws IndexOutOfBoundsException if the index is not valid
+     */
+    Record getRecord(int index);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    default Iterator<Record> iterator() {
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public Record next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return getRecord(index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>
+ * A set of {@link ValueCoercion}s, one for each field of a schema, that coerce values in the same way as
+ * {@link DataTypeUtils#convertType(Object, DataType, Optional, Optional, Optional, String)} with a given set of formats. Readers and writers
+ * obtain a plan for their schema once and use it for every value that they coerce, rather than determining how to coerce each value.
+ * </p>
+ *
+ * <p>
+ * Plans are cached, keyed by schema and formats, so that the plan for a schema is compiled once rather than for each FlowFile. The cache is
+ * bounded, evicting the least recently used plans.
+ * </p>
+ */
+public class CoercionPlan {
+    private static final int MAX_CACHED_PLANS = 256;
+
+    // guarded by synchronizing on CACHED_PLANS
+    private static final Map<PlanKey, CoercionPlan> CACHED_PLANS = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<PlanKey, CoercionPlan> eldest) {
+            return size() > MAX_CACHED_PLANS;
+        }
+    };
+
+    private final RecordSchema schema;
+    private final ValueCoercion[] coercions;
+    private final Map<String, Integer> fieldIndices;
+
+    private CoercionPlan(final RecordSchema schema, final Optional<String> dateFormat, final Optional<String> timeFormat, final Optional<String> timestampFormat) {
+        this.schema = schema;
+
+        final List<RecordField> fields = schema.getFields();
+        this.coercions = new ValueCoercion[fields.size()];
+        this.fieldIndices = new HashMap<>(fields.size() * 2);
+        for (int i = 0; i < coercions.length; i++) {
+            final RecordField field = fields.get(i);
+            coercions[i] = DataTypeUtils.getCoercion(field.getDataType(), dateFormat, timeFormat, timestampFormat, field.getFieldName(), StandardCharsets.UTF_8);
+            fieldIndices.put(field.getFieldName(), i);
+        }
+
+        // Aliases are resolved only after all field names, so that a field name always takes precedence over another field's alias
+        for (int i = 0; i < coercions.length; i++) {
+            for (final String alias : fields.get(i).getAliases()) {
+                fieldIndices.putIfAbsent(alias, i);
+            }
+        }
+    }
+
+    /**
+     * @param schema the schema whose values are to be coerced
+     * @return a plan that coerces values using the default format of each temporal type
+     */
+    public static CoercionPlan getPlan(final RecordSchema schema) {
+        return getPlan(schema, Optional.of(RecordFieldType.DATE.getDefaultFormat()), Optional.of(RecordFieldType.TIME.getDefaultFormat()),
+            Optional.of(RecordFieldType.TIMESTAMP.getDefaultFormat()));
+    }
+
+    /**
+     * @param schema the schema whose values are to be coerced
+     * @param dateFormat the format of DATE values
+     * @param timeFormat the format of TIME values
+     * @param timestampFormat the format of TIMESTAMP values
+     * @return a plan that coerces values using the given formats
+     */
+    public static CoercionPlan getPlan(final RecordSchema schema, final Optional<String> dateFormat, final Optional<String> timeFormat, final Optional<String> timestampFormat) {
+        final PlanKey key = new PlanKey(schema, dateFormat, timeFormat, timestampFormat);
+        synchronized (CACHED_PLANS) {
+            final CoercionPlan cached = CACHED_PLANS.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Compile outside of the lock, as compiling a plan for a wide or deeply nested schema is comparatively expensive
+        final CoercionPlan plan = new CoercionPlan(schema, dateFormat, timeFormat, timestampFormat);
+        synchronized (CACHED_PLANS) {
+            final CoercionPlan existing = CACHED_PLANS.putIfAbsent(key, plan);
+            return existing == null ? plan : existing;
+        }
+    }
+
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @param fieldIndex the position of the field in the schema
+     * @return the coercion for values of the field
+     */
+    public ValueCoercion getCoercion(final int fieldIndex) {
+        return coercions[fieldIndex];
+    }
+
+    /**
+     * @param fieldName the name or alias of a field
+     * @param dataType the data type to which values of the field are to be coerced
+     * @return the coercion for values of the field, or <code>null</code> if the schema has no such field or its data type is not the given data type
+     */
+    public ValueCoercion getCoercion(final String fieldName, final DataType dataType) {
+        final Integer fieldIndex = fieldIndices.get(fieldName);
+        if (fieldIndex == null || !schema.getField(fieldIndex).getDataType().equals(dataType)) {
+            return null;
+        }
+
+        return coercions[fieldIndex];
+    }
+
+    /**
+     * @param fieldIndex the position of the field in the schema
+     * @param value the value to coerce
+     * @return the value coerced to the data type of the field
+     * @throws IllegalTypeConversionException if the value cannot be coerced to the data type of the field
+     */
+    public Object coerce(final int fieldIndex, final Object value) {
+        return coercions[fieldIndex].coerce(value);
+    }
+
+    static int getCachedPlanCount() {
+        synchronized (CACHED_PLANS) {
+            return CACHED_PLANS.size();
+        }
+    }
+
+    private static final class PlanKey {
+        private final RecordSchema schema;
+        private final Optional<String> dateFormat;
+        private final Optional<String> timeFormat;
+        private final Optional<String> timestampFormat;
+        private final int hashCode;
+
+        private PlanKey(final RecordSchema schema, final Optional<String> dateFormat, final Optional<String> timeFormat, final Optional<String> timestampFormat) {
+            this.schema = Objects.requireNonNull(schema);
+            this.dateFormat = dateFormat;
+            this.timeFormat = timeFormat;
+            this.timestampFormat = timestampFormat;
+            this.hashCode = Objects.hash(schema, dateFormat, timeFormat, timestampFormat);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof final PlanKey other)) {
+                return false;
+            }
+
+            return hashCode == other.hashCode && schema.equals(other.schema) && dateFormat.equals(other.dateFormat)
+                && timeFormat.equals(other.timeFormat) && timestampFormat.equals(other.timestampFormat);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -250,6 +250,98 @@ public class DataTypeUtils {
         return null;
     }
 
+    /**
+     * Returns a coercion that converts values to the given data type in the same way as
+     * {@link #convertType(Object, DataType, Optional, Optional, Optional, String, Charset)}, but which determines how to do so only once.
+     * The Field Converters of temporal types are resolved ahead of time and, for a CHOICE, a coercion is prepared for each possible sub-type,
+     * so that only the choice of sub-type depends on the value. This is intended for callers that coerce many values of the same field.
+     *
+     * @param dataType the data type to which values are to be coerced
+     * @param dateFormat the format of DATE values
+     * @param timeFormat the format of TIME values
+     * @param timestampFormat the format of TIMESTAMP values
+     * @param fieldName the name of the field, used in error messages
+     * @param charset the character set used to convert between strings and byte arrays
+     * @return a coercion for values of the field
+     */
+    public static ValueCoercion getCoercion(
+            final DataType dataType,
+            final Optional<String> dateFormat,
+            final Optional<String> timeFormat,
+            final Optional<String> timestampFormat,
+            final String fieldName,
+            final Charset charset
+    ) {
+        final ValueCoercion coercion = switch (dataType.getFieldType()) {
+            case BIGINT -> value -> toBigInt(value, fieldName);
+            case BOOLEAN -> value -> toBoolean(value, fieldName);
+            case BYTE -> value -> toByte(value, fieldName);
+            case CHAR -> value -> toCharacter(value, fieldName);
+            case DATE -> {
+                final FieldConverter<Object, LocalDate> localDateConverter = StandardFieldConverterRegistry.getRegistry().getFieldConverter(LocalDate.class);
+                yield value -> {
+                    final LocalDate localDate = localDateConverter.convertField(value, dateFormat, fieldName);
+                    return localDate == null ? null : Date.valueOf(localDate);
+                };
+            }
+            case DECIMAL -> value -> toBigDecimal(value, fieldName);
+            case DOUBLE -> value -> toDouble(value, fieldName);
+            case FLOAT -> value -> toFloat(value, fieldName);
+            case INT -> value -> toInteger(value, fieldName);
+            case LONG -> value -> toLong(value, fieldName);
+            case SHORT -> value -> toShort(value, fieldName);
+            case ENUM -> {
+                final EnumDataType enumDataType = (EnumDataType) dataType;
+                yield value -> toEnum(value, enumDataType, fieldName);
+            }
+            case STRING -> {
+                final FieldConverter<Object, String> stringConverter = StandardFieldConverterRegistry.getRegistry().getFieldConverter(String.class);
+                final Optional<String> pattern = Optional.ofNullable(getDateFormat(dataType.getFieldType(), dateFormat, timeFormat, timestampFormat));
+                yield value -> stringConverter.convertField(value, pattern, fieldName);
+            }
+            case TIME -> {
+                final FieldConverter<Object, Time> timeConverter = StandardFieldConverterRegistry.getRegistry().getFieldConverter(Time.class);
+                yield value -> timeConverter.convertField(value, timeFormat, fieldName);
+            }
+            case TIMESTAMP -> {
+                final FieldConverter<Object, Timestamp> timestampConverter = StandardFieldConverterRegistry.getRegistry().getFieldConverter(Timestamp.class);
+                yield value -> timestampConverter.convertField(value, timestampFormat, fieldName);
+            }
+            case UUID -> DataTypeUtils::toUUID;
+            case ARRAY -> {
+                final DataType elementType = ((ArrayDataType) dataType).getElementType();
+                yield value -> toArray(value, fieldName, elementType, charset);
+            }
+            case MAP -> value -> toMap(value, fieldName);
+            case RECORD -> {
+                final RecordSchema childSchema = ((RecordDataType) dataType).getChildSchema();
+                yield value -> toRecord(value, childSchema, fieldName, charset);
+            }
+            case CHOICE -> getChoiceCoercion((ChoiceDataType) dataType, fieldName, charset);
+        };
+
+        return value -> value == null ? null : coercion.coerce(value);
+    }
+
+    private static ValueCoercion getChoiceCoercion(final ChoiceDataType choiceDataType, final String fieldName, final Charset charset) {
+        // As in convertType, the chosen sub-type is coerced using the default formats
+        final Map<DataType, ValueCoercion> subTypeCoercions = new HashMap<>();
+        for (final DataType subType : choiceDataType.getPossibleSubTypes()) {
+            subTypeCoercions.putIfAbsent(subType, getCoercion(subType, DEFAULT_DATE_FORMAT, DEFAULT_TIME_FORMAT, DEFAULT_TIMESTAMP_FORMAT, fieldName, charset));
+        }
+
+        return value -> {
+            final DataType chosenDataType = chooseDataType(value, choiceDataType);
+            if (chosenDataType == null) {
+                throw new IllegalTypeConversionException("Cannot convert value [" + value + "] of type " + value.getClass()
+                        + " for field " + fieldName + " to any of the following available Sub-Types for a Choice: " + choiceDataType.getPossibleSubTypes());
+            }
+
+            final ValueCoercion subTypeCoercion = subTypeCoercions.get(chosenDataType);
+            return subTypeCoercion == null ? convertType(value, chosenDataType, fieldName, charset) : subTypeCoercion.coerce(value);
+        };
+    }
+
     public static UUID toUUID(Object value) {
         switch (value) {
             case null -> {
@@ -974,7 +1066,7 @@ public class DataTypeUtils {
     }
 
     public static boolean isMapTypeCompatible(final Object value) {
-        return value != null && (value instanceof Map || value instanceof MapRecord);
+        return value != null && (value instanceof Map || value instanceof Record);
     }
 
     private static String toString(final Object value, final Supplier<DateFormat> format, final Charset charset) {
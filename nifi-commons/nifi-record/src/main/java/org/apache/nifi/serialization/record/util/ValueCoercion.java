@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+/**
+ * Coerces values of a single field to the field's data type. Instances are obtained from {@link DataTypeUtils#getCoercion} or from a
+ * {@link CoercionPlan}, which determine how to coerce the values of the field once rather than for each value.
+ */
+@FunctionalInterface
+public interface ValueCoercion {
+
+    /**
+     * @param value the value to coerce
+     * @return the coerced value, or <code>null</code> if the value is <code>null</code>
+     * @throws IllegalTypeConversionException if the value cannot be coerced to the data type of the field
+     */
+    Object coerce(Object value);
+}
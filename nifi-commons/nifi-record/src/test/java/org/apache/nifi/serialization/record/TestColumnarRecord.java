@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record;
+
+import org.apache.nifi.serialization.SchemaValidationException;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.batch.ColumnarRecordBatch;
+import org.apache.nifi.serialization.record.batch.DoubleColumnVector;
+import org.apache.nifi.serialization.record.batch.LongColumnVector;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestColumnarRecord {
+
+    private static final RecordSchema SCHEMA = new SimpleRecordSchema(List.of(
+        new RecordField("id", RecordFieldType.LONG.getDataType()),
+        new RecordField("count", RecordFieldType.INT.getDataType(), 7),
+        new RecordField("score", RecordFieldType.DOUBLE.getDataType()),
+        new RecordField("ratio", RecordFieldType.FLOAT.getDataType()),
+        new RecordField("active", RecordFieldType.BOOLEAN.getDataType()),
+        new RecordField("name", RecordFieldType.STRING.getDataType(), null, Set.of("label")),
+        new RecordField("amount", RecordFieldType.DECIMAL.getDecimalDataType(10, 2))
+    ));
+
+    @Test
+    void testValuesRetainTypes() {
+        final ColumnarRecordBatch batch = new ColumnarRecordBatch(SCHEMA, 2);
+        batch.addRow(new Object[] {1L, 2, 3.5D, 4.5F, true, "first", new BigDecimal("1.25")});
+
+        final Record record = batch.getRecord(0);
+        assertEquals(1L, record.getValue("id"));
+        assertInstanceOf(Integer.class, record.getValue("count"));
+        assertEquals(2, record.getValue("count"));
+        assertEquals(3.5D, record.getValue("score"));
+        assertInstanceOf(Float.class, record.getValue("ratio"));
+        assertEquals(4.5F, record.getValue("ratio"));
+        assertEquals(Boolean.TRUE, record.getValue("active"));
+        assertEquals("first", record.getValue("name"));
+        assertEquals(new BigDecimal("1.25"), record.getValue("amount"));
+
+        assertEquals("first", record.getValue("label"));
+        assertNull(record.getValue("unknown"));
+        assertEquals(2L, record.getAsLong("count"));
+        assertEquals("3.5", record.getAsString("score"));
+    }
+
+    @Test
+    void testPrimitiveAccess() {
+        final ColumnarRecordBatch batch = new ColumnarRecordBatch(SCHEMA, 1);
+        final int row = batch.addRow();
+        ((LongColumnVector) batch.getColumn(0)).setLong(row, 42L);
+        ((DoubleColumnVector) batch.getColumn(2)).setDouble(row, 0.5D);
+
+        final ColumnarRecord record = (ColumnarRecord) batch.getRecord(row);
+        assertEquals(42L, record.getLong(0));
+        assertEquals(42D, record.getDouble(0));
+        assertEquals(0.5D, record.getDouble(2));
+        assertFalse(record.isNull(0));
+        assertTrue(record.isNull(1));
+        assertThrows(RuntimeException.class, () -> record.getLong(1));
+    }
+
+    @Test
+    void testNullsAndDefaults() {
+        final ColumnarRecordBatch batch = new ColumnarRecordBatch(SCHEMA, 1);
+        batch.addRow(new Object[] {1L, null, null, null, null, null, null});
+
+        final Record record = batch.getRecord(0);
+        assertEquals(7, record.getValue("count"));
+        assertNull(record.getValue("score"));
+        assertEquals(Set.of("id"), record.getRawFieldNames());
+        assertEquals(Map.of("id", 1L), record.toMap());
+
+        final Object[] values = record.getValues();
+        assertEquals(1L, values[0]);
+        assertEquals(7, values[1]);
+        assertNull(values[2]);
+    }
+
+    @Test
+    void testValuesNotMatchingFieldType() {
+        final ColumnarRecordBatch batch = new ColumnarRecordBatch(SCHEMA, 1);
+        batch.addRow(new Object[] {"12", 3L, "NaN", 1.5D, "true", 5, null});
+
+        final Record record = batch.getRecord(0);
+        assertEquals("12", record.getValue("id"));
+        assertEquals(3L, record.getValue("count"));
+        assertEquals("NaN", record.getValue("score"));
+        assertEquals(1.5D, record.getValue("ratio"));
+        assertEquals("true", record.getValue("active"));
+        assertEquals(5, record.getValue("name"));
+        assertEquals(12L, record.getAsLong("id"));
+    }
+
+    @Test
+    void testModificationDoesNotChangeBatch() {
+        final ColumnarRecordBatch batch = new ColumnarRecordBatch(SCHEMA, 1, true, false);
+        batch.addRow(new Object[] {1L, 2, 3.5D, 4.5F, true, "first", null});
+
+        final ColumnarRecord record = (ColumnarRecord) batch.getRecord(0);
+        assertTrue(record.isColumnar());
+
+        record.setValue("name", "second");
+        record.setValue(new RecordField("extra", RecordFieldType.STRING.getDataType()), "value");
+        record.incorporateInactiveFields();
+
+        assertFalse(record.isColumnar());
+        assertEquals("second", record.getValue("name"));
+        assertEquals("value", record.getValue("extra"));
+        assertTrue(record.getSchema().getField("extra").isPresent());
+        assertEquals(1L, record.getLong(0));
+
+        assertEquals("first", batch.getRecord(0).getValue("name"));
+        assertFalse(batch.getRecord(0).getSchema().getField("extra").isPresent());
+    }
+
+    @Test
+    void testAddRecordAndIterate() {
+        final ColumnarRecordBatch batch = new ColumnarRecordBatch(SCHEMA, 3);
+        final List<Record> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            values.put("id", (long) i);
+            values.put("name", "name-" + i);
+            final Record record = new MapRecord(SCHEMA, values);
+            expected.add(record);
+            batch.addRecord(record);
+        }
+
+        assertTrue(batch.isFull());
+        assertThrows(IllegalStateException.class, batch::addRow);
+
+        final RecordBatch recordBatch = batch;
+        int index = 0;
+        for (final Record record : recordBatch) {
+            assertEquals(expected.get(index).getValue("id"), record.getValue("id"));
+            assertEquals(expected.get(index).getValue("name"), record.getValue("name"));
+            assertEquals(7, record.getValue("count"));
+            index++;
+        }
+        assertEquals(3, index);
+        assertEquals(batch.getRecord(1), batch.getRecord(1));
+    }
+
+    @Test
+    void testSerializedFormDiscardedOnModification() {
+        final ColumnarRecordBatch batch = new ColumnarRecordBatch(SCHEMA, 2);
+        batch.addRow(new Object[] {1L, 2, 3.5D, 4.5F, true, "first", null});
+        batch.addRow(new Object[] {2L, 3, 4.5D, 5.5F, false, "second", null});
+        final SerializedForm serializedForm = SerializedForm.of("{\"id\":1}", "application/json");
+        batch.setSerializedForm(0, serializedForm);
+
+        final Record first = batch.getRecord(0);
+        assertEquals(serializedForm, first.getSerializedForm().orElseThrow());
+        assertTrue(batch.getRecord(1).getSerializedForm().isEmpty());
+
+        first.setValue("id", 5L);
+        assertTrue(first.getSerializedForm().isEmpty());
+        assertEquals(serializedForm, batch.getRecord(0).getSerializedForm().orElseThrow());
+    }
+
+    @Test
+    void testTypeCheckedRowsValidated() {
+        final RecordSchema schema = new SimpleRecordSchema(List.of(
+            new RecordField("id", RecordFieldType.LONG.getDataType(), false),
+            new RecordField("name", RecordFieldType.STRING.getDataType())
+        ));
+        final ColumnarRecordBatch batch = new ColumnarRecordBatch(schema, 3, true, true);
+
+        batch.addRow(new Object[] {1L, null});
+        assertThrows(SchemaValidationException.class, () -> batch.addRow(new Object[] {null, "name"}));
+        assertThrows(SchemaValidationException.class, () -> batch.addRow(new Object[] {new Object[] {1}, "name"}));
+        assertEquals(1, batch.size());
+    }
+}
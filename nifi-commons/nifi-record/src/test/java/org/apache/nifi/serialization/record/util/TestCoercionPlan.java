@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestCoercionPlan {
+    private static final Optional<String> DATE_FORMAT = Optional.of("dd/MM/yyyy");
+    private static final Optional<String> TIME_FORMAT = Optional.of("HH:mm:ss");
+    private static final Optional<String> TIMESTAMP_FORMAT = Optional.of("dd/MM/yyyy HH:mm:ss");
+
+    private static final DataType CHOICE_TYPE = RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.INT.getDataType(), RecordFieldType.STRING.getDataType());
+
+    private static final RecordSchema SCHEMA = new SimpleRecordSchema(List.of(
+        new RecordField("id", RecordFieldType.LONG.getDataType()),
+        new RecordField("amount", RecordFieldType.DECIMAL.getDecimalDataType(10, 2)),
+        new RecordField("created", RecordFieldType.DATE.getDataType(), null, Set.of("createdDate")),
+        new RecordField("updated", RecordFieldType.TIMESTAMP.getDataType()),
+        new RecordField("label", RecordFieldType.STRING.getDataType()),
+        new RecordField("choice", CHOICE_TYPE),
+        new RecordField("tags", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType()))
+    ));
+
+    @Test
+    void testCoercionMatchesConvertType() {
+        final CoercionPlan plan = CoercionPlan.getPlan(SCHEMA, DATE_FORMAT, TIME_FORMAT, TIMESTAMP_FORMAT);
+
+        final Object[] values = {"42", "12.50", "31/12/2024", "31/12/2024 23:59:30", 17, "7", List.of("first", "second")};
+        for (int i = 0; i < values.length; i++) {
+            final RecordField field = SCHEMA.getField(i);
+            final Object expected = DataTypeUtils.convertType(values[i], field.getDataType(), DATE_FORMAT, TIME_FORMAT, TIMESTAMP_FORMAT, field.getFieldName());
+            final Object coerced = plan.coerce(i, values[i]);
+            if (expected instanceof Object[] expectedArray) {
+                assertEquals(List.of(expectedArray), List.of((Object[]) coerced));
+            } else {
+                assertEquals(expected, coerced);
+            }
+        }
+
+        assertEquals(42L, plan.coerce(0, "42"));
+        assertEquals(new BigDecimal("12.50"), plan.coerce(1, "12.50"));
+        assertEquals(Date.valueOf("2024-12-31"), plan.coerce(2, "31/12/2024"));
+        assertEquals(Timestamp.valueOf("2024-12-31 23:59:30"), plan.coerce(3, "31/12/2024 23:59:30"));
+        assertEquals("17", plan.coerce(4, 17));
+        assertEquals(7, plan.coerce(5, "7"));
+        assertEquals("seven", plan.coerce(5, "seven"));
+    }
+
+    @Test
+    void testNullAndInvalidValues() {
+        final CoercionPlan plan = CoercionPlan.getPlan(SCHEMA);
+
+        for (int i = 0; i < SCHEMA.getFieldCount(); i++) {
+            assertNull(plan.coerce(i, null));
+        }
+
+        assertThrows(IllegalTypeConversionException.class, () -> plan.coerce(0, new Object()));
+    }
+
+    @Test
+    void testCoercionByFieldName() {
+        final CoercionPlan plan = CoercionPlan.getPlan(SCHEMA);
+
+        assertSame(plan.getCoercion(2), plan.getCoercion("created", RecordFieldType.DATE.getDataType()));
+        assertSame(plan.getCoercion(2), plan.getCoercion("createdDate", RecordFieldType.DATE.getDataType()));
+        assertNull(plan.getCoercion("created", RecordFieldType.STRING.getDataType()));
+        assertNull(plan.getCoercion("unknown", RecordFieldType.STRING.getDataType()));
+    }
+
+    @Test
+    void testPlansCached() {
+        final RecordSchema equalSchema = new SimpleRecordSchema(SCHEMA.getFields());
+
+        final CoercionPlan plan = CoercionPlan.getPlan(SCHEMA, DATE_FORMAT, TIME_FORMAT, TIMESTAMP_FORMAT);
+        assertSame(plan, CoercionPlan.getPlan(equalSchema, DATE_FORMAT, TIME_FORMAT, TIMESTAMP_FORMAT));
+        assertNotSame(plan, CoercionPlan.getPlan(SCHEMA, Optional.empty(), TIME_FORMAT, TIMESTAMP_FORMAT));
+
+        for (int i = 0; i < 300; i++) {
+            final RecordSchema schema = new SimpleRecordSchema(List.of(new RecordField("field" + i, RecordFieldType.STRING.getDataType())));
+            CoercionPlan.getPlan(schema);
+        }
+        assertEquals(256, CoercionPlan.getCachedPlanCount());
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.wali;
+
+import java.io.IOException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * Coordinates syncing of a journal to disk on behalf of many threads that have each written an update to the journal.
+ * </p>
+ *
+ * <p>
+ * When a sync window is configured, the first thread to request a sync becomes the leader. The leader waits for the sync window
+ * to elapse so that other threads are able to write their updates, and then performs a single sync on behalf of all updates that were
+ * written before the sync began. Threads that request a sync while a sync is in progress wait until a sync covering their update
+ * completes, at which point one of them becomes the leader of the next sync if necessary. Each thread therefore blocks only until its own
+ * update is durable, but the cost of the sync is shared by all updates in the batch.
+ * </p>
+ *
+ * <p>
+ * When no sync window is configured, each request results in its own sync, as if this class were not used.
+ * </p>
+ */
+class GroupCommitSynchronizer {
+    private final long syncWindowNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition syncCompleted = lock.newCondition();
+
+    // all guarded by lock
+    private long writtenSequence = 0L;
+    private long durableSequence = 0L;
+    private long failedSequence = 0L;
+    private IOException failure;
+    private boolean syncInProgress = false;
+
+    private long syncCount = 0L;
+    private long syncedUpdateCount = 0L;
+    private long maxBatchSize = 0L;
+    private long totalSyncNanos = 0L;
+    private long maxSyncNanos = 0L;
+
+    GroupCommitSynchronizer(final long syncWindowNanos) {
+        this.syncWindowNanos = Math.max(0L, syncWindowNanos);
+    }
+
+    /**
+     * Waits until an update that has already been written to the journal has been synced to disk, performing the sync
+     * if no other thread is doing so.
+     *
+     * @param syncAction the action that syncs the journal to disk
+     * @throws IOException if the sync that was to cover the update failed
+     */
+    void sync(final SyncAction syncAction) throws IOException {
+        if (syncWindowNanos == 0L) {
+            final long start = System.nanoTime();
+            syncAction.sync();
+            recordSync(1L, System.nanoTime() - start);
+            return;
+        }
+
+        lock.lock();
+        try {
+            final long sequence = ++writtenSequence;
+
+            while (durableSequence < sequence) {
+                if (sequence <= failedSequence) {
+                    throw new IOException("Failed to sync Write-Ahead Log journal to disk", failure);
+                }
+
+                if (!syncInProgress) {
+                    syncInProgress = true;
+                    break;
+                }
+
+                syncCompleted.awaitUninterruptibly();
+            }
+
+            if (durableSequence >= sequence) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        leadSync(syncAction);
+    }
+
+    private void leadSync(final SyncAction syncAction) throws IOException {
+        awaitSyncWindow();
+
+        final long targetSequence;
+        final long previousDurableSequence;
+        lock.lock();
+        try {
+            targetSequence = writtenSequence;
+            previousDurableSequence = durableSequence;
+        } finally {
+            lock.unlock();
+        }
+
+        // Every update up to the target sequence was written to the journal before the target was captured, so it is
+        // covered by the sync. Updates written while the sync is in progress may or may not be covered and wait for the next one.
+        final long start = System.nanoTime();
+        try {
+            syncAction.sync();
+        } catch (final IOException | RuntimeException e) {
+            lock.lock();
+            try {
+                failedSequence = targetSequence;
+                failure = (e instanceof IOException ioe) ? ioe : new IOException(e);
+                syncInProgress = false;
+                syncCompleted.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            throw e;
+        }
+
+        final long syncNanos = System.nanoTime() - start;
+        lock.lock();
+        try {
+            durableSequence = targetSequence;
+            syncInProgress = false;
+            recordSync(targetSequence - previousDurableSequence, syncNanos);
+            syncCompleted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitSyncWindow() {
+        final long deadline = System.nanoTime() + syncWindowNanos;
+        long remaining = syncWindowNanos;
+        while (remaining > 0L && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    private void recordSync(final long batchSize, final long syncNanos) {
+        lock.lock();
+        try {
+            syncCount++;
+            syncedUpdateCount += batchSize;
+            maxBatchSize = Math.max(maxBatchSize, batchSize);
+            totalSyncNanos += syncNanos;
+            maxSyncNanos = Math.max(maxSyncNanos, syncNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return statistics for the syncs that have been performed since the last time this method was called
+     */
+    JournalSyncStatistics getAndResetStatistics() {
+        lock.lock();
+        try {
+            final JournalSyncStatistics statistics = new JournalSyncStatistics(syncCount, syncedUpdateCount, maxBatchSize, totalSyncNanos, maxSyncNanos);
+            syncCount = 0L;
+            syncedUpdateCount = 0L;
+            maxBatchSize = 0L;
+            totalSyncNanos = 0L;
+            maxSyncNanos = 0L;
+            return statistics;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    interface SyncAction {
+        void sync() throws IOException;
+    }
+}
@@ -40,21 +40,67 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * A snapshot that holds the current state of all records in memory and writes all of them to a single snapshot file on checkpoint.
+ * </p>
+ *
+ * <p>
+ * When delta snapshots are enabled, a checkpoint instead writes a delta file that contains only the records that have changed since the
+ * previous checkpoint, including a record of each removal. Once the configured number of deltas has been written, a new base snapshot is
+ * written in the background and the deltas that it covers are deleted. On recovery, the base snapshot is restored and then each delta is
+ * applied in the order in which it was written.
+ * </p>
+ */
 public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T> {
     private static final Logger logger = LoggerFactory.getLogger(HashMapSnapshot.class);
     private static final int ENCODING_VERSION = 1;
+    private static final String DELTA_FILENAME_PREFIX = "checkpoint.delta.";
+    private static final Pattern DELTA_FILENAME_PATTERN = Pattern.compile("checkpoint\\.delta\\.(\\d+)");
+    private static final String PARTIAL_FILENAME_SUFFIX = ".partial";
 
     private final ConcurrentMap<Object, T> recordMap = new ConcurrentHashMap<>();
     private final SerDeFactory<T> serdeFactory;
     private final Set<String> swapLocations = Collections.synchronizedSet(new HashSet<>());
     private final File storageDirectory;
 
+    private final int maxDeltaSnapshots;
+    private final ConcurrentMap<Object, T> changedRecords = new ConcurrentHashMap<>();
+    private final AtomicBoolean compactionRunning = new AtomicBoolean(false);
+    private final Object baseSnapshotLock = new Object();
+    private volatile boolean fullSnapshotRequired = true;
+    private volatile int deltaSnapshotCount = 0;
+    private long nextDeltaSequence = 0L; // guarded by synchronizing on this
+    private long baseSnapshotTransactionId = -1L; // guarded by baseSnapshotLock
+    private volatile Thread compactionThread;
+
     public HashMapSnapshot(final File storageDirectory, final SerDeFactory<T> serdeFactory) {
+        this(storageDirectory, serdeFactory, 0);
+    }
+
+    /**
+     * @param storageDirectory the directory in which to store the snapshot
+     * @param serdeFactory the factory for the serializer/deserializer of records
+     * @param maxDeltaSnapshots the number of delta snapshots to write before compacting them into a new base snapshot,
+     *            or 0 to write a full snapshot on every checkpoint
+     */
+    public HashMapSnapshot(final File storageDirectory, final SerDeFactory<T> serdeFactory, final int maxDeltaSnapshots) {
+        if (maxDeltaSnapshots < 0) {
+            throw new IllegalArgumentException("Maximum number of delta snapshots cannot be negative but was " + maxDeltaSnapshots);
+        }
+
         this.serdeFactory = serdeFactory;
         this.storageDirectory = storageDirectory;
+        this.maxDeltaSnapshots = maxDeltaSnapshots;
     }
 
     private SnapshotHeader validateHeader(final DataInputStream dataIn) throws IOException {
@@ -92,6 +138,113 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
 
     @Override
     public SnapshotRecovery<T> recover() throws IOException {
+        final SnapshotRecovery<T> baseRecovery = recoverBaseSnapshot();
+        synchronized (baseSnapshotLock) {
+            baseSnapshotTransactionId = baseRecovery.getMaxTransactionId();
+        }
+
+        final SortedMap<Long, File> deltaFiles = findDeltaFiles();
+        if (deltaFiles.isEmpty()) {
+            return baseRecovery;
+        }
+
+        synchronized (this) {
+            nextDeltaSequence = Math.max(nextDeltaSequence, deltaFiles.lastKey() + 1);
+        }
+
+        long maxTransactionId = baseRecovery.getMaxTransactionId();
+        File recoveryFile = baseRecovery.getRecoveryFile();
+        final Set<String> recoveredSwapLocations = new HashSet<>(baseRecovery.getRecoveredSwapLocations());
+        int deltasRecovered = 0;
+
+        for (final File deltaFile : deltaFiles.values()) {
+            try (final DataInputStream dataIn = new DataInputStream(new BufferedInputStream(new FileInputStream(deltaFile)))) {
+                final SnapshotHeader header = validateHeader(dataIn);
+
+                // A delta that ends before the base snapshot was left behind when the base snapshot was written and is already encapsulated in it.
+                // Applying a delta that the base snapshot already encapsulates is harmless, because the deltas are applied in order.
+                if (header.getMaxTransactionId() < maxTransactionId) {
+                    logger.debug("Skipping Snapshot delta {} with Max Transaction ID {} because it is already encapsulated in the Snapshot with Max Transaction ID {}",
+                        deltaFile, header.getMaxTransactionId(), maxTransactionId);
+                    continue;
+                }
+
+                final SerDe<T> serde = header.getSerDe();
+                for (int i = 0; i < header.getNumRecords(); i++) {
+                    final T record = serde.deserializeRecord(dataIn, header.getSerDeVersion());
+                    if (record == null) {
+                        throw new EOFException("Snapshot delta " + deltaFile + " ended after " + i + " of " + header.getNumRecords() + " records");
+                    }
+
+                    final Object recordId = serde.getRecordIdentifier(record);
+                    final UpdateType updateType = serde.getUpdateType(record);
+                    if (updateType == UpdateType.DELETE || updateType == UpdateType.SWAP_OUT) {
+                        recordMap.remove(recordId);
+                    } else {
+                        recordMap.put(recordId, record);
+                    }
+                }
+
+                // Each delta contains all swap locations at the time that it was written.
+                recoveredSwapLocations.clear();
+                final int numSwapRecords = dataIn.readInt();
+                for (int i = 0; i < numSwapRecords; i++) {
+                    recoveredSwapLocations.add(dataIn.readUTF());
+                }
+
+                maxTransactionId = header.getMaxTransactionId();
+                recoveryFile = deltaFile;
+                deltasRecovered++;
+            }
+        }
+
+        synchronized (swapLocations) {
+            swapLocations.clear();
+            swapLocations.addAll(recoveredSwapLocations);
+        }
+
+        logger.info("{} restored {} Snapshot deltas, resulting in {} Records and {} Swap Files, ending with Transaction ID {}",
+            this, deltasRecovered, recordMap.size(), recoveredSwapLocations.size(), maxTransactionId);
+
+        return new StandardSnapshotRecovery<>(recordMap, recoveredSwapLocations, recoveryFile, maxTransactionId);
+    }
+
+    private SortedMap<Long, File> findDeltaFiles() throws IOException {
+        final File[] files = storageDirectory.listFiles();
+        if (files == null) {
+            throw new IOException("Cannot access the list of files in directory " + storageDirectory + "; please ensure that appropriate file permissions are set.");
+        }
+
+        final SortedMap<Long, File> deltaFiles = new TreeMap<>();
+        for (final File file : files) {
+            final String filename = file.getName();
+            if (filename.startsWith(DELTA_FILENAME_PREFIX) && filename.endsWith(PARTIAL_FILENAME_SUFFIX)) {
+                // A partial delta was never completed, so the journals that it would have encapsulated were not deleted
+                Files.deleteIfExists(file.toPath());
+                continue;
+            }
+
+            final Matcher matcher = DELTA_FILENAME_PATTERN.matcher(filename);
+            if (matcher.matches()) {
+                deltaFiles.put(Long.parseLong(matcher.group(1)), file);
+            }
+        }
+
+        return deltaFiles;
+    }
+
+    private void deleteDeltaFiles(final long maxSequence) throws IOException {
+        for (final Map.Entry<Long, File> entry : findDeltaFiles().entrySet()) {
+            if (entry.getKey() <= maxSequence) {
+                final File deltaFile = entry.getValue();
+                if (!deltaFile.delete() && deltaFile.exists()) {
+                    logger.warn("Unable to delete Snapshot delta {}, which is encapsulated in the current Snapshot", deltaFile);
+                }
+            }
+        }
+    }
+
+    private SnapshotRecovery<T> recoverBaseSnapshot() throws IOException {
         final File partialFile = getPartialFile();
         final File snapshotFile = getSnapshotFile();
         final boolean partialExists = partialFile.exists();
@@ -173,6 +326,10 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
             final Object recordId = serdeFactory.getRecordIdentifier(record);
             final UpdateType updateType = serdeFactory.getUpdateType(record);
 
+            if (maxDeltaSnapshots > 0) {
+                changedRecords.put(recordId, record);
+            }
+
             switch (updateType) {
                 case DELETE:
                     recordMap.remove(recordId);
@@ -222,6 +379,26 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
         return new Snapshot(new HashMap<>(recordMap), new HashSet<>(swapFileLocations), maxTransactionId);
     }
 
+    @Override
+    public SnapshotCapture<T> prepareCheckpoint(final long maxTransactionId) {
+        if (maxDeltaSnapshots == 0 || fullSnapshotRequired) {
+            changedRecords.clear();
+            return prepareSnapshot(maxTransactionId);
+        }
+
+        // For each record that has changed, capture its current state or, if it is no longer in the map, the update that removed it.
+        final Map<Object, T> deltaRecords = new HashMap<>(changedRecords.size());
+        for (final Map.Entry<Object, T> entry : changedRecords.entrySet()) {
+            final T currentRecord = recordMap.get(entry.getKey());
+            deltaRecords.put(entry.getKey(), currentRecord == null ? entry.getValue() : currentRecord);
+        }
+        changedRecords.clear();
+
+        final boolean compact = deltaSnapshotCount + 1 >= maxDeltaSnapshots && !compactionRunning.get();
+        final Map<Object, T> compactionRecords = compact ? new HashMap<>(recordMap) : null;
+        return new DeltaSnapshot<>(deltaRecords, new HashSet<>(swapLocations), maxTransactionId, recordMap.size(), compactionRecords);
+    }
+
     private int getVersion() {
         return ENCODING_VERSION;
     }
@@ -234,10 +411,104 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
         return new File(storageDirectory, "checkpoint");
     }
 
+    private File getDeltaFile(final long sequence) {
+        return new File(storageDirectory, DELTA_FILENAME_PREFIX + sequence);
+    }
+
     @Override
     public synchronized void writeSnapshot(final SnapshotCapture<T> snapshot) throws IOException {
-        final SerDe<T> serde = serdeFactory.createSerDe(null);
+        try {
+            if (snapshot instanceof DeltaSnapshot<T> deltaSnapshot) {
+                writeDeltaSnapshot(deltaSnapshot);
+            } else {
+                synchronized (baseSnapshotLock) {
+                    writeBaseSnapshot(snapshot);
+                }
+
+                deleteDeltaFiles(Long.MAX_VALUE);
+                deltaSnapshotCount = 0;
+                fullSnapshotRequired = false;
+            }
+        } catch (final Throwable t) {
+            // The changes that were captured are no longer tracked, so the next checkpoint must write all records.
+            fullSnapshotRequired = true;
+            throw t;
+        }
+    }
+
+    private void writeDeltaSnapshot(final DeltaSnapshot<T> deltaSnapshot) throws IOException {
+        final long sequence = nextDeltaSequence++;
+        final File deltaFile = getDeltaFile(sequence);
+        final File partialDeltaFile = new File(storageDirectory, deltaFile.getName() + PARTIAL_FILENAME_SUFFIX);
+
+        // Write to a partial file and rename it only once it is complete, so that recovery never encounters an incomplete delta.
+        writeSnapshotFile(partialDeltaFile, deltaSnapshot);
+
+        final boolean rename = partialDeltaFile.renameTo(deltaFile);
+        if (!rename) {
+            throw new IOException("Failed to rename partial snapshot delta file " + partialDeltaFile + " to " + deltaFile);
+        }
+
+        deltaSnapshotCount++;
+        logger.debug("Wrote Snapshot delta {} with {} changed Records, ending with Transaction ID {}", deltaFile, deltaSnapshot.getRecords().size(), deltaSnapshot.getMaxTransactionId());
+
+        final Map<Object, T> compactionRecords = deltaSnapshot.getCompactionRecords();
+        if (compactionRecords != null) {
+            deltaSnapshotCount = 0;
+            startCompaction(new Snapshot(compactionRecords, deltaSnapshot.getSwapLocations(), deltaSnapshot.getMaxTransactionId()), sequence);
+        }
+    }
+
+    private void startCompaction(final SnapshotCapture<T> snapshot, final long deltaSequence) {
+        compactionRunning.set(true);
 
+        final Thread thread = new Thread(() -> compact(snapshot, deltaSequence), "Compact Write-Ahead Log Snapshot");
+        thread.setDaemon(true);
+        compactionThread = thread;
+        thread.start();
+    }
+
+    private void compact(final SnapshotCapture<T> snapshot, final long deltaSequence) {
+        try {
+            final long start = System.nanoTime();
+            synchronized (baseSnapshotLock) {
+                // If a full snapshot was written since the compaction was started, it is more recent than this one
+                if (snapshot.getMaxTransactionId() <= baseSnapshotTransactionId) {
+                    logger.debug("Will not compact Snapshot deltas at {} because the Snapshot is already more recent", storageDirectory);
+                    return;
+                }
+
+                writeBaseSnapshot(snapshot);
+            }
+
+            deleteDeltaFiles(deltaSequence);
+
+            final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.info("{} compacted Snapshot deltas into Snapshot with {} Records, ending with Transaction ID {}, in {} milliseconds",
+                this, snapshot.getRecords().size(), snapshot.getMaxTransactionId(), millis);
+        } catch (final Throwable t) {
+            logger.error("Failed to compact Snapshot deltas at {}; will retry after more deltas have been written", storageDirectory, t);
+        } finally {
+            compactionRunning.set(false);
+        }
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        final Thread thread = compactionThread;
+        if (thread == null) {
+            return;
+        }
+
+        try {
+            thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for compaction of Snapshot deltas at " + storageDirectory, e);
+        }
+    }
+
+    private void writeBaseSnapshot(final SnapshotCapture<T> snapshot) throws IOException {
         final File snapshotFile = getSnapshotFile();
         final File partialFile = getPartialFile();
 
@@ -260,7 +531,28 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
         }
 
         // Write to the partial file.
-        try (final FileOutputStream fileOut = new FileOutputStream(getPartialFile());
+        writeSnapshotFile(partialFile, snapshot);
+
+        // If the snapshot file exists, delete it
+        if (snapshotFile.exists()) {
+            if (!snapshotFile.delete()) {
+                logger.warn("Unable to delete existing Snapshot file {}", snapshotFile);
+            }
+        }
+
+        // Rename the partial file to Snapshot.
+        final boolean rename = partialFile.renameTo(snapshotFile);
+        if (!rename) {
+            throw new IOException("Failed to rename partial snapshot file " + partialFile + " to " + snapshotFile);
+        }
+
+        baseSnapshotTransactionId = snapshot.getMaxTransactionId();
+    }
+
+    private void writeSnapshotFile(final File file, final SnapshotCapture<T> snapshot) throws IOException {
+        final SerDe<T> serde = serdeFactory.createSerDe(null);
+
+        try (final FileOutputStream fileOut = new FileOutputStream(file);
             final OutputStream bufferedOut = new BufferedOutputStream(fileOut);
             final DataOutputStream dataOut = new DataOutputStream(bufferedOut)) {
 
@@ -290,19 +582,6 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
             dataOut.flush();
             fileOut.getChannel().force(false);
         }
-
-        // If the snapshot file exists, delete it
-        if (snapshotFile.exists()) {
-            if (!snapshotFile.delete()) {
-                logger.warn("Unable to delete existing Snapshot file {}", snapshotFile);
-            }
-        }
-
-        // Rename the partial file to Snapshot.
-        final boolean rename = partialFile.renameTo(snapshotFile);
-        if (!rename) {
-            throw new IOException("Failed to rename partial snapshot file " + partialFile + " to " + snapshotFile);
-        }
     }
 
 
@@ -333,6 +612,53 @@ public class HashMapSnapshot<T> implements WriteAheadSnapshot<T>, RecordLookup<T
         }
     }
 
+    /**
+     * The records that have changed since the previous checkpoint. Records that have been removed are represented by the update that removed them.
+     */
+    private static class DeltaSnapshot<T> implements SnapshotCapture<T> {
+        private final Map<Object, T> records;
+        private final Set<String> swapLocations;
+        private final long maxTransactionId;
+        private final int recordCount;
+        private final Map<Object, T> compactionRecords;
+
+        DeltaSnapshot(final Map<Object, T> records, final Set<String> swapLocations, final long maxTransactionId, final int recordCount,
+                      final Map<Object, T> compactionRecords) {
+            this.records = records;
+            this.swapLocations = swapLocations;
+            this.maxTransactionId = maxTransactionId;
+            this.recordCount = recordCount;
+            this.compactionRecords = compactionRecords;
+        }
+
+        @Override
+        public Map<Object, T> getRecords() {
+            return records;
+        }
+
+        @Override
+        public long getMaxTransactionId() {
+            return maxTransactionId;
+        }
+
+        @Override
+        public Set<String> getSwapLocations() {
+            return swapLocations;
+        }
+
+        @Override
+        public int getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * @return all records, to be written as a new base snapshot once the delta has been written, or <code>null</code> if the snapshot is not to be compacted
+         */
+        Map<Object, T> getCompactionRecords() {
+            return compactionRecords;
+        }
+    }
+
     private class SnapshotHeader {
         private final SerDe<T> serde;
         private final int serdeVersion;
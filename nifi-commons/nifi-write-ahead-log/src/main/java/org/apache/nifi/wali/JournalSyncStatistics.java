@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.wali;
+
+/**
+ * An immutable summary of the journal syncs that were performed by a Write-Ahead Log over some period of time.
+ * When group commit is enabled, a single sync makes the updates of many callers durable; the batch size is the
+ * number of updates that were made durable by a single sync.
+ */
+public class JournalSyncStatistics {
+    public static final JournalSyncStatistics EMPTY = new JournalSyncStatistics(0L, 0L, 0L, 0L, 0L);
+
+    private final long syncCount;
+    private final long syncedUpdateCount;
+    private final long maxBatchSize;
+    private final long totalSyncNanos;
+    private final long maxSyncNanos;
+
+    public JournalSyncStatistics(final long syncCount, final long syncedUpdateCount, final long maxBatchSize, final long totalSyncNanos, final long maxSyncNanos) {
+        this.syncCount = syncCount;
+        this.syncedUpdateCount = syncedUpdateCount;
+        this.maxBatchSize = maxBatchSize;
+        this.totalSyncNanos = totalSyncNanos;
+        this.maxSyncNanos = maxSyncNanos;
+    }
+
+    /**
+     * @return the number of times that the journal was synced to disk
+     */
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * @return the number of updates that were made durable by the syncs
+     */
+    public long getSyncedUpdateCount() {
+        return syncedUpdateCount;
+    }
+
+    /**
+     * @return the largest number of updates that were made durable by a single sync
+     */
+    public long getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return the average number of updates that were made durable by a single sync, or 0 if no syncs were performed
+     */
+    public double getAverageBatchSize() {
+        return syncCount == 0 ? 0D : (double) syncedUpdateCount / syncCount;
+    }
+
+    /**
+     * @return the total number of nanoseconds spent syncing the journal to disk
+     */
+    public long getTotalSyncNanos() {
+        return totalSyncNanos;
+    }
+
+    /**
+     * @return the largest number of nanoseconds that a single sync took
+     */
+    public long getMaxSyncNanos() {
+        return maxSyncNanos;
+    }
+
+    /**
+     * @return the average number of nanoseconds that a single sync took, or 0 if no syncs were performed
+     */
+    public long getAverageSyncNanos() {
+        return syncCount == 0 ? 0L : totalSyncNanos / syncCount;
+    }
+
+    /**
+     * @param other the statistics to combine with these
+     * @return statistics that cover the syncs of both these statistics and the given statistics
+     */
+    public JournalSyncStatistics combine(final JournalSyncStatistics other) {
+        return new JournalSyncStatistics(syncCount + other.syncCount, syncedUpdateCount + other.syncedUpdateCount, Math.max(maxBatchSize, other.maxBatchSize),
+            totalSyncNanos + other.totalSyncNanos, Math.max(maxSyncNanos, other.maxSyncNanos));
+    }
+
+    @Override
+    public String toString() {
+        return "JournalSyncStatistics[syncCount=" + syncCount + ", syncedUpdateCount=" + syncedUpdateCount + ", maxBatchSize=" + maxBatchSize
+            + ", totalSyncNanos=" + totalSyncNanos + ", maxSyncNanos=" + maxSyncNanos + "]";
+    }
+}
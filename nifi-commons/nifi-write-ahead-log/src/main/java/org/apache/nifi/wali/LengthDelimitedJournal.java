@@ -27,6 +27,7 @@ import org.wali.UpdateType;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -42,12 +43,18 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class LengthDelimitedJournal<T> implements WriteAheadJournal<T> {
     private static final Logger logger = LoggerFactory.getLogger(LengthDelimitedJournal.class);
@@ -61,7 +68,7 @@ public class LengthDelimitedJournal<T> implements WriteAheadJournal<T> {
 
     private final File journalFile;
     private final File overflowDirectory;
-    private final long initialTransactionId;
+    private final AtomicLong transactionIdGenerator;
     private final SerDeFactory<T> serdeFactory;
     private final ObjectPool<ByteArrayDataOutputStream> streamPool;
     private final int maxInHeapSerializationBytes;
@@ -70,7 +77,8 @@ public class LengthDelimitedJournal<T> implements WriteAheadJournal<T> {
     private FileOutputStream fileOut;
     private BufferedOutputStream bufferedOut;
 
-    private long currentTransactionId;
+    private long firstTransactionId;
+    private long lastTransactionId;
     private int transactionCount;
     private boolean headerWritten = false;
 
@@ -84,14 +92,32 @@ public class LengthDelimitedJournal<T> implements WriteAheadJournal<T> {
 
     public LengthDelimitedJournal(final File journalFile, final SerDeFactory<T> serdeFactory, final ObjectPool<ByteArrayDataOutputStream> streamPool, final long initialTransactionId,
                                   final int maxInHeapSerializationBytes) {
+        this(journalFile, serdeFactory, streamPool, new AtomicLong(initialTransactionId), maxInHeapSerializationBytes);
+    }
+
+    /**
+     * Creates a journal that obtains the Transaction ID of each transaction from the given generator. A generator may be shared
+     * by several journals that are written concurrently so that the transactions of all of them can be recovered in order.
+     *
+     * @param journalFile the file to write the journal to
+     * @param serdeFactory the factory for the serializer/deserializer of records
+     * @param streamPool the pool of buffers used to serialize updates
+     * @param transactionIdGenerator the source of Transaction IDs
+     */
+    public LengthDelimitedJournal(final File journalFile, final SerDeFactory<T> serdeFactory, final ObjectPool<ByteArrayDataOutputStream> streamPool,
+                                  final AtomicLong transactionIdGenerator) {
+        this(journalFile, serdeFactory, streamPool, transactionIdGenerator, DEFAULT_MAX_IN_HEAP_SERIALIZATION_BYTES);
+    }
+
+    private LengthDelimitedJournal(final File journalFile, final SerDeFactory<T> serdeFactory, final ObjectPool<ByteArrayDataOutputStream> streamPool,
+                                   final AtomicLong transactionIdGenerator, final int maxInHeapSerializationBytes) {
         this.journalFile = journalFile;
         this.overflowDirectory = new File(journalFile.getParentFile(), "overflow-" + getBaseFilename(journalFile));
         this.serdeFactory = serdeFactory;
         this.serde = serdeFactory.createSerDe(null);
         this.streamPool = streamPool;
 
-        this.initialTransactionId = initialTransactionId;
-        this.currentTransactionId = initialTransactionId;
+        this.transactionIdGenerator = transactionIdGenerator;
         this.maxInHeapSerializationBytes = maxInHeapSerializationBytes;
     }
 
@@ -308,8 +334,11 @@ public class LengthDelimitedJournal<T> implements WriteAheadJournal<T> {
                 checkState();
 
                 try {
-                    transactionId = currentTransactionId++;
-                    transactionCount++;
+                    transactionId = transactionIdGenerator.getAndIncrement();
+                    if (transactionCount++ == 0) {
+                        firstTransactionId = transactionId;
+                    }
+                    lastTransactionId = transactionId;
 
                     transactionPreamble.clear();
                     transactionPreamble.putLong(transactionId);
@@ -376,15 +405,24 @@ public class LengthDelimitedJournal<T> implements WriteAheadJournal<T> {
     }
 
     @Override
-    public synchronized void fsync() throws IOException {
-        checkState();
+    public void fsync() throws IOException {
+        final FileOutputStream out;
+        synchronized (this) {
+            checkState();
+            out = fileOut;
+        }
 
+        if (out == null) {
+            return;
+        }
+
+        // Force outside of the synchronized block so that other threads are able to write to the journal while the sync is in progress
         try {
-            if (fileOut != null) {
-                fileOut.getChannel().force(false);
-            }
+            out.getChannel().force(false);
         } catch (final IOException ioe) {
-            poison(ioe);
+            synchronized (this) {
+                poison(ioe);
+            }
         }
     }
 
@@ -411,157 +449,61 @@ public class LengthDelimitedJournal<T> implements WriteAheadJournal<T> {
 
     @Override
     public JournalRecovery recoverRecords(final Map<Object, T> recordMap, final Set<String> swapLocations) throws IOException {
-        long maxTransactionId = -1L;
-        int updateCount = 0;
+        return recoverRecords(Collections.singletonList(this), recordMap, swapLocations);
+    }
 
-        boolean eofException = false;
-        logger.info("Recovering records from journal {}", journalFile);
-        final double journalLength = journalFile.length();
+    /**
+     * Recovers the records from several journals whose transactions were written concurrently using a shared Transaction ID generator.
+     * The transactions of all journals are applied in order of Transaction ID, so that each record is recovered to the state of its
+     * most recent update, regardless of the journal to which each of its updates was written.
+     *
+     * @param journals the journals to recover
+     * @param recordMap the records that have been recovered so far, keyed by record identifier, which is updated with the recovered transactions
+     * @param swapLocations the swap locations that have been recovered so far, which is updated with the recovered transactions
+     * @param <T> the type of record
+     * @return the combined result of recovering all of the journals
+     * @throws IOException if unable to read from any of the journals
+     */
+    public static <T> JournalRecovery recoverRecords(final List<LengthDelimitedJournal<T>> journals, final Map<Object, T> recordMap, final Set<String> swapLocations)
+            throws IOException {
 
-        try (final InputStream fis = new FileInputStream(journalFile);
-            final InputStream bufferedIn = new BufferedInputStream(fis);
-            final ByteCountingInputStream byteCountingIn = new ByteCountingInputStream(bufferedIn);
-            final DataInputStream in = new DataInputStream(byteCountingIn)) {
+        final List<LengthDelimitedJournal<T>.TransactionReader> readers = new ArrayList<>(journals.size());
+        final PriorityQueue<LengthDelimitedJournal<T>.TransactionReader> pendingReaders =
+            new PriorityQueue<>(Math.max(1, journals.size()), Comparator.comparingLong(LengthDelimitedJournal.TransactionReader::getNextTransactionId));
 
-            try {
-                // Validate that the header is what we expect and obtain the appropriate SerDe and Version information
-                final SerDeAndVersion serdeAndVersion = validateHeader(in);
-                final SerDe<T> serde = serdeAndVersion.getSerDe();
-
-                // Ensure that we get a valid transaction indicator
-                int transactionIndicator = in.read();
-                if (transactionIndicator != TRANSACTION_FOLLOWS && transactionIndicator != JOURNAL_COMPLETE && transactionIndicator != -1) {
-                    throw new IOException("After reading " + byteCountingIn.getBytesConsumed() + " bytes from " + journalFile + ", encountered unexpected value of "
-                        + transactionIndicator + " for the Transaction Indicator. This journal may have been corrupted.");
+        try {
+            for (final LengthDelimitedJournal<T> journal : journals) {
+                final LengthDelimitedJournal<T>.TransactionReader reader = journal.new TransactionReader();
+                readers.add(reader);
+                if (reader.hasNextTransaction()) {
+                    pendingReaders.add(reader);
                 }
+            }
 
-                long consumedAtLog = 0L;
-
-                // We don't want to apply the updates in a transaction until we've finished recovering the entire
-                // transaction. Otherwise, we could apply say 8 out of 10 updates and then hit an EOF. In such a case,
-                // we want to rollback the entire transaction. We handle this by not updating recordMap or swapLocations
-                // variables directly but instead keeping track of the things that occurred and then once we've read the
-                // entire transaction, we can apply those updates to the recordMap and swapLocations.
-                final Map<Object, T> transactionRecordMap = new HashMap<>();
-                final Set<Object> idsRemoved = new HashSet<>();
-                final Set<String> swapLocationsRemoved = new HashSet<>();
-                final Set<String> swapLocationsAdded = new HashSet<>();
-                int transactionUpdates = 0;
-
-                // While we have a transaction to recover, recover it
-                while (transactionIndicator == TRANSACTION_FOLLOWS) {
-                    transactionRecordMap.clear();
-                    idsRemoved.clear();
-                    swapLocationsRemoved.clear();
-                    swapLocationsAdded.clear();
-                    transactionUpdates = 0;
-
-                    // Format is <Transaction ID: 8 bytes> <Transaction Length: 4 bytes> <Transaction data: # of bytes indicated by Transaction Length Field>
-                    final long transactionId = in.readLong();
-                    maxTransactionId = Math.max(maxTransactionId, transactionId);
-                    final int transactionLength = in.readInt();
-
-                    // Use SerDe to deserialize the update. We use a LimitingInputStream to ensure that the SerDe is not able to read past its intended
-                    // length, in case there is a bug in the SerDe. We then use a ByteCountingInputStream so that we can ensure that all of the data has
-                    // been read and throw EOFException otherwise.
-                    final InputStream transactionLimitingIn = new LimitingInputStream(in, transactionLength);
-                    final ByteCountingInputStream transactionByteCountingIn = new ByteCountingInputStream(transactionLimitingIn);
-                    final DataInputStream transactionDis = new DataInputStream(transactionByteCountingIn);
-
-                    while (transactionByteCountingIn.getBytesConsumed() < transactionLength || serde.isMoreInExternalFile()) {
-                        final T record = serde.deserializeEdit(transactionDis, recordMap, serdeAndVersion.getVersion());
-
-                        // Update our RecordMap so that we have the most up-to-date version of the Record.
-                        final Object recordId = serde.getRecordIdentifier(record);
-                        final UpdateType updateType = serde.getUpdateType(record);
-
-                        switch (updateType) {
-                            case DELETE: {
-                                idsRemoved.add(recordId);
-                                transactionRecordMap.remove(recordId);
-                                break;
-                            }
-                            case SWAP_IN: {
-                                final String location = serde.getLocation(record);
-                                if (location == null) {
-                                    logger.error("Recovered SWAP_IN record from edit log, but it did not contain a Location; skipping record");
-                                } else {
-                                    swapLocationsRemoved.add(location);
-                                    swapLocationsAdded.remove(location);
-                                    transactionRecordMap.put(recordId, record);
-                                }
-                                break;
-                            }
-                            case SWAP_OUT: {
-                                final String location = serde.getLocation(record);
-                                if (location == null) {
-                                    logger.error("Recovered SWAP_OUT record from edit log, but it did not contain a Location; skipping record");
-                                } else {
-                                    swapLocationsRemoved.remove(location);
-                                    swapLocationsAdded.add(location);
-                                    idsRemoved.add(recordId);
-                                    transactionRecordMap.remove(recordId);
-                                }
-
-                                break;
-                            }
-                            default: {
-                                transactionRecordMap.put(recordId, record);
-                                idsRemoved.remove(recordId);
-                                break;
-                            }
-                        }
-
-                        transactionUpdates++;
-                    }
+            LengthDelimitedJournal<T>.TransactionReader reader;
+            while ((reader = pendingReaders.poll()) != null) {
+                reader.recoverNextTransaction(recordMap, swapLocations);
+                if (reader.hasNextTransaction()) {
+                    pendingReaders.add(reader);
+                }
+            }
 
-                    // Apply the transaction
-                    for (final Object id : idsRemoved) {
-                        recordMap.remove(id);
-                    }
-                    recordMap.putAll(transactionRecordMap);
-                    swapLocations.removeAll(swapLocationsRemoved);
-                    swapLocations.addAll(swapLocationsAdded);
-                    updateCount += transactionUpdates;
-
-                    // Check if there is another transaction to read
-                    transactionIndicator = in.read();
-                    if (transactionIndicator != TRANSACTION_FOLLOWS && transactionIndicator != JOURNAL_COMPLETE && transactionIndicator != -1) {
-                        throw new IOException("After reading " + byteCountingIn.getBytesConsumed() + " bytes from " + journalFile + ", encountered unexpected value of "
-                            + transactionIndicator + " for the Transaction Indicator. This journal may have been corrupted.");
-                    }
+            int updateCount = 0;
+            long maxTransactionId = -1L;
+            boolean eofException = false;
+            for (final LengthDelimitedJournal<T>.TransactionReader recovered : readers) {
+                logger.info("Successfully recovered {} updates from journal {}", recovered.getUpdateCount(), recovered.getJournalFile());
+                updateCount += recovered.getUpdateCount();
+                maxTransactionId = Math.max(maxTransactionId, recovered.getMaxTransactionId());
+                eofException |= recovered.isEofException();
+            }
 
-                    // If we have a very large journal (for instance, if checkpoint is not called for a long time, or if there is a problem rolling over
-                    // the journal), then we want to occasionally notify the user that we are, in fact, making progress, so that it doesn't appear that
-                    // NiFi has become "stuck".
-                    final long consumed = byteCountingIn.getBytesConsumed();
-                    if (consumed - consumedAtLog > 50_000_000) {
-                        final double percentage = consumed / journalLength * 100D;
-                        final String pct = new DecimalFormat("#.00").format(percentage);
-                        logger.info("{}% of the way finished recovering journal {}, having recovered {} updates", pct, journalFile, updateCount);
-                        consumedAtLog = consumed;
-                    }
-                }
-            } catch (final EOFException eof) {
-                eofException = true;
-                logger.warn("Encountered unexpected End-of-File when reading journal file {}; assuming that NiFi was shutdown unexpectedly and continuing recovery", journalFile);
-            } catch (final Exception e) {
-                // If the stream consists solely of NUL bytes, then we want to treat it
-                // the same as an EOF because we see this happen when we suddenly lose power
-                // while writing to a file. However, if that is not the case, then something else has gone wrong.
-                // In such a case, there is not much that we can do but to re-throw the Exception.
-                if (remainingBytesAllNul(in)) {
-                    logger.warn("Failed to recover some of the data from Write-Ahead Log Journal because encountered trailing NUL bytes. "
-                        + "This will sometimes happen after a sudden power loss. The rest of this journal file will be skipped for recovery purposes."
-                        + "The following Exception was encountered while recovering the updates to the journal:", e);
-                } else {
-                    throw e;
-                }
+            return new StandardJournalRecovery(updateCount, maxTransactionId, eofException);
+        } finally {
+            for (final LengthDelimitedJournal<T>.TransactionReader recovered : readers) {
+                recovered.close();
             }
         }
-
-        logger.info("Successfully recovered {} updates from journal {}", updateCount, journalFile);
-        return new StandardJournalRecovery(updateCount, maxTransactionId, eofException);
     }
 
     /**
@@ -592,7 +534,222 @@ public class LengthDelimitedJournal<T> implements WriteAheadJournal<T> {
             return INACTIVE_JOURNAL_SUMMARY;
         }
 
-        return new StandardJournalSummary(initialTransactionId, currentTransactionId - 1, transactionCount);
+        return new StandardJournalSummary(firstTransactionId, lastTransactionId, transactionCount);
+    }
+
+    /**
+     * Reads the transactions of this journal one at a time so that they can be interleaved with the transactions of other journals
+     */
+    private class TransactionReader implements Closeable {
+        private final InputStream fileIn;
+        private final ByteCountingInputStream byteCountingIn;
+        private final DataInputStream in;
+        private final double journalLength;
+
+        // We don't want to apply the updates in a transaction until we've finished recovering the entire
+        // transaction. Otherwise, we could apply say 8 out of 10 updates and then hit an EOF. In such a case,
+        // we want to rollback the entire transaction. We handle this by not updating recordMap or swapLocations
+        // variables directly but instead keeping track of the things that occurred and then once we've read the
+        // entire transaction, we can apply those updates to the recordMap and swapLocations.
+        private final Map<Object, T> transactionRecordMap = new HashMap<>();
+        private final Set<Object> idsRemoved = new HashSet<>();
+        private final Set<String> swapLocationsRemoved = new HashSet<>();
+        private final Set<String> swapLocationsAdded = new HashSet<>();
+
+        private SerDeAndVersion serdeAndVersion;
+        private boolean transactionFollows = false;
+        private long nextTransactionId = -1L;
+        private long maxTransactionId = -1L;
+        private int updateCount = 0;
+        private boolean eofException = false;
+        private long consumedAtLog = 0L;
+
+        TransactionReader() throws IOException {
+            logger.info("Recovering records from journal {}", journalFile);
+            journalLength = journalFile.length();
+
+            fileIn = new FileInputStream(journalFile);
+            byteCountingIn = new ByteCountingInputStream(new BufferedInputStream(fileIn));
+            in = new DataInputStream(byteCountingIn);
+
+            try {
+                // Validate that the header is what we expect and obtain the appropriate SerDe and Version information
+                serdeAndVersion = validateHeader(in);
+                readTransactionIndicator();
+            } catch (final Exception e) {
+                handleFailure(e);
+            }
+        }
+
+        File getJournalFile() {
+            return journalFile;
+        }
+
+        boolean hasNextTransaction() {
+            return transactionFollows;
+        }
+
+        long getNextTransactionId() {
+            return nextTransactionId;
+        }
+
+        long getMaxTransactionId() {
+            return maxTransactionId;
+        }
+
+        int getUpdateCount() {
+            return updateCount;
+        }
+
+        boolean isEofException() {
+            return eofException;
+        }
+
+        private void readTransactionIndicator() throws IOException {
+            // Ensure that we get a valid transaction indicator
+            final int transactionIndicator = in.read();
+            if (transactionIndicator != TRANSACTION_FOLLOWS && transactionIndicator != JOURNAL_COMPLETE && transactionIndicator != -1) {
+                throw new IOException("After reading " + byteCountingIn.getBytesConsumed() + " bytes from " + journalFile + ", encountered unexpected value of "
+                    + transactionIndicator + " for the Transaction Indicator. This journal may have been corrupted.");
+            }
+
+            transactionFollows = transactionIndicator == TRANSACTION_FOLLOWS;
+            if (transactionFollows) {
+                // Format is <Transaction ID: 8 bytes> <Transaction Length: 4 bytes> <Transaction data: # of bytes indicated by Transaction Length Field>
+                nextTransactionId = in.readLong();
+                maxTransactionId = Math.max(maxTransactionId, nextTransactionId);
+            }
+        }
+
+        void recoverNextTransaction(final Map<Object, T> recordMap, final Set<String> swapLocations) throws IOException {
+            try {
+                recoverTransaction(recordMap, swapLocations);
+                readTransactionIndicator();
+            } catch (final Exception e) {
+                handleFailure(e);
+            }
+
+            // If we have a very large journal (for instance, if checkpoint is not called for a long time, or if there is a problem rolling over
+            // the journal), then we want to occasionally notify the user that we are, in fact, making progress, so that it doesn't appear that
+            // NiFi has become "stuck".
+            final long consumed = byteCountingIn.getBytesConsumed();
+            if (consumed - consumedAtLog > 50_000_000) {
+                final double percentage = consumed / journalLength * 100D;
+                final String pct = new DecimalFormat("#.00").format(percentage);
+                logger.info("{}% of the way finished recovering journal {}, having recovered {} updates", pct, journalFile, updateCount);
+                consumedAtLog = consumed;
+            }
+        }
+
+        private void recoverTransaction(final Map<Object, T> recordMap, final Set<String> swapLocations) throws IOException {
+            final SerDe<T> serde = serdeAndVersion.getSerDe();
+
+            transactionRecordMap.clear();
+            idsRemoved.clear();
+            swapLocationsRemoved.clear();
+            swapLocationsAdded.clear();
+            int transactionUpdates = 0;
+
+            final int transactionLength = in.readInt();
+
+            // Use SerDe to deserialize the update. We use a LimitingInputStream to ensure that the SerDe is not able to read past its intended
+            // length, in case there is a bug in the SerDe. We then use a ByteCountingInputStream so that we can ensure that all of the data has
+            // been read and throw EOFException otherwise.
+            final InputStream transactionLimitingIn = new LimitingInputStream(in, transactionLength);
+            final ByteCountingInputStream transactionByteCountingIn = new ByteCountingInputStream(transactionLimitingIn);
+            final DataInputStream transactionDis = new DataInputStream(transactionByteCountingIn);
+
+            while (transactionByteCountingIn.getBytesConsumed() < transactionLength || serde.isMoreInExternalFile()) {
+                final T record = serde.deserializeEdit(transactionDis, recordMap, serdeAndVersion.getVersion());
+
+                // Update our RecordMap so that we have the most up-to-date version of the Record.
+                final Object recordId = serde.getRecordIdentifier(record);
+                final UpdateType updateType = serde.getUpdateType(record);
+
+                switch (updateType) {
+                    case DELETE: {
+                        idsRemoved.add(recordId);
+                        transactionRecordMap.remove(recordId);
+                        break;
+                    }
+                    case SWAP_IN: {
+                        final String location = serde.getLocation(record);
+                        if (location == null) {
+                            logger.error("Recovered SWAP_IN record from edit log, but it did not contain a Location; skipping record");
+                        } else {
+                            swapLocationsRemoved.add(location);
+                            swapLocationsAdded.remove(location);
+                            transactionRecordMap.put(recordId, record);
+                        }
+                        break;
+                    }
+                    case SWAP_OUT: {
+                        final String location = serde.getLocation(record);
+                        if (location == null) {
+                            logger.error("Recovered SWAP_OUT record from edit log, but it did not contain a Location; skipping record");
+                        } else {
+                            swapLocationsRemoved.remove(location);
+                            swapLocationsAdded.add(location);
+                            idsRemoved.add(recordId);
+                            transactionRecordMap.remove(recordId);
+                        }
+
+                        break;
+                    }
+                    default: {
+                        transactionRecordMap.put(recordId, record);
+                        idsRemoved.remove(recordId);
+                        break;
+                    }
+                }
+
+                transactionUpdates++;
+            }
+
+            // Apply the transaction
+            for (final Object id : idsRemoved) {
+                recordMap.remove(id);
+            }
+            recordMap.putAll(transactionRecordMap);
+            swapLocations.removeAll(swapLocationsRemoved);
+            swapLocations.addAll(swapLocationsAdded);
+            updateCount += transactionUpdates;
+        }
+
+        private void handleFailure(final Exception e) throws IOException {
+            transactionFollows = false;
+
+            if (e instanceof EOFException) {
+                eofException = true;
+                logger.warn("Encountered unexpected End-of-File when reading journal file {}; assuming that NiFi was shutdown unexpectedly and continuing recovery", journalFile);
+                return;
+            }
+
+            // If the stream consists solely of NUL bytes, then we want to treat it
+            // the same as an EOF because we see this happen when we suddenly lose power
+            // while writing to a file. However, if that is not the case, then something else has gone wrong.
+            // In such a case, there is not much that we can do but to re-throw the Exception.
+            if (remainingBytesAllNul(in)) {
+                logger.warn("Failed to recover some of the data from Write-Ahead Log Journal because encountered trailing NUL bytes. "
+                    + "This will sometimes happen after a sudden power loss. The rest of this journal file will be skipped for recovery purposes."
+                    + "The following Exception was encountered while recovering the updates to the journal:", e);
+                return;
+            }
+
+            close();
+            if (e instanceof IOException ioe) {
+                throw ioe;
+            }
+            if (e instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("Failed to recover journal " + journalFile, e);
+        }
+
+        @Override
+        public void close() throws IOException {
+            fileIn.close();
+        }
     }
 
     private class SerDeAndVersion {
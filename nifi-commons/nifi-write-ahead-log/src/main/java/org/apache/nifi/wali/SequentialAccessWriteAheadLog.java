@@ -25,14 +25,17 @@ import org.wali.WriteAheadRepository;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -41,7 +44,7 @@ import java.util.regex.Pattern;
 /**
  * <p>
  * This implementation of WriteAheadRepository provides the ability to write all updates to the
- * repository sequentially by writing to a single journal file. Serialization of data into bytes
+ * repository sequentially by writing to a single journal file (or one file per journal partition). Serialization of data into bytes
  * happens outside of any lock contention and is done so using recycled byte buffers. As such,
  * we occur minimal garbage collection and the theoretical throughput of this repository is equal
  * to the throughput of the underlying disk itself.
@@ -53,11 +56,22 @@ import java.util.regex.Pattern;
  * that records are recovered correctly if two threads simultaneously update the write-ahead log
  * with updates for the same record.
  * </p>
+ *
+ * <p>
+ * The journal may be split into several partitions, each of which is a separate journal file that can be written to concurrently.
+ * Each transaction is written in its entirety to the partition chosen by the updating thread, and all partitions share a single
+ * sequence of Transaction IDs so that the transactions of all partitions can be replayed in order on recovery. Checkpoints roll
+ * over all partitions together.
+ * </p>
+ *
+ * <p>
+ * When a sync window is configured, updates that request that the journal be synced to disk are committed as a group: concurrent
+ * updates share a single sync of the journal, and each caller blocks only until the sync covering its own update completes.
+ * </p>
  */
 public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T> {
-    private static final int PARTITION_INDEX = 0;
     private static final Logger logger = LoggerFactory.getLogger(SequentialAccessWriteAheadLog.class);
-    private static final Pattern JOURNAL_FILENAME_PATTERN = Pattern.compile("\\d+\\.journal");
+    private static final Pattern JOURNAL_FILENAME_PATTERN = Pattern.compile("\\d+(\\.\\d+)?\\.journal");
     private static final int MAX_BUFFERS = 64;
     private static final int BUFFER_SIZE = 256 * 1024;
 
@@ -77,10 +91,12 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
 
     private final WriteAheadSnapshot<T> snapshot;
     private final RecordLookup<T> recordLookup;
+    private final int journalPartitions;
+    private final List<GroupCommitSynchronizer> syncSynchronizers;
     private SnapshotRecovery<T> snapshotRecovery;
 
     private volatile boolean recovered = false;
-    private WriteAheadJournal<T> journal;
+    private List<WriteAheadJournal<T>> journals;
     private volatile long nextTransactionId = 0L;
 
     public SequentialAccessWriteAheadLog(final File storageDirectory, final SerDeFactory<T> serdeFactory) throws IOException {
@@ -88,6 +104,35 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
     }
 
     public SequentialAccessWriteAheadLog(final File storageDirectory, final SerDeFactory<T> serdeFactory, final SyncListener syncListener) throws IOException {
+        this(storageDirectory, serdeFactory, syncListener, 0L);
+    }
+
+    public SequentialAccessWriteAheadLog(final File storageDirectory, final SerDeFactory<T> serdeFactory, final SyncListener syncListener,
+                                         final long syncWindowNanos) throws IOException {
+        this(storageDirectory, serdeFactory, syncListener, syncWindowNanos, 1);
+    }
+
+    public SequentialAccessWriteAheadLog(final File storageDirectory, final SerDeFactory<T> serdeFactory, final SyncListener syncListener,
+                                         final long syncWindowNanos, final int journalPartitions) throws IOException {
+        this(storageDirectory, serdeFactory, syncListener, syncWindowNanos, journalPartitions, 0);
+    }
+
+    /**
+     * @param storageDirectory the directory in which to store the snapshot and journals
+     * @param serdeFactory the factory for the serializer/deserializer of records
+     * @param syncListener the listener to notify when the repository is synced to disk
+     * @param syncWindowNanos the number of nanoseconds to wait for concurrent updates before syncing the journal to disk so that a single sync
+     *            can cover all of them, or 0 to sync the journal for each update that requests it
+     * @param journalPartitions the number of journal files to write updates to concurrently
+     * @param maxDeltaSnapshots the number of checkpoints that write only the records that changed since the previous checkpoint before the
+     *            snapshot is compacted in the background, or 0 to write every record on every checkpoint
+     * @throws IOException if unable to create the storage directory
+     */
+    public SequentialAccessWriteAheadLog(final File storageDirectory, final SerDeFactory<T> serdeFactory, final SyncListener syncListener,
+                                         final long syncWindowNanos, final int journalPartitions, final int maxDeltaSnapshots) throws IOException {
+        if (journalPartitions < 1) {
+            throw new IllegalArgumentException("Number of journal partitions must be at least 1 but was " + journalPartitions);
+        }
         if (!storageDirectory.exists() && !storageDirectory.mkdirs()) {
             throw new IOException("Directory " + storageDirectory + " does not exist and cannot be created");
         }
@@ -95,7 +140,7 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
             throw new IOException("File " + storageDirectory + " is a regular file and not a directory");
         }
 
-        final HashMapSnapshot<T> hashMapSnapshot = new HashMapSnapshot<>(storageDirectory, serdeFactory);
+        final HashMapSnapshot<T> hashMapSnapshot = new HashMapSnapshot<>(storageDirectory, serdeFactory, maxDeltaSnapshots);
         this.snapshot = hashMapSnapshot;
         this.recordLookup = hashMapSnapshot;
 
@@ -109,6 +154,13 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
 
         this.serdeFactory = serdeFactory;
         this.syncListener = (syncListener == null) ? SyncListener.NOP_SYNC_LISTENER : syncListener;
+        this.journalPartitions = journalPartitions;
+
+        final List<GroupCommitSynchronizer> synchronizers = new ArrayList<>(journalPartitions);
+        for (int i = 0; i < journalPartitions; i++) {
+            synchronizers.add(new GroupCommitSynchronizer(syncWindowNanos));
+        }
+        this.syncSynchronizers = synchronizers;
     }
 
     @Override
@@ -117,13 +169,16 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
             throw new IllegalStateException("Cannot update repository until record recovery has been performed");
         }
 
+        final int partitionIndex = getPartitionIndex();
+
         journalReadLock.lock();
         try {
+            final WriteAheadJournal<T> journal = journals.get(partitionIndex);
             journal.update(records, recordLookup);
 
             if (forceSync) {
-                journal.fsync();
-                syncListener.onSync(PARTITION_INDEX);
+                syncSynchronizers.get(partitionIndex).sync(() -> syncJournal(journal));
+                syncListener.onSync(partitionIndex);
             }
 
             snapshot.update(records);
@@ -131,7 +186,40 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
             journalReadLock.unlock();
         }
 
-        return PARTITION_INDEX;
+        return partitionIndex;
+    }
+
+    /**
+     * Routes the updates of each thread to the same partition. A transaction is never split across partitions, as it could then
+     * be partially recovered, and routing by thread keeps threads that update the repository concurrently from contending for a single journal.
+     */
+    private int getPartitionIndex() {
+        if (journalPartitions == 1) {
+            return 0;
+        }
+
+        return (int) (Thread.currentThread().threadId() % journalPartitions);
+    }
+
+    private void syncJournal(final WriteAheadJournal<T> journal) throws IOException {
+        journal.fsync();
+
+        // The journal is poisoned rather than throwing an Exception if the sync fails, so we must check its health
+        // in order to avoid telling the caller that the update is durable.
+        if (!journal.isHealthy()) {
+            throw new IOException("Failed to sync Write-Ahead Log journal to disk at " + storageDirectory);
+        }
+    }
+
+    /**
+     * @return statistics for the journal syncs that have been performed on behalf of updates since the last time this method was called
+     */
+    public JournalSyncStatistics getAndResetSyncStatistics() {
+        JournalSyncStatistics statistics = JournalSyncStatistics.EMPTY;
+        for (final GroupCommitSynchronizer synchronizer : syncSynchronizers) {
+            statistics = statistics.combine(synchronizer.getAndResetStatistics());
+        }
+        return statistics;
     }
 
     @Override
@@ -165,13 +253,12 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
                 snapshotRecoveryMillis, journalFiles.length);
         }
 
-        final List<File> orderedJournalFiles = Arrays.asList(journalFiles);
-        orderedJournalFiles.sort((o1, o2) -> {
-            final long transactionId1 = getMinTransactionId(o1);
-            final long transactionId2 = getMinTransactionId(o2);
-
-            return Long.compare(transactionId1, transactionId2);
-        });
+        // Group the journal files by the Transaction ID that they start with. All partitions of the journal that were created by the same
+        // checkpoint start with the same Transaction ID, and their transactions must be replayed together, in order of Transaction ID.
+        final SortedMap<Long, List<File>> journalFilesByMinTransactionId = new TreeMap<>();
+        for (final File journalFile : journalFiles) {
+            journalFilesByMinTransactionId.computeIfAbsent(getMinTransactionId(journalFile), id -> new ArrayList<>()).add(journalFile);
+        }
 
         final long snapshotTransactionId = snapshotRecovery.getMaxTransactionId();
 
@@ -180,26 +267,36 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
         int journalFilesSkipped = 0;
         long maxTransactionId = snapshotTransactionId;
 
-        for (final File journalFile : orderedJournalFiles) {
-            final long journalMinTransactionId = getMinTransactionId(journalFile);
+        for (final Map.Entry<Long, List<File>> entry : journalFilesByMinTransactionId.entrySet()) {
+            final long journalMinTransactionId = entry.getKey();
+            final List<File> partitionFiles = entry.getValue();
             if (journalMinTransactionId < snapshotTransactionId) {
-                logger.debug("Will not recover records from journal file {} because the minimum Transaction ID for that journal is {} and the Transaction ID recovered from Snapshot was {}",
-                    journalFile, journalMinTransactionId, snapshotTransactionId);
+                logger.debug("Will not recover records from journal files {} because the minimum Transaction ID for those journals is {} and the Transaction ID recovered from Snapshot was {}",
+                    partitionFiles, journalMinTransactionId, snapshotTransactionId);
 
-                journalFilesSkipped++;
+                journalFilesSkipped += partitionFiles.size();
                 continue;
             }
 
-            logger.debug("Min Transaction ID for journal {} is {}, so will recover records from journal", journalFile, journalMinTransactionId);
-            journalFilesRecovered++;
+            logger.debug("Min Transaction ID for journals {} is {}, so will recover records from journals", partitionFiles, journalMinTransactionId);
+            journalFilesRecovered += partitionFiles.size();
 
-            try (final WriteAheadJournal<T> journal = new LengthDelimitedJournal<>(journalFile, serdeFactory, streamPool, 0L)) {
-                final JournalRecovery journalRecovery = journal.recoverRecords(recoveredRecords, swapLocations);
+            final List<LengthDelimitedJournal<T>> partitionJournals = new ArrayList<>(partitionFiles.size());
+            for (final File journalFile : partitionFiles) {
+                partitionJournals.add(new LengthDelimitedJournal<>(journalFile, serdeFactory, streamPool, 0L));
+            }
+
+            try {
+                final JournalRecovery journalRecovery = LengthDelimitedJournal.recoverRecords(partitionJournals, recoveredRecords, swapLocations);
                 final int updates = journalRecovery.getUpdateCount();
 
-                logger.debug("Recovered {} updates from journal {}", updates, journalFile);
+                logger.debug("Recovered {} updates from journals {}", updates, partitionFiles);
                 totalUpdates += updates;
                 maxTransactionId = Math.max(maxTransactionId, journalRecovery.getMaxTransactionId());
+            } finally {
+                for (final WriteAheadJournal<T> journal : partitionJournals) {
+                    journal.close();
+                }
             }
         }
 
@@ -258,27 +355,38 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
         final File[] existingJournals;
         journalWriteLock.lock();
         try {
-            if (journal != null) {
-                final JournalSummary journalSummary = journal.getSummary();
-                if (journalSummary.getTransactionCount() == 0 && journal.isHealthy()) {
+            if (journals != null) {
+                boolean updated = false;
+                for (final WriteAheadJournal<T> journal : journals) {
+                    if (journal.getSummary().getTransactionCount() > 0 || !journal.isHealthy()) {
+                        updated = true;
+                        break;
+                    }
+                }
+
+                if (!updated) {
                     logger.debug("Will not checkpoint Write-Ahead Log because no updates have occurred since last checkpoint");
                     syncListener.onGlobalSync();
                     return snapshot.getRecordCount();
                 }
 
-                try {
-                    journal.fsync();
-                } catch (final Exception e) {
-                    logger.error("Failed to synch Write-Ahead Log's journal to disk at {}", storageDirectory, e);
-                }
+                for (final WriteAheadJournal<T> journal : journals) {
+                    final JournalSummary journalSummary = journal.getSummary();
 
-                try {
-                    journal.close();
-                } catch (final Exception e) {
-                    logger.error("Failed to close Journal while attempting to checkpoint Write-Ahead Log at {}", storageDirectory);
-                }
+                    try {
+                        journal.fsync();
+                    } catch (final Exception e) {
+                        logger.error("Failed to synch Write-Ahead Log's journal to disk at {}", storageDirectory, e);
+                    }
+
+                    try {
+                        journal.close();
+                    } catch (final Exception e) {
+                        logger.error("Failed to close Journal while attempting to checkpoint Write-Ahead Log at {}", storageDirectory);
+                    }
 
-                nextTransactionId = Math.max(nextTransactionId, journalSummary.getLastTransactionId() + 1);
+                    nextTransactionId = Math.max(nextTransactionId, journalSummary.getLastTransactionId() + 1);
+                }
             }
 
             syncListener.onGlobalSync();
@@ -287,26 +395,30 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
             existingJournals = (existingFiles == null) ? new File[0] : existingFiles;
 
             if (swapLocations == null) {
-                snapshotCapture = snapshot.prepareSnapshot(nextTransactionId - 1);
+                snapshotCapture = snapshot.prepareCheckpoint(nextTransactionId - 1);
             } else {
                 snapshotCapture = snapshot.prepareSnapshot(nextTransactionId - 1, swapLocations);
             }
 
 
-            // Create a new journal. We name the journal file <next transaction id>.journal but it is possible
-            // that we could have an empty journal file already created. If this happens, we don't want to create
-            // a new file on top of it because it would get deleted below when we clean up old journals. So we
+            // Create a new journal. We name the journal file <next transaction id>.journal, or <next transaction id>.<partition>.journal
+            // for partitions other than the first, but it is possible that we could have an empty journal file already created. If this happens,
+            // we don't want to create a new file on top of it because it would get deleted below when we clean up old journals. So we
             // will simply increment our transaction ID and try again.
-            File journalFile = new File(journalsDirectory, nextTransactionId + ".journal");
-            while (journalFile.exists()) {
+            while (journalFilesExist(nextTransactionId)) {
                 nextTransactionId++;
-                journalFile = new File(journalsDirectory, nextTransactionId + ".journal");
             }
 
-            journal = new LengthDelimitedJournal<>(journalFile, serdeFactory, streamPool, nextTransactionId);
-            journal.writeHeader();
+            final AtomicLong transactionIdGenerator = new AtomicLong(nextTransactionId);
+            final List<WriteAheadJournal<T>> createdJournals = new ArrayList<>(journalPartitions);
+            for (int partitionIndex = 0; partitionIndex < journalPartitions; partitionIndex++) {
+                final WriteAheadJournal<T> journal = new LengthDelimitedJournal<>(getJournalFile(nextTransactionId, partitionIndex), serdeFactory, streamPool, transactionIdGenerator);
+                journal.writeHeader();
+                createdJournals.add(journal);
+            }
+            journals = createdJournals;
 
-            logger.debug("Created new Journal starting with Transaction ID {}", nextTransactionId);
+            logger.debug("Created {} new Journal partitions starting with Transaction ID {}", journalPartitions, nextTransactionId);
         } finally {
             journalWriteLock.unlock();
         }
@@ -321,22 +433,42 @@ public class SequentialAccessWriteAheadLog<T> implements WriteAheadRepository<T>
 
         final long totalNanos = System.nanoTime() - startNanos;
         final long millis = TimeUnit.NANOSECONDS.toMillis(totalNanos);
-        logger.info("Checkpointed Write-Ahead Log with {} Records and {} Swap Files in {} milliseconds (Stop-the-world time = {} milliseconds), max Transaction ID {}",
-                snapshotCapture.getRecords().size(), snapshotCapture.getSwapLocations().size(), millis, stopTheWorldMillis, snapshotCapture.getMaxTransactionId());
+        logger.info("Checkpointed Write-Ahead Log with {} Records ({} written) and {} Swap Files in {} milliseconds (Stop-the-world time = {} milliseconds), max Transaction ID {}",
+                snapshotCapture.getRecordCount(), snapshotCapture.getRecords().size(), snapshotCapture.getSwapLocations().size(), millis, stopTheWorldMillis,
+                snapshotCapture.getMaxTransactionId());
+
+        return snapshotCapture.getRecordCount();
+    }
+
 
-        return snapshotCapture.getRecords().size();
+    private File getJournalFile(final long minTransactionId, final int partitionIndex) {
+        final String filename = partitionIndex == 0 ? minTransactionId + ".journal" : minTransactionId + "." + partitionIndex + ".journal";
+        return new File(journalsDirectory, filename);
     }
 
+    private boolean journalFilesExist(final long minTransactionId) {
+        for (int partitionIndex = 0; partitionIndex < journalPartitions; partitionIndex++) {
+            if (getJournalFile(minTransactionId, partitionIndex).exists()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 
     @Override
     public void shutdown() throws IOException {
         journalWriteLock.lock();
         try {
-            if (journal != null) {
-                journal.close();
+            if (journals != null) {
+                for (final WriteAheadJournal<T> journal : journals) {
+                    journal.close();
+                }
             }
         } finally {
             journalWriteLock.unlock();
         }
+
+        snapshot.shutdown();
     }
 }
@@ -26,4 +26,11 @@ public interface SnapshotCapture<T> {
     long getMaxTransactionId();
 
     Set<String> getSwapLocations();
+
+    /**
+     * @return the number of records in the repository at the time of the capture, which may be more than the number of records in the capture
+     */
+    default int getRecordCount() {
+        return getRecords().size();
+    }
 }
@@ -26,6 +26,18 @@ public interface WriteAheadSnapshot<T> {
 
     SnapshotCapture<T> prepareSnapshot(long maxTransactionId, Set<String> swapLocations);
 
+    /**
+     * Captures what must be written in order to checkpoint the repository. Unlike {@link #prepareSnapshot(long)}, the capture may
+     * contain only the records that have changed since the previous checkpoint. Must be called while no updates are in progress, and
+     * the capture must then be written using {@link #writeSnapshot(SnapshotCapture)}.
+     *
+     * @param maxTransactionId the ID of the last transaction that is included in the checkpoint
+     * @return the capture to write
+     */
+    default SnapshotCapture<T> prepareCheckpoint(long maxTransactionId) {
+        return prepareSnapshot(maxTransactionId);
+    }
+
     void writeSnapshot(SnapshotCapture<T> snapshot) throws IOException;
 
     SnapshotRecovery<T> recover() throws IOException;
@@ -33,4 +45,12 @@ public interface WriteAheadSnapshot<T> {
     void update(Collection<T> records);
 
     int getRecordCount();
+
+    /**
+     * Waits for any background work on the snapshot to complete
+     *
+     * @throws IOException if unable to complete the background work
+     */
+    default void shutdown() throws IOException {
+    }
 }
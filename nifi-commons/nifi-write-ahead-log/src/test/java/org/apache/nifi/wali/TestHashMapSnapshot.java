@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -203,4 +204,111 @@ public class TestHashMapSnapshot {
         assertTrue(swapLocations.contains("SwapLocation-1"));
     }
 
+    @Test
+    public void testDeltaSnapshotsRoundTrip() throws IOException {
+        final HashMapSnapshot<DummyRecord> snapshot = new HashMapSnapshot<>(storageDirectory, serdeFactory, 10);
+        for (int i = 0; i < 10; i++) {
+            snapshot.update(Collections.singleton(createRecord(String.valueOf(i), "initial")));
+        }
+
+        // The first checkpoint must write all records
+        final SnapshotCapture<DummyRecord> baseCapture = snapshot.prepareCheckpoint(10L);
+        assertEquals(10, baseCapture.getRecords().size());
+        snapshot.writeSnapshot(baseCapture);
+
+        snapshot.update(Collections.singleton(createRecord("1", "updated")));
+        snapshot.update(Collections.singleton(new DummyRecord("2", UpdateType.DELETE)));
+        final DummyRecord swapOut3 = new DummyRecord("3", UpdateType.SWAP_OUT);
+        swapOut3.setSwapLocation("swapFile-3");
+        snapshot.update(Collections.singleton(swapOut3));
+
+        final SnapshotCapture<DummyRecord> firstDelta = snapshot.prepareCheckpoint(20L);
+        assertEquals(3, firstDelta.getRecords().size());
+        assertEquals(8, firstDelta.getRecordCount());
+        assertEquals(Set.of("swapFile-3"), firstDelta.getSwapLocations());
+        snapshot.writeSnapshot(firstDelta);
+
+        snapshot.update(Collections.singleton(createRecord("1", "updated again")));
+        snapshot.update(Collections.singleton(createRecord("10", "created")));
+        final DummyRecord swapIn3 = new DummyRecord("3", UpdateType.SWAP_IN);
+        swapIn3.setSwapLocation("swapFile-3");
+        snapshot.update(Collections.singleton(swapIn3));
+
+        final SnapshotCapture<DummyRecord> secondDelta = snapshot.prepareCheckpoint(30L);
+        assertEquals(3, secondDelta.getRecords().size());
+        assertEquals(Collections.emptySet(), secondDelta.getSwapLocations());
+        snapshot.writeSnapshot(secondDelta);
+
+        final SnapshotRecovery<DummyRecord> recovery = new HashMapSnapshot<>(storageDirectory, serdeFactory, 10).recover();
+        assertEquals(30L, recovery.getMaxTransactionId());
+        assertEquals(Collections.emptySet(), recovery.getRecoveredSwapLocations());
+
+        final Map<Object, DummyRecord> recoveredRecords = recovery.getRecords();
+        assertEquals(10, recoveredRecords.size());
+        assertFalse(recoveredRecords.containsKey("2"));
+        assertTrue(recoveredRecords.containsKey("3"));
+        assertEquals("updated again", recoveredRecords.get("1").getProperty("key"));
+        assertEquals("created", recoveredRecords.get("10").getProperty("key"));
+        assertEquals("initial", recoveredRecords.get("9").getProperty("key"));
+    }
+
+    @Test
+    public void testDeltaSnapshotsCompacted() throws IOException {
+        final HashMapSnapshot<DummyRecord> snapshot = new HashMapSnapshot<>(storageDirectory, serdeFactory, 2);
+        for (int i = 0; i < 5; i++) {
+            snapshot.update(Collections.singleton(createRecord(String.valueOf(i), "initial")));
+        }
+        snapshot.writeSnapshot(snapshot.prepareCheckpoint(5L));
+
+        snapshot.update(Collections.singleton(createRecord("0", "first")));
+        snapshot.writeSnapshot(snapshot.prepareCheckpoint(6L));
+        assertEquals(1, countDeltaFiles());
+
+        // The second delta reaches the maximum, so the snapshot is compacted in the background
+        snapshot.update(Collections.singleton(new DummyRecord("1", UpdateType.DELETE)));
+        snapshot.writeSnapshot(snapshot.prepareCheckpoint(7L));
+        snapshot.shutdown();
+        assertEquals(0, countDeltaFiles());
+
+        final SnapshotRecovery<DummyRecord> recovery = new HashMapSnapshot<>(storageDirectory, serdeFactory, 2).recover();
+        assertEquals(7L, recovery.getMaxTransactionId());
+        assertEquals(4, recovery.getRecords().size());
+        assertFalse(recovery.getRecords().containsKey("1"));
+        assertEquals("first", recovery.getRecords().get("0").getProperty("key"));
+    }
+
+    @Test
+    public void testFailedDeltaResultsInFullSnapshot() throws IOException {
+        final HashMapSnapshot<DummyRecord> snapshot = new HashMapSnapshot<>(storageDirectory, serdeFactory, 10);
+        for (int i = 0; i < 5; i++) {
+            snapshot.update(Collections.singleton(createRecord(String.valueOf(i), "initial")));
+        }
+        snapshot.writeSnapshot(snapshot.prepareCheckpoint(5L));
+
+        snapshot.update(Collections.singleton(createRecord("0", "lost")));
+        serde.setThrowIOEAfterNSerializeEdits(0);
+        assertThrows(IOException.class, () -> snapshot.writeSnapshot(snapshot.prepareCheckpoint(6L)));
+        serde.setThrowIOEAfterNSerializeEdits(-1);
+
+        // The changes captured by the failed delta are no longer tracked, so all records must be written
+        final SnapshotCapture<DummyRecord> capture = snapshot.prepareCheckpoint(7L);
+        assertEquals(5, capture.getRecords().size());
+        snapshot.writeSnapshot(capture);
+        assertEquals(0, countDeltaFiles());
+
+        final SnapshotRecovery<DummyRecord> recovery = new HashMapSnapshot<>(storageDirectory, serdeFactory, 10).recover();
+        assertEquals(7L, recovery.getMaxTransactionId());
+        assertEquals("lost", recovery.getRecords().get("0").getProperty("key"));
+    }
+
+    private DummyRecord createRecord(final String id, final String value) {
+        final DummyRecord record = new DummyRecord(id, UpdateType.CREATE);
+        record.setProperty("key", value);
+        return record;
+    }
+
+    private int countDeltaFiles() {
+        final File[] deltaFiles = storageDirectory.listFiles((dir, name) -> name.startsWith("checkpoint.delta."));
+        return deltaFiles == null ? 0 : deltaFiles.length;
+    }
 }
@@ -26,11 +26,13 @@ import org.wali.DummyRecord;
 import org.wali.DummyRecordSerde;
 import org.wali.SerDeFactory;
 import org.wali.SingletonSerDeFactory;
+import org.wali.SyncListener;
 import org.wali.UpdateType;
 import org.wali.WriteAheadRepository;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.NumberFormat;
@@ -41,7 +43,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -308,6 +314,126 @@ public class TestSequentialAccessWriteAheadLog {
     }
 
 
+    @Test
+    public void testGroupCommitWithConcurrentUpdates(TestInfo testInfo) throws Exception {
+        final File storageDir = new File(new File("target"), testInfo.getTestMethod().get().getName());
+        deleteRecursively(storageDir);
+        assertTrue(storageDir.mkdirs());
+
+        final SerDeFactory<DummyRecord> serdeFactory = new SingletonSerDeFactory<>(new DummyRecordSerde());
+        final AtomicInteger syncCount = new AtomicInteger();
+        final SyncListener syncListener = new SyncListener() {
+            @Override
+            public void onSync(final int partitionIndex) {
+                syncCount.incrementAndGet();
+            }
+
+            @Override
+            public void onGlobalSync() {
+            }
+        };
+
+        final SequentialAccessWriteAheadLog<DummyRecord> repo = new SequentialAccessWriteAheadLog<>(storageDir, serdeFactory, syncListener, TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(repo.recoverRecords().isEmpty());
+        repo.getAndResetSyncStatistics();
+
+        final int numThreads = 8;
+        final int updatesPerThread = 25;
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                final int threadIndex = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        final DummyRecord record = new DummyRecord(threadIndex + "-" + i, UpdateType.CREATE);
+                        repo.update(Collections.singleton(record), true);
+                    }
+                    return null;
+                }));
+            }
+
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final int updateCount = numThreads * updatesPerThread;
+        assertEquals(updateCount, syncCount.get());
+
+        final JournalSyncStatistics statistics = repo.getAndResetSyncStatistics();
+        assertEquals(updateCount, statistics.getSyncedUpdateCount());
+        assertTrue(statistics.getSyncCount() < updateCount);
+        assertTrue(statistics.getMaxBatchSize() > 1);
+        assertEquals(0L, repo.getAndResetSyncStatistics().getSyncCount());
+
+        repo.shutdown();
+
+        final SequentialAccessWriteAheadLog<DummyRecord> recoveryRepo = createRecoveryRepo(testInfo);
+        final Collection<DummyRecord> recovered = recoveryRepo.recoverRecords();
+        assertEquals(updateCount, recovered.size());
+        recoveryRepo.shutdown();
+    }
+
+
+    @Test
+    public void testPartitionedJournalsRecoverInTransactionOrder(TestInfo testInfo) throws Exception {
+        final File storageDir = new File(new File("target"), testInfo.getTestMethod().get().getName());
+        deleteRecursively(storageDir);
+        assertTrue(storageDir.mkdirs());
+
+        final SerDeFactory<DummyRecord> serdeFactory = new SingletonSerDeFactory<>(new DummyRecordSerde());
+        final int journalPartitions = 4;
+        final SequentialAccessWriteAheadLog<DummyRecord> repo = new SequentialAccessWriteAheadLog<>(storageDir, serdeFactory, SyncListener.NOP_SYNC_LISTENER, 0L, journalPartitions);
+        assertTrue(repo.recoverRecords().isEmpty());
+
+        final File[] journalFiles = new File(storageDir, "journals").listFiles();
+        assertNotNull(journalFiles);
+        assertEquals(journalPartitions, journalFiles.length);
+
+        // Update the same records from a series of threads, which are routed to different partitions, so that recovery
+        // must interleave the partitions in order to recover the last update to each record.
+        for (int i = 0; i < journalPartitions * 2; i++) {
+            final int updateIndex = i;
+            final Thread thread = new Thread(() -> {
+                final List<DummyRecord> records = new ArrayList<>();
+                for (int j = 0; j < 5; j++) {
+                    final DummyRecord record = new DummyRecord(String.valueOf(j), updateIndex == 0 ? UpdateType.CREATE : UpdateType.UPDATE);
+                    record.setProperty("update", String.valueOf(updateIndex));
+                    records.add(record);
+                }
+
+                try {
+                    repo.update(records, false);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            thread.start();
+            thread.join();
+
+            if (updateIndex == journalPartitions) {
+                repo.checkpoint();
+            }
+        }
+
+        final DummyRecord deleteRecord = new DummyRecord("4", UpdateType.DELETE);
+        repo.update(Collections.singleton(deleteRecord), false);
+        repo.shutdown();
+
+        final SequentialAccessWriteAheadLog<DummyRecord> recoveryRepo = createRecoveryRepo(testInfo);
+        final Collection<DummyRecord> recovered = recoveryRepo.recoverRecords();
+        assertEquals(4, recovered.size());
+        for (final DummyRecord record : recovered) {
+            assertEquals(String.valueOf(journalPartitions * 2 - 1), record.getProperties().get("update"));
+        }
+
+        recoveryRepo.shutdown();
+    }
+
+
     @Test
     @Disabled("For manual performance testing")
     public void testUpdatePerformance() throws IOException, InterruptedException {
@@ -35,6 +35,8 @@ import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.serialization.record.SerializedForm;
+import org.apache.nifi.serialization.record.batch.ColumnarRecordBatch;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 import org.apache.nifi.serialization.record.type.ArrayDataType;
 import org.apache.nifi.serialization.record.type.ChoiceDataType;
 import org.apache.nifi.serialization.record.type.MapDataType;
@@ -148,28 +150,125 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
 
     @Override
     public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        if (dropUnknownFields && isStreamingReadEnabled()) {
+            return streamNextRecord(coerceTypes);
+        }
+
         final JsonNode nextNode = getNextJsonNode();
         if (nextNode == null) {
-            if (captureFieldPredicate != null) {
-                while (jsonParser.nextToken() != null) {
-                    captureCurrentField(captureFieldPredicate);
-                }
+            captureRemainingFields();
+            return null;
+        }
+
+        final RecordSchema schema = getSchema();
+        try {
+            return convertJsonNodeToRecord(nextNode, schema, coerceTypes, dropUnknownFields);
+        } catch (final MalformedRecordException mre) {
+            throw mre;
+        } catch (final Exception e) {
+            throw createConversionException(nextNode, schema, e);
+        }
+    }
+
+    @Override
+    public RecordBatch nextBatch(final int maxRecords, final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        if (dropUnknownFields && isStreamingReadEnabled()) {
+            return streamNextBatch(maxRecords, coerceTypes);
+        }
+
+        // Only the fields of the schema can be held in column vectors
+        if (!dropUnknownFields || !isColumnarBatchSupported()) {
+            return RecordReader.super.nextBatch(maxRecords, coerceTypes, dropUnknownFields);
+        }
+
+        ColumnarRecordBatch batch = null;
+        while (batch == null || !batch.isFull()) {
+            final JsonNode nextNode = getNextJsonNode();
+            if (nextNode == null) {
+                captureRemainingFields();
+                break;
             }
 
+            final RecordSchema schema = getSchema();
+            if (batch == null) {
+                batch = new ColumnarRecordBatch(schema, Math.min(maxRecords, RecordBatch.DEFAULT_BATCH_SIZE), false, true);
+            }
+
+            try {
+                addJsonNodeToBatch(nextNode, batch, coerceTypes);
+            } catch (final MalformedRecordException mre) {
+                throw mre;
+            } catch (final Exception e) {
+                throw createConversionException(nextNode, schema, e);
+            }
+        }
+
+        return batch;
+    }
+
+    private Record streamNextRecord(final boolean coerceTypes) throws IOException, MalformedRecordException {
+        if (!nextObject()) {
+            captureRemainingFields();
             return null;
         }
 
         final RecordSchema schema = getSchema();
         try {
-            return convertJsonNodeToRecord(nextNode, schema, coerceTypes, dropUnknownFields);
+            return readRecord(jsonParser, schema, coerceTypes);
+        } catch (final JsonParseException e) {
+            throw new MalformedRecordException("Failed to parse JSON", e);
         } catch (final MalformedRecordException mre) {
             throw mre;
         } catch (final Exception e) {
-            logger.debug("Failed to convert JSON Element {} into a Record object using schema {}", nextNode, schema, e);
-            throw new MalformedRecordException("Successfully parsed a JSON object from input but failed to convert into a Record object with the given schema", e);
+            throw createConversionException(schema, e);
+        }
+    }
+
+    private RecordBatch streamNextBatch(final int maxRecords, final boolean coerceTypes) throws IOException, MalformedRecordException {
+        ColumnarRecordBatch batch = null;
+        while (batch == null || !batch.isFull()) {
+            if (!nextObject()) {
+                captureRemainingFields();
+                break;
+            }
+
+            final RecordSchema schema = getSchema();
+            if (batch == null) {
+                batch = new ColumnarRecordBatch(schema, Math.min(maxRecords, RecordBatch.DEFAULT_BATCH_SIZE), false, true);
+            }
+
+            try {
+                readRowIntoBatch(jsonParser, batch, coerceTypes);
+            } catch (final JsonParseException e) {
+                throw new MalformedRecordException("Failed to parse JSON", e);
+            } catch (final MalformedRecordException mre) {
+                throw mre;
+            } catch (final Exception e) {
+                throw createConversionException(schema, e);
+            }
+        }
+
+        return batch;
+    }
+
+    private void captureRemainingFields() throws IOException {
+        if (captureFieldPredicate != null) {
+            while (jsonParser.nextToken() != null) {
+                captureCurrentField(captureFieldPredicate);
+            }
         }
     }
 
+    private MalformedRecordException createConversionException(final JsonNode jsonNode, final RecordSchema schema, final Exception cause) {
+        logger.debug("Failed to convert JSON Element {} into a Record object using schema {}", jsonNode, schema, cause);
+        return new MalformedRecordException("Successfully parsed a JSON object from input but failed to convert into a Record object with the given schema", cause);
+    }
+
+    private MalformedRecordException createConversionException(final RecordSchema schema, final Exception cause) {
+        logger.debug("Failed to read JSON Element into a Record object using schema {}", schema, cause);
+        return new MalformedRecordException("Failed to read a JSON object from input into a Record object with the given schema", cause);
+    }
+
     protected Object getRawNodeValue(final JsonNode fieldNode, final String fieldName) throws IOException {
         return getRawNodeValue(fieldNode, null, fieldName);
     }
@@ -372,11 +471,28 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
 
 
     private JsonNode getNextJsonNode() throws IOException, MalformedRecordException {
+        if (!nextObject()) {
+            return null;
+        }
+
+        try {
+            return jsonParser.readValueAsTree();
+        } catch (final JsonParseException e) {
+            throw new MalformedRecordException("Failed to parse JSON", e);
+        }
+    }
+
+    /**
+     * Advances the parser to the start of the next JSON object to be read as a Record
+     *
+     * @return <code>true</code> if the parser is positioned at the start of an object, <code>false</code> if the end of the input was reached
+     */
+    private boolean nextObject() throws IOException, MalformedRecordException {
         try {
             while (true) {
                 final JsonToken token = jsonParser.nextToken();
                 if (token == null) {
-                    return null;
+                    return false;
                 }
 
                 switch (token) {
@@ -395,7 +511,7 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
                             }
                         }
 
-                        return jsonParser.readValueAsTree();
+                        return true;
                     default:
                         // We got a token that isn't expected. This can happen when using the Nested Field Strategy.
                         // For example, the field given has a String as a value instead of a Record. In this case, we want to skip to the next field.
@@ -454,6 +570,64 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
 
     protected abstract Record convertJsonNodeToRecord(JsonNode nextNode, RecordSchema schema, boolean coerceTypes, boolean dropUnknownFields) throws IOException, MalformedRecordException;
 
+    /**
+     * @return <code>true</code> if batches of Records are read into column vectors by {@link #addJsonNodeToBatch(JsonNode, ColumnarRecordBatch, boolean)}
+     *         when unknown fields are dropped
+     */
+    protected boolean isColumnarBatchSupported() {
+        return false;
+    }
+
+    /**
+     * Adds the values of the given JSON node to a new row of the batch, dropping any fields that are not in the batch's schema. The default
+     * implementation converts the node into a Record and adds the Record to the batch; subclasses may write the values directly instead.
+     *
+     * @param jsonNode the JSON node to add
+     * @param batch the batch to which the row is added
+     * @param coerceTypes whether or not the values should be coerced to the types of the schema's fields
+     */
+    protected void addJsonNodeToBatch(final JsonNode jsonNode, final ColumnarRecordBatch batch, final boolean coerceTypes) throws IOException, MalformedRecordException {
+        final Record record = convertJsonNodeToRecord(jsonNode, batch.getSchema(), coerceTypes, true);
+        batch.addRecord(record);
+    }
+
+
+    /**
+     * @return <code>true</code> if Records are read directly from the JSON tokens by {@link #readRecord(JsonParser, RecordSchema, boolean)} and
+     *         {@link #readRowIntoBatch(JsonParser, ColumnarRecordBatch, boolean)} when unknown fields are dropped, rather than from a JSON node
+     */
+    protected boolean isStreamingReadEnabled() {
+        return false;
+    }
+
+    /**
+     * Reads the JSON object at which the parser is positioned into a Record, dropping any fields that are not in the schema. When this method
+     * returns, the parser must be positioned at the end of the object. The default implementation reads the object into a JSON node and
+     * converts that node; subclasses may read the values from the tokens instead.
+     *
+     * @param jsonParser the parser, positioned at the start of the object
+     * @param schema the schema of the Record
+     * @param coerceTypes whether or not the values should be coerced to the types of the schema's fields
+     * @return the Record that was read
+     */
+    protected Record readRecord(final JsonParser jsonParser, final RecordSchema schema, final boolean coerceTypes) throws IOException, MalformedRecordException {
+        final JsonNode jsonNode = jsonParser.readValueAsTree();
+        return convertJsonNodeToRecord(jsonNode, schema, coerceTypes, true);
+    }
+
+    /**
+     * Reads the JSON object at which the parser is positioned into a new row of the batch, dropping any fields that are not in the batch's schema.
+     * When this method returns, the parser must be positioned at the end of the object. The default implementation adds the Record read by
+     * {@link #readRecord(JsonParser, RecordSchema, boolean)} to the batch.
+     *
+     * @param jsonParser the parser, positioned at the start of the object
+     * @param batch the batch to which the row is added
+     * @param coerceTypes whether or not the values should be coerced to the types of the schema's fields
+     */
+    protected void readRowIntoBatch(final JsonParser jsonParser, final ColumnarRecordBatch batch, final boolean coerceTypes) throws IOException, MalformedRecordException {
+        final Record record = readRecord(jsonParser, batch.getSchema(), coerceTypes);
+        batch.addRecord(record);
+    }
 
     public Map<String, String> getCapturedFields() {
         return capturedFields;
@@ -17,6 +17,8 @@
 
 package org.apache.nifi.json;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
@@ -30,6 +32,7 @@ import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.serialization.record.SerializedForm;
+import org.apache.nifi.serialization.record.batch.ColumnarRecordBatch;
 import org.apache.nifi.serialization.record.type.ArrayDataType;
 import org.apache.nifi.serialization.record.type.MapDataType;
 import org.apache.nifi.serialization.record.type.RecordDataType;
@@ -38,6 +41,9 @@ import org.apache.nifi.serialization.record.util.DataTypeUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -50,7 +56,13 @@ import java.util.function.Supplier;
 
 public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
 
+    private static final int NOT_PRESENT = -1;
+
     private final RecordSchema schema;
+    private final JsonReadStrategy readStrategy;
+
+    // Lookups of the fields of each schema read by streaming, by field name and alias
+    private final Map<RecordSchema, Map<String, FieldSlot>> fieldSlots = new IdentityHashMap<>();
 
     public JsonTreeRowRecordReader(
             final InputStream in,
@@ -65,8 +77,27 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
             final BiPredicate<String, String> captureFieldPredicate,
             final TokenParserFactory tokenParserFactory
     ) throws IOException, MalformedRecordException {
+        this(in, logger, schema, dateFormat, timeFormat, timestampFormat, startingFieldStrategy, startingFieldName, schemaApplicationStrategy,
+                captureFieldPredicate, tokenParserFactory, JsonReadStrategy.TREE);
+    }
+
+    public JsonTreeRowRecordReader(
+            final InputStream in,
+            final ComponentLog logger,
+            final RecordSchema schema,
+            final String dateFormat,
+            final String timeFormat,
+            final String timestampFormat,
+            final StartingFieldStrategy startingFieldStrategy,
+            final String startingFieldName,
+            final SchemaApplicationStrategy schemaApplicationStrategy,
+            final BiPredicate<String, String> captureFieldPredicate,
+            final TokenParserFactory tokenParserFactory,
+            final JsonReadStrategy readStrategy
+    ) throws IOException, MalformedRecordException {
 
         super(in, logger, dateFormat, timeFormat, timestampFormat, startingFieldStrategy, startingFieldName, captureFieldPredicate, tokenParserFactory);
+        this.readStrategy = readStrategy == null ? JsonReadStrategy.TREE : readStrategy;
 
         if (startingFieldStrategy == StartingFieldStrategy.NESTED_FIELD && schemaApplicationStrategy == SchemaApplicationStrategy.WHOLE_JSON) {
             this.schema = getSelectedSchema(schema, startingFieldName);
@@ -132,22 +163,210 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
         return null;
     }
 
+    @Override
+    protected boolean isColumnarBatchSupported() {
+        return true;
+    }
+
+    @Override
+    protected void addJsonNodeToBatch(final JsonNode jsonNode, final ColumnarRecordBatch batch, final boolean coerceTypes) throws IOException, MalformedRecordException {
+        final RecordSchema schema = batch.getSchema();
+        removeUnknownFields(jsonNode, schema);
+
+        final List<RecordField> recordFields = schema.getFields();
+        final Object[] values = new Object[recordFields.size()];
+        boolean serializedFormRetained = true;
+        for (int i = 0; i < values.length; i++) {
+            final RecordField recordField = recordFields.get(i);
+            final JsonNode childNode = getChildNode(jsonNode, recordField);
+            if (childNode == null) {
+                continue;
+            }
+
+            values[i] = convertChildNode(childNode, recordField, null, coerceTypes, true);
+
+            // A null value in the batch cannot be told apart from an absent field, so a row holding an explicit null has no serialized form
+            serializedFormRetained &= values[i] != null;
+        }
+
+        final int row = batch.addRow(values);
+        if (serializedFormRetained) {
+            final Supplier<String> supplier = jsonNode::toString;
+            batch.setSerializedForm(row, SerializedForm.of(supplier, "application/json"));
+        }
+    }
+
+    @Override
+    protected boolean isStreamingReadEnabled() {
+        return readStrategy == JsonReadStrategy.STREAMING;
+    }
+
+    @Override
+    protected Record readRecord(final JsonParser jsonParser, final RecordSchema schema, final boolean coerceTypes) throws IOException, MalformedRecordException {
+        return streamRecord(jsonParser, schema, null, coerceTypes);
+    }
+
+    @Override
+    protected void readRowIntoBatch(final JsonParser jsonParser, final ColumnarRecordBatch batch, final boolean coerceTypes) throws IOException, MalformedRecordException {
+        final RecordSchema schema = batch.getSchema();
+        final Object[] values = new Object[schema.getFieldCount()];
+        streamObject(jsonParser, schema, null, coerceTypes, values, new int[values.length]);
+        batch.addRow(values);
+    }
+
+    private Record streamRecord(final JsonParser jsonParser, final RecordSchema schema, final String fieldNamePrefix, final boolean coerceTypes)
+            throws IOException, MalformedRecordException {
+        final List<RecordField> recordFields = schema.getFields();
+        final Object[] fieldValues = new Object[recordFields.size()];
+        final int[] matchedPriorities = new int[fieldValues.length];
+        streamObject(jsonParser, schema, fieldNamePrefix, coerceTypes, fieldValues, matchedPriorities);
+
+        final Map<String, Object> values = new LinkedHashMap<>(fieldValues.length * 2);
+        for (int i = 0; i < fieldValues.length; i++) {
+            if (matchedPriorities[i] != NOT_PRESENT) {
+                values.put(recordFields.get(i).getFieldName(), fieldValues[i]);
+            }
+        }
+
+        return new MapRecord(schema, values, false, true);
+    }
+
+    /**
+     * Reads the fields of the JSON object at which the parser is positioned into the given array, indexed by the position of each field in the schema.
+     * The contents of fields that are not in the schema are skipped by the parser without being materialized. As when reading a tree, the field name
+     * takes precedence over the aliases of a field, and the aliases take precedence in the order in which they are defined.
+     */
+    private void streamObject(final JsonParser jsonParser, final RecordSchema schema, final String fieldNamePrefix, final boolean coerceTypes,
+                              final Object[] values, final int[] matchedPriorities) throws IOException, MalformedRecordException {
+        final List<RecordField> recordFields = schema.getFields();
+        final Map<String, FieldSlot> slots = getFieldSlots(schema);
+        Arrays.fill(matchedPriorities, NOT_PRESENT);
+
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            final FieldSlot slot = slots.get(jsonParser.currentName());
+            jsonParser.nextToken();
+
+            if (slot == null) {
+                jsonParser.skipChildren();
+                continue;
+            }
+
+            final int matchedPriority = matchedPriorities[slot.index];
+            if (matchedPriority != NOT_PRESENT && matchedPriority < slot.priority) {
+                jsonParser.skipChildren();
+                continue;
+            }
+
+            values[slot.index] = streamFieldValue(jsonParser, recordFields.get(slot.index), fieldNamePrefix, coerceTypes);
+            matchedPriorities[slot.index] = slot.priority;
+        }
+    }
+
+    private Object streamFieldValue(final JsonParser jsonParser, final RecordField recordField, final String fieldNamePrefix, final boolean coerceTypes)
+            throws IOException, MalformedRecordException {
+        final JsonToken token = jsonParser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        // Records and arrays of Records are read field by field, so that their unknown fields are skipped as well.
+        // Any other value is small enough relative to the Record to be read as a tree and converted as in tree mode.
+        if (coerceTypes) {
+            final DataType dataType = recordField.getDataType();
+            final String fieldName = recordField.getFieldName();
+            final String fullFieldName = fieldNamePrefix == null ? fieldName : fieldNamePrefix + fieldName;
+
+            if (token == JsonToken.START_OBJECT) {
+                final RecordSchema childSchema = getStreamableChildSchema(dataType);
+                if (childSchema != null) {
+                    return streamRecord(jsonParser, childSchema, fullFieldName + ".", true);
+                }
+            } else if (token == JsonToken.START_ARRAY && dataType instanceof ArrayDataType arrayDataType) {
+                final RecordSchema childSchema = getStreamableChildSchema(arrayDataType.getElementType());
+                if (childSchema != null) {
+                    return streamRecordArray(jsonParser, childSchema, fullFieldName + ".");
+                }
+            }
+        }
+
+        final JsonNode childNode = jsonParser.readValueAsTree();
+        return convertChildNode(childNode, recordField, fieldNamePrefix, coerceTypes, true);
+    }
+
+    private Object[] streamRecordArray(final JsonParser jsonParser, final RecordSchema childSchema, final String fieldNamePrefix) throws IOException, MalformedRecordException {
+        final List<Object> elements = new ArrayList<>();
+        while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+            if (jsonParser.currentToken() == JsonToken.START_OBJECT) {
+                elements.add(streamRecord(jsonParser, childSchema, fieldNamePrefix, true));
+            } else {
+                // Elements that are not objects cannot be converted into Records
+                jsonParser.skipChildren();
+                elements.add(null);
+            }
+        }
+
+        return elements.toArray();
+    }
+
+    private RecordSchema getStreamableChildSchema(final DataType dataType) {
+        if (dataType instanceof RecordDataType recordDataType) {
+            return recordDataType.getChildSchema();
+        }
+
+        return null;
+    }
+
+    private Map<String, FieldSlot> getFieldSlots(final RecordSchema schema) {
+        return fieldSlots.computeIfAbsent(schema, recordSchema -> {
+            final Map<String, FieldSlot> slots = new HashMap<>();
+            final List<RecordField> recordFields = recordSchema.getFields();
+            for (int i = 0; i < recordFields.size(); i++) {
+                slots.putIfAbsent(recordFields.get(i).getFieldName(), new FieldSlot(i, 0));
+            }
+
+            for (int i = 0; i < recordFields.size(); i++) {
+                int priority = 1;
+                for (final String alias : recordFields.get(i).getAliases()) {
+                    slots.putIfAbsent(alias, new FieldSlot(i, priority++));
+                }
+            }
+
+            return slots;
+        });
+    }
+
+    private void removeUnknownFields(final JsonNode jsonNode, final RecordSchema schema) {
+        // Delete unknown fields for updated serialized representation
+        final Iterator<Map.Entry<String, JsonNode>> fields = jsonNode.properties().iterator();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String fieldName = field.getKey();
+            final Optional<RecordField> recordField = schema.getField(fieldName);
+            if (recordField.isEmpty()) {
+                fields.remove();
+            }
+        }
+    }
+
+    private Object convertChildNode(final JsonNode childNode, final RecordField recordField, final String fieldNamePrefix, final boolean coerceTypes, final boolean dropUnknown)
+            throws IOException, MalformedRecordException {
+        final String fieldName = recordField.getFieldName();
+        if (coerceTypes) {
+            final DataType desiredType = recordField.getDataType();
+            final String fullFieldName = fieldNamePrefix == null ? fieldName : fieldNamePrefix + fieldName;
+            return convertField(childNode, fullFieldName, desiredType, dropUnknown);
+        } else {
+            return getRawNodeValue(childNode, recordField.getDataType(), fieldName);
+        }
+    }
+
     private Record convertJsonNodeToRecord(final JsonNode jsonNode, final RecordSchema schema, final String fieldNamePrefix,
                                            final boolean coerceTypes, final boolean dropUnknown) throws IOException, MalformedRecordException {
 
         final Map<String, Object> values = new LinkedHashMap<>(schema.getFieldCount() * 2);
 
         if (dropUnknown) {
-            // Delete unknown fields for updated serialized representation
-            final Iterator<Map.Entry<String, JsonNode>> fields = jsonNode.properties().iterator();
-            while (fields.hasNext()) {
-                final Map.Entry<String, JsonNode> field = fields.next();
-                final String fieldName = field.getKey();
-                final Optional<RecordField> recordField = schema.getField(fieldName);
-                if (recordField.isEmpty()) {
-                    fields.remove();
-                }
-            }
+            removeUnknownFields(jsonNode, schema);
 
             for (final RecordField recordField : schema.getFields()) {
                 final JsonNode childNode = getChildNode(jsonNode, recordField);
@@ -155,18 +374,8 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
                     continue;
                 }
 
-                final String fieldName = recordField.getFieldName();
-
-                Object value;
-                if (coerceTypes) {
-                    final DataType desiredType = recordField.getDataType();
-                    final String fullFieldName = fieldNamePrefix == null ? fieldName : fieldNamePrefix + fieldName;
-                    value = convertField(childNode, fullFieldName, desiredType, dropUnknown);
-                } else {
-                    value = getRawNodeValue(childNode, recordField.getDataType(), fieldName);
-                }
-
-                values.put(fieldName, value);
+                final Object value = convertChildNode(childNode, recordField, fieldNamePrefix, coerceTypes, dropUnknown);
+                values.put(recordField.getFieldName(), value);
             }
         } else {
             final Iterator<String> fieldNames = jsonNode.fieldNames();
@@ -282,4 +491,14 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
     public RecordSchema getSchema() {
         return schema;
     }
+
+    private static final class FieldSlot {
+        private final int index;
+        private final int priority;
+
+        private FieldSlot(final int index, final int priority) {
+            this.index = index;
+            this.priority = priority;
+        }
+    }
 }
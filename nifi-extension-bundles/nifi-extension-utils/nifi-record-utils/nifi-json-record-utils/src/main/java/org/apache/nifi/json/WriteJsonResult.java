@@ -41,11 +41,15 @@ import org.apache.nifi.serialization.record.type.ArrayDataType;
 import org.apache.nifi.serialization.record.type.ChoiceDataType;
 import org.apache.nifi.serialization.record.type.MapDataType;
 import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.nifi.serialization.record.util.CoercionPlan;
 import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.ValueCoercion;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -67,6 +71,7 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
     private final String mimeType;
     private final boolean prettyPrint;
     private final boolean allowScientificNotation;
+    private final Map<RecordSchema, CoercionPlan> coercionPlans = new IdentityHashMap<>();
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -216,7 +221,10 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
             startTask.apply(generator);
 
             if (schemaAware) {
-                for (final RecordField field : writeSchema.getFields()) {
+                final CoercionPlan coercionPlan = getCoercionPlan(writeSchema);
+                final List<RecordField> fields = writeSchema.getFields();
+                for (int i = 0; i < fields.size(); i++) {
+                    final RecordField field = fields.get(i);
                     final String fieldName = field.getFieldName();
                     final Object value = record.getValue(field);
                     if (value == null) {
@@ -229,8 +237,7 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
 
                     generator.writeFieldName(fieldName);
 
-                    final DataType dataType = writeSchema.getDataType(fieldName).get();
-                    writeValue(generator, value, fieldName, dataType);
+                    writeValue(generator, value, fieldName, field.getDataType(), coercionPlan.getCoercion(i));
                 }
             } else {
                 for (final String fieldName : record.getRawFieldNames()) {
@@ -332,8 +339,17 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
         generator.writeObject(value);
     }
 
-    @SuppressWarnings("unchecked")
+    private CoercionPlan getCoercionPlan(final RecordSchema writeSchema) {
+        return coercionPlans.computeIfAbsent(writeSchema,
+            schema -> CoercionPlan.getPlan(schema, Optional.ofNullable(dateFormat), Optional.ofNullable(timeFormat), Optional.ofNullable(timestampFormat)));
+    }
+
     private void writeValue(final JsonGenerator generator, final Object value, final String fieldName, final DataType dataType) throws IOException {
+        writeValue(generator, value, fieldName, dataType, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeValue(final JsonGenerator generator, final Object value, final String fieldName, final DataType dataType, final ValueCoercion coercion) throws IOException {
         if (value == null) {
             generator.writeNull();
             return;
@@ -346,9 +362,15 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
             return;
         }
 
-        final Object coercedValue = DataTypeUtils.convertType(
-                value, chosenDataType, Optional.ofNullable(dateFormat), Optional.ofNullable(timeFormat), Optional.ofNullable(timestampFormat), fieldName
-        );
+        // The coercion of a CHOICE field applies default formats to the chosen type, so it is only used for other types
+        final Object coercedValue;
+        if (coercion == null || chosenDataType != dataType) {
+            coercedValue = DataTypeUtils.convertType(
+                    value, chosenDataType, Optional.ofNullable(dateFormat), Optional.ofNullable(timeFormat), Optional.ofNullable(timestampFormat), fieldName
+            );
+        } else {
+            coercedValue = coercion.coerce(value);
+        }
         if (coercedValue == null) {
             generator.writeNull();
             return;
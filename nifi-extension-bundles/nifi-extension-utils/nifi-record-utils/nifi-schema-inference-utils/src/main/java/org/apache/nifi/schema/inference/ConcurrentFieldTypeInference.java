@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * Infers the types of the fields of the records provided by a Record Source using multiple threads. The records are read from the source by
+ * the calling thread and handed in chunks to the common Fork/Join pool, where the types of each chunk's fields are inferred independently.
+ * The inferences of the chunks are then merged in the order in which the chunks were read, so that the fields appear in the same order as they
+ * would with sequential inference.
+ * </p>
+ *
+ * <p>
+ * At most one chunk per thread is in flight at any time, so the number of records held in memory is bounded regardless of the size of the content.
+ * </p>
+ */
+public class ConcurrentFieldTypeInference {
+    static final int CHUNK_SIZE = 1000;
+
+    private ConcurrentFieldTypeInference() {
+    }
+
+    /**
+     * Infers the types of the fields of all records provided by the given source
+     *
+     * @param recordSource the source of the records, which is only accessed by the calling thread
+     * @param concurrency the maximum number of chunks whose types are inferred at the same time
+     * @param inference the function that adds the types of a record's fields to a map of inferences, which must be safe to call from multiple threads
+     *                  for different maps
+     * @param <T> the type of the records
+     * @return the inferred type of each field, in the order in which the fields were encountered
+     * @throws IOException if unable to read records from the source
+     */
+    public static <T> Map<String, FieldTypeInference> inferFieldTypes(final RecordSource<T> recordSource, final int concurrency,
+                                                                      final BiConsumer<T, Map<String, FieldTypeInference>> inference) throws IOException {
+        final Map<String, FieldTypeInference> typeMap = new LinkedHashMap<>();
+        final Deque<ForkJoinTask<Map<String, FieldTypeInference>>> inFlight = new ArrayDeque<>();
+
+        try {
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            T rawRecord;
+            while ((rawRecord = recordSource.next()) != null) {
+                chunk.add(rawRecord);
+                if (chunk.size() < CHUNK_SIZE) {
+                    continue;
+                }
+
+                if (inFlight.size() >= Math.max(1, concurrency)) {
+                    merge(inFlight.removeFirst().join(), typeMap);
+                }
+
+                inFlight.addLast(submit(chunk, inference));
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+
+            if (!chunk.isEmpty()) {
+                inFlight.addLast(submit(chunk, inference));
+            }
+
+            while (!inFlight.isEmpty()) {
+                merge(inFlight.removeFirst().join(), typeMap);
+            }
+        } finally {
+            // Stop any chunks that are no longer needed because reading the source or inferring another chunk failed
+            inFlight.forEach(task -> task.cancel(true));
+        }
+
+        return typeMap;
+    }
+
+    private static <T> ForkJoinTask<Map<String, FieldTypeInference>> submit(final List<T> chunk, final BiConsumer<T, Map<String, FieldTypeInference>> inference) {
+        return ForkJoinPool.commonPool().submit(() -> {
+            final Map<String, FieldTypeInference> chunkTypeMap = new LinkedHashMap<>();
+            for (final T rawRecord : chunk) {
+                inference.accept(rawRecord, chunkTypeMap);
+            }
+            return chunkTypeMap;
+        });
+    }
+
+    private static void merge(final Map<String, FieldTypeInference> chunkTypeMap, final Map<String, FieldTypeInference> typeMap) {
+        chunkTypeMap.forEach((fieldName, chunkInference) -> typeMap.computeIfAbsent(fieldName, key -> new FieldTypeInference()).merge(chunkInference));
+    }
+}
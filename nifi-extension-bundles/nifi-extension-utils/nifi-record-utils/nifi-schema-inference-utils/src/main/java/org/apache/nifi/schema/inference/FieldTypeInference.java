@@ -93,6 +93,23 @@ public class FieldTypeInference {
         possibleDataTypes.add(dataType);
     }
 
+    /**
+     * Adds the possible data types of the given inference to this inference, as if the values from which they were inferred
+     * had been added to this inference
+     *
+     * @param other the inference to merge into this one
+     */
+    public void merge(final FieldTypeInference other) {
+        if (other.possibleDataTypes.isEmpty()) {
+            addPossibleDataType(other.singleDataType);
+            return;
+        }
+
+        for (final DataType dataType : other.possibleDataTypes) {
+            addPossibleDataType(dataType);
+        }
+    }
+
     /**
      * Creates a single DataType that represents the field
      * @return a single DataType that represents the field
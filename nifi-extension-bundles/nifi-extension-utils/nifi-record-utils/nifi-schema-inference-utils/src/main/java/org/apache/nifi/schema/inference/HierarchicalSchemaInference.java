@@ -32,6 +32,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -58,6 +59,35 @@ public abstract class HierarchicalSchemaInference<T> implements SchemaInferenceE
             }
         }
 
+        return createInferredSchema(typeMap, rootElementName);
+    }
+
+    @Override
+    public RecordSchema inferSchema(final RecordSource<T> recordSource, final int concurrency) throws IOException {
+        if (concurrency <= 1) {
+            return inferSchema(recordSource);
+        }
+
+        // The root names are tracked as the records are read, as the order in which the chunks of records are inferred is not defined
+        final AtomicReference<String> rootElementName = new AtomicReference<>();
+        final RecordSource<T> trackingSource = () -> {
+            final T rawRecord = recordSource.next();
+            if (rawRecord != null) {
+                final String name = getRootName(rawRecord);
+                if (rootElementName.get() == null) {
+                    rootElementName.set(name);
+                } else if (!rootElementName.get().equals(name)) {
+                    rootElementName.set(null);
+                }
+            }
+            return rawRecord;
+        };
+
+        final Map<String, FieldTypeInference> typeMap = ConcurrentFieldTypeInference.inferFieldTypes(trackingSource, concurrency, this::inferSchema);
+        return createInferredSchema(typeMap, rootElementName.get());
+    }
+
+    private RecordSchema createInferredSchema(final Map<String, FieldTypeInference> typeMap, final String rootElementName) {
         RecordSchema inferredSchema = createSchema(typeMap, rootElementName);
         // Replace array<null> with array<string> in the typeMap. We use array<null> internally for empty arrays because for example if we encounter an empty array in the first record,
         // we have no way of knowing the type of elements. If we just decide to use STRING as the type like was previously done, this can cause problems because anything can be coerced
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import java.io.IOException;
+import java.util.function.LongSupplier;
+
+/**
+ * A Record Source that provides only the first records of another source, so that a schema can be inferred from a sample of the content.
+ * The sample ends once a maximum number of records has been provided, or once a maximum number of bytes of the content has been consumed.
+ * As the source stops only between records, more bytes than the maximum may be consumed.
+ *
+ * @param <T> the type of the records
+ */
+public class LimitedRecordSource<T> implements RecordSource<T> {
+    private final RecordSource<T> delegate;
+    private final long maxRecords;
+    private final LongSupplier bytesConsumed;
+    private final long maxBytes;
+    private long recordCount = 0L;
+
+    /**
+     * @param delegate the source whose records are provided
+     * @param maxRecords the maximum number of records to provide, or 0 for no maximum
+     * @param bytesConsumed supplies the number of bytes of the content that have been consumed so far by the delegate
+     * @param maxBytes the number of bytes after which no more records are provided, or 0 for no maximum
+     */
+    public LimitedRecordSource(final RecordSource<T> delegate, final long maxRecords, final LongSupplier bytesConsumed, final long maxBytes) {
+        this.delegate = delegate;
+        this.maxRecords = maxRecords;
+        this.bytesConsumed = bytesConsumed;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public T next() throws IOException {
+        if (maxRecords > 0 && recordCount >= maxRecords) {
+            return null;
+        }
+        if (maxBytes > 0 && bytesConsumed.getAsLong() >= maxBytes) {
+            return null;
+        }
+
+        final T rawRecord = delegate.next();
+        if (rawRecord != null) {
+            recordCount++;
+        }
+        return rawRecord;
+    }
+
+    /**
+     * @return the source whose records are provided
+     */
+    public RecordSource<T> getDelegate() {
+        return delegate;
+    }
+}
@@ -24,4 +24,17 @@ public interface SchemaInferenceEngine<T> {
 
     RecordSchema inferSchema(RecordSource<T> recordSource) throws IOException;
 
+    /**
+     * Infers the schema of the records provided by the given source, using up to the given number of threads to infer the types of their fields.
+     * Records are always read from the source by the calling thread. Engines that are not able to infer types concurrently ignore the concurrency.
+     *
+     * @param recordSource the source of the records
+     * @param concurrency the maximum number of threads to use
+     * @return the inferred schema
+     * @throws IOException if unable to read records from the source
+     */
+    default RecordSchema inferSchema(RecordSource<T> recordSource, int concurrency) throws IOException {
+        return inferSchema(recordSource);
+    }
+
 }
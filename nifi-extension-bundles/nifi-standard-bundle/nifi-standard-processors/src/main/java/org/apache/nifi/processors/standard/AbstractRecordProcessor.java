@@ -36,6 +36,7 @@ import org.apache.nifi.serialization.RecordSetWriterFactory;
 import org.apache.nifi.serialization.WriteResult;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 import java.util.HashMap;
 import java.util.List;
@@ -129,7 +130,9 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
                     // Get the first record and process it before we create the Record Writer. We do this so that if the Processor
                     // updates the Record's schema, we can provide an updated schema to the Record Writer. If there are no records,
                     // then we can simply create the Writer with the Reader's schema and begin & end the Record Set.
-                    Record firstRecord = reader.nextRecord();
+                    // If the Processor does not modify records, they are instead moved from the Reader to the Writer a batch at a time.
+                    final RecordBatch firstBatch = isRecordPassThrough() ? reader.nextBatch(RecordBatch.DEFAULT_BATCH_SIZE) : null;
+                    Record firstRecord = isRecordPassThrough() ? (firstBatch == null ? null : firstBatch.getRecord(0)) : reader.nextRecord();
                     if (firstRecord == null) {
                         final RecordSchema writeSchema = writerFactory.getSchema(originalAttributes, reader.getSchema());
                         try (final RecordSetWriter writer = writerFactory.createWriter(getLogger(), writeSchema, out, originalAttributes)) {
@@ -145,19 +148,30 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
                         return;
                     }
 
-                    firstRecord = AbstractRecordProcessor.this.process(firstRecord, original, context, 1L);
+                    if (firstBatch == null) {
+                        firstRecord = AbstractRecordProcessor.this.process(firstRecord, original, context, 1L);
+                    }
 
                     final RecordSchema writeSchema = writerFactory.getSchema(originalAttributes, firstRecord.getSchema());
                     try (final RecordSetWriter writer = writerFactory.createWriter(getLogger(), writeSchema, out, originalAttributes)) {
                         writer.beginRecordSet();
 
-                        writer.write(firstRecord);
-
-                        Record record;
-                        long count = 1L;
-                        while ((record = reader.nextRecord()) != null) {
-                            final Record processed = AbstractRecordProcessor.this.process(record, original, context, ++count);
-                            writer.write(processed);
+                        if (firstBatch == null) {
+                            writer.write(firstRecord);
+
+                            Record record;
+                            long count = 1L;
+                            while ((record = reader.nextRecord()) != null) {
+                                final Record processed = AbstractRecordProcessor.this.process(record, original, context, ++count);
+                                writer.write(processed);
+                            }
+                        } else {
+                            writer.writeBatch(firstBatch);
+
+                            RecordBatch batch;
+                            while ((batch = reader.nextBatch(RecordBatch.DEFAULT_BATCH_SIZE)) != null) {
+                                writer.writeBatch(batch);
+                            }
                         }
 
                         final WriteResult writeResult = writer.finishRecordSet();
@@ -200,4 +214,14 @@ public abstract class AbstractRecordProcessor extends AbstractProcessor {
     }
 
     protected abstract Record process(Record record, FlowFile flowFile, ProcessContext context, long count);
+
+    /**
+     * Indicates whether the Processor writes each Record exactly as it was read. If so, Records are read and written in batches and
+     * {@link #process(Record, FlowFile, ProcessContext, long)} is not called.
+     *
+     * @return <code>true</code> if Records are not modified by the Processor, <code>false</code> otherwise
+     */
+    protected boolean isRecordPassThrough() {
+        return false;
+    }
 }
@@ -68,4 +68,9 @@ public class ConvertRecord extends AbstractRecordProcessor {
     protected Record process(final Record record, final FlowFile flowFile, final ProcessContext context, final long count) {
         return record;
     }
+
+    @Override
+    protected boolean isRecordPassThrough() {
+        return true;
+    }
 }
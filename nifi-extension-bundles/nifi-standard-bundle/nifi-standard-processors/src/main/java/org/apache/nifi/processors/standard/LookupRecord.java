@@ -49,7 +49,7 @@ import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.RecordPathResult;
-import org.apache.nifi.record.path.util.RecordPathCache;
+import org.apache.nifi.record.path.util.SpecializedRecordPathCache;
 import org.apache.nifi.record.path.validation.RecordPathValidator;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
 import org.apache.nifi.serialization.MalformedRecordException;
@@ -79,7 +79,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -110,7 +109,7 @@ import java.util.stream.StreamSupport;
         classNames = {"org.apache.nifi.lookup.SimpleKeyValueLookupService", "org.apache.nifi.lookup.maxmind.IPLookupService", "org.apache.nifi.lookup.db.DatabaseRecordLookupService"})
 public class LookupRecord extends AbstractProcessor {
 
-    private final RecordPathCache recordPathCache = new RecordPathCache(25);
+    private final SpecializedRecordPathCache recordPathCache = new SpecializedRecordPathCache(25);
     private volatile LookupService<?> lookupService;
 
     static final AllowableValue ROUTE_TO_SUCCESS = new AllowableValue("route-to-success", "Route to 'success'",
@@ -537,16 +536,12 @@ public class LookupRecord extends AbstractProcessor {
             for (final Map.Entry<String, RecordPath> entry : recordPaths.entrySet()) {
                 final RecordPath recordPath = entry.getValue();
 
-                final RecordPathResult pathResult = recordPath.evaluate(record);
-                AtomicLong selectedFieldsCount = new AtomicLong(0);
-                final List<FieldValue> lookupFieldValues = pathResult.getSelectedFields()
-                        .filter(fieldVal -> {
-                            selectedFieldsCount.incrementAndGet();
-                            return fieldVal.getValue() != null;
-                        })
+                final List<FieldValue> selectedFields = SpecializedRecordPathCache.getSelectedFields(recordPath, record);
+                final List<FieldValue> lookupFieldValues = selectedFields.stream()
+                        .filter(fieldVal -> fieldVal.getValue() != null)
                         .toList();
 
-                if (selectedFieldsCount.get() == 0) {
+                if (selectedFields.isEmpty()) {
                     // When selectedFieldsCount == 0; then an empty array was found which counts as a match.
                     // Since the array is empty, no further processing is needed, so continue to next recordPath.
                     continue;
@@ -756,8 +751,7 @@ public class LookupRecord extends AbstractProcessor {
                 final String coordinateKey = entry.getKey();
                 final RecordPath recordPath = entry.getValue();
 
-                final RecordPathResult pathResult = recordPath.evaluate(record);
-                final List<FieldValue> lookupFieldValues = pathResult.getSelectedFields()
+                final List<FieldValue> lookupFieldValues = SpecializedRecordPathCache.getSelectedFields(recordPath, record).stream()
                     .filter(fieldVal -> fieldVal.getValue() != null)
                     .toList();
 
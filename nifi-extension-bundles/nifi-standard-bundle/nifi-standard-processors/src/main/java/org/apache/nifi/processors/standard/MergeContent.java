@@ -69,7 +69,6 @@ import org.apache.nifi.processor.util.bin.InsertionLocation;
 import org.apache.nifi.processors.standard.merge.AttributeStrategy;
 import org.apache.nifi.processors.standard.merge.AttributeStrategyUtil;
 import org.apache.nifi.stream.io.NonCloseableOutputStream;
-import org.apache.nifi.stream.io.StreamUtils;
 import org.apache.nifi.util.FlowFilePackager;
 import org.apache.nifi.util.FlowFilePackagerV1;
 import org.apache.nifi.util.FlowFilePackagerV2;
@@ -92,7 +91,6 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalLong;
@@ -788,53 +786,32 @@ public class MergeContent extends BinFiles {
 
             final ProcessSession session = bin.getSession();
             FlowFile bundle = session.create(bin.getContents());
-            final AtomicReference<String> bundleMimeTypeRef = new AtomicReference<>(null);
             try {
-                bundle = session.write(bundle, out -> {
-                    final byte[] header = getDelimiterContent(context, contents, HEADER);
-                    if (header != null) {
-                        out.write(header);
-                    }
-
-                    final byte[] demarcator = getDelimiterContent(context, contents, DEMARCATOR);
-
-                    boolean isFirst = true;
-                    final Iterator<FlowFile> itr = contents.iterator();
-                    while (itr.hasNext()) {
-                        final FlowFile flowFile = itr.next();
-                        bin.getSession().read(flowFile, in -> StreamUtils.copy(in, out));
-
-                        if (itr.hasNext()) {
-                            if (demarcator != null) {
-                                out.write(demarcator);
-                            }
-                        }
-
-                        final String flowFileMimeType = flowFile.getAttribute(CoreAttributes.MIME_TYPE.key());
-                        if (isFirst) {
-                            bundleMimeTypeRef.set(flowFileMimeType);
-                            isFirst = false;
-                        } else {
-                            if (bundleMimeTypeRef.get() != null && !bundleMimeTypeRef.get().equals(flowFileMimeType)) {
-                                bundleMimeTypeRef.set(null);
-                            }
-                        }
-                    }
+                final byte[] header = getDelimiterContent(context, contents, HEADER);
+                final byte[] footer = getDelimiterContent(context, contents, FOOTER);
+                final byte[] demarcator = getDelimiterContent(context, contents, DEMARCATOR);
 
-                    final byte[] footer = getDelimiterContent(context, contents, FOOTER);
-                    if (footer != null) {
-                        out.write(footer);
-                    }
-                });
+                // Merging through the session allows the framework to reference the content of the bin rather than copy it
+                bundle = session.merge(contents, bundle, header, footer, demarcator);
+            } catch (final IOException e) {
+                removeFlowFileFromSession(session, bundle, context);
+                throw new ProcessException("Failed to read Header, Footer or Demarcator for " + bundle, e);
             } catch (final Exception e) {
                 removeFlowFileFromSession(session, bundle, context);
                 throw e;
             }
 
+            String bundleMimeType = contents.getFirst().getAttribute(CoreAttributes.MIME_TYPE.key());
+            for (final FlowFile flowFile : contents) {
+                if (bundleMimeType != null && !bundleMimeType.equals(flowFile.getAttribute(CoreAttributes.MIME_TYPE.key()))) {
+                    bundleMimeType = null;
+                }
+            }
+
             session.getProvenanceReporter().join(contents, bundle);
             bundle = session.putAttribute(bundle, CoreAttributes.FILENAME.key(), createFilename(contents));
-            if (bundleMimeTypeRef.get() != null) {
-                this.mimeType = bundleMimeTypeRef.get();
+            if (bundleMimeType != null) {
+                this.mimeType = bundleMimeType;
             }
 
             return bundle;
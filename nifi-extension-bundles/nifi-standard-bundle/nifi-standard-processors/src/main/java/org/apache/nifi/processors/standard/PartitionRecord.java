@@ -41,7 +41,7 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
-import org.apache.nifi.record.path.util.RecordPathCache;
+import org.apache.nifi.record.path.util.SpecializedRecordPathCache;
 import org.apache.nifi.record.path.validation.RecordPathValidator;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
@@ -55,6 +55,7 @@ import org.apache.nifi.serialization.record.util.DataTypeUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -64,7 +65,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @SupportsBatching
 @InputRequirement(Requirement.INPUT_REQUIRED)
@@ -124,7 +124,7 @@ import java.util.stream.Stream;
         """
 )
 public class PartitionRecord extends AbstractProcessor {
-    private final RecordPathCache recordPathCache = new RecordPathCache(25);
+    private final SpecializedRecordPathCache recordPathCache = new SpecializedRecordPathCache(25);
 
     static final PropertyDescriptor RECORD_READER = new PropertyDescriptor.Builder()
         .name("record-reader")
@@ -243,10 +243,11 @@ public class PartitionRecord extends AbstractProcessor {
                     final String propName = entry.getKey();
                     final RecordPath recordPath = entry.getValue();
 
-                    final Stream<FieldValue> fieldValueStream = recordPath.evaluate(record).getSelectedFields();
-                    final List<ValueWrapper> fieldValues = fieldValueStream
-                        .map(fieldVal -> new ValueWrapper(fieldVal.getValue()))
-                        .collect(Collectors.toList());
+                    final List<FieldValue> selectedFields = SpecializedRecordPathCache.getSelectedFields(recordPath, record);
+                    final List<ValueWrapper> fieldValues = new ArrayList<>(selectedFields.size());
+                    for (final FieldValue fieldValue : selectedFields) {
+                        fieldValues.add(new ValueWrapper(fieldValue.getValue()));
+                    }
                     recordMap.put(propName, fieldValues);
                 }
 
@@ -43,10 +43,9 @@ import org.apache.nifi.serialization.RecordReaderFactory;
 import org.apache.nifi.serialization.RecordSetWriter;
 import org.apache.nifi.serialization.RecordSetWriterFactory;
 import org.apache.nifi.serialization.WriteResult;
-import org.apache.nifi.serialization.record.PushBackRecordSet;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
-import org.apache.nifi.serialization.record.RecordSet;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 import java.io.OutputStream;
 import java.util.ArrayList;
@@ -153,11 +152,11 @@ public class SplitRecord extends AbstractProcessor {
 
                     final RecordSchema schema = writerFactory.getSchema(originalAttributes, reader.getSchema());
 
-                    final RecordSet recordSet = reader.createRecordSet();
-                    final PushBackRecordSet pushbackSet = new PushBackRecordSet(recordSet);
+                    // Records are moved from the Reader to the Writers in batches, which never span more than one split
+                    RecordBatch batch = reader.nextBatch(Math.min(maxRecords, RecordBatch.DEFAULT_BATCH_SIZE));
 
                     int fragmentIndex = 0;
-                    while (pushbackSet.isAnotherRecord()) {
+                    while (batch != null) {
                         FlowFile split = session.create(original);
 
                         try {
@@ -167,11 +166,22 @@ public class SplitRecord extends AbstractProcessor {
                             try (final OutputStream out = session.write(split);
                                 final RecordSetWriter writer = writerFactory.createWriter(getLogger(), schema, out, split)) {
                                     if (maxRecords == 1) {
-                                        final Record record = pushbackSet.next();
+                                        final Record record = batch.getRecord(0);
                                         writeResult = writer.write(record);
+                                        batch = reader.nextBatch(1);
                                     } else {
-                                        final RecordSet limitedSet = pushbackSet.limit(maxRecords);
-                                        writeResult = writer.write(limitedSet);
+                                        writer.beginRecordSet();
+
+                                        int splitRecordCount = 0;
+                                        do {
+                                            writer.writeBatch(batch);
+                                            splitRecordCount += batch.size();
+
+                                            final int remaining = maxRecords - splitRecordCount;
+                                            batch = reader.nextBatch(Math.min(remaining == 0 ? maxRecords : remaining, RecordBatch.DEFAULT_BATCH_SIZE));
+                                        } while (batch != null && splitRecordCount < maxRecords);
+
+                                        writeResult = writer.finishRecordSet();
                                     }
 
                                     attributes.put("record.count", String.valueOf(writeResult.getRecordCount()));
@@ -41,7 +41,7 @@ import org.apache.nifi.processor.ProcessContext;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.RecordPathResult;
-import org.apache.nifi.record.path.util.RecordPathCache;
+import org.apache.nifi.record.path.util.SpecializedRecordPathCache;
 import org.apache.nifi.record.path.validation.RecordPathPropertyNameValidator;
 import org.apache.nifi.serialization.SimpleRecordSchema;
 import org.apache.nifi.serialization.record.MapRecord;
@@ -144,7 +144,7 @@ public class UpdateRecord extends AbstractRecordProcessor {
 
     private static final String RECORD_INDEX = "record.index";
 
-    private volatile RecordPathCache recordPathCache;
+    private volatile SpecializedRecordPathCache recordPathCache;
     private volatile List<String> recordPaths;
 
     static final AllowableValue LITERAL_VALUES = new AllowableValue("literal-value", "Literal Value",
@@ -206,7 +206,7 @@ public class UpdateRecord extends AbstractRecordProcessor {
 
     @OnScheduled
     public void createRecordPaths(final ProcessContext context) {
-        recordPathCache = new RecordPathCache(context.getProperties().size() * 2);
+        recordPathCache = new SpecializedRecordPathCache(context.getProperties().size() * 2);
 
         final List<String> recordPaths = new ArrayList<>(context.getProperties().size() - 2);
         for (final PropertyDescriptor property : context.getProperties().keySet()) {
@@ -27,8 +27,8 @@ import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordSetWriter;
 import org.apache.nifi.serialization.RecordSetWriterFactory;
 import org.apache.nifi.serialization.WriteResult;
-import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 import org.apache.nifi.stream.io.ByteCountingOutputStream;
 
 import java.io.IOException;
@@ -136,10 +136,10 @@ public class RecordBin {
                 recordWriter.beginRecordSet();
             }
 
-            Record record;
-            while ((record = recordReader.nextRecord()) != null) {
-                recordWriter.write(record);
-                recordCount++;
+            RecordBatch batch;
+            while ((batch = recordReader.nextBatch(RecordBatch.DEFAULT_BATCH_SIZE)) != null) {
+                recordWriter.writeBatch(batch);
+                recordCount += batch.size();
             }
 
             // This will be closed by the MergeRecord class anyway but we have to close it
@@ -526,6 +526,53 @@ public class TestMergeContent {
         bundle.assertAttributeEquals(CoreAttributes.MIME_TYPE.key(), "application/plain-text");
     }
 
+    @Test
+    public void testSimpleBinaryConcatWithTextDelimitersSingleFlowFile() {
+        runner.setProperty(MergeContent.MAX_BIN_AGE, "1 sec");
+        runner.setProperty(MergeContent.MERGE_FORMAT, MergeContent.MergeFormat.CONCAT);
+        runner.setProperty(MergeContent.DELIMITER_STRATEGY, MergeContent.DelimiterStrategy.TEXT);
+        runner.setProperty(MergeContent.HEADER, "@");
+        runner.setProperty(MergeContent.DEMARCATOR, "#");
+        runner.setProperty(MergeContent.FOOTER, "$");
+
+        runner.enqueue("Hello, World!", Map.of(CoreAttributes.MIME_TYPE.key(), "application/plain-text"));
+        runner.run(2);
+
+        runner.assertQueueEmpty();
+        runner.assertTransferCount(MergeContent.REL_MERGED, 1);
+        runner.assertTransferCount(MergeContent.REL_FAILURE, 0);
+        runner.assertTransferCount(MergeContent.REL_ORIGINAL, 1);
+
+        // The demarcator is only written between FlowFiles
+        final MockFlowFile bundle = runner.getFlowFilesForRelationship(MergeContent.REL_MERGED).getFirst();
+        bundle.assertContentEquals("@Hello, World!$");
+        bundle.assertAttributeEquals(CoreAttributes.MIME_TYPE.key(), "application/plain-text");
+    }
+
+    @Test
+    public void testMimeTypeIsOctetStreamIfConflictingWithBinaryConcatWithTextDelimiters() {
+        runner.setProperty(MergeContent.MAX_BIN_AGE, "1 sec");
+        runner.setProperty(MergeContent.MERGE_FORMAT, MergeContent.MergeFormat.CONCAT);
+        runner.setProperty(MergeContent.DELIMITER_STRATEGY, MergeContent.DelimiterStrategy.TEXT);
+        runner.setProperty(MergeContent.HEADER, "@");
+        runner.setProperty(MergeContent.DEMARCATOR, "#");
+        runner.setProperty(MergeContent.FOOTER, "$");
+
+        runner.enqueue("Hello", Map.of(CoreAttributes.MIME_TYPE.key(), "application/plain-text"));
+        runner.enqueue("World", Map.of(CoreAttributes.MIME_TYPE.key(), "application/json"));
+        runner.enqueue("!");
+        runner.run(2);
+
+        runner.assertQueueEmpty();
+        runner.assertTransferCount(MergeContent.REL_MERGED, 1);
+        runner.assertTransferCount(MergeContent.REL_FAILURE, 0);
+        runner.assertTransferCount(MergeContent.REL_ORIGINAL, 3);
+
+        final MockFlowFile bundle = runner.getFlowFilesForRelationship(MergeContent.REL_MERGED).getFirst();
+        bundle.assertContentEquals("@Hello#World#!$");
+        bundle.assertAttributeEquals(CoreAttributes.MIME_TYPE.key(), "application/octet-stream");
+    }
+
     @Test
     public void testSimpleBinaryConcatWithFileDelimiters() throws IOException {
         runner.setProperty(MergeContent.MAX_BIN_AGE, "1 sec");
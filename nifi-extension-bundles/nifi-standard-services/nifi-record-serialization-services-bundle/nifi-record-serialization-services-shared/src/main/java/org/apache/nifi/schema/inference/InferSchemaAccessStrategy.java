@@ -20,23 +20,64 @@ import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.schema.access.SchemaAccessStrategy;
 import org.apache.nifi.schema.access.SchemaField;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.stream.io.ByteCountingInputStream;
 import org.apache.nifi.stream.io.NonCloseableInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 public class InferSchemaAccessStrategy<T> implements SchemaAccessStrategy {
+    static final int MAX_CACHED_FINGERPRINTS = 100;
+    static final int MAX_FINGERPRINT_LENGTH = 1_000_000;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+
     private final RecordSourceFactory<T> recordSourceFactory;
     private final SchemaInferenceEngine<T> schemaInference;
     private final ComponentLog logger;
+    private final long recordLimit;
+    private final long dataLimit;
+    private final int concurrency;
+    private final int fingerprintLength;
+
+    // Schemas inferred for content beginning with the same bytes, keyed by the fingerprint of those bytes. Guarded by synchronizing on the map.
+    private final Map<String, RecordSchema> schemasByFingerprint = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, RecordSchema> eldest) {
+            return size() > MAX_CACHED_FINGERPRINTS;
+        }
+    };
 
     public InferSchemaAccessStrategy(final RecordSourceFactory<T> recordSourceFactory, final SchemaInferenceEngine<T> schemaInference, final ComponentLog logger) {
+        this(recordSourceFactory, schemaInference, logger, 0L, 0L, 1, 0);
+    }
+
+    /**
+     * @param recordSourceFactory the factory used to create the Record Source from which the schema is inferred
+     * @param schemaInference the engine that infers the schema
+     * @param logger the logger to use
+     * @param recordLimit the maximum number of records from which the schema is inferred, or 0 to infer the schema from all records
+     * @param dataLimit the number of bytes of content after which no more records are used to infer the schema, or 0 to infer the schema from all records
+     * @param concurrency the maximum number of threads used to infer the schema
+     * @param fingerprintLength the number of bytes at the start of the content whose fingerprint identifies the schema inferred for the content,
+     *                          or 0 to infer the schema of all content
+     */
+    public InferSchemaAccessStrategy(final RecordSourceFactory<T> recordSourceFactory, final SchemaInferenceEngine<T> schemaInference, final ComponentLog logger,
+                                     final long recordLimit, final long dataLimit, final int concurrency, final int fingerprintLength) {
         this.recordSourceFactory = recordSourceFactory;
         this.schemaInference = schemaInference;
         this.logger = logger;
+        this.recordLimit = recordLimit;
+        this.dataLimit = dataLimit;
+        this.concurrency = concurrency;
+        this.fingerprintLength = fingerprintLength;
     }
 
     @Override
@@ -45,8 +86,28 @@ public class InferSchemaAccessStrategy<T> implements SchemaAccessStrategy {
         // re-read the content regardless of how much data is read.
         contentStream.mark(1_000_000);
         try {
-            final RecordSource<T> recordSource = recordSourceFactory.create(variables, new NonCloseableInputStream(contentStream));
-            final RecordSchema schema = schemaInference.inferSchema(recordSource);
+            final String fingerprint = createFingerprint(contentStream);
+            if (fingerprint != null) {
+                final RecordSchema cachedSchema;
+                synchronized (schemasByFingerprint) {
+                    cachedSchema = schemasByFingerprint.get(fingerprint);
+                }
+
+                if (cachedSchema != null) {
+                    logger.debug("Found schema {} previously inferred for content with fingerprint {}", cachedSchema, fingerprint);
+                    return cachedSchema;
+                }
+            }
+
+            final ByteCountingInputStream countingStream = new ByteCountingInputStream(new NonCloseableInputStream(contentStream));
+            final RecordSource<T> recordSource = createRecordSource(variables, countingStream);
+            final RecordSchema schema = schemaInference.inferSchema(recordSource, concurrency);
+
+            if (fingerprint != null) {
+                synchronized (schemasByFingerprint) {
+                    schemasByFingerprint.put(fingerprint, schema);
+                }
+            }
 
             logger.debug("Successfully inferred schema {}", schema);
             return schema;
@@ -55,6 +116,44 @@ public class InferSchemaAccessStrategy<T> implements SchemaAccessStrategy {
         }
     }
 
+    private RecordSource<T> createRecordSource(final Map<String, String> variables, final ByteCountingInputStream countingStream) throws IOException {
+        final RecordSource<T> recordSource = recordSourceFactory.create(variables, countingStream);
+        if (recordLimit <= 0 && dataLimit <= 0) {
+            return recordSource;
+        }
+
+        return new LimitedRecordSource<>(recordSource, recordLimit, countingStream::getBytesConsumed, dataLimit);
+    }
+
+    /**
+     * Creates a fingerprint of the first bytes of the content, leaving the stream positioned at the start of the content
+     *
+     * @return the fingerprint, or <code>null</code> if fingerprinting is disabled
+     */
+    private String createFingerprint(final InputStream contentStream) throws IOException {
+        if (fingerprintLength <= 0) {
+            return null;
+        }
+
+        final byte[] prefix = contentStream.readNBytes(Math.min(fingerprintLength, MAX_FINGERPRINT_LENGTH));
+        contentStream.reset();
+
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+
+        return ENCODER.encodeToString(digest.digest(prefix));
+    }
+
+    int getCachedFingerprintCount() {
+        synchronized (schemasByFingerprint) {
+            return schemasByFingerprint.size();
+        }
+    }
+
     @Override
     public Set<SchemaField> getSuppliedSchemaFields() {
         return EnumSet.noneOf(SchemaField.class);
@@ -21,9 +21,12 @@ import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.PropertyDescriptor.Builder;
 import org.apache.nifi.context.PropertyContext;
 import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.processor.DataUnit;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.schema.access.SchemaAccessStrategy;
 import org.apache.nifi.serialization.RecordSchemaCacheService;
 
+import java.util.List;
 import java.util.function.Supplier;
 
 public class SchemaInferenceUtil {
@@ -39,12 +42,89 @@ public class SchemaInferenceUtil {
         .identifiesControllerService(RecordSchemaCacheService.class)
         .build();
 
+    public static final PropertyDescriptor SCHEMA_INFERENCE_RECORD_LIMIT = new Builder()
+        .name("Schema Inference Record Limit")
+        .description("The maximum number of records from which the schema is inferred. If not specified, the schema is inferred from all records. " +
+            "Limiting the number of records reduces the time taken to infer the schema of large content, but any field that does not appear in the first records " +
+            "is not part of the schema, and a field may be inferred to have a type that is too narrow for values in later records.")
+        .required(false)
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .build();
+
+    public static final PropertyDescriptor SCHEMA_INFERENCE_DATA_LIMIT = new Builder()
+        .name("Schema Inference Data Limit")
+        .description("The amount of content after which no more records are used to infer the schema. If not specified, the schema is inferred from all records. " +
+            "The record that is being read when the limit is reached is still used. The same considerations apply as for the Schema Inference Record Limit.")
+        .required(false)
+        .addValidator(StandardValidators.DATA_SIZE_VALIDATOR)
+        .build();
+
+    public static final PropertyDescriptor SCHEMA_INFERENCE_CONCURRENCY = new Builder()
+        .name("Schema Inference Concurrency")
+        .description("The maximum number of threads used to infer the schema of the content. Records are read by a single thread, and the types of their fields " +
+            "are inferred by up to this many threads of the JVM's common Fork/Join pool. A value of 1 infers the schema on the thread that reads the records.")
+        .required(true)
+        .defaultValue("1")
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .build();
+
+    public static final PropertyDescriptor SCHEMA_INFERENCE_FINGERPRINT_LENGTH = new Builder()
+        .name("Schema Inference Fingerprint Length")
+        .description("The amount of content at the start of each FlowFile that identifies the schema of the content. If specified, the schema inferred for a FlowFile " +
+            "is reused for subsequent FlowFiles whose content starts with the same bytes, such as a CSV header or a JSON document of the same shape, " +
+            "without inferring the schema again. The schemas of up to " + InferSchemaAccessStrategy.MAX_CACHED_FINGERPRINTS + " fingerprints are retained. " +
+            "If not specified, the schema is inferred for every FlowFile. The length is limited to " + InferSchemaAccessStrategy.MAX_FINGERPRINT_LENGTH + " bytes.")
+        .required(false)
+        .addValidator(StandardValidators.DATA_SIZE_VALIDATOR)
+        .build();
+
+    private static final List<PropertyDescriptor> INFERENCE_TUNING_PROPERTIES = List.of(
+        SCHEMA_INFERENCE_RECORD_LIMIT,
+        SCHEMA_INFERENCE_DATA_LIMIT,
+        SCHEMA_INFERENCE_CONCURRENCY,
+        SCHEMA_INFERENCE_FINGERPRINT_LENGTH
+    );
+
+    /**
+     * @param schemaAccessStrategy the Schema Access Strategy property of the Record Reader
+     * @return the properties that control how schemas are inferred, each shown only when the Infer Schema strategy is selected
+     */
+    public static List<PropertyDescriptor> getInferenceTuningProperties(final PropertyDescriptor schemaAccessStrategy) {
+        return INFERENCE_TUNING_PROPERTIES.stream()
+            .map(property -> new Builder().fromPropertyDescriptor(property).dependsOn(schemaAccessStrategy, INFER_SCHEMA).build())
+            .toList();
+    }
+
+    /**
+     * Creates a Schema Access Strategy that infers the schema of the content, as configured by the inference tuning properties
+     *
+     * @param context the property context of the Record Reader
+     * @param logger the logger to use
+     * @param recordSourceFactory the factory used to create the Record Source from which the schema is inferred
+     * @param schemaInference the engine that infers the schema
+     * @param <T> the type of the records that are provided by the Record Source
+     * @return the Schema Access Strategy
+     */
+    public static <T> InferSchemaAccessStrategy<T> createInferSchemaAccessStrategy(final PropertyContext context, final ComponentLog logger,
+                                                                                   final RecordSourceFactory<T> recordSourceFactory, final SchemaInferenceEngine<T> schemaInference) {
+        final Integer recordLimit = context.getProperty(SCHEMA_INFERENCE_RECORD_LIMIT).asInteger();
+        final Double dataLimit = context.getProperty(SCHEMA_INFERENCE_DATA_LIMIT).asDataSize(DataUnit.B);
+        final Integer concurrency = context.getProperty(SCHEMA_INFERENCE_CONCURRENCY).asInteger();
+        final Double fingerprintLength = context.getProperty(SCHEMA_INFERENCE_FINGERPRINT_LENGTH).asDataSize(DataUnit.B);
+
+        return new InferSchemaAccessStrategy<>(recordSourceFactory, schemaInference, logger,
+            recordLimit == null ? 0L : recordLimit,
+            dataLimit == null ? 0L : dataLimit.longValue(),
+            concurrency == null ? 1 : concurrency,
+            fingerprintLength == null ? 0 : (int) Math.min(fingerprintLength.longValue(), InferSchemaAccessStrategy.MAX_FINGERPRINT_LENGTH));
+    }
+
 
     public static <T> SchemaAccessStrategy getSchemaAccessStrategy(final String strategy, final PropertyContext context,  final ComponentLog logger,
                                                                    final RecordSourceFactory<T> recordSourceFactory, final Supplier<SchemaInferenceEngine<T>> inferenceSupplier,
                                                                    final Supplier<SchemaAccessStrategy> defaultSupplier) {
         if (INFER_SCHEMA.getValue().equalsIgnoreCase(strategy)) {
-            final SchemaAccessStrategy inferenceStrategy = new InferSchemaAccessStrategy<>(recordSourceFactory, inferenceSupplier.get(), logger);
+            final SchemaAccessStrategy inferenceStrategy = createInferSchemaAccessStrategy(context, logger, recordSourceFactory, inferenceSupplier.get());
             final RecordSchemaCacheService schemaCache = context.getProperty(SCHEMA_CACHE).asControllerService(RecordSchemaCacheService.class);
             if (schemaCache == null) {
                 return inferenceStrategy;
@@ -51,6 +51,26 @@ public class TestFieldTypeInference {
         assertEquals(RecordFieldType.DOUBLE.getDataType(), inference.toDataType());
     }
 
+    @Test
+    public void testMergeMatchesAddingAllDataTypes() {
+        final FieldTypeInference first = new FieldTypeInference();
+        first.addPossibleDataType(RecordFieldType.INT.getDataType());
+        first.addPossibleDataType(RecordFieldType.BOOLEAN.getDataType());
+
+        final FieldTypeInference second = new FieldTypeInference();
+        second.addPossibleDataType(RecordFieldType.DOUBLE.getDataType());
+
+        first.merge(second);
+        first.merge(new FieldTypeInference());
+
+        final FieldTypeInference all = new FieldTypeInference();
+        all.addPossibleDataType(RecordFieldType.INT.getDataType());
+        all.addPossibleDataType(RecordFieldType.BOOLEAN.getDataType());
+        all.addPossibleDataType(RecordFieldType.DOUBLE.getDataType());
+
+        assertEquals(all.toDataType(), first.toDataType());
+    }
+
     @Test
     public void testIntegerCombinedWithFloat() {
         final FieldTypeInference inference = new FieldTypeInference();
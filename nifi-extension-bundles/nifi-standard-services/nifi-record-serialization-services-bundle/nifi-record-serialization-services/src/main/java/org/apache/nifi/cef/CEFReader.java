@@ -140,6 +140,7 @@ public final class CEFReader extends SchemaRegistryService implements RecordRead
                 .fromPropertyDescriptor(SCHEMA_CACHE)
                 .dependsOn(SCHEMA_ACCESS_STRATEGY, SchemaInferenceUtil.INFER_SCHEMA)
                 .build());
+        properties.addAll(SchemaInferenceUtil.getInferenceTuningProperties(SCHEMA_ACCESS_STRATEGY));
 
         properties.add(ACCEPT_EMPTY_EXTENSIONS);
         return properties;
@@ -22,7 +22,9 @@ import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.record.DataType;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.util.CoercionPlan;
 import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.ValueCoercion;
 import java.util.Optional;
 
 abstract public class AbstractCSVRecordReader implements RecordReader {
@@ -37,6 +39,7 @@ abstract public class AbstractCSVRecordReader implements RecordReader {
     protected final String timestampFormat;
 
     protected final RecordSchema schema;
+    private final CoercionPlan coercionPlan;
 
     AbstractCSVRecordReader(final ComponentLog logger, final RecordSchema schema, final boolean hasHeader, final boolean ignoreHeader,
                             final String dateFormat, final String timeFormat, final String timestampFormat, final boolean trimDoubleQuote) {
@@ -63,6 +66,8 @@ abstract public class AbstractCSVRecordReader implements RecordReader {
         } else {
             this.timestampFormat = timestampFormat;
         }
+
+        this.coercionPlan = CoercionPlan.getPlan(schema, Optional.ofNullable(this.dateFormat), Optional.ofNullable(this.timeFormat), Optional.ofNullable(this.timestampFormat));
     }
 
     protected final Object convert(final String value, final DataType dataType, final String fieldName) {
@@ -83,7 +88,7 @@ abstract public class AbstractCSVRecordReader implements RecordReader {
             return null;
         }
 
-        return DataTypeUtils.convertType(trimmed, dataType, Optional.ofNullable(dateFormat), Optional.ofNullable(timeFormat), Optional.ofNullable(timestampFormat), fieldName);
+        return coerce(trimmed, dataType, fieldName);
     }
 
     protected final Object convertSimpleIfPossible(final String value, final DataType dataType, final String fieldName) {
@@ -116,22 +121,22 @@ abstract public class AbstractCSVRecordReader implements RecordReader {
             case CHAR:
             case SHORT:
                 if (DataTypeUtils.isCompatibleDataType(trimmed, dataType)) {
-                    return DataTypeUtils.convertType(trimmed, dataType, Optional.ofNullable(dateFormat), Optional.ofNullable(timeFormat), Optional.ofNullable(timestampFormat), fieldName);
+                    return coerce(trimmed, dataType, fieldName);
                 }
                 break;
             case DATE:
                 if (DataTypeUtils.isDateTypeCompatible(trimmed, dateFormat)) {
-                    return DataTypeUtils.convertType(trimmed, dataType, Optional.ofNullable(dateFormat), Optional.ofNullable(timeFormat), Optional.ofNullable(timestampFormat), fieldName);
+                    return coerce(trimmed, dataType, fieldName);
                 }
                 break;
             case TIME:
                 if (DataTypeUtils.isTimeTypeCompatible(trimmed, timeFormat)) {
-                    return DataTypeUtils.convertType(trimmed, dataType, Optional.ofNullable(dateFormat), Optional.ofNullable(timeFormat), Optional.ofNullable(timestampFormat), fieldName);
+                    return coerce(trimmed, dataType, fieldName);
                 }
                 break;
             case TIMESTAMP:
                 if (DataTypeUtils.isTimestampTypeCompatible(trimmed, timestampFormat)) {
-                    return DataTypeUtils.convertType(trimmed, dataType, Optional.ofNullable(dateFormat), Optional.ofNullable(timeFormat), Optional.ofNullable(timestampFormat), fieldName);
+                    return coerce(trimmed, dataType, fieldName);
                 }
                 break;
         }
@@ -139,6 +144,16 @@ abstract public class AbstractCSVRecordReader implements RecordReader {
         return value;
     }
 
+    private Object coerce(final String value, final DataType dataType, final String fieldName) {
+        // Fields that are not in the schema, such as extra columns in the header, have no coercion in the plan
+        final ValueCoercion coercion = coercionPlan.getCoercion(fieldName, dataType);
+        if (coercion == null) {
+            return DataTypeUtils.convertType(value, dataType, Optional.ofNullable(dateFormat), Optional.ofNullable(timeFormat), Optional.ofNullable(timestampFormat), fieldName);
+        }
+
+        return coercion.coerce(value);
+    }
+
     protected String trim(String value) {
         return (value.length() > 1) && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1) : value;
     }
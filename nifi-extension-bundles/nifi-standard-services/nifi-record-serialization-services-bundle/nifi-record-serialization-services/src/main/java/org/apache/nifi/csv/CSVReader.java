@@ -32,7 +32,6 @@ import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.schema.access.SchemaAccessStrategy;
 import org.apache.nifi.schema.access.SchemaAccessUtils;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
-import org.apache.nifi.schema.inference.InferSchemaAccessStrategy;
 import org.apache.nifi.schema.inference.RecordSourceFactory;
 import org.apache.nifi.schema.inference.SchemaInferenceEngine;
 import org.apache.nifi.schema.inference.SchemaInferenceUtil;
@@ -116,6 +115,7 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
+        properties.addAll(SchemaInferenceUtil.getInferenceTuningProperties(SchemaAccessUtils.SCHEMA_ACCESS_STRATEGY));
         properties.add(CSV_PARSER);
         properties.add(DateTimeUtils.DATE_FORMAT);
         properties.add(DateTimeUtils.TIME_FORMAT);
@@ -205,7 +205,7 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         } else if (allowableValue.equalsIgnoreCase(SchemaInferenceUtil.INFER_SCHEMA.getValue())) {
             final RecordSourceFactory<CSVRecordAndFieldNames> sourceFactory = (variables, in) -> new CSVRecordSource(in, context, variables);
             final SchemaInferenceEngine<CSVRecordAndFieldNames> inference = new CSVSchemaInference(new TimeValueInference(dateFormat, timeFormat, timestampFormat));
-            return new InferSchemaAccessStrategy<>(sourceFactory, inference, getLogger());
+            return SchemaInferenceUtil.createInferSchemaAccessStrategy(context, getLogger(), sourceFactory, inference);
         }
 
         return super.getSchemaAccessStrategy(allowableValue, schemaRegistry, context);
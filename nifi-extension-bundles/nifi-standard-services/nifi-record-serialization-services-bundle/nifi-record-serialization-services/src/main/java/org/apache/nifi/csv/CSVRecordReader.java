@@ -40,6 +40,8 @@ import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.ColumnarRecordBatch;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 
 public class CSVRecordReader extends AbstractCSVRecordReader {
     private final CSVParser csvParser;
@@ -127,6 +129,62 @@ public class CSVRecordReader extends AbstractCSVRecordReader {
         return null;
     }
 
+    @Override
+    public RecordBatch nextBatch(final int maxRecords, final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        // Only the fields of the schema can be held in column vectors
+        if (!dropUnknownFields) {
+            return super.nextBatch(maxRecords, coerceTypes, dropUnknownFields);
+        }
+
+        try {
+            final RecordSchema schema = getSchema();
+            final List<RecordField> recordFields = getRecordFields();
+
+            ColumnarRecordBatch batch = null;
+            int[] columnIndices = null;
+            for (final CSVRecord csvRecord : csvParser) {
+                if (batch == null) {
+                    batch = new ColumnarRecordBatch(schema, Math.min(maxRecords, RecordBatch.DEFAULT_BATCH_SIZE), coerceTypes, true);
+                    columnIndices = getColumnIndices(batch, recordFields);
+                }
+
+                final Object[] values = new Object[schema.getFieldCount()];
+                final int numValues = Math.min(csvRecord.size(), columnIndices.length);
+                for (int i = 0; i < numValues; i++) {
+                    final int columnIndex = columnIndices[i];
+                    if (columnIndex < 0) {
+                        continue;
+                    }
+
+                    final String rawValue = csvRecord.get(i);
+                    final RecordField recordField = recordFields.get(i);
+                    if (coerceTypes) {
+                        values[columnIndex] = convert(rawValue, recordField.getDataType(), recordField.getFieldName());
+                    } else {
+                        values[columnIndex] = convertSimpleIfPossible(rawValue, recordField.getDataType(), recordField.getFieldName());
+                    }
+                }
+
+                batch.addRow(values);
+                if (batch.isFull()) {
+                    break;
+                }
+            }
+
+            return batch;
+        } catch (Exception e) {
+            throw new MalformedRecordException("Error while getting next record", e);
+        }
+    }
+
+    private int[] getColumnIndices(final ColumnarRecordBatch batch, final List<RecordField> recordFields) {
+        final int[] columnIndices = new int[recordFields.size()];
+        for (int i = 0; i < columnIndices.length; i++) {
+            columnIndices[i] = batch.getFieldIndex(recordFields.get(i).getFieldName());
+        }
+
+        return columnIndices;
+    }
 
     private List<RecordField> getRecordFields() {
         if (this.recordFields != null) {
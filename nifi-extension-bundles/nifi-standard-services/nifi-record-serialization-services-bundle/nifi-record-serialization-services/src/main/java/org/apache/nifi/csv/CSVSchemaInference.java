@@ -17,7 +17,9 @@
 package org.apache.nifi.csv;
 
 import org.apache.commons.csv.CSVRecord;
+import org.apache.nifi.schema.inference.ConcurrentFieldTypeInference;
 import org.apache.nifi.schema.inference.FieldTypeInference;
+import org.apache.nifi.schema.inference.LimitedRecordSource;
 import org.apache.nifi.schema.inference.RecordSource;
 import org.apache.nifi.schema.inference.SchemaInferenceEngine;
 import org.apache.nifi.schema.inference.TimeValueInference;
@@ -49,8 +51,7 @@ public class CSVSchemaInference implements SchemaInferenceEngine<CSVRecordAndFie
             if (recordAndFieldNames == null) {
                 // If there are no records, assume the datatypes of all fields are strings
                 if (typeMap.isEmpty()) {
-                    if (recordSource instanceof CSVRecordSource) {
-                        CSVRecordSource csvRecordSource = (CSVRecordSource) recordSource;
+                    if (unwrap(recordSource) instanceof CSVRecordSource csvRecordSource) {
                         for (String fieldName : csvRecordSource.getFieldNames()) {
                             typeMap.put(fieldName, new FieldTypeInference());
                         }
@@ -64,6 +65,28 @@ public class CSVSchemaInference implements SchemaInferenceEngine<CSVRecordAndFie
         return createSchema(typeMap);
     }
 
+    @Override
+    public RecordSchema inferSchema(final RecordSource<CSVRecordAndFieldNames> recordSource, final int concurrency) throws IOException {
+        if (concurrency <= 1) {
+            return inferSchema(recordSource);
+        }
+
+        final Map<String, FieldTypeInference> typeMap = ConcurrentFieldTypeInference.inferFieldTypes(recordSource, concurrency, this::inferSchema);
+        if (typeMap.isEmpty()) {
+            // There were no records, so the source is exhausted and inferring sequentially only assigns the default types to the fields
+            return inferSchema(recordSource);
+        }
+        return createSchema(typeMap);
+    }
+
+    private static RecordSource<CSVRecordAndFieldNames> unwrap(final RecordSource<CSVRecordAndFieldNames> recordSource) {
+        RecordSource<CSVRecordAndFieldNames> source = recordSource;
+        while (source instanceof LimitedRecordSource<CSVRecordAndFieldNames> limitedRecordSource) {
+            source = limitedRecordSource.getDelegate();
+        }
+        return source;
+    }
+
     private void inferSchema(final CSVRecordAndFieldNames recordAndFieldNames, final Map<String, FieldTypeInference> typeMap) {
         final CSVRecord csvRecord = recordAndFieldNames.getRecord();
         for (final String fieldName : recordAndFieldNames.getFieldNames()) {
@@ -36,6 +36,7 @@ import org.apache.nifi.expression.ExpressionLanguageScope;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.processor.DataUnit;
 import org.apache.nifi.schema.access.SchemaAccessStrategy;
+import org.apache.nifi.schema.access.SchemaAccessUtils;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
 import org.apache.nifi.schema.inference.RecordSourceFactory;
 import org.apache.nifi.schema.inference.SchemaInferenceEngine;
@@ -87,6 +88,7 @@ public class JsonPathReader extends SchemaRegistryService implements RecordReade
         properties.add(DateTimeUtils.DATE_FORMAT);
         properties.add(DateTimeUtils.TIME_FORMAT);
         properties.add(DateTimeUtils.TIMESTAMP_FORMAT);
+        properties.addAll(SchemaInferenceUtil.getInferenceTuningProperties(SchemaAccessUtils.SCHEMA_ACCESS_STRATEGY));
         return properties;
     }
 
@@ -74,6 +74,7 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
     protected volatile String startingFieldName;
     protected volatile StartingFieldStrategy startingFieldStrategy;
     protected volatile SchemaApplicationStrategy schemaApplicationStrategy;
+    protected volatile JsonReadStrategy readStrategy;
     protected volatile TokenParserFactory tokenParserFactory;
 
     public static final PropertyDescriptor STARTING_FIELD_STRATEGY = new PropertyDescriptor.Builder()
@@ -108,6 +109,15 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
             .allowableValues(SchemaApplicationStrategy.class)
             .build();
 
+    public static final PropertyDescriptor READ_STRATEGY = new PropertyDescriptor.Builder()
+            .name("Read Strategy")
+            .description("Specifies how each JSON object is read into a Record. Streaming skips the contents of fields that are not in the schema "
+                    + "instead of parsing each object into a tree, which reduces the memory and time needed to read objects having few fields in the schema.")
+            .required(true)
+            .defaultValue(JsonReadStrategy.TREE)
+            .allowableValues(JsonReadStrategy.class)
+            .build();
+
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
@@ -115,9 +125,11 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
                 .fromPropertyDescriptor(SCHEMA_CACHE)
                 .dependsOn(SCHEMA_ACCESS_STRATEGY, INFER_SCHEMA)
                 .build());
+        properties.addAll(SchemaInferenceUtil.getInferenceTuningProperties(SCHEMA_ACCESS_STRATEGY));
         properties.add(STARTING_FIELD_STRATEGY);
         properties.add(STARTING_FIELD_NAME);
         properties.add(SCHEMA_APPLICATION_STRATEGY);
+        properties.add(READ_STRATEGY);
         properties.add(AbstractJsonRowRecordReader.MAX_STRING_LENGTH);
         properties.add(AbstractJsonRowRecordReader.ALLOW_COMMENTS);
         properties.add(DateTimeUtils.DATE_FORMAT);
@@ -134,6 +146,7 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
         this.startingFieldStrategy = StartingFieldStrategy.valueOf(context.getProperty(STARTING_FIELD_STRATEGY).getValue());
         this.startingFieldName = context.getProperty(STARTING_FIELD_NAME).getValue();
         this.schemaApplicationStrategy = SchemaApplicationStrategy.valueOf(context.getProperty(SCHEMA_APPLICATION_STRATEGY).getValue());
+        this.readStrategy = context.getProperty(READ_STRATEGY).asAllowableValue(JsonReadStrategy.class);
         this.tokenParserFactory = createTokenParserFactory(context);
     }
 
@@ -198,6 +211,6 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
 
     protected JsonTreeRowRecordReader createJsonTreeRowRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema) throws IOException, MalformedRecordException {
         return new JsonTreeRowRecordReader(in, logger, schema, dateFormat, timeFormat, timestampFormat, startingFieldStrategy, startingFieldName,
-                schemaApplicationStrategy, null, tokenParserFactory);
+                schemaApplicationStrategy, null, tokenParserFactory, readStrategy);
     }
 }
@@ -138,6 +138,7 @@ public class XMLReader extends SchemaRegistryService implements RecordReaderFact
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
         properties.add(PARSE_XML_ATTRIBUTES);
         properties.add(SchemaInferenceUtil.SCHEMA_CACHE);
+        properties.addAll(SchemaInferenceUtil.getInferenceTuningProperties(SchemaAccessUtils.SCHEMA_ACCESS_STRATEGY));
         properties.add(RECORD_FORMAT);
         properties.add(ATTRIBUTE_PREFIX);
         properties.add(CONTENT_FIELD_NAME);
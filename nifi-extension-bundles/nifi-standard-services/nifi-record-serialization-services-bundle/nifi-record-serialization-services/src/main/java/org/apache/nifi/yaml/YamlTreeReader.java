@@ -48,7 +48,9 @@ public class YamlTreeReader extends JsonTreeReader {
 
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
-        return new ArrayList<>(super.getSupportedPropertyDescriptors());
+        final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
+        properties.remove(READ_STRATEGY);
+        return properties;
     }
 
     @Override
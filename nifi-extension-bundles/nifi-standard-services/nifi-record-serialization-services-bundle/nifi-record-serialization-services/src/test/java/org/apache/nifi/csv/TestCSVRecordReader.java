@@ -40,11 +40,14 @@ import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.ColumnarRecordBatch;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -312,6 +315,30 @@ public class TestCSVRecordReader {
         }
     }
 
+    @Test
+    public void testNextBatch() throws IOException, MalformedRecordException {
+        final List<RecordField> fields = getDefaultFields();
+        fields.replaceAll(f -> f.getFieldName().equals("balance") ? new RecordField("balance", doubleDataType) : f);
+
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+
+        try (final InputStream fis = new FileInputStream("src/test/resources/csv/multi-bank-account.csv");
+            final CSVRecordReader reader = createReader(fis, schema, format)) {
+
+            final RecordBatch batch = reader.nextBatch(10);
+            assertInstanceOf(ColumnarRecordBatch.class, batch);
+            assertEquals(2, batch.size());
+
+            final Object[] firstExpectedValues = new Object[] {"1", "John Doe", 4750.89D, "123 My Street", "My City", "MS", "11111", "USA"};
+            assertArrayEquals(firstExpectedValues, batch.getRecord(0).getValues());
+
+            final Object[] secondExpectedValues = new Object[] {"2", "Jane Doe", 4820.09D, "321 Your Street", "Your City", "NY", "33333", "USA"};
+            assertArrayEquals(secondExpectedValues, batch.getRecord(1).getValues());
+
+            assertNull(reader.nextBatch(10));
+        }
+    }
+
     @Test
     public void testSimpleParse_withoutDoubleQuoteTrimming() throws IOException, MalformedRecordException {
         final List<RecordField> fields = getDefaultFields();
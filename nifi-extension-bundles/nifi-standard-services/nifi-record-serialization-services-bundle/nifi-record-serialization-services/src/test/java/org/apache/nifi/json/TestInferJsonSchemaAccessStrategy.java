@@ -42,6 +42,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
@@ -234,6 +235,68 @@ class TestInferJsonSchemaAccessStrategy {
         assertSame(RecordFieldType.STRING, field2.getDataType().getFieldType());
     }
 
+    @Test
+    void testConcurrentInferenceMatchesSequentialInference() throws IOException {
+        final StringBuilder json = new StringBuilder();
+        for (int i = 0; i < 5_500; i++) {
+            json.append("{\"id\": ").append(i).append(", \"name\": \"name-").append(i).append('"');
+            if (i == 4_200) {
+                json.append(", \"id\": 1.5, \"late\": true");
+            }
+            if (i % 3 == 0) {
+                json.append(", \"child\": {\"value").append(i % 7).append("\": ").append(i).append('}');
+            }
+            json.append("}\n");
+        }
+        final byte[] content = json.toString().getBytes(StandardCharsets.UTF_8);
+
+        final RecordSchema sequentialSchema = inferSchema(content, 0L, 1, 0);
+        final RecordSchema concurrentSchema = inferSchema(content, 0L, 4, 0);
+
+        assertEquals(sequentialSchema.getFieldNames(), concurrentSchema.getFieldNames());
+        assertEquals(Arrays.asList("id", "name", "child", "late"), concurrentSchema.getFieldNames());
+        assertEquals(sequentialSchema.getDataTypes(), concurrentSchema.getDataTypes());
+        assertSame(RecordFieldType.DOUBLE, concurrentSchema.getDataType("id").get().getFieldType());
+
+        final RecordSchema childSchema = ((RecordDataType) concurrentSchema.getDataType("child").get()).getChildSchema();
+        assertEquals(7, childSchema.getFieldCount());
+    }
+
+    @Test
+    void testInferenceLimitedToFirstRecords() throws IOException {
+        final byte[] content = """
+                {"id": 1}
+                {"id": 2}
+                {"id": 3, "name": "late"}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(List.of("id"), inferSchema(content, 2L, 1, 0).getFieldNames());
+        assertEquals(List.of("id", "name"), inferSchema(content, 0L, 1, 0).getFieldNames());
+    }
+
+    @Test
+    void testSchemaReusedForContentWithSameFingerprint() throws IOException {
+        final InferSchemaAccessStrategy<?> accessStrategy = new InferSchemaAccessStrategy<>((var, content) -> new JsonRecordSource(content),
+                timestampInference, Mockito.mock(ComponentLog.class), 0L, 0L, 1, 10);
+
+        final byte[] first = "{\"id\": 1}\n{\"id\": 2}".getBytes(StandardCharsets.UTF_8);
+        final byte[] samePrefix = "{\"id\": 1}\n{\"id\": 2, \"name\": \"other\"}".getBytes(StandardCharsets.UTF_8);
+        final byte[] otherPrefix = "{\"name\": \"other\"}".getBytes(StandardCharsets.UTF_8);
+
+        final RecordSchema firstSchema = accessStrategy.getSchema(null, new ByteArrayInputStream(first), null);
+        assertSame(firstSchema, accessStrategy.getSchema(null, new ByteArrayInputStream(samePrefix), null));
+        assertEquals(List.of("name"), accessStrategy.getSchema(null, new ByteArrayInputStream(otherPrefix), null).getFieldNames());
+    }
+
+    private RecordSchema inferSchema(final byte[] content, final long recordLimit, final int concurrency, final int fingerprintLength) throws IOException {
+        final InferSchemaAccessStrategy<?> accessStrategy = new InferSchemaAccessStrategy<>((var, in) -> new JsonRecordSource(in),
+                timestampInference, Mockito.mock(ComponentLog.class), recordLimit, 0L, concurrency, fingerprintLength);
+
+        try (final InputStream in = new ByteArrayInputStream(content)) {
+            return accessStrategy.getSchema(null, in, null);
+        }
+    }
+
     private RecordSchema inferSchema(final File file, final StartingFieldStrategy strategy, final String startingFieldName) throws IOException {
         try (final InputStream in = new FileInputStream(file);
              final InputStream bufferedIn = new BufferedInputStream(in)) {
@@ -33,6 +33,8 @@ import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.batch.ColumnarRecordBatch;
+import org.apache.nifi.serialization.record.batch.RecordBatch;
 import org.apache.nifi.serialization.record.type.ChoiceDataType;
 import org.apache.nifi.util.EqualsWrapper;
 import org.junit.jupiter.api.Disabled;
@@ -277,6 +279,118 @@ class TestJsonTreeRowRecordReader {
         }
     }
 
+    @Test
+    void testReadArrayInBatches() throws Exception {
+        final RecordSchema schema = new SimpleRecordSchema(getDefaultFields());
+
+        try (final InputStream in = new FileInputStream("src/test/resources/json/bank-account-array.json");
+             final JsonTreeRowRecordReader reader = createJsonTreeRowRecordReader(in, schema)) {
+
+            final RecordBatch firstBatch = reader.nextBatch(1);
+            assertInstanceOf(ColumnarRecordBatch.class, firstBatch);
+            assertEquals(1, firstBatch.size());
+
+            final Record firstRecord = firstBatch.getRecord(0);
+            assertArrayEquals(new Object[] {1, "John Doe", 4750.89, "123 My Street", "My City", "MS", "11111", "USA"}, firstRecord.getValues());
+            assertTrue(firstRecord.getSerializedForm().isPresent());
+
+            final RecordBatch secondBatch = reader.nextBatch(10);
+            assertEquals(1, secondBatch.size());
+            assertArrayEquals(new Object[] {2, "Jane Doe", 4820.09, "321 Your Street", "Your City", "NY", "33333", "USA"}, secondBatch.getRecord(0).getValues());
+
+            assertNull(reader.nextBatch(10));
+        }
+    }
+
+    @Test
+    void testStreamingReadMatchesTreeRead() throws Exception {
+        final RecordSchema accountSchema = new SimpleRecordSchema(Arrays.asList(
+                new RecordField("id", RecordFieldType.INT.getDataType()),
+                new RecordField("balance", RecordFieldType.DOUBLE.getDataType())
+        ));
+        final RecordSchema schema = new SimpleRecordSchema(Arrays.asList(
+                new RecordField("id", RecordFieldType.INT.getDataType()),
+                new RecordField("name", RecordFieldType.STRING.getDataType(), null, Set.of("fullName")),
+                new RecordField("account", RecordFieldType.RECORD.getRecordDataType(accountSchema)),
+                new RecordField("accounts", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.RECORD.getRecordDataType(accountSchema))),
+                new RecordField("tags", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType())),
+                new RecordField("country", RecordFieldType.STRING.getDataType())
+        ));
+
+        final String json = """
+                [
+                  {"id": 1, "history": {"events": [{"a": [1, 2, {"b": "c"}]}, "d"]}, "fullName": "John Doe", "name": "Johnny",
+                   "account": {"id": 42, "balance": 4750.89, "owner": {"name": "x"}}, "accounts": [{"id": 43, "notes": ["y"]}, 7, null],
+                   "tags": ["a", "b"], "country": null},
+                  {"fullName": "Jane Doe", "id": "2", "ignored": [[], {}]}
+                ]
+                """;
+
+        final List<Record> treeRecords = new ArrayList<>();
+        try (final JsonTreeRowRecordReader reader = createJsonTreeRowRecordReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), schema)) {
+            Record record;
+            while ((record = reader.nextRecord()) != null) {
+                treeRecords.add(record);
+            }
+        }
+
+        final List<Record> streamedRecords = new ArrayList<>();
+        try (final JsonTreeRowRecordReader reader = createStreamingJsonTreeRowRecordReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), schema)) {
+            Record record;
+            while ((record = reader.nextRecord()) != null) {
+                assertTrue(record.getSerializedForm().isEmpty());
+                streamedRecords.add(record);
+            }
+        }
+
+        assertEquals(2, streamedRecords.size());
+        assertEquals(treeRecords, streamedRecords);
+
+        final Record first = streamedRecords.getFirst();
+        assertEquals("Johnny", first.getValue("name"));
+        assertEquals(Set.of("id", "name", "account", "accounts", "tags", "country"), first.getRawFieldNames());
+        assertEquals(42, first.getAsRecord("account", accountSchema).getValue("id"));
+
+        final Object[] accounts = first.getAsArray("accounts");
+        assertEquals(3, accounts.length);
+        assertEquals(43, ((Record) accounts[0]).getValue("id"));
+        assertNull(accounts[1]);
+        assertNull(accounts[2]);
+
+        final Record second = streamedRecords.get(1);
+        assertEquals(2, second.getValue("id"));
+        assertEquals("Jane Doe", second.getValue("name"));
+        assertEquals(Set.of("id", "name"), second.getRawFieldNames());
+    }
+
+    @Test
+    void testStreamingReadArrayInBatches() throws Exception {
+        final RecordSchema schema = new SimpleRecordSchema(getDefaultFields());
+
+        try (final InputStream in = new FileInputStream("src/test/resources/json/bank-account-array.json");
+             final JsonTreeRowRecordReader reader = createStreamingJsonTreeRowRecordReader(in, schema)) {
+
+            final RecordBatch batch = reader.nextBatch(10);
+            assertInstanceOf(ColumnarRecordBatch.class, batch);
+            assertEquals(2, batch.size());
+            assertArrayEquals(new Object[] {1, "John Doe", 4750.89, "123 My Street", "My City", "MS", "11111", "USA"}, batch.getRecord(0).getValues());
+            assertArrayEquals(new Object[] {2, "Jane Doe", 4820.09, "321 Your Street", "Your City", "NY", "33333", "USA"}, batch.getRecord(1).getValues());
+            assertTrue(batch.getRecord(0).getSerializedForm().isEmpty());
+
+            assertNull(reader.nextBatch(10));
+        }
+    }
+
+    @Test
+    void testStreamingReadMalformedJson() throws Exception {
+        final RecordSchema schema = new SimpleRecordSchema(getDefaultFields());
+        final byte[] json = "{\"id\": 1, \"ignored\": {\"a\": [1, 2}}".getBytes(StandardCharsets.UTF_8);
+
+        try (final JsonTreeRowRecordReader reader = createStreamingJsonTreeRowRecordReader(new ByteArrayInputStream(json), schema)) {
+            assertThrows(MalformedRecordException.class, reader::nextRecord);
+        }
+    }
+
     @Test
     void testReadOneLinePerJSON() throws Exception {
         final RecordSchema schema = new SimpleRecordSchema(getDefaultFields());
@@ -1358,6 +1472,11 @@ class TestJsonTreeRowRecordReader {
         return createJsonTreeRowRecordReader(inputStream, recordSchema, dateFormat, timeFormat, timestampFormat, null, null, null, null, false, null);
     }
 
+    private JsonTreeRowRecordReader createStreamingJsonTreeRowRecordReader(InputStream inputStream, RecordSchema recordSchema) throws Exception {
+        return new JsonTreeRowRecordReader(inputStream, log, recordSchema, dateFormat, timeFormat, timestampFormat, null, null, null, null,
+                new JsonParserFactory(), JsonReadStrategy.STREAMING);
+    }
+
     private JsonTreeRowRecordReader createJsonTreeRowRecordReader(InputStream inputStream, RecordSchema recordSchema, String dateFormat, String timeFormat, String timestampFormat,
                                                                   StartingFieldStrategy startingFieldStrategy, String startingFieldName, SchemaApplicationStrategy schemaApplicationStrategy,
                                                                   BiPredicate<String, String> captureFieldPredicate, boolean allowComments, StreamReadConstraints streamReadConstraints)
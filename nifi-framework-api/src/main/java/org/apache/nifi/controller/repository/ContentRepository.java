@@ -16,10 +16,13 @@
  */
 package org.apache.nifi.controller.repository;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Set;
 import org.apache.nifi.controller.repository.claim.ContentClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaim;
@@ -246,6 +249,37 @@ public interface ContentRepository {
      */
     InputStream read(ResourceClaim claim) throws IOException;
 
+    /**
+     * Provides the content of the given claim as a read-only ByteBuffer. Implementations may return a buffer that is backed
+     * directly by the underlying storage, such as a memory-mapped file, so that the content can be consumed without being
+     * copied. The buffer should not be retained once the claim is no longer referenced by a FlowFile. The default implementation
+     * reads the content into a new buffer.
+     *
+     * @param claim the claim to read
+     * @return a read-only ByteBuffer whose remaining bytes are the content of the claim
+     * @throws IOException if unable to read the content, or if the content is too large to be held in a single buffer
+     */
+    default ByteBuffer readAsByteBuffer(final ContentClaim claim) throws IOException {
+        if (claim == null) {
+            return ByteBuffer.allocate(0).asReadOnlyBuffer();
+        }
+
+        final long size = size(claim);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Cannot read " + claim + " into a ByteBuffer because its size of " + size + " bytes is too large");
+        }
+
+        final byte[] content = new byte[(int) size];
+        try (final InputStream in = read(claim)) {
+            final int bytesRead = in.readNBytes(content, 0, content.length);
+            if (bytesRead < content.length) {
+                throw new EOFException("Expected " + content.length + " bytes for " + claim + " but only " + bytesRead + " bytes were available");
+            }
+        }
+
+        return ByteBuffer.wrap(content).asReadOnlyBuffer();
+    }
+
     /**
      * Indicates whether or not this Content Repository supports obtaining an InputStream for
      * an entire Resource Claim. If this method returns <code>false</code>, the {@link #read(ResourceClaim)} should not
@@ -256,6 +290,34 @@ public interface ContentRepository {
         return true;
     }
 
+    /**
+     * Indicates the maximum size of content that a session may hold inline in the FlowFile, rather than writing it to this
+     * Content Repository. Content that is held inline is referenced by a ContentClaim that has no ResourceClaim, and this
+     * repository must be able to read it and to ignore it when claimant counts are updated or claims are removed.
+     *
+     * @return the maximum number of bytes of content that may be held inline, or <code>0</code> if content is never held inline
+     */
+    default int getMaxInlineContentSize() {
+        return 0;
+    }
+
+    /**
+     * Creates a ContentClaim whose content is the given header, followed by the content of each of the given segments separated by the
+     * given demarcator, followed by the given footer. Rather than copying the content of the segments, the new claim references them,
+     * holding a claimant count on each of their ResourceClaims for as long as the claim is in use. Each segment must be a ContentClaim
+     * whose offset and length identify exactly the content to include.
+     *
+     * @param segments the claims whose content is to be concatenated, in order
+     * @param header the bytes to include before the first segment, or <code>null</code>
+     * @param footer the bytes to include after the last segment, or <code>null</code>
+     * @param demarcator the bytes to include between each pair of segments, or <code>null</code>
+     * @return a ContentClaim for the concatenated content, or <code>null</code> if this repository does not concatenate the given content,
+     * in which case the content should be copied to a new claim instead
+     */
+    default ContentClaim concatenate(List<ContentClaim> segments, byte[] header, byte[] footer, byte[] demarcator) {
+        return null;
+    }
+
     /**
      * Obtains an OutputStream to the content for the given claim.
      *
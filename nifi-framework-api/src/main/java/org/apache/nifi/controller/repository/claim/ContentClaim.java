@@ -16,6 +16,8 @@
  */
 package org.apache.nifi.controller.repository.claim;
 
+import java.util.List;
+
 /**
  * <p>
  * A reference to a section of a {@link ResourceClaim}, which may or may not encompass
@@ -30,10 +32,23 @@ package org.apache.nifi.controller.repository.claim;
 public interface ContentClaim extends Comparable<ContentClaim> {
 
     /**
-     * @return the ResourceClaim that this ContentClaim references
+     * @return the ResourceClaim that this ContentClaim references, or <code>null</code> if the content is held
+     * inline by the ContentClaim itself rather than by the Content Repository, or is the concatenation of the
+     * content of other ContentClaims
      */
     ResourceClaim getResourceClaim();
 
+    /**
+     * Provides all of the ResourceClaims that hold the content of this ContentClaim. A ContentClaim holds one claimant count on
+     * each of the ResourceClaims returned, so a ResourceClaim appears once for each time that this claim references it.
+     *
+     * @return the ResourceClaims that hold the content of this ContentClaim, or an empty List if the content is held inline
+     */
+    default List<ResourceClaim> getResourceClaims() {
+        final ResourceClaim resourceClaim = getResourceClaim();
+        return resourceClaim == null ? List.of() : List.of(resourceClaim);
+    }
+
     /**
      * @return the offset into the ResourceClaim where the content for this
      * claim begins
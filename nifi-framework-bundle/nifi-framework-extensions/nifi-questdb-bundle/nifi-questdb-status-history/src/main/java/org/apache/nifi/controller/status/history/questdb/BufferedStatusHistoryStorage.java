@@ -97,28 +97,28 @@ final class BufferedStatusHistoryStorage implements StatusHistoryStorage {
     }
 
     @Override
-    public List<StatusSnapshot> getConnectionSnapshots(final String componentId, final Date start, final Date end) {
-        return storage.getConnectionSnapshots(componentId, start, end);
+    public List<StatusSnapshot> getConnectionSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        return storage.getConnectionSnapshots(componentId, start, end, preferredDataPoints);
     }
 
     @Override
-    public List<StatusSnapshot> getProcessGroupSnapshots(final String componentId, final Date start, final Date end) {
-        return storage.getProcessGroupSnapshots(componentId, start, end);
+    public List<StatusSnapshot> getProcessGroupSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        return storage.getProcessGroupSnapshots(componentId, start, end, preferredDataPoints);
     }
 
     @Override
-    public List<StatusSnapshot> getRemoteProcessGroupSnapshots(final String componentId, final Date start, final Date end) {
-        return storage.getRemoteProcessGroupSnapshots(componentId, start, end);
+    public List<StatusSnapshot> getRemoteProcessGroupSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        return storage.getRemoteProcessGroupSnapshots(componentId, start, end, preferredDataPoints);
     }
 
     @Override
-    public List<StatusSnapshot> getProcessorSnapshots(final String componentId, final Date start, final Date end) {
-        return storage.getProcessorSnapshots(componentId, start, end);
+    public List<StatusSnapshot> getProcessorSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        return storage.getProcessorSnapshots(componentId, start, end, preferredDataPoints);
     }
 
     @Override
-    public List<StatusSnapshot> getProcessorSnapshotsWithCounters(final String componentId, final Date start, final Date end) {
-        return storage.getProcessorSnapshotsWithCounters(componentId, start, end);
+    public List<StatusSnapshot> getProcessorSnapshotsWithCounters(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        return storage.getProcessorSnapshotsWithCounters(componentId, start, end, preferredDataPoints);
     }
 
     @Override
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.status.history.questdb;
+
+import org.apache.nifi.controller.status.history.MetricDescriptor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Maintains the rollups of the status of one type of component incrementally, as the statuses are stored. For every component and
+ * {@link StatusRollupTier}, the statuses captured within the current interval of the tier are aggregated in memory. When a status
+ * is captured in a later interval, the aggregate of the previous interval is complete and is returned in order to be stored in the
+ * rollup table of the tier. Every interval is stored at most once per component: a status captured within an interval that has already
+ * been completed is not added to the rollups of that tier. The aggregate of the interval in progress is not persisted when the repository
+ * is shut down.
+ *
+ * @param <T> type of the component status
+ */
+final class ComponentStatusRollup<T> {
+    private final String statusTableName;
+    private final List<MetricDescriptor<T>> metrics;
+    private final Function<T, String> acquireId;
+    private final Map<StatusRollupTier, Map<String, RollupBucket>> openBuckets = new EnumMap<>(StatusRollupTier.class);
+    // The start of the latest interval per tier, all earlier intervals of which have been completed for every component
+    private final Map<StatusRollupTier, Instant> completedBefore = new EnumMap<>(StatusRollupTier.class);
+
+    ComponentStatusRollup(final String statusTableName, final Collection<MetricDescriptor<T>> metrics, final Function<T, String> acquireId) {
+        this.statusTableName = statusTableName;
+        this.metrics = new ArrayList<>(metrics);
+        this.acquireId = acquireId;
+
+        for (final StatusRollupTier tier : StatusRollupTier.values()) {
+            openBuckets.put(tier, new HashMap<>());
+        }
+    }
+
+    String getStatusTableName() {
+        return statusTableName;
+    }
+
+    /**
+     * Adds the given statuses to the rollups.
+     *
+     * @param statuses the captured statuses, in the order of capture
+     * @return the rollup intervals that were completed by the given statuses, per tier
+     */
+    synchronized Map<StatusRollupTier, List<RollupBucket>> add(final Collection<CapturedStatus<T>> statuses) {
+        final Map<StatusRollupTier, List<RollupBucket>> completedBuckets = new EnumMap<>(StatusRollupTier.class);
+        Instant latestCaptured = null;
+
+        for (final CapturedStatus<T> status : statuses) {
+            final String componentId = acquireId.apply(status.getStatus());
+            final Instant captured = status.getCaptured();
+            final long[] values = new long[metrics.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = metrics.get(i).getValueFunction().getValue(status.getStatus());
+            }
+
+            if (latestCaptured == null || captured.isAfter(latestCaptured)) {
+                latestCaptured = captured;
+            }
+
+            for (final StatusRollupTier tier : StatusRollupTier.values()) {
+                final Map<String, RollupBucket> buckets = openBuckets.get(tier);
+                final Instant intervalStart = tier.getIntervalStart(captured);
+                final Instant tierCompletedBefore = completedBefore.get(tier);
+                if (tierCompletedBefore != null && intervalStart.isBefore(tierCompletedBefore)) {
+                    continue;
+                }
+
+                RollupBucket bucket = buckets.get(componentId);
+                if (bucket != null && intervalStart.isBefore(bucket.getIntervalStart())) {
+                    continue;
+                }
+
+                if (bucket == null || intervalStart.isAfter(bucket.getIntervalStart())) {
+                    if (bucket != null) {
+                        completedBuckets.computeIfAbsent(tier, key -> new ArrayList<>()).add(bucket);
+                    }
+
+                    bucket = new RollupBucket(componentId, intervalStart, values.length);
+                    buckets.put(componentId, bucket);
+                }
+
+                bucket.add(values);
+            }
+        }
+
+        // The intervals of components that are not reported anymore are completed as soon as a later interval started
+        if (latestCaptured != null) {
+            for (final StatusRollupTier tier : StatusRollupTier.values()) {
+                final Instant latestIntervalStart = tier.getIntervalStart(latestCaptured);
+                completedBefore.merge(tier, latestIntervalStart, (previous, latest) -> latest.isAfter(previous) ? latest : previous);
+
+                final Iterator<RollupBucket> itr = openBuckets.get(tier).values().iterator();
+                while (itr.hasNext()) {
+                    final RollupBucket bucket = itr.next();
+                    if (bucket.getIntervalStart().isBefore(latestIntervalStart)) {
+                        completedBuckets.computeIfAbsent(tier, key -> new ArrayList<>()).add(bucket);
+                        itr.remove();
+                    }
+                }
+            }
+        }
+
+        return completedBuckets;
+    }
+
+    /**
+     * @param tier the rollup tier
+     * @return the statement creating the rollup table of the given tier
+     */
+    String getCreateTableDefinition(final StatusRollupTier tier) {
+        final StringBuilder definition = new StringBuilder("CREATE TABLE ").append(tier.getTableName(statusTableName)).append(" (")
+            .append("captured TIMESTAMP,")
+            .append("componentId SYMBOL capacity 2000 nocache index capacity 1500,")
+            .append("sampleCount LONG");
+
+        for (final MetricDescriptor<T> metric : metrics) {
+            final String field = metric.getField();
+            definition.append(',').append(field).append("Min LONG")
+                .append(',').append(field).append("Max LONG")
+                .append(',').append(field).append("Sum LONG")
+                .append(',').append(field).append("Avg LONG");
+        }
+
+        return definition.append(") TIMESTAMP(captured) PARTITION BY DAY").toString();
+    }
+
+    /**
+     * @return the columns selecting the average of every metric, in the same order as the metrics of the full resolution table
+     */
+    String getAverageColumns() {
+        final List<String> columns = new ArrayList<>(metrics.size());
+        for (final MetricDescriptor<T> metric : metrics) {
+            columns.add(metric.getField() + "Avg");
+        }
+        return String.join(", ", columns);
+    }
+
+    /**
+     * The aggregated values of the statuses of a single component within a single rollup interval.
+     */
+    static final class RollupBucket {
+        private final String componentId;
+        private final Instant intervalStart;
+        private final long[] minimums;
+        private final long[] maximums;
+        private final long[] sums;
+        private long sampleCount;
+
+        RollupBucket(final String componentId, final Instant intervalStart, final int metricCount) {
+            this.componentId = componentId;
+            this.intervalStart = intervalStart;
+            this.minimums = new long[metricCount];
+            this.maximums = new long[metricCount];
+            this.sums = new long[metricCount];
+        }
+
+        void add(final long[] values) {
+            for (int i = 0; i < values.length; i++) {
+                minimums[i] = sampleCount == 0 ? values[i] : Math.min(minimums[i], values[i]);
+                maximums[i] = sampleCount == 0 ? values[i] : Math.max(maximums[i], values[i]);
+                sums[i] += values[i];
+            }
+            sampleCount++;
+        }
+
+        String getComponentId() {
+            return componentId;
+        }
+
+        Instant getIntervalStart() {
+            return intervalStart;
+        }
+
+        long getSampleCount() {
+            return sampleCount;
+        }
+
+        int getMetricCount() {
+            return sums.length;
+        }
+
+        long getMinimum(final int metricIndex) {
+            return minimums[metricIndex];
+        }
+
+        long getMaximum(final int metricIndex) {
+            return maximums[metricIndex];
+        }
+
+        long getSum(final int metricIndex) {
+            return sums[metricIndex];
+        }
+
+        long getAverage(final int metricIndex) {
+            return sampleCount == 0 ? 0L : sums[metricIndex] / sampleCount;
+        }
+    }
+}
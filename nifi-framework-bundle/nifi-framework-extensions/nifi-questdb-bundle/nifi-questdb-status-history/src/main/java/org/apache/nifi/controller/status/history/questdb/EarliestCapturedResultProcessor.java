@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.status.history.questdb;
+
+import org.apache.nifi.questdb.QueryResultProcessor;
+import org.apache.nifi.questdb.QueryRowContext;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the result of a query selecting the earliest capture time of a table, which is <code>null</code> if the table is empty.
+ */
+final class EarliestCapturedResultProcessor implements QueryResultProcessor<Instant> {
+    private Instant result = null;
+
+    @Override
+    public void processRow(final QueryRowContext context) {
+        final long captured = context.getTimestamp(0);
+        result = captured == Long.MIN_VALUE ? null : Instant.ofEpochMilli(TimeUnit.MICROSECONDS.toMillis(captured));
+    }
+
+    @Override
+    public Instant getResult() {
+        return result;
+    }
+}
@@ -37,6 +37,7 @@ import org.apache.nifi.util.NiFiProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -84,7 +85,7 @@ public class EmbeddedQuestDbStatusHistoryRepository implements StatusHistoryRepo
         final RolloverStrategy nodeStatusRolloverStrategy = RolloverStrategy.deleteOld(getDaysToKeepNodeData(niFiProperties));
         final RolloverStrategy componentStatusRolloverStrategy = RolloverStrategy.deleteOld(getDaysToKeepComponentData(niFiProperties));
 
-        databaseManager = EmbeddedDatabaseManagerBuilder
+        final EmbeddedDatabaseManagerBuilder databaseManagerBuilder = EmbeddedDatabaseManagerBuilder
                 .builder(niFiProperties.getQuestDbStatusRepositoryPath())
                 .backupLocation(niFiProperties.getQuestDbStatusRepositoryBackupPath())
                 .numberOfAttemptedRetries(2)
@@ -97,11 +98,20 @@ public class EmbeddedQuestDbStatusHistoryRepository implements StatusHistoryRepo
                 .addTable(TABLE_NAME_CONNECTION_STATUS, CREATE_CONNECTION_STATUS, componentStatusRolloverStrategy)
                 .addTable(TABLE_NAME_PROCESS_GROUP_STATUS, CREATE_PROCESS_GROUP_STATUS, componentStatusRolloverStrategy)
                 .addTable(TABLE_NAME_REMOTE_PROCESS_GROUP_STATUS, CREATE_REMOTE_PROCESS_GROUP_STATUS, componentStatusRolloverStrategy)
-                .addTable(TABLE_NAME_COMPONENT_COUNTER, CREATE_COMPONENT_COUNTER, componentStatusRolloverStrategy)
-                .build();
+                .addTable(TABLE_NAME_COMPONENT_COUNTER, CREATE_COMPONENT_COUNTER, componentStatusRolloverStrategy);
+
+        for (final StatusRollupTier tier : StatusRollupTier.values()) {
+            final RolloverStrategy rollupRolloverStrategy = RolloverStrategy.deleteOld(tier.getDaysToKeep(getDaysToKeepComponentData(niFiProperties), getDaysToKeepRollupData(niFiProperties)));
+            for (final ComponentStatusRollup<?> rollup : EmbeddedQuestDbStatusHistoryRepositoryDefinitions.getComponentStatusRollups()) {
+                databaseManagerBuilder.addTable(tier.getTableName(rollup.getStatusTableName()), rollup.getCreateTableDefinition(tier), rollupRolloverStrategy);
+            }
+        }
+
+        databaseManager = databaseManagerBuilder.build();
 
         storage = new BufferedStatusHistoryStorage(
-                new QuestDbStatusHistoryStorage(databaseManager.acquireClient(), getDaysToKeepNodeData(niFiProperties), getDaysToKeepComponentData(niFiProperties)),
+                new QuestDbStatusHistoryStorage(databaseManager.acquireClient(), getDaysToKeepNodeData(niFiProperties), getDaysToKeepComponentData(niFiProperties),
+                    getDaysToKeepRollupData(niFiProperties), getSnapshotFrequency(niFiProperties)),
                 FormatUtils.getTimeDuration(niFiProperties.getQuestDbStatusRepositoryPersistFrequency(), TimeUnit.MILLISECONDS),
                 niFiProperties.getQuestDbStatusRepositoryPersistBatchSize()
         );
@@ -167,24 +177,24 @@ public class EmbeddedQuestDbStatusHistoryRepository implements StatusHistoryRepo
 
     @Override
     public StatusHistory getConnectionStatusHistory(final String connectionId, final Date start, final Date end, final int preferredDataPoints) {
-        return generateStatusHistory(connectionId, storage.getConnectionSnapshots(connectionId, start, end), preferredDataPoints);
+        return generateStatusHistory(connectionId, storage.getConnectionSnapshots(connectionId, start, end, preferredDataPoints), preferredDataPoints);
     }
 
     @Override
     public StatusHistory getProcessGroupStatusHistory(final String processGroupId, final Date start, final Date end, final int preferredDataPoints) {
-        return generateStatusHistory(processGroupId, storage.getProcessGroupSnapshots(processGroupId, start, end), preferredDataPoints);
+        return generateStatusHistory(processGroupId, storage.getProcessGroupSnapshots(processGroupId, start, end, preferredDataPoints), preferredDataPoints);
     }
 
     @Override
     public StatusHistory getProcessorStatusHistory(final String processorId, final Date start, final Date end, final int preferredDataPoints, final boolean includeCounters) {
         return includeCounters
-            ? generateStatusHistory(processorId, storage.getProcessorSnapshotsWithCounters(processorId, start, end), preferredDataPoints)
-            : generateStatusHistory(processorId, storage.getProcessorSnapshots(processorId, start, end), preferredDataPoints);
+            ? generateStatusHistory(processorId, storage.getProcessorSnapshotsWithCounters(processorId, start, end, preferredDataPoints), preferredDataPoints)
+            : generateStatusHistory(processorId, storage.getProcessorSnapshots(processorId, start, end, preferredDataPoints), preferredDataPoints);
     }
 
     @Override
     public StatusHistory getRemoteProcessGroupStatusHistory(final String remoteGroupId, final Date start, final Date end, final int preferredDataPoints) {
-        return generateStatusHistory(remoteGroupId, storage.getRemoteProcessGroupSnapshots(remoteGroupId, start, end), preferredDataPoints);
+        return generateStatusHistory(remoteGroupId, storage.getRemoteProcessGroupSnapshots(remoteGroupId, start, end, preferredDataPoints), preferredDataPoints);
     }
 
     @Override
@@ -220,6 +230,23 @@ public class EmbeddedQuestDbStatusHistoryRepository implements StatusHistoryRepo
             NiFiProperties.DEFAULT_COMPONENT_STATUS_REPOSITORY_PERSIST_COMPONENT_DAYS);
     }
 
+    private Duration getSnapshotFrequency(final NiFiProperties niFiProperties) {
+        final String snapshotFrequency = niFiProperties.getProperty(NiFiProperties.COMPONENT_STATUS_SNAPSHOT_FREQUENCY, NiFiProperties.DEFAULT_COMPONENT_STATUS_SNAPSHOT_FREQUENCY);
+        long snapshotMillis;
+        try {
+            snapshotMillis = FormatUtils.getTimeDuration(snapshotFrequency, TimeUnit.MILLISECONDS);
+        } catch (final Exception e) {
+            snapshotMillis = FormatUtils.getTimeDuration(NiFiProperties.DEFAULT_COMPONENT_STATUS_SNAPSHOT_FREQUENCY, TimeUnit.MILLISECONDS);
+        }
+        return Duration.ofMillis(Math.max(snapshotMillis, 1L));
+    }
+
+    private Integer getDaysToKeepRollupData(final NiFiProperties niFiProperties) {
+        return niFiProperties.getIntegerProperty(
+            NiFiProperties.STATUS_REPOSITORY_QUESTDB_PERSIST_COMPONENT_ROLLUP_DAYS,
+            NiFiProperties.DEFAULT_COMPONENT_STATUS_REPOSITORY_PERSIST_COMPONENT_ROLLUP_DAYS);
+    }
+
     /**
      * Before the first capture, there will be no component detail provided!
      *
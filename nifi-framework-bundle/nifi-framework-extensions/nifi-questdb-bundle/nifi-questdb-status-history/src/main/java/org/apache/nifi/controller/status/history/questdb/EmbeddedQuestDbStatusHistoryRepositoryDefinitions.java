@@ -65,6 +65,17 @@ final class EmbeddedQuestDbStatusHistoryRepositoryDefinitions {
         "AND captured < to_timestamp('%s', '" + CAPTURE_DATE_FORMAT + "') " +
         "ORDER BY captured ASC";
 
+    static final String COMPONENT_STATUS_EARLIEST_CAPTURED_QUERY = "SELECT min(captured) FROM %s";
+
+    // Component status rollups
+
+    static final String COMPONENT_ROLLUP_QUERY =
+        "SELECT captured, componentId, %s FROM %s " +
+        "WHERE componentId = '%s' " +
+        "AND captured > to_timestamp('%s', '" + CAPTURE_DATE_FORMAT + "') " +
+        "AND captured < to_timestamp('%s', '" + CAPTURE_DATE_FORMAT + "') " +
+        "ORDER BY captured ASC";
+
     // Connection
 
     static final String TABLE_NAME_CONNECTION_STATUS = "connectionStatus";
@@ -102,6 +113,10 @@ final class EmbeddedQuestDbStatusHistoryRepositoryDefinitions {
         return new ComponentStatusDataSource<>(statuses.iterator(), CONNECTION_METRICS, ConnectionStatus::getId);
     }
 
+    static ComponentStatusRollup<ConnectionStatus> createConnectionStatusRollup() {
+        return new ComponentStatusRollup<>(TABLE_NAME_CONNECTION_STATUS, CONNECTION_METRICS.values(), ConnectionStatus::getId);
+    }
+
     static final RequestMapping<StandardStatusSnapshot> CONNECTION_STATUS_REQUEST_MAPPING = getSnapshotRequestMapping(ConnectionStatus.class, CONNECTION_METRICS.values());
 
     // Processor
@@ -153,6 +168,10 @@ final class EmbeddedQuestDbStatusHistoryRepositoryDefinitions {
         return CounterStatisticsDataSource.getInstance(statuses);
     }
 
+    static ComponentStatusRollup<ProcessorStatus> createProcessorStatusRollup() {
+        return new ComponentStatusRollup<>(TABLE_NAME_PROCESSOR_STATUS, PROCESSOR_METRICS.values(), ProcessorStatus::getId);
+    }
+
     static final RequestMapping<StandardStatusSnapshot> PROCESSOR_STATUS_REQUEST_MAPPING = getSnapshotRequestMapping(ProcessorStatus.class, PROCESSOR_METRICS.values());
 
     //  Process group
@@ -194,6 +213,10 @@ final class EmbeddedQuestDbStatusHistoryRepositoryDefinitions {
         return new ComponentStatusDataSource<>(statuses.iterator(), PROCESS_GROUP_METRICS, ProcessGroupStatus::getId);
     }
 
+    static ComponentStatusRollup<ProcessGroupStatus> createProcessGroupStatusRollup() {
+        return new ComponentStatusRollup<>(TABLE_NAME_PROCESS_GROUP_STATUS, PROCESS_GROUP_METRICS.values(), ProcessGroupStatus::getId);
+    }
+
     static final RequestMapping<StandardStatusSnapshot> PROCESS_GROUP_STATUS_REQUEST_MAPPING = getSnapshotRequestMapping(ProcessGroupStatus.class, PROCESS_GROUP_METRICS.values());
 
     // Remote process group
@@ -231,6 +254,10 @@ final class EmbeddedQuestDbStatusHistoryRepositoryDefinitions {
         return new ComponentStatusDataSource<>(statuses.iterator(), REMOTE_PROCESS_GROUP_METRICS, RemoteProcessGroupStatus::getId);
     }
 
+    static ComponentStatusRollup<RemoteProcessGroupStatus> createRemoteProcessGroupStatusRollup() {
+        return new ComponentStatusRollup<>(TABLE_NAME_REMOTE_PROCESS_GROUP_STATUS, REMOTE_PROCESS_GROUP_METRICS.values(), RemoteProcessGroupStatus::getId);
+    }
+
     static final RequestMapping<StandardStatusSnapshot> REMOTE_PROCESS_GROUP_STATUS_REQUEST_MAPPING = getSnapshotRequestMapping(RemoteProcessGroupStatus.class, REMOTE_PROCESS_GROUP_METRICS.values());
 
     // Garbage collection status
@@ -338,6 +365,10 @@ final class EmbeddedQuestDbStatusHistoryRepositoryDefinitions {
         return new NodeStatusResultProcessor(NODE_STATUS_METRICS, statusMetricsByTime);
     }
 
+    static List<ComponentStatusRollup<?>> getComponentStatusRollups() {
+        return List.of(createConnectionStatusRollup(), createProcessorStatusRollup(), createProcessGroupStatusRollup(), createRemoteProcessGroupStatusRollup());
+    }
+
     private static <T> RequestMapping<StandardStatusSnapshot> getSnapshotRequestMapping(Class<T> type, Collection<MetricDescriptor<T>> descriptorSource) {
         final RequestMappingBuilder<StandardStatusSnapshot> requestMappingBuilder = RequestMappingBuilder
                 .of(() -> new StandardStatusSnapshot(new HashSet<>(descriptorSource)))
@@ -25,6 +25,7 @@ import org.apache.nifi.controller.status.history.GarbageCollectionStatus;
 import org.apache.nifi.controller.status.history.StandardMetricDescriptor;
 import org.apache.nifi.controller.status.history.StandardStatusSnapshot;
 import org.apache.nifi.controller.status.history.StatusSnapshot;
+import org.apache.nifi.controller.status.history.questdb.ComponentStatusRollup.RollupBucket;
 import org.apache.nifi.questdb.Client;
 import org.apache.nifi.questdb.DatabaseException;
 import org.apache.nifi.questdb.InsertRowDataSource;
@@ -33,6 +34,7 @@ import org.apache.nifi.questdb.mapping.RequestMapping;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -43,6 +45,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.apache.nifi.controller.status.history.questdb.EmbeddedQuestDbStatusHistoryRepositoryDefinitions.COMPONENT_ROLLUP_QUERY;
+import static org.apache.nifi.controller.status.history.questdb.EmbeddedQuestDbStatusHistoryRepositoryDefinitions.COMPONENT_STATUS_EARLIEST_CAPTURED_QUERY;
 import static org.apache.nifi.controller.status.history.questdb.EmbeddedQuestDbStatusHistoryRepositoryDefinitions.COMPONENT_STATUS_QUERY;
 import static org.apache.nifi.controller.status.history.questdb.EmbeddedQuestDbStatusHistoryRepositoryDefinitions.CONNECTION_STATUS_REQUEST_MAPPING;
 import static org.apache.nifi.controller.status.history.questdb.EmbeddedQuestDbStatusHistoryRepositoryDefinitions.NODE_STATUS_QUERY;
@@ -66,35 +70,59 @@ final class QuestDbStatusHistoryStorage implements StatusHistoryStorage {
     private final Client client;
     private final int configuredNodeDays;
     private final int configuredComponentDays;
+    private final int configuredRollupDays;
+    private final Duration snapshotFrequency;
+    // Every capture of the component statuses includes the root Process Group, thus its earliest status is the earliest of all components
+    private volatile Instant earliestComponentCapture;
 
-    QuestDbStatusHistoryStorage(final Client client, final int configuredNodeDays, final int configuredComponentDays) {
+    private final ComponentStatusRollup<ConnectionStatus> connectionStatusRollup = EmbeddedQuestDbStatusHistoryRepositoryDefinitions.createConnectionStatusRollup();
+    private final ComponentStatusRollup<ProcessorStatus> processorStatusRollup = EmbeddedQuestDbStatusHistoryRepositoryDefinitions.createProcessorStatusRollup();
+    private final ComponentStatusRollup<ProcessGroupStatus> processGroupStatusRollup = EmbeddedQuestDbStatusHistoryRepositoryDefinitions.createProcessGroupStatusRollup();
+    private final ComponentStatusRollup<RemoteProcessGroupStatus> remoteProcessGroupStatusRollup = EmbeddedQuestDbStatusHistoryRepositoryDefinitions.createRemoteProcessGroupStatusRollup();
+
+    QuestDbStatusHistoryStorage(final Client client, final int configuredNodeDays, final int configuredComponentDays, final int configuredRollupDays,
+                                final Duration snapshotFrequency) {
         this.client = client;
         this.configuredNodeDays = configuredNodeDays;
         this.configuredComponentDays = configuredComponentDays;
+        this.configuredRollupDays = configuredRollupDays;
+        this.snapshotFrequency = snapshotFrequency;
+    }
+
+    @Override
+    public void init() {
+        final String query = String.format(COMPONENT_STATUS_EARLIEST_CAPTURED_QUERY, TABLE_NAME_PROCESS_GROUP_STATUS);
+        earliestComponentCapture = getResult(query, new EarliestCapturedResultProcessor(), null);
     }
 
     @Override
-    public List<StatusSnapshot> getConnectionSnapshots(final String componentId, final Date start, final Date end) {
-        return getComponentSnapshots(TABLE_NAME_CONNECTION_STATUS, componentId, CONNECTION_STATUS_REQUEST_MAPPING, start, end);
+    public List<StatusSnapshot> getConnectionSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        return getComponentSnapshots(connectionStatusRollup, componentId, CONNECTION_STATUS_REQUEST_MAPPING, start, end, preferredDataPoints);
     }
 
     @Override
-    public List<StatusSnapshot> getProcessGroupSnapshots(final String componentId, final Date start, final Date end) {
-        return getComponentSnapshots(TABLE_NAME_PROCESS_GROUP_STATUS, componentId, PROCESS_GROUP_STATUS_REQUEST_MAPPING, start, end);
+    public List<StatusSnapshot> getProcessGroupSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        return getComponentSnapshots(processGroupStatusRollup, componentId, PROCESS_GROUP_STATUS_REQUEST_MAPPING, start, end, preferredDataPoints);
     }
 
     @Override
-    public List<StatusSnapshot> getRemoteProcessGroupSnapshots(final String componentId, final Date start, final Date end) {
-        return getComponentSnapshots(TABLE_NAME_REMOTE_PROCESS_GROUP_STATUS, componentId, REMOTE_PROCESS_GROUP_STATUS_REQUEST_MAPPING, start, end);
+    public List<StatusSnapshot> getRemoteProcessGroupSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        return getComponentSnapshots(remoteProcessGroupStatusRollup, componentId, REMOTE_PROCESS_GROUP_STATUS_REQUEST_MAPPING, start, end, preferredDataPoints);
     }
 
     @Override
-    public List<StatusSnapshot> getProcessorSnapshots(final String componentId, final Date start, final Date end) {
-        return getComponentSnapshots(TABLE_NAME_PROCESSOR_STATUS, componentId, PROCESSOR_STATUS_REQUEST_MAPPING, start, end);
+    public List<StatusSnapshot> getProcessorSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        return getComponentSnapshots(processorStatusRollup, componentId, PROCESSOR_STATUS_REQUEST_MAPPING, start, end, preferredDataPoints);
     }
 
     @Override
-    public List<StatusSnapshot> getProcessorSnapshotsWithCounters(final String componentId, final Date start, final Date end) {
+    public List<StatusSnapshot> getProcessorSnapshotsWithCounters(final String componentId, final Date start, final Date end, final int preferredDataPoints) {
+        // Counters are kept at full resolution only, thus they cannot be added to rolled up snapshots
+        final StatusRollupTier tier = selectRollupTier(start, end, preferredDataPoints);
+        if (tier != null) {
+            return getRollupSnapshots(processorStatusRollup, tier, componentId, PROCESSOR_STATUS_REQUEST_MAPPING, start, end);
+        }
+
         final List<StatusSnapshot> componentSnapshots = getComponentSnapshots(TABLE_NAME_PROCESSOR_STATUS, componentId, PROCESSOR_STATUS_REQUEST_MAPPING, start, end);
         final String query = String.format(COMPONENT_STATUS_QUERY, TABLE_NAME_COMPONENT_COUNTER, componentId, getStartTimeForComponent(start), getEndTime(end));
         return getResult(query, new CounterStatisticsResultProcessor(componentSnapshots), Collections.emptyList());
@@ -129,22 +157,34 @@ final class QuestDbStatusHistoryStorage implements StatusHistoryStorage {
     @Override
     public void storeProcessGroupStatuses(final Collection<CapturedStatus<ProcessGroupStatus>> statuses) {
         store(TABLE_NAME_PROCESS_GROUP_STATUS, EmbeddedQuestDbStatusHistoryRepositoryDefinitions.getProcessGroupStatusDataSource(statuses));
+        if (earliestComponentCapture == null) {
+            statuses.stream().map(CapturedStatus::getCaptured).min(Instant::compareTo).ifPresent(captured -> earliestComponentCapture = captured);
+        }
+        storeRollups(processGroupStatusRollup, statuses);
     }
 
     @Override
     public void storeConnectionStatuses(final Collection<CapturedStatus<ConnectionStatus>> statuses) {
         store(TABLE_NAME_CONNECTION_STATUS, EmbeddedQuestDbStatusHistoryRepositoryDefinitions.getConnectionStatusDataSource(statuses));
+        storeRollups(connectionStatusRollup, statuses);
     }
 
     @Override
     public void storeRemoteProcessorGroupStatuses(final Collection<CapturedStatus<RemoteProcessGroupStatus>> statuses) {
         store(TABLE_NAME_REMOTE_PROCESS_GROUP_STATUS, EmbeddedQuestDbStatusHistoryRepositoryDefinitions.getRemoteProcessGroupStatusDataSource(statuses));
+        storeRollups(remoteProcessGroupStatusRollup, statuses);
     }
 
     @Override
     public void storeProcessorStatuses(final Collection<CapturedStatus<ProcessorStatus>> statuses) {
         store(TABLE_NAME_PROCESSOR_STATUS, EmbeddedQuestDbStatusHistoryRepositoryDefinitions.getProcessorStatusDataSource(statuses));
         store(TABLE_NAME_COMPONENT_COUNTER, EmbeddedQuestDbStatusHistoryRepositoryDefinitions.getCounterStatisticsDataSource(statuses));
+        storeRollups(processorStatusRollup, statuses);
+    }
+
+    private <T> void storeRollups(final ComponentStatusRollup<T> rollup, final Collection<CapturedStatus<T>> statuses) {
+        final Map<StatusRollupTier, List<RollupBucket>> completedBuckets = rollup.add(statuses);
+        completedBuckets.forEach((tier, buckets) -> store(tier.getTableName(rollup.getStatusTableName()), new RollupBucketDataSource(buckets.iterator())));
     }
 
     private <T> void store(final String tableName, final InsertRowDataSource source) {
@@ -155,6 +195,56 @@ final class QuestDbStatusHistoryStorage implements StatusHistoryStorage {
         }
     }
 
+    private <T> List<StatusSnapshot> getComponentSnapshots(final ComponentStatusRollup<T> rollup, final String componentId, final RequestMapping<StandardStatusSnapshot> mapping,
+                                                           final Date start, final Date end, final int preferredDataPoints) {
+        final StatusRollupTier tier = selectRollupTier(start, end, preferredDataPoints);
+        return tier == null
+            ? getComponentSnapshots(rollup.getStatusTableName(), componentId, mapping, start, end)
+            : getRollupSnapshots(rollup, tier, componentId, mapping, start, end);
+    }
+
+    /**
+     * Selects the rollups to serve the snapshots from, based on the requested period, the frequency of the status captures and the
+     * retention of each resolution, so that no query is needed. The requested period is limited to the retention of each resolution
+     * and to the earliest capture held. The data captured at full resolution is used as long as that period holds no more captures
+     * than the preferred number of data points. Otherwise the finest rollups that cover the period within the preferred number of
+     * data points are used. If no rollups do, the data captured at full resolution is used, of which only the latest snapshots are
+     * returned.
+     *
+     * @return the selected rollup tier or <code>null</code> if the data captured at full resolution is to be used
+     */
+    private StatusRollupTier selectRollupTier(final Date start, final Date end, final int preferredDataPoints) {
+        final Instant earliestCapture = earliestComponentCapture;
+        if (earliestCapture == null) {
+            return null;
+        }
+
+        final Instant endTime = (end == null) ? Instant.now() : end.toInstant();
+        if (getDataPoints(getStartInstantForComponent(start), earliestCapture, endTime, snapshotFrequency) <= preferredDataPoints) {
+            return null;
+        }
+
+        for (final StatusRollupTier tier : StatusRollupTier.values()) {
+            if (getDataPoints(getStartInstantForRollup(tier, start), earliestCapture, endTime, tier.getInterval()) <= preferredDataPoints) {
+                return tier;
+            }
+        }
+
+        return null;
+    }
+
+    private static long getDataPoints(final Instant start, final Instant earliestCapture, final Instant end, final Duration interval) {
+        final Instant startTime = start.isBefore(earliestCapture) ? earliestCapture : start;
+        return startTime.isBefore(end) ? Duration.between(startTime, end).dividedBy(interval) : 0L;
+    }
+
+    private <T> List<StatusSnapshot> getRollupSnapshots(final ComponentStatusRollup<T> rollup, final StatusRollupTier tier, final String componentId,
+                                                        final RequestMapping<StandardStatusSnapshot> mapping, final Date start, final Date end) {
+        final String startTime = EmbeddedQuestDbStatusHistoryRepositoryDefinitions.DATE_FORMATTER.format(getStartInstantForRollup(tier, start));
+        final String query = String.format(COMPONENT_ROLLUP_QUERY, rollup.getAverageColumns(), tier.getTableName(rollup.getStatusTableName()), componentId, startTime, getEndTime(end));
+        return getSnapshot(query, RequestMapping.getResultProcessor(mapping));
+    }
+
     private List<StatusSnapshot> getComponentSnapshots(final String tableName, final String componentId, final RequestMapping<StandardStatusSnapshot> mapping, final Date start, final Date end) {
         final String query = String.format(COMPONENT_STATUS_QUERY, tableName, componentId, getStartTimeForComponent(start), getEndTime(end));
         return getSnapshot(query, RequestMapping.getResultProcessor(mapping));
@@ -183,6 +273,16 @@ final class QuestDbStatusHistoryStorage implements StatusHistoryStorage {
         return EmbeddedQuestDbStatusHistoryRepositoryDefinitions.DATE_FORMATTER.format(startTime);
     }
 
+    private Instant getStartInstantForComponent(final Date start) {
+        final Instant oldestKept = Instant.now().minus(configuredComponentDays, ChronoUnit.DAYS);
+        return (start == null || start.toInstant().isBefore(oldestKept)) ? oldestKept : start.toInstant();
+    }
+
+    private Instant getStartInstantForRollup(final StatusRollupTier tier, final Date start) {
+        final Instant oldestKept = Instant.now().minus(tier.getDaysToKeep(configuredComponentDays, configuredRollupDays), ChronoUnit.DAYS);
+        return (start == null || start.toInstant().isBefore(oldestKept)) ? oldestKept : start.toInstant();
+    }
+
     private static String getEndTime(final Date end) {
         final Instant endTime = (end == null) ? Instant.now() : end.toInstant();
         return EmbeddedQuestDbStatusHistoryRepositoryDefinitions.DATE_FORMATTER.format(endTime);
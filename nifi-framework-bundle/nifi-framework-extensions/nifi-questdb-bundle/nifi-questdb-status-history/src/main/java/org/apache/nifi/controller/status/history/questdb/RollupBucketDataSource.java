@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.status.history.questdb;
+
+import org.apache.nifi.controller.status.history.questdb.ComponentStatusRollup.RollupBucket;
+import org.apache.nifi.questdb.InsertRowContext;
+import org.apache.nifi.questdb.InsertRowDataSource;
+
+import java.util.Iterator;
+
+final class RollupBucketDataSource implements InsertRowDataSource {
+    private final Iterator<RollupBucket> buckets;
+
+    RollupBucketDataSource(final Iterator<RollupBucket> buckets) {
+        this.buckets = buckets;
+    }
+
+    @Override
+    public boolean hasNextToInsert() {
+        return buckets.hasNext();
+    }
+
+    @Override
+    public void fillRowData(final InsertRowContext context) {
+        final RollupBucket bucket = buckets.next();
+        context.initializeRow(bucket.getIntervalStart());
+        context.addString(1, bucket.getComponentId());
+        context.addLong(2, bucket.getSampleCount());
+
+        for (int i = 0; i < bucket.getMetricCount(); i++) {
+            final int position = 3 + i * 4;
+            context.addLong(position, bucket.getMinimum(i));
+            context.addLong(position + 1, bucket.getMaximum(i));
+            context.addLong(position + 2, bucket.getSum(i));
+            context.addLong(position + 3, bucket.getAverage(i));
+        }
+    }
+}
@@ -33,11 +33,11 @@ interface StatusHistoryStorage {
     default void init() { }
     default void close() { }
 
-    List<StatusSnapshot> getConnectionSnapshots(final String componentId, final Date start, final Date end);
-    List<StatusSnapshot> getProcessGroupSnapshots(final String componentId, final Date start, final Date end);
-    List<StatusSnapshot> getRemoteProcessGroupSnapshots(final String componentId, final Date start, final Date end);
-    List<StatusSnapshot> getProcessorSnapshots(final String componentId, final Date start, final Date end);
-    List<StatusSnapshot> getProcessorSnapshotsWithCounters(final String componentId, final Date start, final Date end);
+    List<StatusSnapshot> getConnectionSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints);
+    List<StatusSnapshot> getProcessGroupSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints);
+    List<StatusSnapshot> getRemoteProcessGroupSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints);
+    List<StatusSnapshot> getProcessorSnapshots(final String componentId, final Date start, final Date end, final int preferredDataPoints);
+    List<StatusSnapshot> getProcessorSnapshotsWithCounters(final String componentId, final Date start, final Date end, final int preferredDataPoints);
     List<StatusSnapshot> getNodeStatusSnapshots(final Date start, final Date end);
     List<GarbageCollectionStatus> getGarbageCollectionSnapshots(final Date start, final Date end);
 
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.status.history.questdb;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Resolutions at which the component status data is rolled up, from the finest to the coarsest. Finer grained rollups are kept for a
+ * shorter period, so that the finest grained data is aged out first.
+ */
+enum StatusRollupTier {
+    ONE_MINUTE("Rollup1m", Duration.ofMinutes(1), 4),
+    FIFTEEN_MINUTES("Rollup15m", Duration.ofMinutes(15), 2),
+    ONE_HOUR("Rollup1h", Duration.ofHours(1), 1);
+
+    private final String tableNameSuffix;
+    private final Duration interval;
+    private final int retentionDivisor;
+
+    StatusRollupTier(final String tableNameSuffix, final Duration interval, final int retentionDivisor) {
+        this.tableNameSuffix = tableNameSuffix;
+        this.interval = interval;
+        this.retentionDivisor = retentionDivisor;
+    }
+
+    /**
+     * @param statusTableName the name of the table holding the status data at full resolution
+     * @return the name of the table holding the rollups of the given table at the resolution of this tier
+     */
+    String getTableName(final String statusTableName) {
+        return statusTableName + tableNameSuffix;
+    }
+
+    Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * @param captured the time of a status capture
+     * @return the start of the rollup interval that the given capture falls into
+     */
+    Instant getIntervalStart(final Instant captured) {
+        final long intervalMillis = interval.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(captured.toEpochMilli(), intervalMillis) * intervalMillis);
+    }
+
+    /**
+     * @param componentDays the number of days the component status data is kept at full resolution
+     * @param rollupDays the number of days the coarsest rollups are kept
+     * @return the number of days the rollups of this tier are kept
+     */
+    int getDaysToKeep(final int componentDays, final int rollupDays) {
+        return Math.max(componentDays, (rollupDays + retentionDivisor - 1) / retentionDivisor);
+    }
+}
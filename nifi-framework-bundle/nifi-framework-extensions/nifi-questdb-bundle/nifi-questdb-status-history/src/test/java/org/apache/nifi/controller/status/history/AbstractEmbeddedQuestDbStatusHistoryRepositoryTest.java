@@ -81,12 +81,18 @@ public abstract class AbstractEmbeddedQuestDbStatusHistoryRepositoryTest extends
 
         Mockito.when(niFiProperties.getQuestDbStatusRepositoryPath()).thenReturn(temporaryDirectory.toAbsolutePath().toString());
         Mockito.when(niFiProperties.getQuestDbStatusRepositoryPersistFrequency()).thenReturn(PERSIST_FREQUENCY);
+        Mockito.when(niFiProperties.getProperty(NiFiProperties.COMPONENT_STATUS_SNAPSHOT_FREQUENCY, NiFiProperties.DEFAULT_COMPONENT_STATUS_SNAPSHOT_FREQUENCY))
+                .thenReturn(getSnapshotFrequency());
 
         final StatusHistoryRepository testSubject = new EmbeddedQuestDbStatusHistoryRepository(niFiProperties);
         testSubject.start();
         return testSubject;
     }
 
+    protected String getSnapshotFrequency() {
+        return NiFiProperties.DEFAULT_COMPONENT_STATUS_SNAPSHOT_FREQUENCY;
+    }
+
     protected void waitUntilPersisted() throws InterruptedException {
         Thread.sleep(3000); // The actual writing happens asynchronously on a different thread
     }
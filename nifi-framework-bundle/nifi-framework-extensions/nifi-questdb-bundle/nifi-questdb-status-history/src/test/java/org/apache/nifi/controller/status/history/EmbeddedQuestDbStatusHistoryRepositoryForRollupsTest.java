@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.status.history;
+
+import org.apache.nifi.controller.status.NodeStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EmbeddedQuestDbStatusHistoryRepositoryForRollupsTest extends AbstractEmbeddedQuestDbStatusHistoryRepositoryTest {
+    private static final Instant FIRST_INTERVAL_START = Instant.ofEpochMilli(NOW).truncatedTo(ChronoUnit.MINUTES).minus(30, ChronoUnit.MINUTES);
+    private static final int CAPTURES = 10;
+
+    @Override
+    protected String getSnapshotFrequency() {
+        return "1 sec";
+    }
+
+    @Test
+    public void testReadingFromRollupsWhenPreferredDataPointsExceeded() throws Exception {
+        for (int i = 0; i < CAPTURES; i++) {
+            final Instant captured = FIRST_INTERVAL_START.plus(i, ChronoUnit.MINUTES).plusSeconds(10);
+            repository.capture(new NodeStatus(), givenSimpleRootProcessGroupStatus(), new ArrayList<>(), Date.from(captured));
+        }
+        waitUntilPersisted();
+
+        // The last 30 minutes would hold more than 40 captures at full resolution, but not more than 40 one minute rollups
+        final List<StatusSnapshot> rollups = repository.getProcessGroupStatusHistory(ROOT_GROUP_ID, START, END, 40).getStatusSnapshots();
+
+        // The interval of the latest capture is still in progress, thus it is not rolled up yet
+        assertEquals(CAPTURES - 1, rollups.size());
+        for (int i = 0; i < rollups.size(); i++) {
+            final StatusSnapshot snapshot = rollups.get(i);
+            assertEquals(Date.from(FIRST_INTERVAL_START.plus(i, ChronoUnit.MINUTES)), snapshot.getTimestamp());
+            assertEquals(1L, snapshot.getStatusMetric(ProcessGroupStatusDescriptor.INPUT_COUNT.getDescriptor()).longValue());
+            assertEquals(7L, snapshot.getStatusMetric(ProcessGroupStatusDescriptor.QUEUED_COUNT.getDescriptor()).longValue());
+        }
+
+        // Every capture is returned at full resolution when the preferred number of data points is not exceeded
+        final List<StatusSnapshot> captures = repository.getProcessGroupStatusHistory(ROOT_GROUP_ID, START, END, Integer.MAX_VALUE).getStatusSnapshots();
+        assertEquals(CAPTURES, captures.size());
+        assertEquals(Date.from(FIRST_INTERVAL_START.plusSeconds(10)), captures.getFirst().getTimestamp());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.status.history.questdb;
+
+import org.apache.nifi.controller.status.ConnectionStatus;
+import org.apache.nifi.controller.status.history.questdb.ComponentStatusRollup.RollupBucket;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComponentStatusRollupTest {
+    private static final Instant INTERVAL_START = Instant.parse("2025-01-01T10:00:00Z");
+    private static final String CONNECTION_ID = "connection";
+    private static final String OTHER_CONNECTION_ID = "other";
+    // Queued count is the sixth metric of connections
+    private static final int QUEUED_COUNT_INDEX = 5;
+
+    private final ComponentStatusRollup<ConnectionStatus> rollup = EmbeddedQuestDbStatusHistoryRepositoryDefinitions.createConnectionStatusRollup();
+
+    @Test
+    public void testIntervalCompletedByLaterStatus() {
+        assertTrue(rollup.add(List.of(
+            captured(CONNECTION_ID, 10, INTERVAL_START.plusSeconds(1)),
+            captured(CONNECTION_ID, 30, INTERVAL_START.plusSeconds(20)),
+            captured(CONNECTION_ID, 20, INTERVAL_START.plusSeconds(40)))).isEmpty());
+
+        final Map<StatusRollupTier, List<RollupBucket>> completed = rollup.add(List.of(captured(CONNECTION_ID, 100, INTERVAL_START.plusSeconds(61))));
+
+        assertEquals(1, completed.size());
+        final List<RollupBucket> buckets = completed.get(StatusRollupTier.ONE_MINUTE);
+        assertEquals(1, buckets.size());
+
+        final RollupBucket bucket = buckets.getFirst();
+        assertEquals(CONNECTION_ID, bucket.getComponentId());
+        assertEquals(INTERVAL_START, bucket.getIntervalStart());
+        assertEquals(3, bucket.getSampleCount());
+        assertEquals(10, bucket.getMinimum(QUEUED_COUNT_INDEX));
+        assertEquals(30, bucket.getMaximum(QUEUED_COUNT_INDEX));
+        assertEquals(60, bucket.getSum(QUEUED_COUNT_INDEX));
+        assertEquals(20, bucket.getAverage(QUEUED_COUNT_INDEX));
+    }
+
+    @Test
+    public void testIntervalsOfCoarserTiersCompleted() {
+        rollup.add(List.of(captured(CONNECTION_ID, 1, INTERVAL_START.plusSeconds(30))));
+
+        final Map<StatusRollupTier, List<RollupBucket>> completed = rollup.add(List.of(captured(CONNECTION_ID, 2, INTERVAL_START.plusSeconds(3600))));
+
+        assertEquals(3, completed.size());
+        assertEquals(INTERVAL_START, completed.get(StatusRollupTier.ONE_MINUTE).getFirst().getIntervalStart());
+        assertEquals(INTERVAL_START, completed.get(StatusRollupTier.FIFTEEN_MINUTES).getFirst().getIntervalStart());
+        assertEquals(INTERVAL_START, completed.get(StatusRollupTier.ONE_HOUR).getFirst().getIntervalStart());
+    }
+
+    @Test
+    public void testIntervalOfComponentNotReportedAnymoreCompleted() {
+        rollup.add(List.of(captured(CONNECTION_ID, 1, INTERVAL_START), captured(OTHER_CONNECTION_ID, 2, INTERVAL_START)));
+
+        final Map<StatusRollupTier, List<RollupBucket>> completed = rollup.add(List.of(captured(CONNECTION_ID, 3, INTERVAL_START.plusSeconds(60))));
+
+        final List<RollupBucket> buckets = completed.get(StatusRollupTier.ONE_MINUTE);
+        assertEquals(2, buckets.size());
+        assertFalse(completed.containsKey(StatusRollupTier.FIFTEEN_MINUTES));
+    }
+
+    @Test
+    public void testCompletedIntervalNotStoredTwice() {
+        rollup.add(List.of(captured(CONNECTION_ID, 1, INTERVAL_START.plusSeconds(30))));
+        final Map<StatusRollupTier, List<RollupBucket>> completedByOtherComponent = rollup.add(List.of(captured(OTHER_CONNECTION_ID, 2, INTERVAL_START.plusSeconds(65))));
+        assertEquals(1, completedByOtherComponent.get(StatusRollupTier.ONE_MINUTE).size());
+
+        // A status of the completed interval that is stored in a later batch does not open the interval again
+        assertTrue(rollup.add(List.of(captured(CONNECTION_ID, 3, INTERVAL_START.plusSeconds(50)))).isEmpty());
+
+        final Map<StatusRollupTier, List<RollupBucket>> completed = rollup.add(List.of(captured(CONNECTION_ID, 4, INTERVAL_START.plusSeconds(125))));
+        final List<RollupBucket> buckets = completed.get(StatusRollupTier.ONE_MINUTE);
+        assertEquals(1, buckets.size());
+        assertEquals(OTHER_CONNECTION_ID, buckets.getFirst().getComponentId());
+    }
+
+    @Test
+    public void testCreateTableDefinition() {
+        final String definition = rollup.getCreateTableDefinition(StatusRollupTier.FIFTEEN_MINUTES);
+
+        assertTrue(definition.startsWith("CREATE TABLE connectionStatusRollup15m (captured TIMESTAMP,"));
+        assertTrue(definition.contains("queuedCountMin LONG,queuedCountMax LONG,queuedCountSum LONG,queuedCountAvg LONG"));
+        assertTrue(definition.endsWith(") TIMESTAMP(captured) PARTITION BY DAY"));
+        assertTrue(rollup.getAverageColumns().startsWith("inputBytesAvg, inputCountAvg, outputBytesAvg"));
+    }
+
+    @Test
+    public void testRetentionOfFinerTiersIsShorter() {
+        assertEquals(8, StatusRollupTier.ONE_MINUTE.getDaysToKeep(3, 30));
+        assertEquals(15, StatusRollupTier.FIFTEEN_MINUTES.getDaysToKeep(3, 30));
+        assertEquals(30, StatusRollupTier.ONE_HOUR.getDaysToKeep(3, 30));
+        assertEquals(7, StatusRollupTier.ONE_MINUTE.getDaysToKeep(7, 0));
+    }
+
+    private static CapturedStatus<ConnectionStatus> captured(final String id, final int queuedCount, final Instant captured) {
+        final ConnectionStatus status = new ConnectionStatus();
+        status.setId(id);
+        status.setQueuedCount(queuedCount);
+        return new CapturedStatus<>(status, captured);
+    }
+}
@@ -44,10 +44,10 @@ import java.io.IOException;
 import java.util.Map;
 
 public class SchemaRepositoryRecordSerde extends RepositoryRecordSerde implements SerDe<SerializedRepositoryRecord> {
-    private static final int MAX_ENCODING_VERSION = 2;
+    private static final int MAX_ENCODING_VERSION = 4;
 
-    private final RecordSchema writeSchema = RepositoryRecordSchema.REPOSITORY_RECORD_SCHEMA_V2;
-    private final RecordSchema contentClaimSchema = ContentClaimSchema.CONTENT_CLAIM_SCHEMA_V1;
+    private final RecordSchema writeSchema = RepositoryRecordSchema.REPOSITORY_RECORD_SCHEMA_V4;
+    private final RecordSchema contentClaimSchema = ContentClaimSchema.CONTENT_CLAIM_SCHEMA_V3;
 
     private final ResourceClaimManager resourceClaimManager;
     private final FieldCache fieldCache;
@@ -72,15 +72,15 @@ public class SchemaRepositoryRecordSerde extends RepositoryRecordSerde implement
     @Override
     public void serializeRecord(final SerializedRepositoryRecord record, final DataOutputStream out) throws IOException {
         final RecordSchema schema = switch (record.getType()) {
-            case CREATE, UPDATE -> RepositoryRecordSchema.CREATE_OR_UPDATE_SCHEMA_V2;
-            case CONTENTMISSING, DELETE -> RepositoryRecordSchema.DELETE_SCHEMA_V2;
-            case SWAP_IN -> RepositoryRecordSchema.SWAP_IN_SCHEMA_V2;
-            case SWAP_OUT -> RepositoryRecordSchema.SWAP_OUT_SCHEMA_V2;
+            case CREATE, UPDATE -> RepositoryRecordSchema.CREATE_OR_UPDATE_SCHEMA_V4;
+            case CONTENTMISSING, DELETE -> RepositoryRecordSchema.DELETE_SCHEMA_V4;
+            case SWAP_IN -> RepositoryRecordSchema.SWAP_IN_SCHEMA_V4;
+            case SWAP_OUT -> RepositoryRecordSchema.SWAP_OUT_SCHEMA_V4;
             default ->
                     throw new IllegalArgumentException("Received Repository Record with unknown Update Type: " + record.getType()); // won't happen.
         };
 
-        serializeRecord(record, out, schema, RepositoryRecordSchema.REPOSITORY_RECORD_SCHEMA_V2);
+        serializeRecord(record, out, schema, RepositoryRecordSchema.REPOSITORY_RECORD_SCHEMA_V4);
     }
 
 
@@ -154,7 +154,7 @@ public class SchemaRepositoryRecordSerde extends RepositoryRecordSerde implement
 
         // Top level is always going to be a "Repository Record Update" record because we need a 'Union' type record at the
         // top level that indicates which type of record we have.
-        final Record record = (Record) updateRecord.getFieldValue(RepositoryRecordSchema.REPOSITORY_RECORD_UPDATE_V2);
+        final Record record = (Record) updateRecord.getFieldValue(RepositoryRecordSchema.REPOSITORY_RECORD_UPDATE_V4);
 
         final String actionType = (String) record.getFieldValue(RepositoryRecordSchema.ACTION_TYPE_FIELD);
         final RepositoryRecordType recordType = RepositoryRecordType.valueOf(actionType);
@@ -17,9 +17,13 @@
 
 package org.apache.nifi.controller.repository.schema;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
+import org.apache.nifi.controller.repository.claim.ConcatenatedContentClaim;
 import org.apache.nifi.controller.repository.claim.ContentClaim;
+import org.apache.nifi.controller.repository.claim.InlineContentClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
 import org.apache.nifi.controller.repository.claim.StandardContentClaim;
@@ -31,6 +35,7 @@ public class ContentClaimFieldMap implements Record {
     private final ContentClaim contentClaim;
     private final long contentClaimOffset;
     private final ResourceClaimFieldMap resourceClaimFieldMap;
+    private final List<ContentClaimFieldMap> segmentFieldMaps;
     private final RecordSchema schema;
 
     public ContentClaimFieldMap(final ContentClaim contentClaim, final long contentClaimOffset, final RecordSchema schema) {
@@ -38,9 +43,24 @@ public class ContentClaimFieldMap implements Record {
         this.contentClaimOffset = contentClaimOffset;
         this.schema = schema;
 
-        final List<RecordField> resourceClaimFields = schema.getField(ContentClaimSchema.RESOURCE_CLAIM).getSubFields();
-        final RecordSchema resourceClaimSchema = new RecordSchema(resourceClaimFields);
-        this.resourceClaimFieldMap = new ResourceClaimFieldMap(contentClaim.getResourceClaim(), resourceClaimSchema);
+        if (contentClaim.getResourceClaim() == null) {
+            this.resourceClaimFieldMap = null;
+        } else {
+            final List<RecordField> resourceClaimFields = schema.getField(ContentClaimSchema.RESOURCE_CLAIM).getSubFields();
+            final RecordSchema resourceClaimSchema = new RecordSchema(resourceClaimFields);
+            this.resourceClaimFieldMap = new ResourceClaimFieldMap(contentClaim.getResourceClaim(), resourceClaimSchema);
+        }
+
+        if (contentClaim instanceof ConcatenatedContentClaim concatenatedClaim) {
+            final List<RecordField> segmentFields = schema.getField(ContentClaimSchema.CONCATENATED_SEGMENTS).getSubFields();
+            final RecordSchema segmentSchema = new RecordSchema(segmentFields);
+            this.segmentFieldMaps = new ArrayList<>(concatenatedClaim.getSegments().size());
+            for (final ContentClaim segment : concatenatedClaim.getSegments()) {
+                segmentFieldMaps.add(new ContentClaimFieldMap(segment, 0L, segmentSchema));
+            }
+        } else {
+            this.segmentFieldMaps = null;
+        }
     }
 
     @Override
@@ -50,6 +70,11 @@ public class ContentClaimFieldMap implements Record {
             case ContentClaimSchema.CONTENT_CLAIM_LENGTH -> contentClaim.getLength();
             case ContentClaimSchema.CONTENT_CLAIM_OFFSET -> contentClaimOffset;
             case ContentClaimSchema.RESOURCE_CLAIM_OFFSET -> contentClaim.getOffset();
+            case ContentClaimSchema.INLINE_CONTENT -> contentClaim instanceof InlineContentClaim inlineClaim ? inlineClaim.getContent() : null;
+            case ContentClaimSchema.CONCATENATED_SEGMENTS -> segmentFieldMaps;
+            case ContentClaimSchema.CONCATENATION_HEADER -> contentClaim instanceof ConcatenatedContentClaim concatenatedClaim ? concatenatedClaim.getHeader() : null;
+            case ContentClaimSchema.CONCATENATION_FOOTER -> contentClaim instanceof ConcatenatedContentClaim concatenatedClaim ? concatenatedClaim.getFooter() : null;
+            case ContentClaimSchema.CONCATENATION_DEMARCATOR -> contentClaim instanceof ConcatenatedContentClaim concatenatedClaim ? concatenatedClaim.getDemarcator() : null;
             default -> null;
         };
     }
@@ -61,7 +86,7 @@ public class ContentClaimFieldMap implements Record {
 
     @Override
     public int hashCode() {
-        return (int) (31 + contentClaimOffset + 21 * resourceClaimFieldMap.hashCode());
+        return (int) (31 + contentClaimOffset + 21 * Objects.hashCode(resourceClaimFieldMap));
     }
 
     @Override
@@ -89,7 +114,8 @@ public class ContentClaimFieldMap implements Record {
             return false;
         }
 
-        return true;
+        // Inline and Concatenated Content Claims have no Resource Claim, so they are compared by their content
+        return resourceClaimFieldMap != null || contentClaim.equals(other.contentClaim);
     }
 
     @Override
@@ -98,6 +124,26 @@ public class ContentClaimFieldMap implements Record {
     }
 
     public static ContentClaim getContentClaim(final Record claimRecord, final ResourceClaimManager resourceClaimManager) {
+        // Records written with an older schema have no Inline Content field, in which case the value is null
+        final byte[] inlineContent = (byte[]) claimRecord.getFieldValue(ContentClaimSchema.INLINE_CONTENT);
+        if (inlineContent != null) {
+            return new InlineContentClaim(inlineContent);
+        }
+
+        // Records written with an older schema have no Concatenated Segments field, in which case the value is null
+        final List<?> segmentRecords = (List<?>) claimRecord.getFieldValue(ContentClaimSchema.CONCATENATED_SEGMENTS);
+        if (segmentRecords != null && !segmentRecords.isEmpty()) {
+            final List<ContentClaim> segments = new ArrayList<>(segmentRecords.size());
+            for (final Object segmentRecord : segmentRecords) {
+                segments.add(getContentClaim((Record) segmentRecord, resourceClaimManager));
+            }
+
+            final byte[] header = (byte[]) claimRecord.getFieldValue(ContentClaimSchema.CONCATENATION_HEADER);
+            final byte[] footer = (byte[]) claimRecord.getFieldValue(ContentClaimSchema.CONCATENATION_FOOTER);
+            final byte[] demarcator = (byte[]) claimRecord.getFieldValue(ContentClaimSchema.CONCATENATION_DEMARCATOR);
+            return new ConcatenatedContentClaim(segments, header, footer, demarcator);
+        }
+
         final Record resourceClaimRecord = (Record) claimRecord.getFieldValue(ContentClaimSchema.RESOURCE_CLAIM);
         final String container = (String) resourceClaimRecord.getFieldValue(ContentClaimSchema.CLAIM_CONTAINER);
         final String section = (String) resourceClaimRecord.getFieldValue(ContentClaimSchema.CLAIM_SECTION);
@@ -41,9 +41,18 @@ public class ContentClaimSchema {
     public static final String RESOURCE_CLAIM_OFFSET = "Resource Claim Offset"; // offset into resource claim where the content claim begins
     public static final String CONTENT_CLAIM_OFFSET = "Content Claim Offset"; // offset into the content claim where the flowfile begins
     public static final String CONTENT_CLAIM_LENGTH = "Content Claim Length";
+    public static final String INLINE_CONTENT = "Inline Content"; // content that is held by the content claim rather than by a resource claim
+
+    // concatenated content claim fields
+    public static final String CONCATENATED_SEGMENTS = "Concatenated Segments"; // content claims whose content is concatenated
+    public static final String CONCATENATION_HEADER = "Concatenation Header";
+    public static final String CONCATENATION_FOOTER = "Concatenation Footer";
+    public static final String CONCATENATION_DEMARCATOR = "Concatenation Demarcator";
 
     public static final RecordSchema CONTENT_CLAIM_SCHEMA_V1;
     public static final RecordSchema RESOURCE_CLAIM_SCHEMA_V1;
+    public static final RecordSchema CONTENT_CLAIM_SCHEMA_V2;
+    public static final RecordSchema CONTENT_CLAIM_SCHEMA_V3;
 
     static {
         final List<RecordField> resourceClaimFields = new ArrayList<>();
@@ -60,4 +69,26 @@ public class ContentClaimSchema {
         contentClaimFields.add(new SimpleRecordField(CONTENT_CLAIM_LENGTH, FieldType.LONG, Repetition.EXACTLY_ONE));
         CONTENT_CLAIM_SCHEMA_V1 = new RecordSchema(Collections.unmodifiableList(contentClaimFields));
     }
+
+    static {
+        // An inline content claim has no resource claim; its content is held in the Inline Content field instead
+        final List<RecordField> contentClaimFields = new ArrayList<>();
+        contentClaimFields.add(new ComplexRecordField(RESOURCE_CLAIM, Repetition.ZERO_OR_ONE, RESOURCE_CLAIM_SCHEMA_V1.getFields()));
+        contentClaimFields.add(new SimpleRecordField(RESOURCE_CLAIM_OFFSET, FieldType.LONG, Repetition.EXACTLY_ONE));
+        contentClaimFields.add(new SimpleRecordField(CONTENT_CLAIM_OFFSET, FieldType.LONG, Repetition.EXACTLY_ONE));
+        contentClaimFields.add(new SimpleRecordField(CONTENT_CLAIM_LENGTH, FieldType.LONG, Repetition.EXACTLY_ONE));
+        contentClaimFields.add(new SimpleRecordField(INLINE_CONTENT, FieldType.BYTE_ARRAY, Repetition.ZERO_OR_ONE));
+        CONTENT_CLAIM_SCHEMA_V2 = new RecordSchema(Collections.unmodifiableList(contentClaimFields));
+    }
+
+    static {
+        // A concatenated content claim has no resource claim; its content is the concatenation of its segments, each of which is
+        // a content claim that references a resource claim or holds its content inline
+        final List<RecordField> contentClaimFields = new ArrayList<>(CONTENT_CLAIM_SCHEMA_V2.getFields());
+        contentClaimFields.add(new ComplexRecordField(CONCATENATED_SEGMENTS, Repetition.ZERO_OR_MORE, CONTENT_CLAIM_SCHEMA_V2.getFields()));
+        contentClaimFields.add(new SimpleRecordField(CONCATENATION_HEADER, FieldType.BYTE_ARRAY, Repetition.ZERO_OR_ONE));
+        contentClaimFields.add(new SimpleRecordField(CONCATENATION_FOOTER, FieldType.BYTE_ARRAY, Repetition.ZERO_OR_ONE));
+        contentClaimFields.add(new SimpleRecordField(CONCATENATION_DEMARCATOR, FieldType.BYTE_ARRAY, Repetition.ZERO_OR_ONE));
+        CONTENT_CLAIM_SCHEMA_V3 = new RecordSchema(Collections.unmodifiableList(contentClaimFields));
+    }
 }
@@ -1550,7 +1550,9 @@ public class StandardProcessorNode extends ProcessorNode implements Connectable
             final long activeMillis = now - timestamp;
             final ThreadInfo threadInfo = threadInfoMap.get(thread.threadId());
 
-            final String stackTrace = ThreadUtils.createStackTrace(threadInfo, threadDetails.getDeadlockedThreadIds(), threadDetails.getMonitorDeadlockThreadIds());
+            // Thread Details include only platform threads, so tasks that run on virtual threads are described by the thread itself
+            final String stackTrace = threadInfo == null ? ThreadUtils.createStackTrace(thread)
+                : ThreadUtils.createStackTrace(threadInfo, threadDetails.getDeadlockedThreadIds(), threadDetails.getMonitorDeadlockThreadIds());
 
             final ActiveThreadInfo activeThreadInfo = new ActiveThreadInfo(thread.getName(), stackTrace, activeMillis, activeTask.isTerminated());
             threadList.add(activeThreadInfo);
@@ -64,4 +64,11 @@ public interface RepositoryContext {
     ProvenanceEventBuilder createProvenanceEventBuilder();
 
     StateManager getStateManager();
+
+    /**
+     * @return a new builder for the FlowFile Records that are created or updated within this context
+     */
+    default StandardFlowFileRecord.Builder createFlowFileBuilder() {
+        return new StandardFlowFileRecord.Builder();
+    }
 }
@@ -29,7 +29,9 @@ import org.apache.nifi.controller.queue.PollStrategy;
 import org.apache.nifi.controller.queue.QueueSize;
 import org.apache.nifi.controller.repository.claim.ContentClaim;
 import org.apache.nifi.controller.repository.claim.ContentClaimWriteCache;
+import org.apache.nifi.controller.repository.claim.InlineContentClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaim;
+import org.apache.nifi.controller.repository.claim.StandardContentClaim;
 import org.apache.nifi.controller.repository.io.ContentClaimInputStream;
 import org.apache.nifi.controller.repository.io.DisableOnCloseInputStream;
 import org.apache.nifi.controller.repository.io.DisableOnCloseOutputStream;
@@ -81,6 +83,7 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
@@ -358,7 +361,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
 
                 // If there's a retry attribute present, remove it. The attribute should only live while the FlowFile is being processed by the current component
                 if (currRec.getAttribute(retryAttribute) != null) {
-                    currRec = new StandardFlowFileRecord.Builder().fromFlowFile(currRec).removeAttributes(retryAttribute).build();
+                    currRec = context.createFlowFileBuilder().fromFlowFile(currRec).removeAttributes(retryAttribute).build();
                     record.setWorking(currRec, retryAttribute, null, false);
                 }
 
@@ -369,7 +372,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
                 for (final Connection destination : destinations) { // iterate over remaining destinations and "clone" as needed
                     incrementConnectionInputCounts(destination, record);
 
-                    final StandardFlowFileRecord.Builder builder = new StandardFlowFileRecord.Builder().fromFlowFile(currRec);
+                    final StandardFlowFileRecord.Builder builder = context.createFlowFileBuilder().fromFlowFile(currRec);
                     builder.id(context.getNextFlowFileSequence());
 
                     final String newUuid = UUID.randomUUID().toString();
@@ -453,7 +456,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
 
         // Adjust for any state that has been updated for the Record that is no longer relevant.
         final String uuid = record.getCurrent().getAttribute(CoreAttributes.UUID.key());
-        final FlowFileRecord updatedFlowFile = new StandardFlowFileRecord.Builder()
+        final FlowFileRecord updatedFlowFile = context.createFlowFileBuilder()
             .fromFlowFile(record.getOriginal())
             .addAttribute(retryAttribute, String.valueOf(currentRetries + 1))
             .build();
@@ -1033,13 +1036,27 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         if (originalClaim == null) {
             builder.setCurrentContentClaim(null, null, null, null, 0L);
         } else {
-            final ResourceClaim resourceClaim = originalClaim.getResourceClaim();
-            builder.setCurrentContentClaim(
-                resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
-                repoRecord.getOriginal().getContentClaimOffset() + originalClaim.getOffset(), repoRecord.getOriginal().getSize());
-            builder.setPreviousContentClaim(
-                resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
-                repoRecord.getOriginal().getContentClaimOffset() + originalClaim.getOffset(), repoRecord.getOriginal().getSize());
+            setCurrentContentClaim(builder, originalClaim, repoRecord.getOriginal().getContentClaimOffset(), repoRecord.getOriginal().getSize());
+            setPreviousContentClaim(builder, originalClaim, repoRecord.getOriginal().getContentClaimOffset(), repoRecord.getOriginal().getSize());
+        }
+    }
+
+    // Inline and Concatenated Content Claims have no Resource Claim, so the event records the size of their content but has no content to view or replay
+    private static void setCurrentContentClaim(final ProvenanceEventBuilder builder, final ContentClaim claim, final long offset, final long size) {
+        final ResourceClaim resourceClaim = claim.getResourceClaim();
+        if (resourceClaim == null) {
+            builder.setCurrentContentClaim(null, null, null, null, size);
+        } else {
+            builder.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(), offset + claim.getOffset(), size);
+        }
+    }
+
+    private static void setPreviousContentClaim(final ProvenanceEventBuilder builder, final ContentClaim claim, final long offset, final long size) {
+        final ResourceClaim resourceClaim = claim.getResourceClaim();
+        if (resourceClaim == null) {
+            builder.setPreviousContentClaim(null, null, null, null, size);
+        } else {
+            builder.setPreviousContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(), offset + claim.getOffset(), size);
         }
     }
 
@@ -1058,8 +1075,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             final long currentOffset = repoRecord.getCurrentClaimOffset();
             final long size = flowFile.getSize();
 
-            final ResourceClaim resourceClaim = currentClaim.getResourceClaim();
-            recordBuilder.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(), currentOffset + currentClaim.getOffset(), size);
+            setCurrentContentClaim(recordBuilder, currentClaim, currentOffset, size);
         }
 
         if (repoRecord.getOriginal() != null && repoRecord.getOriginalClaim() != null) {
@@ -1067,8 +1083,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             final long originalOffset = repoRecord.getOriginal().getContentClaimOffset();
             final long originalSize = repoRecord.getOriginal().getSize();
 
-            final ResourceClaim resourceClaim = originalClaim.getResourceClaim();
-            recordBuilder.setPreviousContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(), originalOffset + originalClaim.getOffset(), originalSize);
+            setPreviousContentClaim(recordBuilder, originalClaim, originalOffset, originalSize);
         }
 
         final FlowFileQueue originalQueue = repoRecord.getOriginalQueue();
@@ -1096,8 +1111,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
                 final long currentOffset = repoRecord.getCurrentClaimOffset();
                 final long size = eventFlowFile.getSize();
 
-                final ResourceClaim resourceClaim = currentClaim.getResourceClaim();
-                recordBuilder.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(), currentOffset + currentClaim.getOffset(), size);
+                setCurrentContentClaim(recordBuilder, currentClaim, currentOffset, size);
             }
 
             if (updateAttributesAndContent && repoRecord.getOriginal() != null && repoRecord.getOriginalClaim() != null) {
@@ -1105,8 +1119,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
                 final long originalOffset = repoRecord.getOriginal().getContentClaimOffset();
                 final long originalSize = repoRecord.getOriginal().getSize();
 
-                final ResourceClaim resourceClaim = originalClaim.getResourceClaim();
-                recordBuilder.setPreviousContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(), originalOffset + originalClaim.getOffset(), originalSize);
+                setPreviousContentClaim(recordBuilder, originalClaim, originalOffset, originalSize);
             }
 
             final FlowFileQueue originalQueue = repoRecord.getOriginalQueue();
@@ -1315,7 +1328,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             if (originalQueue != null) {
                 if (penalize) {
                     final long expirationEpochMillis = System.currentTimeMillis() + context.getConnectable().getPenalizationPeriod(TimeUnit.MILLISECONDS);
-                    final FlowFileRecord newFile = new StandardFlowFileRecord.Builder().fromFlowFile(record.getOriginal()).penaltyExpirationTime(expirationEpochMillis).build();
+                    final FlowFileRecord newFile = context.createFlowFileBuilder().fromFlowFile(record.getOriginal()).penaltyExpirationTime(expirationEpochMillis).build();
                     originalQueue.put(newFile);
                 } else {
                     originalQueue.put(record.getOriginal());
@@ -2007,7 +2020,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         attrs.put(CoreAttributes.PATH.key(), DEFAULT_FLOWFILE_PATH);
         attrs.put(CoreAttributes.UUID.key(), uuid);
 
-        final FlowFileRecord fFile = new StandardFlowFileRecord.Builder().id(context.getNextFlowFileSequence())
+        final FlowFileRecord fFile = context.createFlowFileBuilder().id(context.getNextFlowFileSequence())
             .addAttributes(attrs)
             .build();
         final StandardRepositoryRecord record = new StandardRepositoryRecord((FlowFileQueue) null);
@@ -2032,7 +2045,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         newAttributes.put(CoreAttributes.PATH.key(), DEFAULT_FLOWFILE_PATH);
         newAttributes.put(CoreAttributes.UUID.key(), uuid);
 
-        final StandardFlowFileRecord.Builder fFileBuilder = new StandardFlowFileRecord.Builder().id(context.getNextFlowFileSequence());
+        final StandardFlowFileRecord.Builder fFileBuilder = context.createFlowFileBuilder().id(context.getNextFlowFileSequence());
 
         // copy all attributes from parent except for the "special" attributes. Copying the special attributes
         // can cause problems -- especially the ALTERNATE_IDENTIFIER, because copying can cause Provenance Events
@@ -2097,7 +2110,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         newAttributes.put(CoreAttributes.PATH.key(), DEFAULT_FLOWFILE_PATH);
         newAttributes.put(CoreAttributes.UUID.key(), uuid);
 
-        final FlowFileRecord fFile = new StandardFlowFileRecord.Builder().id(context.getNextFlowFileSequence())
+        final FlowFileRecord fFile = context.createFlowFileBuilder().id(context.getNextFlowFileSequence())
             .addAttributes(newAttributes)
             .lineageStart(lineageStartDate, lineageStartIndex)
             .build();
@@ -2137,7 +2150,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             throw new FlowFileHandlingException("Specified offset of " + offset + " and size " + size + " exceeds size of " + example);
         }
 
-        final StandardFlowFileRecord.Builder builder = new StandardFlowFileRecord.Builder().fromFlowFile(currRec);
+        final StandardFlowFileRecord.Builder builder = context.createFlowFileBuilder().fromFlowFile(currRec);
         builder.id(context.getNextFlowFileSequence());
         builder.contentClaimOffset(currRec.getContentClaimOffset() + offset);
         builder.size(size);
@@ -2207,7 +2220,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         final StandardRepositoryRecord record = getRecord(flowFile);
         final long penalizeMillis = TimeUnit.MILLISECONDS.convert(period, timeUnit);
         final long expirationEpochMillis = System.currentTimeMillis() + penalizeMillis;
-        final FlowFileRecord newFile = new StandardFlowFileRecord.Builder().fromFlowFile(record.getCurrent()).penaltyExpirationTime(expirationEpochMillis).build();
+        final FlowFileRecord newFile = context.createFlowFileBuilder().fromFlowFile(record.getCurrent()).penaltyExpirationTime(expirationEpochMillis).build();
         record.setWorking(newFile, false);
         return newFile;
     }
@@ -2222,7 +2235,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         }
 
         final StandardRepositoryRecord record = getRecord(flowFile);
-        final FlowFileRecord newFile = new StandardFlowFileRecord.Builder().fromFlowFile(record.getCurrent()).addAttribute(key, value).build();
+        final FlowFileRecord newFile = context.createFlowFileBuilder().fromFlowFile(record.getCurrent()).addAttribute(key, value).build();
         record.setWorking(newFile, key, value, false);
 
         return newFile;
@@ -2247,7 +2260,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             updatedAttributes = attributes;
         }
 
-        final StandardFlowFileRecord.Builder ffBuilder = new StandardFlowFileRecord.Builder().fromFlowFile(record.getCurrent()).addAttributes(updatedAttributes);
+        final StandardFlowFileRecord.Builder ffBuilder = context.createFlowFileBuilder().fromFlowFile(record.getCurrent()).addAttributes(updatedAttributes);
         final FlowFileRecord newFile = ffBuilder.build();
 
         record.setWorking(newFile, updatedAttributes, false);
@@ -2265,7 +2278,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         }
 
         final StandardRepositoryRecord record = getRecord(flowFile);
-        final FlowFileRecord newFile = new StandardFlowFileRecord.Builder().fromFlowFile(record.getCurrent()).removeAttributes(key).build();
+        final FlowFileRecord newFile = context.createFlowFileBuilder().fromFlowFile(record.getCurrent()).removeAttributes(key).build();
         record.setWorking(newFile, key, null, false);
         return newFile;
     }
@@ -2280,7 +2293,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         }
 
         final StandardRepositoryRecord record = getRecord(flowFile);
-        final FlowFileRecord newFile = new StandardFlowFileRecord.Builder().fromFlowFile(record.getCurrent()).removeAttributes(keys).build();
+        final FlowFileRecord newFile = context.createFlowFileBuilder().fromFlowFile(record.getCurrent()).removeAttributes(keys).build();
 
         final Map<String, String> updatedAttrs = new HashMap<>();
         for (final String key : keys) {
@@ -2305,7 +2318,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
 
         flowFile = validateRecordState(flowFile);
         final StandardRepositoryRecord record = getRecord(flowFile);
-        final FlowFileRecord newFile = new StandardFlowFileRecord.Builder().fromFlowFile(record.getCurrent()).removeAttributes(keyPattern).build();
+        final FlowFileRecord newFile = context.createFlowFileBuilder().fromFlowFile(record.getCurrent()).removeAttributes(keyPattern).build();
 
         if (keyPattern == null) {
             record.setWorking(newFile, false);
@@ -2330,7 +2343,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
     }
 
     private void updateLastQueuedDate(final StandardRepositoryRecord record, final Long lastQueueDate) {
-        final FlowFileRecord newFile = new StandardFlowFileRecord.Builder().fromFlowFile(record.getCurrent())
+        final FlowFileRecord newFile = context.createFlowFileBuilder().fromFlowFile(record.getCurrent())
                 .lastQueued(lastQueueDate, enqueuedIndex.getAndIncrement()).build();
         record.setWorking(newFile, false);
     }
@@ -2544,11 +2557,8 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
 
                         final ContentClaim claim = record.getContentClaim();
                         if (claim != null) {
-                            final ResourceClaim resourceClaim = claim.getResourceClaim();
-                            enriched.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
-                                    record.getContentClaimOffset() + claim.getOffset(), record.getSize());
-                            enriched.setPreviousContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
-                                    record.getContentClaimOffset() + claim.getOffset(), record.getSize());
+                            setCurrentContentClaim(enriched, claim, record.getContentClaimOffset(), record.getSize());
+                            setPreviousContentClaim(enriched, claim, record.getContentClaimOffset(), record.getSize());
                         }
 
                         enriched.setAttributes(record.getAttributes(), Collections.<String, String>emptyMap());
@@ -2579,11 +2589,17 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             return new ByteArrayInputStream(new byte[0]);
         }
 
+        // Inline content is held by the claim itself, so there is no need to go to the Content Repository at all.
+        if (claim instanceof InlineContentClaim inlineClaim) {
+            return new ByteArrayInputStream(inlineClaim.getContent(), (int) contentClaimOffset, (int) flowFile.getSize());
+        }
+
         try {
             // If the recursion set is empty, we can use the same input stream that we already have open. However, if
             // the recursion set is NOT empty, we can't do this because we may be reading the input of FlowFile 1 while in the
             // callback for reading FlowFile 1 and if we used the same stream we'd be destroying the ability to read from FlowFile 1.
-            if (allowCachingOfStream && readRecursionSet.isEmpty() && !writeRecursionSet.contains(flowFile) && context.getContentRepository().isResourceClaimStreamSupported()) {
+            if (allowCachingOfStream && readRecursionSet.isEmpty() && !writeRecursionSet.contains(flowFile) && claim.getResourceClaim() != null
+                    && context.getContentRepository().isResourceClaimStreamSupported()) {
                 if (currentReadClaim == claim.getResourceClaim()) {
                     final long resourceClaimOffset = claim.getOffset() + contentClaimOffset;
                     if (currentReadClaimStream != null && currentReadClaimStream.getBytesConsumed() <= resourceClaimOffset) {
@@ -2866,6 +2882,22 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
 
         final StandardRepositoryRecord destinationRecord = getRecord(destination);
         final ContentRepository contentRepo = context.getContentRepository();
+
+        // If the Content Repository is able to reference the content of the sources, there is no need to copy it
+        final ContentClaim concatenatedClaim = concatenate(sourceRecords, header, footer, demarcator);
+        if (concatenatedClaim != null) {
+            claimLog.debug("Creating ContentClaim {} for 'merge' for {}", concatenatedClaim, destinationRecord.getCurrent());
+            removeTemporaryClaim(destinationRecord);
+            final FlowFileRecord newFile = context.createFlowFileBuilder()
+                .fromFlowFile(destinationRecord.getCurrent())
+                .contentClaim(concatenatedClaim)
+                .contentClaimOffset(0L)
+                .size(concatenatedClaim.getLength())
+                .build();
+            destinationRecord.setWorking(newFile, true);
+            return newFile;
+        }
+
         final ContentClaim newClaim;
         try {
             newClaim = contentRepo.create(context.getConnectable().isLossTolerant());
@@ -2924,7 +2956,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         }
 
         removeTemporaryClaim(destinationRecord);
-        final FlowFileRecord newFile = new StandardFlowFileRecord.Builder()
+        final FlowFileRecord newFile = context.createFlowFileBuilder()
             .fromFlowFile(destinationRecord.getCurrent())
             .contentClaim(newClaim)
             .contentClaimOffset(0L)
@@ -2954,19 +2986,17 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         source = validateRecordState(source);
         final StandardRepositoryRecord record = getRecord(source);
 
-        ContentClaim newClaim = null;
+        InlineContentOutputStream claimOut = null;
         try {
-            newClaim = claimCache.getContentClaim();
-            claimLog.debug("Creating ContentClaim {} for 'write' for {}", newClaim, source);
-            ensureNotAppending(newClaim);
+            claimOut = new InlineContentOutputStream(source);
 
-            final OutputStream rawStream = claimCache.write(newClaim);
+            final OutputStream rawStream = claimOut;
             final OutputStream nonFlushable = new NonFlushableOutputStream(rawStream);
             final OutputStream disableOnClose = new DisableOnCloseOutputStream(nonFlushable);
             final ByteCountingOutputStream countingOut = new ByteCountingOutputStream(disableOnClose);
 
             final FlowFile sourceFlowFile = source;
-            final ContentClaim updatedClaim = newClaim;
+            final InlineContentOutputStream updatedClaimOut = claimOut;
             final OutputStream errorHandlingOutputStream = new OutputStream() {
                 private boolean closed = false;
 
@@ -3041,26 +3071,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
                     flush();
                     removeTemporaryClaim(record);
 
-                    final FlowFileRecord newFile;
-                    if (bytesWritten == 0) {
-                        newFile = new StandardFlowFileRecord.Builder()
-                            .fromFlowFile(record.getCurrent())
-                            .contentClaim(null)
-                            .contentClaimOffset(0)
-                            .size(bytesWritten)
-                            .build();
-
-                        context.getContentRepository().decrementClaimantCount(updatedClaim);
-                        record.addTransientClaim(updatedClaim);
-                    } else {
-                        newFile = new StandardFlowFileRecord.Builder()
-                            .fromFlowFile(record.getCurrent())
-                            .contentClaim(updatedClaim)
-                            .contentClaimOffset(Math.max(0, updatedClaim.getLength() - bytesWritten))
-                            .size(bytesWritten)
-                            .build();
-                    }
-
+                    final FlowFileRecord newFile = createWrittenFlowFile(record, updatedClaimOut, bytesWritten);
                     record.setWorking(newFile, true);
                 }
             };
@@ -3070,16 +3081,16 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             return createTaskTerminationStream(errorHandlingOutputStream);
         } catch (final ContentNotFoundException nfe) {
             resetWriteClaims(); // need to reset write claim before we can remove the claim
-            destroyContent(newClaim, record);
+            destroyContent(getContentClaim(claimOut), record);
             handleContentNotFound(nfe, record);
             throw nfe;
         } catch (final IOException ioe) {
             resetWriteClaims(); // need to reset write claim before we can remove the claim
-            destroyContent(newClaim, record);
+            destroyContent(getContentClaim(claimOut), record);
             throw new ProcessException("IOException thrown from " + connectableDescription + ": " + ioe.toString(), ioe);
         } catch (final Throwable t) {
             resetWriteClaims(); // need to reset write claim before we can remove the claim
-            destroyContent(newClaim, record);
+            destroyContent(getContentClaim(claimOut), record);
             throw t;
         }
     }
@@ -3091,13 +3102,10 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         final StandardRepositoryRecord record = getRecord(source);
 
         long writtenToFlowFile = 0L;
-        ContentClaim newClaim = null;
+        InlineContentOutputStream claimOut = null;
         try {
-            newClaim = claimCache.getContentClaim();
-            claimLog.debug("Creating ContentClaim {} for 'write' for {}", newClaim, source);
-
-            ensureNotAppending(newClaim);
-            try (final OutputStream stream = claimCache.write(newClaim);
+            claimOut = new InlineContentOutputStream(source);
+            try (final OutputStream stream = claimOut;
                 final NonFlushableOutputStream nonFlushableOutputStream = new NonFlushableOutputStream(stream);
                 final OutputStream disableOnClose = new DisableOnCloseOutputStream(nonFlushableOutputStream);
                 final ByteCountingOutputStream countingOut = new ByteCountingOutputStream(disableOnClose)) {
@@ -3114,41 +3122,89 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             }
         } catch (final ContentNotFoundException nfe) {
             resetWriteClaims(); // need to reset write claim before we can remove the claim
-            destroyContent(newClaim, record);
+            destroyContent(getContentClaim(claimOut), record);
             handleContentNotFound(nfe, record);
         } catch (final IOException ioe) {
             resetWriteClaims(); // need to reset write claim before we can remove the claim
-            destroyContent(newClaim, record);
+            destroyContent(getContentClaim(claimOut), record);
             throw new ProcessException("IOException thrown from " + connectableDescription + ": " + ioe.toString(), ioe);
         } catch (final Throwable t) {
             resetWriteClaims(); // need to reset write claim before we can remove the claim
-            destroyContent(newClaim, record);
+            destroyContent(getContentClaim(claimOut), record);
             throw t;
         }
 
         removeTemporaryClaim(record);
-        final FlowFileRecord newFile;
-        if (writtenToFlowFile == 0) {
-            newFile = new StandardFlowFileRecord.Builder()
+        final FlowFileRecord newFile = createWrittenFlowFile(record, claimOut, writtenToFlowFile);
+        record.setWorking(newFile, true);
+        return newFile;
+    }
+
+    /**
+     * Creates the FlowFile that results from writing the given number of bytes to the given stream. If nothing was written, the FlowFile
+     * has no content, and if the content was small enough to be held inline, the FlowFile holds it in an Inline Content Claim. In either case,
+     * a Content Claim that was obtained but is not referenced by the FlowFile is marked as transient so that it can be cleaned up.
+     */
+    private FlowFileRecord createWrittenFlowFile(final StandardRepositoryRecord record, final InlineContentOutputStream claimOut, final long bytesWritten) {
+        final ContentClaim newClaim = claimOut.getContentClaim();
+        if (bytesWritten == 0 || newClaim == null) {
+            final byte[] inlineContent = bytesWritten == 0 ? null : claimOut.getInlineContent();
+            if (newClaim != null) {
+                context.getContentRepository().decrementClaimantCount(newClaim);
+                record.addTransientClaim(newClaim);
+            }
+
+            return context.createFlowFileBuilder()
                 .fromFlowFile(record.getCurrent())
-                .contentClaim(null)
+                .contentClaim(inlineContent == null ? null : new InlineContentClaim(inlineContent))
                 .contentClaimOffset(0)
-                .size(0)
+                .size(bytesWritten)
                 .build();
+        }
 
-            context.getContentRepository().decrementClaimantCount(newClaim);
-            record.addTransientClaim(newClaim);
-        } else {
-            newFile = new StandardFlowFileRecord.Builder()
-                .fromFlowFile(record.getCurrent())
-                .contentClaim(newClaim)
-                .contentClaimOffset(Math.max(0, newClaim.getLength() - writtenToFlowFile))
-                .size(writtenToFlowFile)
-                .build();
+        return context.createFlowFileBuilder()
+            .fromFlowFile(record.getCurrent())
+            .contentClaim(newClaim)
+            .contentClaimOffset(Math.max(0, newClaim.getLength() - bytesWritten))
+            .size(bytesWritten)
+            .build();
+    }
+
+    /**
+     * Asks the Content Repository for a claim that references the content of the given records rather than copying it.
+     *
+     * @return the concatenated claim, or <code>null</code> if the content must be copied
+     */
+    private ContentClaim concatenate(final Collection<StandardRepositoryRecord> sourceRecords, final byte[] header, final byte[] footer, final byte[] demarcator) {
+        if (sourceRecords.isEmpty()) {
+            return null;
         }
 
-        record.setWorking(newFile, true);
-        return newFile;
+        final List<ContentClaim> segments = new ArrayList<>(sourceRecords.size());
+        for (final StandardRepositoryRecord sourceRecord : sourceRecords) {
+            final ContentClaim claim = sourceRecord.getCurrentClaim();
+            final long offset = sourceRecord.getCurrentClaimOffset();
+            final long size = sourceRecord.getCurrent().getSize();
+
+            // Each segment identifies exactly the content of the source, which may be only a part of the source's claim
+            if (claim == null || size == 0) {
+                segments.add(new InlineContentClaim(new byte[0]));
+            } else if (claim instanceof InlineContentClaim inlineClaim) {
+                segments.add(new InlineContentClaim(Arrays.copyOfRange(inlineClaim.getContent(), (int) offset, (int) (offset + size))));
+            } else if (claim.getResourceClaim() != null) {
+                final StandardContentClaim segment = new StandardContentClaim(claim.getResourceClaim(), claim.getOffset() + offset);
+                segment.setLength(size);
+                segments.add(segment);
+            } else {
+                return null;
+            }
+        }
+
+        return context.getContentRepository().concatenate(segments, header, footer, demarcator);
+    }
+
+    private static ContentClaim getContentClaim(final InlineContentOutputStream claimOut) {
+        return claimOut == null ? null : claimOut.getContentClaim();
     }
 
 
@@ -3270,7 +3326,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
 
         final FlowFileRecord newFile;
         if (newSize == 0) {
-            newFile = new StandardFlowFileRecord.Builder()
+            newFile = context.createFlowFileBuilder()
                 .fromFlowFile(record.getCurrent())
                 .contentClaim(null)
                 .contentClaimOffset(0)
@@ -3280,7 +3336,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             context.getContentRepository().decrementClaimantCount(newClaim);
             record.addTransientClaim(newClaim);
         } else {
-            newFile = new StandardFlowFileRecord.Builder()
+            newFile = context.createFlowFileBuilder()
                 .fromFlowFile(record.getCurrent())
                 .contentClaim(newClaim)
                 .contentClaimOffset(0)
@@ -3375,22 +3431,19 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         final ContentClaim currClaim = record.getCurrentClaim();
 
         long writtenToFlowFile = 0L;
-        ContentClaim newClaim = null;
+        InlineContentOutputStream claimOut = null;
         try {
-            newClaim = claimCache.getContentClaim();
-            claimLog.debug("Creating ContentClaim {} for 'write' for {}", newClaim, source);
-
-            ensureNotAppending(newClaim);
-
             if (currClaim != null) {
                 claimCache.flush(currClaim.getResourceClaim());
             }
 
+            claimOut = new InlineContentOutputStream(source);
+
             try (final InputStream is = getInputStream(source, currClaim, record.getCurrentClaimOffset(), true);
                 final InputStream limitedIn = new LimitedInputStream(is, source.getSize());
                 final InputStream disableOnCloseIn = new DisableOnCloseInputStream(limitedIn);
                 final ByteCountingInputStream countingIn = new ByteCountingInputStream(disableOnCloseIn, bytesRead);
-                final OutputStream os = claimCache.write(newClaim);
+                final OutputStream os = claimOut;
                 final OutputStream nonFlushableOut = new NonFlushableOutputStream(os);
                 final OutputStream disableOnCloseOut = new DisableOnCloseOutputStream(nonFlushableOut);
                 final ByteCountingOutputStream countingOut = new ByteCountingOutputStream(disableOnCloseOut)) {
@@ -3424,38 +3477,18 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
                 }
             }
         } catch (final ContentNotFoundException nfe) {
-            destroyContent(newClaim, record);
+            destroyContent(getContentClaim(claimOut), record);
             handleContentNotFound(nfe, record);
         } catch (final IOException ioe) {
-            destroyContent(newClaim, record);
+            destroyContent(getContentClaim(claimOut), record);
             throw new ProcessException("IOException thrown from " + connectableDescription + ": " + ioe.toString(), ioe);
         } catch (final Throwable t) {
-            destroyContent(newClaim, record);
+            destroyContent(getContentClaim(claimOut), record);
             throw t;
         }
 
         removeTemporaryClaim(record);
-        final FlowFileRecord newFile;
-
-        if (writtenToFlowFile == 0) {
-            newFile = new StandardFlowFileRecord.Builder()
-                .fromFlowFile(record.getCurrent())
-                .contentClaim(null)
-                .contentClaimOffset(0)
-                .size(0)
-                .build();
-
-            context.getContentRepository().decrementClaimantCount(newClaim);
-            record.addTransientClaim(newClaim);
-        } else {
-            newFile = new StandardFlowFileRecord.Builder()
-                .fromFlowFile(record.getCurrent())
-                .contentClaim(newClaim)
-                .contentClaimOffset(Math.max(0L, newClaim.getLength() - writtenToFlowFile))
-                .size(writtenToFlowFile)
-                .build();
-        }
-
+        final FlowFileRecord newFile = createWrittenFlowFile(record, claimOut, writtenToFlowFile);
         record.setWorking(newFile, true);
 
         return newFile;
@@ -3499,7 +3532,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
 
         final FlowFileRecord newFile;
         if (newSize == 0) {
-            newFile = new StandardFlowFileRecord.Builder()
+            newFile = context.createFlowFileBuilder()
                 .fromFlowFile(record.getCurrent())
                 .contentClaim(null)
                 .contentClaimOffset(0)
@@ -3510,7 +3543,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             context.getContentRepository().decrementClaimantCount(newClaim);
             record.addTransientClaim(newClaim);
         } else {
-            newFile = new StandardFlowFileRecord.Builder()
+            newFile = context.createFlowFileBuilder()
                 .fromFlowFile(record.getCurrent())
                 .contentClaim(newClaim)
                 .contentClaimOffset(claimOffset)
@@ -3559,7 +3592,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
         removeTemporaryClaim(record);
         final FlowFileRecord newFile;
         if (newSize == 0) {
-            newFile = new StandardFlowFileRecord.Builder()
+            newFile = context.createFlowFileBuilder()
                 .fromFlowFile(record.getCurrent())
                 .contentClaim(null)
                 .contentClaimOffset(0)
@@ -3569,7 +3602,7 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             context.getContentRepository().decrementClaimantCount(newClaim);
             record.addTransientClaim(newClaim);
         } else {
-            newFile = new StandardFlowFileRecord.Builder()
+            newFile = context.createFlowFileBuilder()
                 .fromFlowFile(record.getCurrent())
                 .contentClaim(newClaim)
                 .contentClaimOffset(claimOffset)
@@ -4120,4 +4153,109 @@ public class StandardProcessSession implements ProcessSession, ProvenanceEventEn
             linkedIds.clear();
         }
     }
+
+    /**
+     * The stream to which the content of a FlowFile is written. While the content is no larger than the maximum inline content size
+     * of the Content Repository, it is buffered so that it can be held inline in the FlowFile. The Content Claim is only obtained,
+     * and the buffered content written to it, once the content grows beyond that size. If inline content is disabled, the Content
+     * Claim is obtained when the stream is created. Closing this stream closes the stream of the Content Claim, if one was obtained.
+     */
+    private final class InlineContentOutputStream extends OutputStream {
+        private static final int INITIAL_BUFFER_SIZE = 256;
+
+        private final FlowFile flowFile;
+        private final int maxInlineContentSize;
+        private byte[] buffer;
+        private int count;
+        private ContentClaim contentClaim;
+        private OutputStream claimStream;
+
+        InlineContentOutputStream(final FlowFile flowFile) throws IOException {
+            this.flowFile = flowFile;
+            this.maxInlineContentSize = context.getContentRepository().getMaxInlineContentSize();
+
+            if (maxInlineContentSize > 0) {
+                buffer = new byte[Math.min(maxInlineContentSize, INITIAL_BUFFER_SIZE)];
+            } else {
+                openClaimStream();
+            }
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (claimStream == null && count == maxInlineContentSize) {
+                openClaimStream();
+            }
+
+            if (claimStream != null) {
+                claimStream.write(b);
+                return;
+            }
+
+            ensureCapacity(count + 1);
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (claimStream == null && len > maxInlineContentSize - count) {
+                openClaimStream();
+            }
+
+            if (claimStream != null) {
+                claimStream.write(b, off, len);
+                return;
+            }
+
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (claimStream != null) {
+                claimStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (claimStream != null) {
+                claimStream.close();
+            }
+        }
+
+        /**
+         * @return the Content Claim that the content was written to, or <code>null</code> if the content is held inline
+         */
+        ContentClaim getContentClaim() {
+            return contentClaim;
+        }
+
+        /**
+         * @return the content that was written, or <code>null</code> if the content was written to a Content Claim
+         */
+        byte[] getInlineContent() {
+            return claimStream == null ? Arrays.copyOf(buffer, count) : null;
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(maxInlineContentSize, Math.max(capacity, buffer.length * 2)));
+            }
+        }
+
+        private void openClaimStream() throws IOException {
+            contentClaim = claimCache.getContentClaim();
+            claimLog.debug("Creating ContentClaim {} for 'write' for {}", contentClaim, flowFile);
+            ensureNotAppending(contentClaim);
+
+            claimStream = claimCache.write(contentClaim);
+            if (count > 0) {
+                claimStream.write(buffer, 0, count);
+            }
+            buffer = null;
+        }
+    }
 }
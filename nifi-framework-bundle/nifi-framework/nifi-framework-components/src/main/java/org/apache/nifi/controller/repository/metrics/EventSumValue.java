@@ -90,7 +90,7 @@ public class EventSumValue {
                 if (counters == null) {
                     counters = new HashMap<>();
                 }
-                counters.compute(counterName, (key, value) -> value == null ? counterValue : value + counterValue);
+                counters.merge(counterName, counterValue, Long::sum);
             }
         }
     }
@@ -131,6 +131,8 @@ public class EventSumValue {
         }
 
         synchronized (other) {
+            empty = false;
+
             this.aggregateLineageMillis += other.aggregateLineageMillis;
             this.bytesRead += other.bytesRead;
             this.bytesReceived += other.bytesReceived;
@@ -162,7 +164,7 @@ public class EventSumValue {
                     final String counterName = entry.getKey();
                     final Long counterValue = entry.getValue();
 
-                    counters.compute(counterName, (key, value) -> value == null ? counterValue : value + counterValue);
+                    counters.merge(counterName, counterValue, Long::sum);
                 }
             }
         }
@@ -174,6 +176,9 @@ public class EventSumValue {
         }
 
         synchronized (other) {
+            // A sum that only had values subtracted is not empty, as it offsets values that were added to another sum
+            empty = false;
+
             this.aggregateLineageMillis -= other.aggregateLineageMillis;
             this.bytesRead -= other.bytesRead;
             this.bytesReceived -= other.bytesReceived;
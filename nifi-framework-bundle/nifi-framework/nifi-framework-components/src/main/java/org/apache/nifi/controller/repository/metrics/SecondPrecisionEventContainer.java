@@ -28,7 +28,7 @@ public class SecondPrecisionEventContainer implements EventContainer {
 
     private final int numBins;
     private final EventSum[] sums;
-    private final EventSumValue aggregateValue = new EventSumValue(0L);
+    private final StripedEventSumValue aggregateValue = new StripedEventSumValue(0L);
     private final AtomicLong lastUpdateSecond = new AtomicLong(System.currentTimeMillis() / 1000L);
 
     public SecondPrecisionEventContainer(final int numMinutes) {
@@ -57,9 +57,8 @@ public class SecondPrecisionEventContainer implements EventContainer {
 
         aggregateValue.add(event);
 
-        if (replaced == null) {
-            logger.debug("Updated bin {}. Did NOT replace.", binIdx);
-        } else {
+        // Only replacing a bin is logged, as boxing the index of the bin on every update would allocate
+        if (replaced != null) {
             logger.debug("Replaced bin {}", binIdx);
             aggregateValue.subtract(replaced);
         }
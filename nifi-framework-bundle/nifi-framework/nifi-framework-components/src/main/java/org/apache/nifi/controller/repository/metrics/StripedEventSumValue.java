@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.controller.repository.metrics;
+
+import org.apache.nifi.controller.repository.FlowFileEvent;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ * A sum of FlowFile Events that spreads concurrent updates across a number of stripes, in the same way that a
+ * {@link java.util.concurrent.atomic.LongAdder LongAdder} spreads updates across cells. Each thread adds events to the stripe that its
+ * thread identifier maps to, so threads that update the same component at the same time rarely contend for the same lock. The stripes
+ * are only combined when the sum is read.
+ * </p>
+ *
+ * <p>
+ * A stripe is created the first time that a thread which maps to it adds an event, so a sum that is only updated by a few threads holds
+ * only a few stripes. The number of stripes is the smallest power of two that is at least twice the number of available processors,
+ * limited to {@value #MAX_STRIPES}.
+ * </p>
+ *
+ * <p>
+ * As each stripe holds a full {@link EventSumValue}, only long-lived sums are striped, such as the rolling sum of a component. The sums of
+ * the individual seconds within that window remain single {@link EventSumValue} instances.
+ * </p>
+ */
+public class StripedEventSumValue {
+    static final int MAX_STRIPES = 64;
+    private static final int STRIPE_COUNT = getStripeCount(Runtime.getRuntime().availableProcessors());
+
+    private final long millisecondTimestamp;
+    private final AtomicReferenceArray<EventSumValue> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+
+    public StripedEventSumValue(final long timestamp) {
+        this.millisecondTimestamp = timestamp;
+    }
+
+    static int getStripeCount(final int availableProcessors) {
+        final int minimumStripes = Math.max(1, availableProcessors) * 2;
+        return Math.min(MAX_STRIPES, Integer.highestOneBit(minimumStripes - 1) << 1);
+    }
+
+    public void add(final FlowFileEvent flowFileEvent) {
+        getStripe().add(flowFileEvent);
+    }
+
+    public void subtract(final EventSumValue other) {
+        getStripe().subtract(other);
+    }
+
+    public FlowFileEvent toFlowFileEvent() {
+        final EventSumValue sum = new EventSumValue(millisecondTimestamp);
+        for (int i = 0; i < stripes.length(); i++) {
+            final EventSumValue stripe = stripes.get(i);
+            if (stripe != null) {
+                sum.add(stripe);
+            }
+        }
+
+        return sum.toFlowFileEvent();
+    }
+
+    public long getTimestamp() {
+        return millisecondTimestamp;
+    }
+
+    private EventSumValue getStripe() {
+        final int index = (int) (Thread.currentThread().threadId() & (stripes.length() - 1));
+        final EventSumValue stripe = stripes.get(index);
+        if (stripe != null) {
+            return stripe;
+        }
+
+        final EventSumValue created = new EventSumValue(millisecondTimestamp);
+        final EventSumValue existing = stripes.compareAndExchange(index, null, created);
+        return existing == null ? created : existing;
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.nifi.attribute.expression.language.PreparedQuery;
 import org.apache.nifi.attribute.expression.language.Query;
 import org.apache.nifi.attribute.expression.language.Query.Range;
 import org.apache.nifi.attribute.expression.language.StandardPropertyValue;
+import org.apache.nifi.attribute.expression.language.compile.EvaluationMode;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.PropertyValue;
 import org.apache.nifi.components.resource.ResourceContext;
@@ -60,6 +61,7 @@ public class StandardProcessContext implements ProcessContext, ControllerService
     private final NodeTypeProvider nodeTypeProvider;
     private final Map<PropertyDescriptor, String> properties;
     private final String annotationData;
+    private final EvaluationMode evaluationMode;
 
     public StandardProcessContext(
             final ProcessorNode processorNode,
@@ -68,6 +70,20 @@ public class StandardProcessContext implements ProcessContext, ControllerService
             final TaskTermination taskTermination,
             final NodeTypeProvider nodeTypeProvider
     ) {
+        this(processorNode, controllerServiceProvider, stateManager, taskTermination, nodeTypeProvider, EvaluationMode.INTERPRETED);
+    }
+
+    /**
+     * @param evaluationMode the manner in which the Expression Language in the Processor's property values is evaluated
+     */
+    public StandardProcessContext(
+            final ProcessorNode processorNode,
+            final ControllerServiceProvider controllerServiceProvider,
+            final StateManager stateManager,
+            final TaskTermination taskTermination,
+            final NodeTypeProvider nodeTypeProvider,
+            final EvaluationMode evaluationMode
+    ) {
 
         this(
                 processorNode,
@@ -76,7 +92,8 @@ public class StandardProcessContext implements ProcessContext, ControllerService
                 taskTermination,
                 nodeTypeProvider,
                 processorNode.getEffectivePropertyValues(),
-                processorNode.getAnnotationData()
+                processorNode.getAnnotationData(),
+                evaluationMode
         );
     }
 
@@ -109,6 +126,19 @@ public class StandardProcessContext implements ProcessContext, ControllerService
             final NodeTypeProvider nodeTypeProvider,
             final Map<PropertyDescriptor, String> propertyValues,
             final String annotationData
+    ) {
+        this(processorNode, controllerServiceProvider, stateManager, taskTermination, nodeTypeProvider, propertyValues, annotationData, EvaluationMode.INTERPRETED);
+    }
+
+    private StandardProcessContext(
+            final ProcessorNode processorNode,
+            final ControllerServiceProvider controllerServiceProvider,
+            final StateManager stateManager,
+            final TaskTermination taskTermination,
+            final NodeTypeProvider nodeTypeProvider,
+            final Map<PropertyDescriptor, String> propertyValues,
+            final String annotationData,
+            final EvaluationMode evaluationMode
     ) {
         this.procNode = processorNode;
         this.controllerServiceProvider = controllerServiceProvider;
@@ -116,6 +146,7 @@ public class StandardProcessContext implements ProcessContext, ControllerService
         this.taskTermination = taskTermination;
         this.nodeTypeProvider = nodeTypeProvider;
         this.annotationData = annotationData;
+        this.evaluationMode = evaluationMode;
 
         properties = Collections.unmodifiableMap(propertyValues);
 
@@ -128,7 +159,7 @@ public class StandardProcessContext implements ProcessContext, ControllerService
             }
 
             if (value != null) {
-                final PreparedQuery pq = Query.prepareWithParametersPreEvaluated(value);
+                final PreparedQuery pq = Query.prepareWithParametersPreEvaluated(value, evaluationMode);
                 preparedQueries.put(desc, pq);
             }
         }
@@ -202,7 +233,7 @@ public class StandardProcessContext implements ProcessContext, ControllerService
     public PropertyValue newPropertyValue(final String rawValue) {
         verifyTaskActive();
         final ResourceContext resourceContext = new StandardResourceContext(new StandardResourceReferenceFactory(), null);
-        return new StandardPropertyValue(resourceContext, rawValue, this, procNode.getParameterLookup(), Query.prepareWithParametersPreEvaluated(rawValue));
+        return new StandardPropertyValue(resourceContext, rawValue, this, procNode.getParameterLookup(), Query.prepareWithParametersPreEvaluated(rawValue, evaluationMode));
     }
 
     @Override
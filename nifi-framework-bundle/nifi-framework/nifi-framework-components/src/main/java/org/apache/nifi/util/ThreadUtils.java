@@ -88,4 +88,28 @@ public class ThreadUtils {
         sb.append("\n");
         return sb.toString();
     }
+
+    /**
+     * Creates a stack trace for a thread that is not described by the Thread Information of the Thread MXBean, which describes only
+     * platform threads. Virtual threads are described using the stack trace and state of the thread itself, without lock details.
+     *
+     * @param thread the thread to describe
+     * @return the stack trace of the thread
+     */
+    public static String createStackTrace(final Thread thread) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("\"").append(thread.getName()).append("\" Id=");
+        sb.append(thread.threadId()).append(" ");
+        sb.append(thread.getState().toString());
+        if (thread.isVirtual()) {
+            sb.append(" (virtual)");
+        }
+
+        for (final StackTraceElement element : thread.getStackTrace()) {
+            sb.append("\n\tat ").append(element);
+        }
+
+        sb.append("\n");
+        return sb.toString();
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository.metrics;
+
+import org.apache.nifi.controller.repository.FlowFileEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TestStripedEventSumValue {
+
+    @Test
+    public void testStripeCount() {
+        assertEquals(2, StripedEventSumValue.getStripeCount(1));
+        assertEquals(8, StripedEventSumValue.getStripeCount(3));
+        assertEquals(8, StripedEventSumValue.getStripeCount(4));
+        assertEquals(StripedEventSumValue.MAX_STRIPES, StripedEventSumValue.getStripeCount(256));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertSame(EmptyFlowFileEvent.INSTANCE, new StripedEventSumValue(0L).toFlowFileEvent());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws InterruptedException {
+        final StripedEventSumValue sum = new StripedEventSumValue(0L);
+        final StandardFlowFileEvent event = new StandardFlowFileEvent();
+        event.setBytesRead(10L);
+        event.setFlowFilesIn(1);
+        event.setCounters(Map.of("records", 2L));
+
+        final int threadCount = 16;
+        final int eventsPerThread = 1000;
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < eventsPerThread; j++) {
+                    sum.add(event);
+                }
+            }));
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        final FlowFileEvent result = sum.toFlowFileEvent();
+        assertEquals(10L * threadCount * eventsPerThread, result.getBytesRead());
+        assertEquals(threadCount * eventsPerThread, result.getFlowFilesIn());
+        assertEquals(2L * threadCount * eventsPerThread, result.getCounters().get("records"));
+    }
+
+    @Test
+    public void testSubtractFromOtherThread() throws InterruptedException {
+        final StandardFlowFileEvent event = new StandardFlowFileEvent();
+        event.setBytesWritten(100L);
+
+        final StripedEventSumValue sum = new StripedEventSumValue(0L);
+        final EventSumValue expired = new EventSumValue(0L);
+        sum.add(event);
+        sum.add(event);
+        expired.add(event);
+
+        // The subtracting thread may map to a stripe that no event was added to
+        final Thread thread = Thread.ofPlatform().start(() -> sum.subtract(expired));
+        thread.join();
+
+        assertEquals(100L, sum.toFlowFileEvent().getBytesWritten());
+    }
+}
@@ -24,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.lang.management.LockInfo;
 import java.lang.management.MonitorInfo;
 import java.lang.management.ThreadInfo;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -70,6 +71,29 @@ public class ThreadUtilsTest {
         assertThreadInfoFound(stackTrace, threadState);
     }
 
+    @Test
+    public void testCreateStackTraceVirtualThread() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread thread = Thread.ofVirtual().name(THREAD_NAME).start(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException ignored) {
+            }
+        });
+
+        try {
+            started.await();
+            final String stackTrace = ThreadUtils.createStackTrace(thread);
+            assertTrue(stackTrace.contains(THREAD_NAME), "Thread Name not found");
+            assertTrue(stackTrace.contains("(virtual)"), "Virtual Thread not indicated");
+        } finally {
+            release.countDown();
+            thread.join();
+        }
+    }
+
     private void setThreadInfo(final Thread.State threadState, final StackTraceElement lockedStackFrame) {
         when(threadInfo.getThreadName()).thenReturn(THREAD_NAME);
 
@@ -27,6 +27,7 @@ import org.apache.nifi.asset.AssetReferenceLookup;
 import org.apache.nifi.asset.StandardAssetManager;
 import org.apache.nifi.asset.StandardAssetManagerInitializationContext;
 import org.apache.nifi.asset.StandardAssetReferenceLookup;
+import org.apache.nifi.attribute.expression.language.compile.EvaluationMode;
 import org.apache.nifi.authorization.Authorizer;
 import org.apache.nifi.authorization.Resource;
 import org.apache.nifi.authorization.resource.Authorizable;
@@ -88,6 +89,7 @@ import org.apache.nifi.controller.queue.clustered.server.LoadBalanceAuthorizer;
 import org.apache.nifi.controller.queue.clustered.server.LoadBalanceProtocol;
 import org.apache.nifi.controller.queue.clustered.server.StandardLoadBalanceProtocol;
 import org.apache.nifi.controller.reporting.ReportingTaskProvider;
+import org.apache.nifi.controller.repository.AttributeStorage;
 import org.apache.nifi.controller.repository.ContentRepository;
 import org.apache.nifi.controller.repository.CounterRepository;
 import org.apache.nifi.controller.repository.FlowFileEventRepository;
@@ -332,6 +334,8 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
     private final StandardFlowManager flowManager;
     private final RepositoryContextFactory repositoryContextFactory;
     private final RingBufferGarbageCollectionLog gcLog;
+    private final EvaluationMode expressionLanguageEvaluationMode;
+    private final AttributeStorage attributeStorage;
     private final Optional<FlowEngine> longRunningTaskMonitorThreadPool;
 
     /**
@@ -508,6 +512,12 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
 
         timerDrivenEngineRef = new AtomicReference<>(new FlowEngine(maxTimerDrivenThreads.get(), "Timer-Driven Process"));
 
+        final String storage = nifiProperties.getProperty(NiFiProperties.FLOWFILE_REPOSITORY_ATTRIBUTE_STORAGE, NiFiProperties.DEFAULT_FLOWFILE_REPOSITORY_ATTRIBUTE_STORAGE);
+        attributeStorage = AttributeStorage.valueOf(storage.trim().toUpperCase());
+
+        final String evaluationMode = nifiProperties.getProperty(NiFiProperties.EXPRESSION_LANGUAGE_EVALUATION_MODE, NiFiProperties.DEFAULT_EXPRESSION_LANGUAGE_EVALUATION_MODE);
+        expressionLanguageEvaluationMode = EvaluationMode.valueOf(evaluationMode.trim().toUpperCase());
+
         final FlowFileRepository flowFileRepo = createFlowFileRepository(nifiProperties, extensionManager, resourceClaimManager);
         flowFileRepository = flowFileRepo;
         flowFileEventRepository = flowFileEventRepo;
@@ -557,7 +567,7 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
         parameterContextManager = new StandardParameterContextManager();
         final long maxAppendableBytes = getMaxAppendableBytes();
         repositoryContextFactory = new RepositoryContextFactory(contentRepository, flowFileRepository, flowFileEventRepository,
-            counterRepositoryRef.get(), provenanceRepository, stateManagerProvider, maxAppendableBytes);
+            counterRepositoryRef.get(), provenanceRepository, stateManagerProvider, maxAppendableBytes, attributeStorage);
         assetManager = createAssetManager(nifiProperties);
 
         this.flowAnalysisThreadPool = new FlowEngine(1, "Background Flow Analysis", true);
@@ -801,8 +811,10 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
 
 
             final int connectionsPerNode = nifiProperties.getIntegerProperty(NiFiProperties.LOAD_BALANCE_CONNECTIONS_PER_NODE, NiFiProperties.DEFAULT_LOAD_BALANCE_CONNECTIONS_PER_NODE);
+            final boolean adaptiveTransactionSize = Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.LOAD_BALANCE_ADAPTIVE_TRANSACTION_SIZE,
+                    String.valueOf(NiFiProperties.DEFAULT_LOAD_BALANCE_ADAPTIVE_TRANSACTION_SIZE)));
             final NioAsyncLoadBalanceClientFactory asyncClientFactory = new NioAsyncLoadBalanceClientFactory(sslContext, timeoutMillis, new ContentRepositoryFlowFileAccess(contentRepository),
-                    eventReporter, new StandardLoadBalanceFlowFileCodec(), clusterCoordinator);
+                    eventReporter, new StandardLoadBalanceFlowFileCodec(), clusterCoordinator, adaptiveTransactionSize);
             loadBalanceClientRegistry = new NioAsyncLoadBalanceClientRegistry(asyncClientFactory, connectionsPerNode);
 
             final int loadBalanceClientThreadCount = nifiProperties.getIntegerProperty(NiFiProperties.LOAD_BALANCE_MAX_THREAD_COUNT, NiFiProperties.DEFAULT_LOAD_BALANCE_MAX_THREAD_COUNT);
@@ -1043,7 +1055,8 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
             // Begin expiring FlowFiles that are old
             final long maxAppendableClaimBytes = getMaxAppendableBytes();
             final RepositoryContextFactory contextFactory = new RepositoryContextFactory(contentRepository, flowFileRepository,
-                    flowFileEventRepository, counterRepositoryRef.get(), provenanceRepository, stateManagerProvider, maxAppendableClaimBytes);
+                    flowFileEventRepository, counterRepositoryRef.get(), provenanceRepository, stateManagerProvider, maxAppendableClaimBytes,
+                    attributeStorage);
             processScheduler.scheduleFrameworkTask(new ExpireFlowFiles(this, contextFactory), "Expire FlowFiles", 30L, 30L, TimeUnit.SECONDS);
 
             // now that we've loaded the FlowFiles, this has restored our ContentClaims' states, so we can tell the
@@ -2277,6 +2290,13 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
         return clusterCoordinator;
     }
 
+    /**
+     * @return the registry of clients that send load-balanced data to the other nodes of the cluster, or <code>null</code> if not clustered
+     */
+    public NioAsyncLoadBalanceClientRegistry getLoadBalanceClientRegistry() {
+        return loadBalanceClientRegistry;
+    }
+
     /**
      * Creates a connection between two Connectable objects.
      *
@@ -3017,7 +3037,7 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
                 .setComponentId(flowManager.getRootGroupId())
                 .setDetails("Download of Content requested by " + requestor + " for " + flowFile);
 
-        if (contentClaim != null) {
+        if (resourceClaim != null) {
             sendEventBuilder.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
                     contentClaim.getOffset() + flowFile.getContentClaimOffset(), flowFile.getSize());
         }
@@ -3360,6 +3380,10 @@ public class FlowController implements ReportingTaskProvider, FlowAnalysisRulePr
         return nifiProperties.getPerformanceMetricTrackingPercentage();
     }
 
+    public EvaluationMode getExpressionLanguageEvaluationMode() {
+        return expressionLanguageEvaluationMode;
+    }
+
     public Integer getRemoteSiteListeningPort() {
         return remoteInputSocketPort;
     }
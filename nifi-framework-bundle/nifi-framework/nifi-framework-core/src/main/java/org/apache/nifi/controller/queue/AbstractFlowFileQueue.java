@@ -71,6 +71,7 @@ public abstract class AbstractFlowFileQueue implements FlowFileQueue {
 
     private LoadBalanceCompression compression = LoadBalanceCompression.DO_NOT_COMPRESS;
 
+    private final Set<Runnable> enqueueListeners = ConcurrentHashMap.newKeySet();
 
     public AbstractFlowFileQueue(final String identifier, final ProcessScheduler scheduler,
             final FlowFileRepository flowFileRepo, final ProvenanceEventRepository provRepo) {
@@ -89,6 +90,41 @@ public abstract class AbstractFlowFileQueue implements FlowFileQueue {
         return scheduler;
     }
 
+    /**
+     * Registers a listener to be run the next time that FlowFiles are queued, so that a component that is waiting for FlowFiles
+     * to arrive does not have to poll the queue. The listener is run once, by the thread that queues the FlowFiles, and is then
+     * removed. Registering a listener that is already registered has no effect.
+     *
+     * @param listener the listener to run when FlowFiles are queued
+     */
+    public void addEnqueueListener(final Runnable listener) {
+        enqueueListeners.add(listener);
+    }
+
+    public void removeEnqueueListener(final Runnable listener) {
+        enqueueListeners.remove(listener);
+    }
+
+    /**
+     * Runs and removes the registered enqueue listeners. Implementations call this method after FlowFiles have been made available.
+     */
+    protected void notifyEnqueueListeners() {
+        if (enqueueListeners.isEmpty()) {
+            return;
+        }
+
+        for (final Runnable listener : enqueueListeners) {
+            // Only the thread that removes the listener runs it, so concurrent puts do not run the same listener twice
+            if (enqueueListeners.remove(listener)) {
+                try {
+                    listener.run();
+                } catch (final Exception e) {
+                    logger.warn("Failed to notify listener that FlowFiles were queued in {}", this, e);
+                }
+            }
+        }
+    }
+
     @Override
     public String getFlowFileExpiration() {
         return expirationPeriod.get().getPeriod();
@@ -419,7 +455,7 @@ public abstract class AbstractFlowFileQueue implements FlowFileQueue {
         builder.setSourceQueueIdentifier(getIdentifier());
 
         final ContentClaim contentClaim = flowFile.getContentClaim();
-        if (contentClaim != null) {
+        if (contentClaim != null && contentClaim.getResourceClaim() != null) {
             final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
             builder.setPreviousContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(), contentClaim.getOffset(), flowFile.getSize());
         }
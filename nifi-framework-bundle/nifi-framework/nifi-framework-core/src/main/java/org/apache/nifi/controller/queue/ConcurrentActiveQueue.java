@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.controller.queue;
+
+import org.apache.nifi.controller.repository.FlowFileRecord;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * The 'active queue' that is used by {@link SwappablePriorityQueue} when no prioritizers have been configured. FlowFiles that are not penalized
+ * are held in a lock-free deque and are handed out in the order in which they were added. Penalized FlowFiles are held separately, ordered by
+ * the time at which their penalty expires, and are handed out before the FIFO data once the penalty has expired, or after all FIFO data when
+ * penalized FlowFiles are requested.
+ * </p>
+ *
+ * <p>
+ * Multiple threads may call {@link #offer(FlowFileRecord)}, {@link #poll()} and {@link #peek()} concurrently, as long as no penalized FlowFiles are
+ * being added or are currently held (see {@link #hasPenalized()}). Any other access, including anything that involves penalized FlowFiles or
+ * {@link #requeue(List)}, must be performed while holding the owning queue's write lock.
+ * </p>
+ */
+class ConcurrentActiveQueue extends AbstractQueue<FlowFileRecord> {
+    private static final Comparator<FlowFileRecord> PENALTY_COMPARATOR = Comparator.comparingLong(FlowFileRecord::getPenaltyExpirationMillis)
+        .thenComparingLong(FlowFileRecord::getId);
+
+    private final Deque<FlowFileRecord> fifo = new ConcurrentLinkedDeque<>();
+    private final LongAdder fifoSize = new LongAdder();
+
+    // Guarded by the owning queue's write lock.
+    private final Queue<FlowFileRecord> penalized = new PriorityQueue<>(PENALTY_COMPARATOR);
+
+    @Override
+    public boolean offer(final FlowFileRecord flowFile) {
+        if (flowFile.isPenalized()) {
+            return penalized.add(flowFile);
+        }
+
+        fifo.offerLast(flowFile);
+        fifoSize.increment();
+        return true;
+    }
+
+    /**
+     * Places the given FlowFiles back at the head of the queue, preserving their relative order. This is used to return FlowFiles that were
+     * pulled from the queue but not selected, so that they do not lose their place in line.
+     *
+     * @param flowFiles the FlowFiles to requeue, in the order in which they were polled
+     */
+    void requeue(final List<FlowFileRecord> flowFiles) {
+        for (int i = flowFiles.size() - 1; i >= 0; i--) {
+            final FlowFileRecord flowFile = flowFiles.get(i);
+            if (flowFile.isPenalized()) {
+                penalized.add(flowFile);
+            } else {
+                fifo.offerFirst(flowFile);
+                fifoSize.increment();
+            }
+        }
+    }
+
+    @Override
+    public FlowFileRecord poll() {
+        final FlowFileRecord penalizedHead = penalized.peek();
+        if (penalizedHead != null && !penalizedHead.isPenalized()) {
+            return penalized.poll();
+        }
+
+        final FlowFileRecord flowFile = fifo.pollFirst();
+        if (flowFile != null) {
+            fifoSize.decrement();
+            return flowFile;
+        }
+
+        return penalized.poll();
+    }
+
+    @Override
+    public FlowFileRecord peek() {
+        final FlowFileRecord penalizedHead = penalized.peek();
+        if (penalizedHead != null && !penalizedHead.isPenalized()) {
+            return penalizedHead;
+        }
+
+        final FlowFileRecord flowFile = fifo.peekFirst();
+        return flowFile == null ? penalizedHead : flowFile;
+    }
+
+    /**
+     * @return <code>true</code> if any penalized FlowFile is held by this queue, in which case concurrent access is not permitted
+     */
+    boolean hasPenalized() {
+        return !penalized.isEmpty();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return fifo.isEmpty() && penalized.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return fifoSize.intValue() + penalized.size();
+    }
+
+    @Override
+    public void clear() {
+        fifo.clear();
+        fifoSize.reset();
+        penalized.clear();
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends FlowFileRecord> flowFiles) {
+        for (final FlowFileRecord flowFile : flowFiles) {
+            offer(flowFile);
+        }
+
+        return !flowFiles.isEmpty();
+    }
+
+    @Override
+    public Iterator<FlowFileRecord> iterator() {
+        return Stream.concat(fifo.stream(), penalized.stream()).iterator();
+    }
+}
@@ -109,11 +109,13 @@ public class StandardFlowFileQueue extends AbstractFlowFileQueue implements Flow
     @Override
     public void put(final FlowFileRecord file) {
         queue.put(file);
+        notifyEnqueueListeners();
     }
 
     @Override
     public void putAll(final Collection<FlowFileRecord> files) {
         queue.putAll(files);
+        notifyEnqueueListeners();
     }
 
 
@@ -81,7 +81,9 @@ public class SwappablePriorityQueue {
     // active queue, then we would end up processing the newer FlowFile before the swapped FlowFile. By
     // keeping these separate, we are able to guarantee that FlowFiles are swapped in in the same order
     // that they are swapped out.
-    // Guarded by lock.
+    // When no prioritizers are configured, the active queue is a ConcurrentActiveQueue, which allows FlowFiles to be added and
+    // polled while holding only the read lock, as long as we are not in swap mode and no penalized FlowFiles are queued.
+    // Otherwise, guarded by lock.
     private Queue<FlowFileRecord> activeQueue;
     private List<FlowFileRecord> swapQueue;
     private boolean swapMode = false;
@@ -97,7 +99,7 @@ public class SwappablePriorityQueue {
         this.swapManager = swapManager;
         this.swapThreshold = swapThreshold;
 
-        this.activeQueue = new PriorityQueue<>(20, new QueuePrioritizer(Collections.emptyList()));
+        this.activeQueue = createActiveQueue(Collections.emptyList(), 20);
         this.swapQueue = new ArrayList<>();
         this.eventReporter = eventReporter;
         this.flowFileQueue = flowFileQueue;
@@ -122,8 +124,12 @@ public class SwappablePriorityQueue {
         try {
             this.priorities = new ArrayList<>(newPriorities);
 
-            final Queue<FlowFileRecord> newQueue = new PriorityQueue<>(Math.max(20, activeQueue.size()), new QueuePrioritizer(newPriorities));
-            newQueue.addAll(activeQueue);
+            final Queue<FlowFileRecord> newQueue = createActiveQueue(newPriorities, activeQueue.size());
+            FlowFileRecord flowFile;
+            while ((flowFile = activeQueue.poll()) != null) {
+                newQueue.add(flowFile);
+            }
+
             activeQueue = newQueue;
         } finally {
             writeLock.unlock("setPriorities");
@@ -131,6 +137,14 @@ public class SwappablePriorityQueue {
     }
 
 
+    private static Queue<FlowFileRecord> createActiveQueue(final List<FlowFilePrioritizer> priorities, final int initialCapacity) {
+        if (priorities.isEmpty()) {
+            return new ConcurrentActiveQueue();
+        }
+
+        return new PriorityQueue<>(Math.max(20, initialCapacity), new QueuePrioritizer(priorities));
+    }
+
     public LocalQueuePartitionDiagnostics getQueueDiagnostics() {
         readLock.lock();
         try {
@@ -469,6 +483,11 @@ public class SwappablePriorityQueue {
 
 
     public void put(final FlowFileRecord flowFile) {
+        if (putConcurrently(flowFile)) {
+            logger.trace("{} put to {}", flowFile, this);
+            return;
+        }
+
         writeLock.lock();
         try {
             if (swapMode || activeQueue.size() >= swapThreshold) {
@@ -495,6 +514,11 @@ public class SwappablePriorityQueue {
             bytes += flowFile.getSize();
         }
 
+        if (putAllConcurrently(flowFiles, bytes)) {
+            logger.trace("{} put to {}", flowFiles, this);
+            return;
+        }
+
         writeLock.lock();
         try {
             if (swapMode || activeQueue.size() >= swapThreshold - numFiles) {
@@ -514,6 +538,88 @@ public class SwappablePriorityQueue {
         }
     }
 
+    /**
+     * Adds the given FlowFile to the active queue while holding only the read lock. This is possible only if the active queue is a
+     * {@link ConcurrentActiveQueue}, the FlowFile is not penalized, and the FlowFile would not be placed onto the swap queue. Because the
+     * prioritizers, the swap mode, and the penalized FlowFiles are changed only while holding the write lock, none of them can change
+     * until we release the read lock.
+     *
+     * @param flowFile the FlowFile to add
+     * @return <code>true</code> if the FlowFile was added, <code>false</code> if the caller must add the FlowFile while holding the write lock
+     */
+    private boolean putConcurrently(final FlowFileRecord flowFile) {
+        if (flowFile.isPenalized()) {
+            return false;
+        }
+
+        readLock.lock();
+        try {
+            if (!isConcurrentAccessAllowed() || swapMode || getFlowFileQueueSize().getActiveCount() >= swapThreshold) {
+                return false;
+            }
+
+            incrementActiveQueueSize(1, flowFile.getSize());
+            activeQueue.add(flowFile);
+            clearTopPenaltyExpiration();
+            return true;
+        } finally {
+            readLock.unlock("put(FlowFileRecord)");
+        }
+    }
+
+    private boolean putAllConcurrently(final Collection<FlowFileRecord> flowFiles, final long bytes) {
+        for (final FlowFileRecord flowFile : flowFiles) {
+            if (flowFile.isPenalized()) {
+                return false;
+            }
+        }
+
+        final int numFiles = flowFiles.size();
+        readLock.lock();
+        try {
+            if (!isConcurrentAccessAllowed() || swapMode || getFlowFileQueueSize().getActiveCount() >= swapThreshold - numFiles) {
+                return false;
+            }
+
+            incrementActiveQueueSize(numFiles, bytes);
+            activeQueue.addAll(flowFiles);
+            clearTopPenaltyExpiration();
+            return true;
+        } finally {
+            readLock.unlock("putAll");
+        }
+    }
+
+    /**
+     * MUST be called while holding the read lock or write lock
+     *
+     * @return <code>true</code> if the active queue may be accessed by multiple threads that hold only the read lock
+     */
+    private boolean isConcurrentAccessAllowed() {
+        return activeQueue instanceof ConcurrentActiveQueue concurrentQueue && !concurrentQueue.hasPenalized();
+    }
+
+    /**
+     * MUST be called while holding the read lock, and only if {@link #isConcurrentAccessAllowed()}. In that case, no penalized FlowFile is queued
+     * so the head of the queue cannot be penalized. The penalty expiration is only ever set while holding the write lock, so we cannot overwrite a
+     * value that is being set concurrently.
+     */
+    private void clearTopPenaltyExpiration() {
+        if (topPenaltyExpiration > 0) {
+            topPenaltyExpiration = -1L;
+        }
+    }
+
+    /**
+     * MUST be called while holding the read lock
+     *
+     * @return <code>true</code> if FlowFiles may be polled from the active queue while holding only the read lock. This requires that concurrent
+     * access be allowed and that nothing is swapped out or waiting on the swap queue, since then there is nothing to migrate to the active queue
+     */
+    private boolean isConcurrentPollAllowed() {
+        return isConcurrentAccessAllowed() && getFlowFileQueueSize().getSwappedCount() == 0;
+    }
+
     public FlowFileRecord poll(final Set<FlowFileRecord> expiredRecords, final long expirationMillis) {
         return poll(expiredRecords, expirationMillis, PollStrategy.UNPENALIZED_FLOWFILES);
     }
@@ -521,6 +627,23 @@ public class SwappablePriorityQueue {
     public FlowFileRecord poll(final Set<FlowFileRecord> expiredRecords, final long expirationMillis, final PollStrategy pollStrategy) {
         FlowFileRecord flowFile;
 
+        readLock.lock();
+        try {
+            if (isConcurrentPollAllowed()) {
+                flowFile = pollActive(expiredRecords, expirationMillis, pollStrategy);
+
+                if (flowFile != null) {
+                    logger.trace("{} poll() returning {}", this, flowFile);
+                    unacknowledge(1, flowFile.getSize());
+                }
+
+                clearTopPenaltyExpiration();
+                return flowFile;
+            }
+        } finally {
+            readLock.unlock("poll(Set)");
+        }
+
         // First check if we have any records Pre-Fetched.
         writeLock.lock();
         try {
@@ -541,11 +664,14 @@ public class SwappablePriorityQueue {
 
 
     private FlowFileRecord doPoll(final Set<FlowFileRecord> expiredRecords, final long expirationMillis, final PollStrategy pollStrategy) {
+        migrateSwapToActive();
+        return pollActive(expiredRecords, expirationMillis, pollStrategy);
+    }
+
+    private FlowFileRecord pollActive(final Set<FlowFileRecord> expiredRecords, final long expirationMillis, final PollStrategy pollStrategy) {
         FlowFileRecord flowFile;
         boolean isExpired;
 
-        migrateSwapToActive();
-
         long expiredBytes = 0L;
         do {
             flowFile = this.activeQueue.poll();
@@ -580,13 +706,27 @@ public class SwappablePriorityQueue {
     public List<FlowFileRecord> poll(int maxResults, final Set<FlowFileRecord> expiredRecords, final long expirationMillis, final PollStrategy pollStrategy) {
         final List<FlowFileRecord> records = new ArrayList<>(Math.min(1, maxResults));
 
-        // First check if we have any records Pre-Fetched.
-        writeLock.lock();
+        boolean polled = false;
+        readLock.lock();
         try {
-            doPoll(records, maxResults, expiredRecords, expirationMillis, pollStrategy);
-            updateTopPenaltyExpiration();
+            if (isConcurrentPollAllowed()) {
+                pollActive(records, maxResults, expiredRecords, expirationMillis, pollStrategy);
+                clearTopPenaltyExpiration();
+                polled = true;
+            }
         } finally {
-            writeLock.unlock("poll(int, Set)");
+            readLock.unlock("poll(int, Set)");
+        }
+
+        if (!polled) {
+            // First check if we have any records Pre-Fetched.
+            writeLock.lock();
+            try {
+                doPoll(records, maxResults, expiredRecords, expirationMillis, pollStrategy);
+                updateTopPenaltyExpiration();
+            } finally {
+                writeLock.unlock("poll(int, Set)");
+            }
         }
 
         if (!records.isEmpty() && logger.isTraceEnabled()) {
@@ -642,8 +782,8 @@ public class SwappablePriorityQueue {
                     result = filter.filter(flowFile);
                 } catch (final Throwable t) {
                     unselected.add(flowFile);
-                    activeQueue.addAll(unselected);
-                    activeQueue.addAll(selectedFlowFiles);
+                    requeueActive(unselected);
+                    requeueActive(selectedFlowFiles);
                     throw t;
                 }
 
@@ -661,7 +801,7 @@ public class SwappablePriorityQueue {
                 }
             }
 
-            this.activeQueue.addAll(unselected);
+            requeueActive(unselected);
 
             unacknowledge(flowFilesPulled, bytesPulled);
 
@@ -694,9 +834,23 @@ public class SwappablePriorityQueue {
         topPenaltyExpiration = top.getPenaltyExpirationMillis();
     }
 
+    /**
+     * Returns FlowFiles that were pulled from the active queue but not selected back to the active queue. MUST be called while holding the write lock.
+     */
+    private void requeueActive(final List<FlowFileRecord> flowFiles) {
+        if (activeQueue instanceof ConcurrentActiveQueue concurrentQueue) {
+            concurrentQueue.requeue(flowFiles);
+        } else {
+            activeQueue.addAll(flowFiles);
+        }
+    }
+
     private void doPoll(final List<FlowFileRecord> records, int maxResults, final Set<FlowFileRecord> expiredRecords, final long expirationMillis, final PollStrategy pollStrategy) {
         migrateSwapToActive();
+        pollActive(records, maxResults, expiredRecords, expirationMillis, pollStrategy);
+    }
 
+    private void pollActive(final List<FlowFileRecord> records, int maxResults, final Set<FlowFileRecord> expiredRecords, final long expirationMillis, final PollStrategy pollStrategy) {
         final long bytesDrained = drainQueue(activeQueue, records, maxResults, expiredRecords, expirationMillis, pollStrategy);
 
         long expiredBytes = 0L;
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.controller.queue.clustered;
+
+import java.nio.file.Path;
+
+/**
+ * A region of a file that holds the content of a FlowFile.
+ */
+public class ContentFileRegion {
+    private final Path path;
+    private final long offset;
+    private final long length;
+
+    public ContentFileRegion(final Path path, final long offset, final long length) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * @return the path of the file that holds the content
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the offset into the file at which the content begins
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the number of bytes of content
+     */
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "ContentFileRegion[path=" + path + ", offset=" + offset + ", length=" + length + "]";
+    }
+}
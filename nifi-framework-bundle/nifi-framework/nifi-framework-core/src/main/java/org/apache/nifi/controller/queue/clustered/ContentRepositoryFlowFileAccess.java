@@ -19,7 +19,9 @@ package org.apache.nifi.controller.queue.clustered;
 
 import org.apache.nifi.controller.repository.ContentNotFoundException;
 import org.apache.nifi.controller.repository.ContentRepository;
+import org.apache.nifi.controller.repository.FileSystemRepository;
 import org.apache.nifi.controller.repository.FlowFileRecord;
+import org.apache.nifi.controller.repository.claim.ContentClaim;
 import org.apache.nifi.controller.repository.io.LimitedInputStream;
 import org.apache.nifi.stream.io.StreamUtils;
 
@@ -27,6 +29,7 @@ import java.io.EOFException;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 public class ContentRepositoryFlowFileAccess implements FlowFileContentAccess {
     private final ContentRepository contentRepository;
@@ -88,4 +91,21 @@ public class ContentRepositoryFlowFileAccess implements FlowFileContentAccess {
         };
     }
 
+    @Override
+    public ContentFileRegion getFileRegion(final FlowFileRecord flowFile) {
+        final ContentClaim contentClaim = flowFile.getContentClaim();
+        // Inline and concatenated content is not held in a single file, so it is streamed
+        if (contentClaim == null || contentClaim.getResourceClaim() == null || !(contentRepository instanceof FileSystemRepository fileSystemRepository)) {
+            return null;
+        }
+
+        final Path path;
+        try {
+            path = fileSystemRepository.getPath(contentClaim, true);
+        } catch (final ContentNotFoundException cnfe) {
+            throw new ContentNotFoundException(flowFile, contentClaim, cnfe.getMessage());
+        }
+
+        return new ContentFileRegion(path, contentClaim.getOffset() + flowFile.getContentClaimOffset(), flowFile.getSize());
+    }
 }
@@ -26,4 +26,17 @@ public interface FlowFileContentAccess {
 
     InputStream read(FlowFileRecord flowFile) throws IOException;
 
+    /**
+     * Provides the region of a file that holds the content of the given FlowFile, so that the content can be transferred directly from
+     * the file to a channel, without being copied through the heap.
+     *
+     * @param flowFile the FlowFile whose content is to be transferred
+     * @return the region of the file that holds the content, or <code>null</code> if the content is not held in a file that can be accessed
+     *         directly, in which case {@link #read(FlowFileRecord)} must be used instead
+     * @throws IOException if unable to determine where the content is held
+     */
+    default ContentFileRegion getFileRegion(FlowFileRecord flowFile) throws IOException {
+        return null;
+    }
+
 }
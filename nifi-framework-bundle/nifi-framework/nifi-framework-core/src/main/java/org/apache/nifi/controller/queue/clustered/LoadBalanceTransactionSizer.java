@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.queue.clustered;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Determines the size of the transactions used to load balance FlowFiles to a single peer, and records the batch sizes and
+ * throughput that are achieved.
+ * </p>
+ *
+ * <p>
+ * When adaptive sizing is enabled, the limits of each transaction are adjusted using additive increase and multiplicative decrease.
+ * A transaction that reaches its limits within the target duration, without lowering the throughput achieved by previous transactions,
+ * indicates that the round trips of the protocol are a significant cost, so the limits are increased. A transaction that takes longer
+ * than the target duration holds the connection to the peer while other partitions wait, and a peer that reports that its queue is full
+ * or fails a transaction is unable to keep up, so in those cases the limits are halved. A transaction that ends because no more FlowFiles
+ * are queued does not change the limits. The byte limit also bounds the amount of data in flight to the peer for each transaction.
+ * </p>
+ *
+ * <p>
+ * When adaptive sizing is disabled, every transaction uses the initial limits.
+ * </p>
+ */
+public class LoadBalanceTransactionSizer {
+    static final int INITIAL_FLOWFILE_COUNT = 1000;
+    static final long INITIAL_BYTES = 10_000_000L;
+    static final int MIN_FLOWFILE_COUNT = 10;
+    static final long MIN_BYTES = 1_000_000L;
+    static final int MAX_FLOWFILE_COUNT = 10_000;
+    static final long MAX_BYTES = 100_000_000L;
+    static final int FLOWFILE_COUNT_INCREMENT = 100;
+    static final long BYTES_INCREMENT = 1_000_000L;
+    static final long DEFAULT_TARGET_TRANSACTION_NANOS = TimeUnit.SECONDS.toNanos(1L);
+
+    // A transaction whose throughput is within this fraction of the smoothed throughput is not considered to have lowered it
+    private static final double THROUGHPUT_TOLERANCE = 0.9D;
+    private static final double THROUGHPUT_SMOOTHING_FACTOR = 0.25D;
+
+    private final boolean adaptive;
+    private final long targetTransactionNanos;
+
+    // guarded by synchronizing on this
+    private int flowFileCountLimit = INITIAL_FLOWFILE_COUNT;
+    private long byteLimit = INITIAL_BYTES;
+    private double smoothedBytesPerNano = 0D;
+
+    private long transactionCount = 0L;
+    private long flowFileCount = 0L;
+    private long byteCount = 0L;
+    private long transactionNanos = 0L;
+    private long backPressureCount = 0L;
+    private long failureCount = 0L;
+
+    public LoadBalanceTransactionSizer(final boolean adaptive) {
+        this(adaptive, DEFAULT_TARGET_TRANSACTION_NANOS);
+    }
+
+    public LoadBalanceTransactionSizer(final boolean adaptive, final long targetTransactionNanos) {
+        this.adaptive = adaptive;
+        this.targetTransactionNanos = targetTransactionNanos;
+    }
+
+    /**
+     * @return a threshold for the next transaction, using the current limits
+     */
+    public synchronized TransactionThreshold newThreshold() {
+        return new SimpleLimitThreshold(flowFileCountLimit, byteLimit);
+    }
+
+    /**
+     * Records a transaction that completed successfully and adjusts the limits for subsequent transactions
+     *
+     * @param flowFiles the number of FlowFiles sent in the transaction
+     * @param bytes the number of content bytes sent in the transaction
+     * @param nanos the amount of time that the transaction took, including the round trips to confirm it
+     * @param thresholdMet whether the transaction ended because it reached its limits rather than because no more FlowFiles were queued
+     */
+    public synchronized void onTransactionComplete(final int flowFiles, final long bytes, final long nanos, final boolean thresholdMet) {
+        transactionCount++;
+        flowFileCount += flowFiles;
+        byteCount += bytes;
+        transactionNanos += nanos;
+
+        if (!adaptive) {
+            return;
+        }
+
+        if (nanos > targetTransactionNanos) {
+            decrease();
+            return;
+        }
+
+        if (!thresholdMet || nanos <= 0L) {
+            return;
+        }
+
+        final double bytesPerNano = (double) bytes / nanos;
+        if (bytesPerNano >= smoothedBytesPerNano * THROUGHPUT_TOLERANCE) {
+            flowFileCountLimit = Math.min(MAX_FLOWFILE_COUNT, flowFileCountLimit + FLOWFILE_COUNT_INCREMENT);
+            byteLimit = Math.min(MAX_BYTES, byteLimit + BYTES_INCREMENT);
+        }
+
+        smoothedBytesPerNano = smoothedBytesPerNano == 0D ? bytesPerNano
+            : smoothedBytesPerNano + THROUGHPUT_SMOOTHING_FACTOR * (bytesPerNano - smoothedBytesPerNano);
+    }
+
+    /**
+     * Records that the peer indicated that its queue is full, and reduces the limits for subsequent transactions
+     */
+    public synchronized void onBackPressure() {
+        backPressureCount++;
+        if (adaptive) {
+            decrease();
+        }
+    }
+
+    /**
+     * Records that a transaction failed, and reduces the limits for subsequent transactions
+     */
+    public synchronized void onTransactionFailed() {
+        failureCount++;
+        if (adaptive) {
+            decrease();
+        }
+    }
+
+    private void decrease() {
+        flowFileCountLimit = Math.max(MIN_FLOWFILE_COUNT, flowFileCountLimit / 2);
+        byteLimit = Math.max(MIN_BYTES, byteLimit / 2);
+    }
+
+    public synchronized int getFlowFileCountLimit() {
+        return flowFileCountLimit;
+    }
+
+    public synchronized long getByteLimit() {
+        return byteLimit;
+    }
+
+    public synchronized long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public synchronized long getFlowFileCount() {
+        return flowFileCount;
+    }
+
+    public synchronized long getByteCount() {
+        return byteCount;
+    }
+
+    public synchronized long getBackPressureCount() {
+        return backPressureCount;
+    }
+
+    public synchronized long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return the average number of FlowFiles sent per successful transaction, or 0 if no transactions have completed
+     */
+    public synchronized double getAverageBatchSize() {
+        return transactionCount == 0 ? 0D : (double) flowFileCount / transactionCount;
+    }
+
+    /**
+     * @return the average number of content bytes sent per second while transactions were in progress, or 0 if no transactions have completed
+     */
+    public synchronized double getBytesPerSecond() {
+        return transactionNanos == 0 ? 0D : byteCount * 1_000_000_000D / transactionNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "LoadBalanceTransactionSizer[adaptive=" + adaptive + ", flowFileCountLimit=" + flowFileCountLimit + ", byteLimit=" + byteLimit
+            + ", transactions=" + transactionCount + ", averageBatchSize=" + String.format("%.1f", getAverageBatchSize())
+            + ", bytesPerSecond=" + String.format("%.0f", getBytesPerSecond()) + ", backPressureCount=" + backPressureCount + ", failureCount=" + failureCount + "]";
+    }
+}
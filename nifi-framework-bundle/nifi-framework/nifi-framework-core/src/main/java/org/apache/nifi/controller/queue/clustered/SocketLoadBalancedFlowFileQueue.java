@@ -800,6 +800,7 @@ public class SocketLoadBalancedFlowFileQueue extends AbstractFlowFileQueue imple
     @Override
     public void put(final FlowFileRecord flowFile) {
         putAndGetPartition(flowFile);
+        notifyEnqueueListeners();
     }
 
 
@@ -855,6 +856,7 @@ public class SocketLoadBalancedFlowFileQueue extends AbstractFlowFileQueue imple
                 // size has been updated to account for them and therefore we will not attempt to assign a negative queue size.
                 adjustSize(flowFiles.size(), flowFiles.stream().mapToLong(FlowFileRecord::getSize).sum());
                 localPartition.putAll(flowFiles);
+                notifyEnqueueListeners();
             }
         } finally {
             partitionReadLock.unlock();
@@ -864,6 +866,7 @@ public class SocketLoadBalancedFlowFileQueue extends AbstractFlowFileQueue imple
     @Override
     public void putAll(final Collection<FlowFileRecord> flowFiles) {
         putAllAndGetPartitions(flowFiles);
+        notifyEnqueueListeners();
     }
 
     protected Map<QueuePartition, List<FlowFileRecord>> putAllAndGetPartitions(final Collection<FlowFileRecord> flowFiles) {
@@ -1024,7 +1027,7 @@ public class SocketLoadBalancedFlowFileQueue extends AbstractFlowFileQueue imple
                     .setEventTime(System.currentTimeMillis());
 
             final ContentClaim contentClaim = flowFile.getContentClaim();
-            if (contentClaim != null) {
+            if (contentClaim != null && contentClaim.getResourceClaim() != null) {
                 final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
                 builder.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
                         contentClaim.getOffset() + flowFile.getContentClaimOffset(), flowFile.getSize());
@@ -18,6 +18,7 @@
 package org.apache.nifi.controller.queue.clustered.client.async.nio;
 
 import org.apache.nifi.controller.queue.LoadBalanceCompression;
+import org.apache.nifi.controller.queue.clustered.ContentFileRegion;
 import org.apache.nifi.controller.queue.clustered.FlowFileContentAccess;
 import org.apache.nifi.controller.queue.clustered.TransactionThreshold;
 import org.apache.nifi.controller.queue.clustered.client.LoadBalanceFlowFileCodec;
@@ -40,8 +41,11 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalInt;
@@ -87,6 +91,23 @@ public class LoadBalanceSession {
     private InputStream flowFileInputStream;
     private final byte[] byteBuffer = new byte[MAX_DATA_FRAME_SIZE];
     private long readTimeout;
+
+    // When the content of the current FlowFile is held in a file and TLS is not enabled, the content is transferred directly from the file to the socket.
+    // Each Data Frame is still read into a direct buffer in order to update the checksum, but it is never copied onto the heap or written from user space.
+    private FileChannel flowFileContentChannel;
+    private long contentChannelPosition;
+    private long contentChannelRemaining;
+    private long pendingTransferPosition;
+    private long pendingTransferCount;
+    private ByteBuffer directFrameBuffer;
+
+    private long bytesSent = 0L;
+    private long bytesTransferredDirectly = 0L;
+
+    private final long transactionStartNanos = System.nanoTime();
+    private long transactionNanos = 0L;
+    private boolean transactionThresholdMet = false;
+    private boolean queueFull = false;
     private volatile LoadBalanceSessionState sessionState = LoadBalanceSessionState.ACTIVE;
 
     public LoadBalanceSession(final RegisteredPartition partition, final FlowFileContentAccess contentAccess, final LoadBalanceFlowFileCodec flowFileCodec, final PeerChannel peerChannel,
@@ -124,6 +145,45 @@ public class LoadBalanceSession {
         return sessionState;
     }
 
+    /**
+     * @return the amount of time from the creation of the session until the Peer confirmed that the transaction was complete, or 0 if it has not been confirmed
+     */
+    public synchronized long getTransactionNanos() {
+        return transactionNanos;
+    }
+
+    /**
+     * @return true if the transaction ended because it reached its Transaction Threshold rather than because there were no more FlowFiles to send
+     */
+    public synchronized boolean isTransactionThresholdMet() {
+        return transactionThresholdMet;
+    }
+
+    /**
+     * @return true if the session completed without sending any FlowFiles because the Peer indicated that its queue is full
+     */
+    public synchronized boolean isQueueFull() {
+        return queueFull;
+    }
+
+    /**
+     * @return the number of bytes written to the Peer since the last time this method was called, including those transferred directly from content files
+     */
+    public synchronized long getAndResetBytesSent() {
+        final long sent = bytesSent;
+        bytesSent = 0L;
+        return sent;
+    }
+
+    /**
+     * @return the number of content bytes transferred directly from content files to the Peer since the last time this method was called
+     */
+    public synchronized long getAndResetBytesTransferredDirectly() {
+        final long transferred = bytesTransferredDirectly;
+        bytesTransferredDirectly = 0L;
+        return transferred;
+    }
+
     public synchronized boolean communicate() throws IOException {
         if (sessionState.isComplete()) {
             return false;
@@ -134,9 +194,15 @@ public class LoadBalanceSession {
             if (preparedFrame != null && preparedFrame.hasRemaining()) {
                 logger.trace("Current Frame is already available. Will continue writing current frame to channel");
                 final int bytesWritten = channel.write(preparedFrame);
+                bytesSent += bytesWritten;
                 return bytesWritten > 0;
             }
 
+            // If the header of a Data Frame has been written but its content has not yet been transferred from the content file, continue the transfer.
+            if (pendingTransferCount > 0) {
+                return transferPendingContent();
+            }
+
             // Check if the phase is one that needs to receive data and if so, call the appropriate method.
             switch (phase) {
                 case RECEIVE_SPACE_RESPONSE:
@@ -156,9 +222,11 @@ public class LoadBalanceSession {
             preparedFrame = channel.prepareForWrite(byteBuffer); // Prepare data frame for writing. E.g., encrypt the data, etc.
 
             final int bytesWritten = channel.write(preparedFrame);
+            bytesSent += bytesWritten;
             return bytesWritten > 0;
         } catch (final Exception e) {
             sessionState = LoadBalanceSessionState.COMPLETED_EXCEPTIONALLY;
+            closeFlowFileContent();
             throw e;
         }
     }
@@ -169,9 +237,39 @@ public class LoadBalanceSession {
         }
 
         sessionState = LoadBalanceSessionState.CANCELED;
+        closeFlowFileContent();
         return true;
     }
 
+    private boolean transferPendingContent() throws IOException {
+        final long bytesTransferred = channel.transferFrom(flowFileContentChannel, pendingTransferPosition, pendingTransferCount);
+        logger.trace("Transferred {} bytes of content directly to Peer {}", bytesTransferred, peerDescription);
+
+        pendingTransferPosition += bytesTransferred;
+        pendingTransferCount -= bytesTransferred;
+        bytesSent += bytesTransferred;
+        bytesTransferredDirectly += bytesTransferred;
+        return bytesTransferred > 0;
+    }
+
+    private void closeFlowFileContent() {
+        pendingTransferCount = 0L;
+
+        try {
+            if (flowFileInputStream != null) {
+                flowFileInputStream.close();
+            }
+            if (flowFileContentChannel != null) {
+                flowFileContentChannel.close();
+            }
+        } catch (final IOException e) {
+            logger.warn("Failed to close content of {} after communicating with Peer {}", currentFlowFile, peerDescription, e);
+        }
+
+        flowFileInputStream = null;
+        flowFileContentChannel = null;
+    }
+
     private boolean confirmTransactionComplete() throws IOException {
         logger.debug("Confirming Transaction Complete for Peer {}", peerDescription);
 
@@ -197,6 +295,7 @@ public class LoadBalanceSession {
         }
 
         sessionState = LoadBalanceSessionState.COMPLETED_SUCCESSFULLY;
+        transactionNanos = System.nanoTime() - transactionStartNanos;
         logger.debug("Successfully completed Transaction to send {} FlowFiles to Peer {} for Connection {}", flowFilesSent.size(), peerDescription, connectionId);
 
         return true;
@@ -280,11 +379,14 @@ public class LoadBalanceSession {
     }
 
     private ByteBuffer getFlowFileContent() throws IOException {
-        // This method is fairly inefficient, copying lots of byte[]. Can do better. But keeping it simple for
-        // now to get this working. Revisit with optimizations later.
+        // When the content cannot be transferred directly from a file, it is streamed through a byte[] and copied into each Data Frame.
         try {
-            if (flowFileInputStream == null) {
-                flowFileInputStream = flowFileContentAccess.read(currentFlowFile);
+            if (flowFileInputStream == null && flowFileContentChannel == null) {
+                openFlowFileContent();
+            }
+
+            if (flowFileContentChannel != null) {
+                return getDirectDataFrame();
             }
 
             final int bytesRead = StreamUtils.fillBuffer(flowFileInputStream, byteBuffer, false);
@@ -292,17 +394,7 @@ public class LoadBalanceSession {
                 // If no data available, close the stream and move on to the next phase, returning a NO_DATA_FRAME buffer.
                 flowFileInputStream.close();
                 flowFileInputStream = null;
-                phase = TransactionPhase.GET_NEXT_FLOWFILE;
-
-                final ByteBuffer buffer = ByteBuffer.allocate(1);
-                buffer.put((byte) LoadBalanceProtocolConstants.NO_DATA_FRAME);
-                buffer.rewind();
-
-                checksum.update(LoadBalanceProtocolConstants.NO_DATA_FRAME);
-
-                logger.debug("Sending NO_DATA_FRAME indicator to Peer {}", peerDescription);
-
-                return buffer;
+                return getNoDataFrame();
             }
 
             logger.trace("Sending Data Frame that is {} bytes long to Peer {}", bytesRead, peerDescription);
@@ -336,6 +428,82 @@ public class LoadBalanceSession {
         }
     }
 
+    private void openFlowFileContent() throws IOException {
+        // Content can be transferred directly only if it is to be written to the socket exactly as it is stored.
+        final boolean directTransferPossible = !channel.isSecure() && partition.getCompression() != LoadBalanceCompression.COMPRESS_ATTRIBUTES_AND_CONTENT;
+        final ContentFileRegion fileRegion = directTransferPossible ? flowFileContentAccess.getFileRegion(currentFlowFile) : null;
+
+        if (fileRegion != null) {
+            try {
+                flowFileContentChannel = FileChannel.open(fileRegion.getPath(), StandardOpenOption.READ);
+                contentChannelPosition = fileRegion.getOffset();
+                contentChannelRemaining = fileRegion.getLength();
+                logger.debug("Transferring content of {} directly from {} to Peer {}", currentFlowFile, fileRegion, peerDescription);
+                return;
+            } catch (final NoSuchFileException e) {
+                // The file may have been archived since its path was determined. Fall back to reading the content from the repository.
+                logger.debug("Could not open {} for {}; will read content from the repository instead", fileRegion, currentFlowFile);
+            }
+        }
+
+        flowFileInputStream = flowFileContentAccess.read(currentFlowFile);
+    }
+
+    private ByteBuffer getDirectDataFrame() throws IOException {
+        if (contentChannelRemaining == 0) {
+            flowFileContentChannel.close();
+            flowFileContentChannel = null;
+            return getNoDataFrame();
+        }
+
+        final int frameLength = (int) Math.min(MAX_DATA_FRAME_SIZE, contentChannelRemaining);
+        if (directFrameBuffer == null) {
+            directFrameBuffer = ByteBuffer.allocateDirect(MAX_DATA_FRAME_SIZE);
+        }
+
+        directFrameBuffer.clear().limit(frameLength);
+        while (directFrameBuffer.hasRemaining()) {
+            final int bytesRead = flowFileContentChannel.read(directFrameBuffer, contentChannelPosition + directFrameBuffer.position());
+            if (bytesRead < 0) {
+                final long bytesAvailable = currentFlowFile.getSize() - contentChannelRemaining + directFrameBuffer.position();
+                throw new EOFException("Expected " + currentFlowFile + " to contain " + currentFlowFile.getSize() + " bytes but the content repository only had " + bytesAvailable + " bytes for it");
+            }
+        }
+        directFrameBuffer.flip();
+
+        logger.trace("Sending Data Frame that is {} bytes long to Peer {}", frameLength, peerDescription);
+        final ByteBuffer header = ByteBuffer.allocate(5);
+        header.put((byte) LoadBalanceProtocolConstants.DATA_FRAME_FOLLOWS);
+        header.putInt(frameLength);
+
+        checksum.update(header.array(), 0, 5);
+        checksum.update(directFrameBuffer);
+
+        // Only the header is returned to be written. The content is transferred from the file once the header has been written.
+        pendingTransferPosition = contentChannelPosition;
+        pendingTransferCount = frameLength;
+        contentChannelPosition += frameLength;
+        contentChannelRemaining -= frameLength;
+
+        phase = TransactionPhase.SEND_FLOWFILE_CONTENTS;
+        header.rewind();
+        return header;
+    }
+
+    private ByteBuffer getNoDataFrame() {
+        phase = TransactionPhase.GET_NEXT_FLOWFILE;
+
+        final ByteBuffer buffer = ByteBuffer.allocate(1);
+        buffer.put((byte) LoadBalanceProtocolConstants.NO_DATA_FRAME);
+        buffer.rewind();
+
+        checksum.update(LoadBalanceProtocolConstants.NO_DATA_FRAME);
+
+        logger.debug("Sending NO_DATA_FRAME indicator to Peer {}", peerDescription);
+
+        return buffer;
+    }
+
     private byte[] compressDataFrame(final byte[] uncompressed, final int byteCount) throws IOException {
         try (final ByteArrayOutputStream baos = new ByteArrayOutputStream();
              final OutputStream gzipOut = new GZIPOutputStream(baos, 1)) {
@@ -350,6 +518,7 @@ public class LoadBalanceSession {
     private ByteBuffer getNextFlowFile() throws IOException {
         if (transactionThreshold.isThresholdMet()) {
             currentFlowFile = null;
+            transactionThresholdMet = true;
             logger.debug("Transaction Threshold reached sending to Peer {}; Transitioning phase to SEND_CHECKSUM", peerDescription);
         } else {
             currentFlowFile = flowFileSupplier.get();
@@ -571,6 +740,7 @@ public class LoadBalanceSession {
 
             // consider complete because there's nothing else that we can do in this session. Allow client to move on to a different session.
             sessionState = LoadBalanceSessionState.COMPLETED_SUCCESSFULLY;
+            queueFull = true;
             partition.penalize(1000L);
         } else {
             throw new TransactionAbortedException("After requesting to know whether or not Peer " + peerDescription + " has space available in Connection " + connectionId
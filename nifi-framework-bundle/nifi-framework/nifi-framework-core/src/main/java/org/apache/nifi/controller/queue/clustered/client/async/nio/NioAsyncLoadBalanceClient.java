@@ -23,7 +23,7 @@ import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
 import org.apache.nifi.cluster.protocol.NodeIdentifier;
 import org.apache.nifi.controller.queue.LoadBalanceCompression;
 import org.apache.nifi.controller.queue.clustered.FlowFileContentAccess;
-import org.apache.nifi.controller.queue.clustered.SimpleLimitThreshold;
+import org.apache.nifi.controller.queue.clustered.LoadBalanceTransactionSizer;
 import org.apache.nifi.controller.queue.clustered.TransactionThreshold;
 import org.apache.nifi.controller.queue.clustered.client.LoadBalanceFlowFileCodec;
 import org.apache.nifi.controller.queue.clustered.client.async.AsyncLoadBalanceClient;
@@ -90,9 +90,17 @@ public class NioAsyncLoadBalanceClient implements AsyncLoadBalanceClient {
     private final Lock loadBalanceSessionLock = new ReentrantLock();
     private LoadBalanceSession loadBalanceSession = null;
 
+    // Throughput counters for the Peer
+    private final AtomicLong bytesSent = new AtomicLong(0L);
+    private final AtomicLong bytesTransferredDirectly = new AtomicLong(0L);
+    private final AtomicLong flowFilesSent = new AtomicLong(0L);
+    private final AtomicLong communicationNanos = new AtomicLong(0L);
+    private final LoadBalanceTransactionSizer transactionSizer;
+
 
     public NioAsyncLoadBalanceClient(final NodeIdentifier nodeIdentifier, final SSLContext sslContext, final int timeoutMillis, final FlowFileContentAccess flowFileContentAccess,
-                                     final LoadBalanceFlowFileCodec flowFileCodec, final EventReporter eventReporter, final ClusterCoordinator clusterCoordinator) {
+                                     final LoadBalanceFlowFileCodec flowFileCodec, final EventReporter eventReporter, final ClusterCoordinator clusterCoordinator,
+                                     final boolean adaptiveTransactionSize) {
         this.nodeIdentifier = nodeIdentifier;
         this.sslContext = sslContext;
         this.timeoutMillis = timeoutMillis;
@@ -100,6 +108,7 @@ public class NioAsyncLoadBalanceClient implements AsyncLoadBalanceClient {
         this.flowFileCodec = flowFileCodec;
         this.eventReporter = eventReporter;
         this.clusterCoordinator = clusterCoordinator;
+        this.transactionSizer = new LoadBalanceTransactionSizer(adaptiveTransactionSize);
     }
 
     @Override
@@ -267,15 +276,18 @@ public class NioAsyncLoadBalanceClient implements AsyncLoadBalanceClient {
 
             boolean anySuccess = false;
             boolean success;
+            final long communicationStart = System.nanoTime();
             do {
                 try {
                     success = loadBalanceSession.communicate();
                 } catch (final Exception e) {
+                    recordThroughput(loadBalanceSession, communicationStart);
                     logger.error("Failed to communicate with Peer {}", nodeIdentifier, e);
                     eventReporter.reportEvent(Severity.ERROR, "Load Balanced Connection", "Failed to communicate with Peer " + nodeIdentifier + " when load balancing data for Connection with ID " +
                         loadBalanceSession.getPartition().getConnectionId() + " due to " + e);
 
                     penalize();
+                    transactionSizer.onTransactionFailed();
                     loadBalanceSession.getPartition().getFailureCallback().onTransactionFailed(loadBalanceSession.getAndPurgeFlowFilesSent(), e, TransactionFailureCallback.TransactionPhase.SENDING);
                     close();
 
@@ -285,9 +297,27 @@ public class NioAsyncLoadBalanceClient implements AsyncLoadBalanceClient {
                 anySuccess = anySuccess || success;
             } while (success);
 
+            recordThroughput(loadBalanceSession, communicationStart);
+
             final LoadBalanceSession.LoadBalanceSessionState sessionState = loadBalanceSession.getSessionState();
             if (sessionState.isComplete() && sessionState != LoadBalanceSession.LoadBalanceSessionState.CANCELED) {
-                loadBalanceSession.getPartition().getSuccessCallback().onTransactionComplete(loadBalanceSession.getAndPurgeFlowFilesSent(), nodeIdentifier);
+                final List<FlowFileRecord> flowFilesTransferred = loadBalanceSession.getAndPurgeFlowFilesSent();
+                flowFilesSent.addAndGet(flowFilesTransferred.size());
+                if (loadBalanceSession.isQueueFull()) {
+                    transactionSizer.onBackPressure();
+                } else {
+                    long contentBytes = 0L;
+                    for (final FlowFileRecord flowFile : flowFilesTransferred) {
+                        contentBytes += flowFile.getSize();
+                    }
+
+                    transactionSizer.onTransactionComplete(flowFilesTransferred.size(), contentBytes, loadBalanceSession.getTransactionNanos(), loadBalanceSession.isTransactionThresholdMet());
+                }
+
+                logger.debug("{} completed transaction of {} FlowFiles; {} bytes sent to Peer in total, {} of them transferred directly from content files; {}",
+                    this, flowFilesTransferred.size(), bytesSent.get(), bytesTransferredDirectly.get(), transactionSizer);
+
+                loadBalanceSession.getPartition().getSuccessCallback().onTransactionComplete(flowFilesTransferred, nodeIdentifier);
             }
 
             return anySuccess;
@@ -300,6 +330,48 @@ public class NioAsyncLoadBalanceClient implements AsyncLoadBalanceClient {
         }
     }
 
+    private void recordThroughput(final LoadBalanceSession session, final long communicationStart) {
+        communicationNanos.addAndGet(System.nanoTime() - communicationStart);
+        bytesSent.addAndGet(session.getAndResetBytesSent());
+        bytesTransferredDirectly.addAndGet(session.getAndResetBytesTransferredDirectly());
+    }
+
+    /**
+     * @return the total number of bytes that have been sent to the Peer, including protocol framing
+     */
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * @return the number of content bytes that were transferred directly from content files to the Peer, without being copied through the heap
+     */
+    public long getBytesTransferredDirectly() {
+        return bytesTransferredDirectly.get();
+    }
+
+    /**
+     * @return the number of FlowFiles that have been successfully transferred to the Peer
+     */
+    public long getFlowFilesSent() {
+        return flowFilesSent.get();
+    }
+
+    /**
+     * @return the sizer of transactions to the Peer, which also records the batch sizes and throughput achieved
+     */
+    public LoadBalanceTransactionSizer getTransactionSizer() {
+        return transactionSizer;
+    }
+
+    /**
+     * @return the number of nanoseconds that have been spent communicating with the Peer, which together with the number of bytes sent
+     *         indicates the throughput achieved for the Peer
+     */
+    public long getCommunicationNanos() {
+        return communicationNanos.get();
+    }
+
     /**
      * If any FlowFiles have been transferred in an active session, fail the transaction. Otherwise, gather up to the Transaction Threshold's limits
      * worth of FlowFiles and treat them as a failed transaction. In either case, terminate the session. This allows us to transfer FlowFiles from
@@ -427,7 +499,7 @@ public class NioAsyncLoadBalanceClient implements AsyncLoadBalanceClient {
     }
 
     private TransactionThreshold newTransactionThreshold() {
-         return new SimpleLimitThreshold(1000, 10_000_000L);
+        return transactionSizer.newThreshold();
     }
 
     private synchronized boolean isConnectionEstablished() {
@@ -33,20 +33,27 @@ public class NioAsyncLoadBalanceClientFactory implements AsyncLoadBalanceClientF
     private final EventReporter eventReporter;
     private final LoadBalanceFlowFileCodec flowFileCodec;
     private final ClusterCoordinator clusterCoordinator;
+    private final boolean adaptiveTransactionSize;
 
     public NioAsyncLoadBalanceClientFactory(final SSLContext sslContext, final int timeoutMillis, final FlowFileContentAccess flowFileContentAccess, final EventReporter eventReporter,
                                             final LoadBalanceFlowFileCodec loadBalanceFlowFileCodec, final ClusterCoordinator clusterCoordinator) {
+        this(sslContext, timeoutMillis, flowFileContentAccess, eventReporter, loadBalanceFlowFileCodec, clusterCoordinator, false);
+    }
+
+    public NioAsyncLoadBalanceClientFactory(final SSLContext sslContext, final int timeoutMillis, final FlowFileContentAccess flowFileContentAccess, final EventReporter eventReporter,
+                                            final LoadBalanceFlowFileCodec loadBalanceFlowFileCodec, final ClusterCoordinator clusterCoordinator, final boolean adaptiveTransactionSize) {
         this.sslContext = sslContext;
         this.timeoutMillis = timeoutMillis;
         this.flowFileContentAccess = flowFileContentAccess;
         this.eventReporter = eventReporter;
         this.flowFileCodec = loadBalanceFlowFileCodec;
         this.clusterCoordinator = clusterCoordinator;
+        this.adaptiveTransactionSize = adaptiveTransactionSize;
     }
 
 
     @Override
     public NioAsyncLoadBalanceClient createClient(final NodeIdentifier nodeIdentifier) {
-        return new NioAsyncLoadBalanceClient(nodeIdentifier, sslContext, timeoutMillis, flowFileContentAccess, flowFileCodec, eventReporter, clusterCoordinator);
+        return new NioAsyncLoadBalanceClient(nodeIdentifier, sslContext, timeoutMillis, flowFileContentAccess, flowFileCodec, eventReporter, clusterCoordinator, adaptiveTransactionSize);
     }
 }
@@ -27,6 +27,7 @@ import javax.net.ssl.SSLSession;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SocketChannel;
 import java.util.OptionalInt;
 
@@ -190,6 +191,33 @@ public class PeerChannel implements Closeable {
         return socketChannel.write(preparedBuffer);
     }
 
+    /**
+     * Indicates whether data written to the channel is encrypted, in which case it must be passed through prepareForWrite()
+     * and cannot be transferred directly from a file using transferFrom()
+     *
+     * @return true when TLS is enabled
+     */
+    public boolean isSecure() {
+        return sslEngine != null;
+    }
+
+    /**
+     * Transfer bytes from a file directly to the Socket Channel without copying them into application buffers
+     *
+     * @param source File Channel from which to transfer bytes
+     * @param position Position in the file of the first byte to be transferred
+     * @param count Maximum number of bytes to be transferred
+     * @return Number of bytes transferred according to FileChannel.transferTo()
+     * @throws IOException Thrown on failure to read from the file or to write to the Socket Channel
+     */
+    public long transferFrom(final FileChannel source, final long position, final long count) throws IOException {
+        if (sslEngine != null) {
+            throw new IllegalStateException("Cannot transfer bytes directly from a file to Peer " + peerDescription + " because TLS is enabled");
+        }
+
+        return source.transferTo(position, count, socketChannel);
+    }
+
     /**
      * Read application data bytes into the provided buffer
      *
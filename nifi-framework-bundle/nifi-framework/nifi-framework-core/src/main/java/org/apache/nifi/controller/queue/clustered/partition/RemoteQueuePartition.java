@@ -299,7 +299,7 @@ public class RemoteQueuePartition implements QueuePartition {
                 .setTransitUri("nifi://" + nodeIdentifier.getApiAddress() + "/loadbalance/" + flowFileQueue.getIdentifier());
 
         final ContentClaim contentClaim = flowFile.getContentClaim();
-        if (contentClaim != null) {
+        if (contentClaim != null && contentClaim.getResourceClaim() != null) {
             final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
             builder.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
                     contentClaim.getOffset() + flowFile.getContentClaimOffset(), flowFile.getSize());
@@ -327,7 +327,7 @@ public class RemoteQueuePartition implements QueuePartition {
                 .setSourceQueueIdentifier(flowFileQueue.getIdentifier());
 
         final ContentClaim contentClaim = flowFile.getContentClaim();
-        if (contentClaim != null) {
+        if (contentClaim != null && contentClaim.getResourceClaim() != null) {
             final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
             builder.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
                     contentClaim.getOffset() + flowFile.getContentClaimOffset(), flowFile.getSize());
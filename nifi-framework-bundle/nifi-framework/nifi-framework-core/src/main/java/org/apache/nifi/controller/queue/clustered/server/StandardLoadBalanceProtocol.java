@@ -376,7 +376,7 @@ public class StandardLoadBalanceProtocol implements LoadBalanceProtocol {
                 .setDetails(details);
 
             final ContentClaim contentClaim = flowFileRecord.getContentClaim();
-            if (contentClaim != null) {
+            if (contentClaim != null && contentClaim.getResourceClaim() != null) {
                 final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
                 provenanceEventBuilder.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
                     contentClaim.getOffset() + flowFileRecord.getContentClaimOffset(), flowFileRecord.getSize());
@@ -408,7 +408,7 @@ public class StandardLoadBalanceProtocol implements LoadBalanceProtocol {
                     .setComponentType("Load Balanced Connection");
 
             final ContentClaim contentClaim = flowFileRecord.getContentClaim();
-            if (contentClaim != null) {
+            if (contentClaim != null && contentClaim.getResourceClaim() != null) {
                 final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
                 provenanceEventBuilder.setCurrentContentClaim(resourceClaim.getContainer(), resourceClaim.getSection(), resourceClaim.getId(),
                     contentClaim.getOffset() + flowFileRecord.getContentClaimOffset(), flowFileRecord.getSize());
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * An on-disk index of the content held in a container of the {@link FileSystemRepository}, keyed by the SHA-256 hash of the content,
+ * that allows identical content to be stored only once. Each entry of the index is a small file, named by the hash, that holds the path
+ * of a Resource Claim's file with that content, relative to the container. When a Resource Claim's file is found to be identical to the
+ * file that an entry refers to, it is replaced by a hard link to that file, so that both Resource Claims share the same data on disk.
+ * As the index is held by the file system itself, it survives restarts without having to be rebuilt.
+ * </p>
+ *
+ * <p>
+ * The index never links to content itself, so content that only a single Resource Claim refers to is freed as soon as that Resource
+ * Claim's file is removed. Shared data is freed once the last file that links to it has been removed, whether it was destroyed or
+ * archived and then expired. An entry whose file no longer exists is replaced by the next file with the same content, and is otherwise
+ * removed by {@link #removeStaleEntries()}.
+ * </p>
+ */
+class ContentHashIndex {
+    static final String INDEX_DIR_NAME = "deduplication";
+    static final int INDEX_SUBDIRECTORY_COUNT = 256;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String LINK_COUNT_ATTRIBUTE = "unix:nlink";
+    private static final String LINK_SUFFIX = ".link";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+    private static final Logger logger = LoggerFactory.getLogger(ContentHashIndex.class);
+
+    private final Path containerPath;
+    private final Path indexPath;
+    private final AtomicInteger nextSubdirectoryToSweep = new AtomicInteger();
+
+    ContentHashIndex(final Path containerPath) {
+        this.containerPath = containerPath;
+        this.indexPath = containerPath.resolve(INDEX_DIR_NAME);
+    }
+
+    /**
+     * @param containerPath the path of a container
+     * @return <code>true</code> if the file system of the container reports the number of links to a file, which the index requires
+     * @throws IOException if unable to determine the file system of the container
+     */
+    static boolean isSupported(final Path containerPath) throws IOException {
+        return Files.getFileStore(containerPath).supportsFileAttributeView("unix");
+    }
+
+    /**
+     * @return a new digest for calculating the hash by which content is indexed
+     */
+    static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    /**
+     * @param path the path of a file
+     * @return the number of links to the data of the file, including the given path
+     * @throws IOException if unable to read the attributes of the file
+     */
+    static int getLinkCount(final Path path) throws IOException {
+        return (Integer) Files.getAttribute(path, LINK_COUNT_ATTRIBUTE);
+    }
+
+    /**
+     * @return <code>true</code> if content has been added to the index, in which case files of the container may share their data
+     */
+    boolean exists() {
+        return Files.isDirectory(indexPath);
+    }
+
+    /**
+     * Adds the given file to the index or, if the index already refers to a file with identical content, replaces the file with a link to
+     * that file.
+     *
+     * @param contentPath the path of a Resource Claim's file that will not be written to again
+     * @param hash the hash of the entire content of the file
+     * @return <code>true</code> if the file was replaced by a link to identical content, <code>false</code> if it was added to the index instead
+     * @throws IOException if unable to update the index or to replace the file
+     */
+    boolean deduplicate(final Path contentPath, final byte[] hash) throws IOException {
+        final String entryName = HEX_FORMAT.formatHex(hash);
+        final Path entryPath = indexPath.resolve(entryName.substring(0, 2)).resolve(entryName);
+        Files.createDirectories(entryPath.getParent());
+
+        final Path storedPath = findStoredContent(entryPath, contentPath);
+        if (storedPath == null || Files.isSameFile(storedPath, contentPath)) {
+            writeEntry(entryPath, contentPath);
+            return false;
+        }
+
+        // Create the link alongside the file and then move it over the file, so that the file is never missing for readers. If NiFi stops
+        // before the link is moved, the link is an unknown file in the container, which the repository removes when it is next started.
+        final Path linkPath = contentPath.resolveSibling(contentPath.getFileName() + LINK_SUFFIX);
+        try {
+            Files.createLink(linkPath, storedPath);
+        } catch (final NoSuchFileException e) {
+            // The stored content was removed after it was found, so this content takes its place
+            writeEntry(entryPath, contentPath);
+            return false;
+        }
+
+        try {
+            Files.move(linkPath, contentPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            Files.deleteIfExists(linkPath);
+            throw e;
+        }
+
+        // Refer to the newest file with the content, as it is likely to be kept the longest, so that the content can still be found after
+        // the file of the entry is removed
+        writeEntry(entryPath, contentPath);
+        return true;
+    }
+
+    private Path findStoredContent(final Path entryPath, final Path contentPath) throws IOException {
+        final Path storedPath = readEntry(entryPath);
+        if (storedPath == null) {
+            return null;
+        }
+
+        // The stored content may have been archived since the entry was written, which moves it into the archive of its section
+        for (final Path candidate : new Path[] {storedPath, FileSystemRepository.getArchivePath(storedPath)}) {
+            try {
+                // The stored file may have been replaced since the entry was written, so the content is only shared if it is identical
+                if (Files.size(candidate) == Files.size(contentPath) && Files.mismatch(candidate, contentPath) == -1L) {
+                    return candidate;
+                }
+
+                logger.warn("Content hash index entry {} refers to {} but its content differs from content with the same hash in {}", entryPath, candidate, contentPath);
+                return null;
+            } catch (final NoSuchFileException ignored) {
+                // check the next location of the content
+            }
+        }
+
+        return null;
+    }
+
+    private Path readEntry(final Path entryPath) throws IOException {
+        final String relativePath;
+        try {
+            relativePath = Files.readString(entryPath, StandardCharsets.UTF_8);
+        } catch (final NoSuchFileException e) {
+            return null;
+        }
+
+        return relativePath.isEmpty() ? null : containerPath.resolve(relativePath);
+    }
+
+    private void writeEntry(final Path entryPath, final Path contentPath) throws IOException {
+        // Write the entry to a temporary file that is then moved over the entry, so that the entry is never read while partially written
+        final Path tempPath = Files.createTempFile(entryPath.getParent(), entryPath.getFileName().toString(), TEMP_SUFFIX);
+        try {
+            try (final FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                final ByteBuffer buffer = StandardCharsets.UTF_8.encode(containerPath.relativize(contentPath).toString());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+
+            Files.move(tempPath, entryPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final NoSuchFileException e) {
+            // The temporary file was removed by a concurrent sweep before it was written, so the entry is left as it was
+            logger.debug("Did not update content hash index entry {} because its temporary file was removed", entryPath);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * Removes the entries of one subdirectory of the index that refer to content that is no longer stored. Each invocation sweeps the next
+     * of the {@value #INDEX_SUBDIRECTORY_COUNT} subdirectories, so that the cost of an invocation does not grow with the size of the index.
+     *
+     * @return the number of entries that were removed
+     * @throws IOException if unable to read the subdirectory of the index
+     */
+    int removeStaleEntries() throws IOException {
+        final int subdirectoryIndex = Math.floorMod(nextSubdirectoryToSweep.getAndIncrement(), INDEX_SUBDIRECTORY_COUNT);
+        final Path subdirectory = indexPath.resolve(HEX_FORMAT.toHexDigits((byte) subdirectoryIndex));
+        if (!Files.isDirectory(subdirectory)) {
+            return 0;
+        }
+
+        int removed = 0;
+        try (final DirectoryStream<Path> entries = Files.newDirectoryStream(subdirectory)) {
+            for (final Path entryPath : entries) {
+                try {
+                    final Path storedPath = readEntry(entryPath);
+                    if (storedPath == null || (!Files.exists(storedPath) && !Files.exists(FileSystemRepository.getArchivePath(storedPath)))) {
+                        if (Files.deleteIfExists(entryPath)) {
+                            removed++;
+                        }
+                    }
+                } catch (final IOException e) {
+                    logger.warn("Failed to remove stale content hash index entry {}", entryPath, e);
+                }
+            }
+        }
+
+        logger.debug("Removed {} stale entries from {}", removed, subdirectory);
+        return removed;
+    }
+}
@@ -17,10 +17,13 @@
 package org.apache.nifi.controller.repository;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.nifi.controller.repository.claim.ConcatenatedContentClaim;
 import org.apache.nifi.controller.repository.claim.ContentClaim;
+import org.apache.nifi.controller.repository.claim.InlineContentClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
 import org.apache.nifi.controller.repository.claim.StandardContentClaim;
+import org.apache.nifi.controller.repository.io.ByteBufferInputStream;
 import org.apache.nifi.controller.repository.io.ContentClaimOutputStream;
 import org.apache.nifi.controller.repository.io.LimitedInputStream;
 import org.apache.nifi.engine.FlowEngine;
@@ -47,12 +50,16 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -90,6 +97,11 @@ public class FileSystemRepository implements ContentRepository {
     // 100 MB cap for the configurable NiFiProperties.MAX_APPENDABLE_CLAIM_SIZE property to prevent
     // unnecessarily large resource claim files
     public static final String APPENDABLE_CLAIM_LENGTH_CAP = "100 MB";
+    // 64 KB cap for the configurable NiFiProperties.MAX_INLINE_CONTENT_SIZE property, as inline content is held in the heap
+    // along with the FlowFile and is written to the FlowFile Repository on every update of the FlowFile
+    public static final String INLINE_CONTENT_SIZE_CAP = "64 KB";
+    // Limits the number of segments of a concatenated claim, as each segment is written to the FlowFile Repository along with the FlowFile
+    public static final int MAX_CONCATENATED_SEGMENTS = 1000;
     public static final Pattern MAX_ARCHIVE_SIZE_PATTERN = Pattern.compile("\\d{1,2}%");
     private static final Logger LOG = LoggerFactory.getLogger(FileSystemRepository.class);
 
@@ -118,10 +130,17 @@ public class FileSystemRepository implements ContentRepository {
     // in order to avoid backpressure on session commits. With 1 MB as the target file size, 100's of thousands of
     // files would mean that we are writing gigabytes per second - quite a bit faster than any disks can handle now.
     private final long maxAppendableClaimLength;
+    private final int maxInlineContentSize;
     private final long maxArchiveMillis;
     private final Map<String, Long> minUsableContainerBytesForArchive = new HashMap<>();
     private final boolean alwaysSync;
     private final ScheduledExecutorService containerCleanupExecutor;
+    private final MappedResourceClaimCache mappedResourceClaims; // null if memory-mapped reads are disabled
+    private final boolean concatenationEnabled;
+    private final boolean deduplicationEnabled;
+    // Index of content for each container whose file system supports it, whether or not deduplication is enabled, so that the entries
+    // of an index that was created while deduplication was enabled are still removed once their content is no longer referenced
+    private final Map<String, ContentHashIndex> contentHashIndexes = new HashMap<>();
 
     private ResourceClaimManager resourceClaimManager; // effectively final
     private EventReporter eventReporter;
@@ -154,6 +173,19 @@ public class FileSystemRepository implements ContentRepository {
             this.maxAppendableClaimLength = configuredAppendableClaimLength;
         }
 
+        final long configuredInlineContentSize = DataUnit.parseDataSize(nifiProperties.getMaxInlineContentSize(), DataUnit.B).longValue();
+        final long inlineContentSizeCap = DataUnit.parseDataSize(INLINE_CONTENT_SIZE_CAP, DataUnit.B).longValue();
+        if (configuredInlineContentSize > inlineContentSizeCap) {
+            LOG.warn("Configured property '{}' with value {} exceeds cap of {}. Setting value to {}",
+                NiFiProperties.MAX_INLINE_CONTENT_SIZE,
+                configuredInlineContentSize,
+                INLINE_CONTENT_SIZE_CAP,
+                INLINE_CONTENT_SIZE_CAP);
+            this.maxInlineContentSize = (int) inlineContentSizeCap;
+        } else {
+            this.maxInlineContentSize = (int) Math.max(0L, configuredInlineContentSize);
+        }
+
         this.containers = new HashMap<>(fileRespositoryPaths);
         this.containerNames = new ArrayList<>(containers.keySet());
         index = new AtomicLong(0L);
@@ -230,8 +262,36 @@ public class FileSystemRepository implements ContentRepository {
 
         this.alwaysSync = Boolean.parseBoolean(nifiProperties.getProperty("nifi.content.repository.always.sync"));
         LOG.info("Initializing FileSystemRepository with 'Always Sync' set to {}", alwaysSync);
+
+        final boolean memoryMappedReads = Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.CONTENT_REPOSITORY_MEMORY_MAPPED_READS,
+            String.valueOf(NiFiProperties.DEFAULT_CONTENT_REPOSITORY_MEMORY_MAPPED_READS)));
+        if (memoryMappedReads) {
+            final String maxMappedSize = nifiProperties.getProperty(NiFiProperties.CONTENT_REPOSITORY_MEMORY_MAPPED_MAX_SIZE, NiFiProperties.DEFAULT_CONTENT_REPOSITORY_MEMORY_MAPPED_MAX_SIZE);
+            final long maxMappedBytes = DataUnit.parseDataSize(maxMappedSize, DataUnit.B).longValue();
+            mappedResourceClaims = new MappedResourceClaimCache(maxMappedBytes);
+            LOG.info("Initializing FileSystemRepository with memory-mapped reads of up to {} bytes", maxMappedBytes);
+        } else {
+            mappedResourceClaims = null;
+        }
+
+        this.concatenationEnabled = Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.CONTENT_CLAIM_CONCATENATION_ENABLED,
+            String.valueOf(NiFiProperties.DEFAULT_CONTENT_CLAIM_CONCATENATION_ENABLED)));
         initializeRepository();
 
+        this.deduplicationEnabled = Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.CONTENT_REPOSITORY_DEDUPLICATION_ENABLED,
+            String.valueOf(NiFiProperties.DEFAULT_CONTENT_REPOSITORY_DEDUPLICATION_ENABLED)));
+        for (final Map.Entry<String, Path> container : containers.entrySet()) {
+            if (ContentHashIndex.isSupported(container.getValue())) {
+                contentHashIndexes.put(container.getKey(), new ContentHashIndex(container.getValue()));
+            } else if (deduplicationEnabled) {
+                LOG.warn("Content deduplication is enabled but the file system of Container {} does not support hard links; content in this Container will not be deduplicated",
+                    container.getKey());
+            }
+        }
+        if (deduplicationEnabled) {
+            LOG.info("Initializing FileSystemRepository with content deduplication for Containers {}", contentHashIndexes.keySet());
+        }
+
         containerCleanupExecutor = new FlowEngine(containers.size(), "Cleanup FileSystemRepository Container", true);
     }
 
@@ -262,6 +322,10 @@ public class FileSystemRepository implements ContentRepository {
         executor.shutdown();
         containerCleanupExecutor.shutdown();
 
+        if (mappedResourceClaims != null) {
+            mappedResourceClaims.clear();
+        }
+
         // Close any of the writable claim streams that are currently open.
         // Other threads may be writing to these streams, and that's okay.
         // If that happens, we will simply close the stream, resulting in an
@@ -423,6 +487,10 @@ public class FileSystemRepository implements ContentRepository {
             final File[] sectionFiles = containerPath.toFile().listFiles();
             if (sectionFiles != null) {
                 for (final File sectionFile : sectionFiles) {
+                    if (ContentHashIndex.INDEX_DIR_NAME.equals(sectionFile.getName())) {
+                        continue;
+                    }
+
                     removeIncompleteContent(containerName, containerPath, sectionFile.toPath());
                 }
             }
@@ -509,6 +577,11 @@ public class FileSystemRepository implements ContentRepository {
         return true;
     }
 
+    @Override
+    public int getMaxInlineContentSize() {
+        return maxInlineContentSize;
+    }
+
     @Override
     public Set<ResourceClaim> getActiveResourceClaims(final String containerName) {
         final Path containerPath = containers.get(containerName);
@@ -673,7 +746,14 @@ public class FileSystemRepository implements ContentRepository {
                 throw new IOException("Could not determine file to write to for " + resourceClaim);
             }
             final File file = resourceClaimPath.toFile();
-            ByteCountingOutputStream claimStream = new SynchronizedByteCountingOutputStream(new FileOutputStream(file, true), file.length());
+            final FileOutputStream fileOut = new FileOutputStream(file, true);
+            final long fileLength = file.length();
+            final ByteCountingOutputStream claimStream;
+            if (deduplicationEnabled && fileLength == 0L && contentHashIndexes.containsKey(containerName)) {
+                claimStream = new HashingByteCountingOutputStream(fileOut, ContentHashIndex.createDigest());
+            } else {
+                claimStream = new SynchronizedByteCountingOutputStream(fileOut, fileLength);
+            }
             writableClaimStreams.put(resourceClaim, claimStream);
 
             incrementClaimantCount(resourceClaim, true);
@@ -689,8 +769,42 @@ public class FileSystemRepository implements ContentRepository {
         return scc;
     }
 
+    @Override
+    public ContentClaim concatenate(final List<ContentClaim> segments, final byte[] header, final byte[] footer, final byte[] demarcator) {
+        if (!concatenationEnabled || segments.isEmpty() || segments.size() > MAX_CONCATENATED_SEGMENTS) {
+            return null;
+        }
+
+        long segmentBytes = 0L;
+        for (final ContentClaim segment : segments) {
+            if (segment.getLength() < 0 || segment instanceof ConcatenatedContentClaim) {
+                return null;
+            }
+
+            segmentBytes += segment.getLength();
+        }
+
+        // Content that is smaller than an appendable claim is cheap to copy, so it is not worth holding the content of every segment
+        if (segmentBytes < maxAppendableClaimLength * segments.size()) {
+            return null;
+        }
+
+        final ContentClaim concatenatedClaim = new ConcatenatedContentClaim(segments, header, footer, demarcator);
+        incrementClaimaintCount(concatenatedClaim);
+        LOG.debug("Created {} referencing {} bytes of existing content", concatenatedClaim, segmentBytes);
+        return concatenatedClaim;
+    }
+
     @Override
     public int incrementClaimaintCount(final ContentClaim claim) {
+        if (claim instanceof ConcatenatedContentClaim) {
+            int claimantCount = Integer.MAX_VALUE;
+            for (final ResourceClaim resourceClaim : claim.getResourceClaims()) {
+                claimantCount = Math.min(claimantCount, incrementClaimantCount(resourceClaim, false));
+            }
+            return claimantCount == Integer.MAX_VALUE ? 0 : claimantCount;
+        }
+
         return incrementClaimantCount(claim == null ? null : claim.getResourceClaim(), false);
     }
 
@@ -707,6 +821,14 @@ public class FileSystemRepository implements ContentRepository {
         if (claim == null) {
             return 0;
         }
+        if (claim instanceof ConcatenatedContentClaim) {
+            // Every claimant of a concatenated claim is a claimant of each of its Resource Claims, so it has no more claimants than the least claimed of them
+            int claimantCount = Integer.MAX_VALUE;
+            for (final ResourceClaim resourceClaim : claim.getResourceClaims()) {
+                claimantCount = Math.min(claimantCount, resourceClaimManager.getClaimantCount(resourceClaim));
+            }
+            return claimantCount == Integer.MAX_VALUE ? 0 : claimantCount;
+        }
 
         return resourceClaimManager.getClaimantCount(claim.getResourceClaim());
     }
@@ -716,13 +838,20 @@ public class FileSystemRepository implements ContentRepository {
         if (claim == null) {
             return 0;
         }
+        if (claim instanceof ConcatenatedContentClaim) {
+            int claimantCount = Integer.MAX_VALUE;
+            for (final ResourceClaim resourceClaim : claim.getResourceClaims()) {
+                claimantCount = Math.min(claimantCount, resourceClaimManager.decrementClaimantCount(resourceClaim));
+            }
+            return claimantCount == Integer.MAX_VALUE ? 0 : claimantCount;
+        }
 
         return resourceClaimManager.decrementClaimantCount(claim.getResourceClaim());
     }
 
     @Override
     public boolean remove(final ContentClaim claim) {
-        if (claim == null) {
+        if (claim == null || claim.getResourceClaim() == null) {
             return false;
         }
 
@@ -905,6 +1034,17 @@ public class FileSystemRepository implements ContentRepository {
         if (claim == null) {
             return new ByteArrayInputStream(new byte[0]);
         }
+        if (claim instanceof InlineContentClaim inlineClaim) {
+            return inlineClaim.read();
+        }
+        if (claim instanceof ConcatenatedContentClaim concatenatedClaim) {
+            return new ConcatenatedInputStream(concatenatedClaim);
+        }
+
+        final ByteBuffer mappedContent = getMappedContent(claim);
+        if (mappedContent != null) {
+            return new ByteBufferInputStream(mappedContent);
+        }
 
         final InputStream fis = getInputStream(claim);
         if (claim.getOffset() > 0L) {
@@ -944,6 +1084,58 @@ public class FileSystemRepository implements ContentRepository {
         }
     }
 
+    @Override
+    public ByteBuffer readAsByteBuffer(final ContentClaim claim) throws IOException {
+        if (claim instanceof InlineContentClaim inlineClaim) {
+            return ByteBuffer.wrap(inlineClaim.getContent()).asReadOnlyBuffer();
+        }
+        if (claim != null && claim.getResourceClaim() != null) {
+            final ByteBuffer mappedContent = getMappedContent(claim);
+            if (mappedContent != null) {
+                return mappedContent;
+            }
+        }
+
+        return ContentRepository.super.readAsByteBuffer(claim);
+    }
+
+    /**
+     * Returns the content of the given claim as a slice of its memory-mapped Resource Claim, if memory-mapped reads are enabled and
+     * the Resource Claim can be mapped. Otherwise, returns <code>null</code>, in which case the content should be streamed from disk.
+     */
+    private ByteBuffer getMappedContent(final ContentClaim claim) throws IOException {
+        // A claim length of -1 indicates that the claim is still being written to, so its Resource Claim cannot be mapped
+        if (mappedResourceClaims == null || claim.getLength() < 0) {
+            return null;
+        }
+
+        final ResourceClaim resourceClaim = claim.getResourceClaim();
+        ByteBuffer region = mappedResourceClaims.getMappedRegion(resourceClaim);
+        if (region == null) {
+            if (resourceClaim.isWritable()) {
+                return null;
+            }
+
+            try {
+                region = mappedResourceClaims.map(resourceClaim, getPath(claim, true));
+            } catch (final NoSuchFileException e) {
+                // The file was archived or removed after its path was determined
+                return null;
+            }
+
+            if (region == null) {
+                return null;
+            }
+        }
+
+        // If the Resource Claim is too short, fall back to streaming so that the appropriate Exception is thrown
+        if (claim.getOffset() + claim.getLength() > region.capacity()) {
+            return null;
+        }
+
+        return region.slice((int) claim.getOffset(), (int) claim.getLength());
+    }
+
     private void closeQuietly(final Closeable closeable) {
         if (closeable == null) {
             return;
@@ -1094,6 +1286,12 @@ public class FileSystemRepository implements ContentRepository {
         if (contentClaim == null) {
             return false;
         }
+        if (contentClaim instanceof InlineContentClaim) {
+            return true;
+        }
+        if (contentClaim instanceof ConcatenatedContentClaim concatenatedClaim) {
+            return concatenatedClaim.getSegments().stream().allMatch(this::isAccessible);
+        }
         final Path path = getPath(contentClaim);
         if (path == null) {
             return false;
@@ -1135,6 +1333,10 @@ public class FileSystemRepository implements ContentRepository {
             return false;
         }
 
+        if (mappedResourceClaims != null) {
+            mappedResourceClaims.evict(claim);
+        }
+
         // If the claim count is decremented to 0 (<= 0 as a 'defensive programming' strategy), ensure that
         // we close the stream if there is one. There may be a stream open if create() is called and then
         // claimant count is removed without writing to the claim (or more specifically, without closing the
@@ -1177,6 +1379,13 @@ public class FileSystemRepository implements ContentRepository {
         }
 
         Files.move(curPath, archivePath);
+
+        // A file that shares its data with others has the modification time of whichever of them was written first, which would make
+        // newly archived content appear old to the archive expiration if its age cannot be determined from its name
+        if (!contentHashIndexes.isEmpty() && ContentHashIndex.getLinkCount(archivePath) > 1) {
+            Files.setLastModifiedTime(archivePath, FileTime.fromMillis(System.currentTimeMillis()));
+        }
+
         return true;
     }
 
@@ -1214,6 +1423,29 @@ public class FileSystemRepository implements ContentRepository {
         return (oldestArchiveDate <= removalTimeThreshold);
     }
 
+    /**
+     * Deletes a file from the archive of a Container.
+     *
+     * @param path the path of the archived file
+     * @param size the size of the archived file
+     * @param sharedDataPossible whether the file may share its data with other files, as deduplicated content does
+     * @return the number of bytes that deleting the file freed, which is 0 if the file did not exist or if its data is still linked from another file
+     * @throws IOException if unable to delete the file
+     */
+    // Visible for testing
+    long deleteArchivedFile(final Path path, final long size, final boolean sharedDataPossible) throws IOException {
+        boolean lastLink = true;
+        if (sharedDataPossible) {
+            try {
+                lastLink = ContentHashIndex.getLinkCount(path) <= 1;
+            } catch (final NoSuchFileException nsfe) {
+                return 0L;
+            }
+        }
+
+        return Files.deleteIfExists(path) && lastLink ? size : 0L;
+    }
+
     private void destroyExpiredArchives(final String containerName, final Path container) throws IOException {
         archiveExpirationLog.debug("Destroying Expired Archives for Container {}", containerName);
         final List<ArchiveInfo> notYetExceedingThreshold = new ArrayList<>();
@@ -1228,6 +1460,8 @@ public class FileSystemRepository implements ContentRepository {
 
         final long usableSpace = getContainerUsableSpace(containerName);
         final ContainerState containerState = containerStateMap.get(containerName);
+        final ContentHashIndex contentHashIndex = contentHashIndexes.get(containerName);
+        final boolean sharedDataPossible = contentHashIndex != null && contentHashIndex.exists();
 
         // First, delete files from our queue
         final long startNanos = System.nanoTime();
@@ -1262,10 +1496,9 @@ public class FileSystemRepository implements ContentRepository {
                         continue;
                     }
 
-                    Files.deleteIfExists(toDelete.toPath());
+                    freed += deleteArchivedFile(toDelete.toPath(), fileSize, sharedDataPossible);
                     containerState.decrementArchiveCount();
                     LOG.debug("Deleted archived ContentClaim with ID {} from Container {} because the archival size was exceeding the max configured size", toDelete.getName(), containerName);
-                    freed += fileSize;
                     deleteCount++;
                 }
 
@@ -1325,9 +1558,8 @@ public class FileSystemRepository implements ContentRepository {
                         if (lastModTime < timestampThreshold) {
                             try {
                                 expiredFilesDeleted.incrementAndGet();
-                                expiredBytesDeleted.addAndGet(file.toFile().length());
+                                expiredBytesDeleted.addAndGet(deleteArchivedFile(file, attrs.size(), sharedDataPossible));
 
-                                Files.deleteIfExists(file);
                                 containerState.decrementArchiveCount();
                                 LOG.debug("Deleted archived ContentClaim with ID {} from Container {} because it was older than the configured max archival duration",
                                         file.toFile().getName(), containerName);
@@ -1358,10 +1590,8 @@ public class FileSystemRepository implements ContentRepository {
         long archiveBytesDeleted = 0L;
         for (final ArchiveInfo archiveInfo : notYetExceedingThreshold) {
             try {
-                final Path path = archiveInfo.toPath();
-                Files.deleteIfExists(path);
+                archiveBytesDeleted += deleteArchivedFile(archiveInfo.toPath(), archiveInfo.getSize(), sharedDataPossible);
                 containerState.decrementArchiveCount();
-                archiveBytesDeleted += archiveInfo.getSize();
                 LOG.debug("Deleted archived ContentClaim with ID {} from Container {} because the archival size was exceeding the max configured size", archiveInfo.getName(), containerName);
 
                 // Check if we've freed enough space every 25 files that we destroy
@@ -1521,6 +1751,16 @@ public class FileSystemRepository implements ContentRepository {
         public void run() {
             try {
                 Thread.currentThread().setName("Cleanup Archive for " + containerName);
+
+                final ContentHashIndex contentHashIndex = contentHashIndexes.get(containerName);
+                if (contentHashIndex != null) {
+                    try {
+                        contentHashIndex.removeStaleEntries();
+                    } catch (final IOException ioe) {
+                        LOG.warn("Failed to remove stale entries from the content hash index for container {}", containerName, ioe);
+                    }
+                }
+
                 try {
                     destroyExpiredArchives(containerName, containerPath);
 
@@ -1746,7 +1986,160 @@ public class FileSystemRepository implements ContentRepository {
         return cleanupInterval;
     }
 
+    private void deduplicate(final ResourceClaim resourceClaim, final byte[] hash) {
+        final ContentHashIndex contentHashIndex = contentHashIndexes.get(resourceClaim.getContainer());
+        final Path path = getPath(resourceClaim);
+
+        try {
+            if (contentHashIndex.deduplicate(path, hash)) {
+                LOG.debug("Content of {} is identical to content that is already stored; replaced {} with a link to the stored content", resourceClaim, path);
+            }
+        } catch (final NoSuchFileException nsfe) {
+            LOG.debug("Did not deduplicate content of {} because its file was removed", resourceClaim);
+        } catch (final IOException ioe) {
+            LOG.warn("Failed to deduplicate content of {}; its content will be stored separately", resourceClaim, ioe);
+        }
+    }
+
+    /**
+     * A stream to the file of a new Resource Claim that calculates the hash of everything written to the file, so that the content of the
+     * Resource Claim can be deduplicated once it is complete without having to read the file again.
+     */
+    private static class HashingByteCountingOutputStream extends SynchronizedByteCountingOutputStream {
+        private final MessageDigest digest;
+
+        private HashingByteCountingOutputStream(final FileOutputStream out, final MessageDigest digest) {
+            super(out);
+            this.digest = digest;
+        }
+
+        @Override
+        public synchronized void write(final int b) throws IOException {
+            super.write(b);
+            digest.update((byte) b);
+        }
+
+        // write(byte[]) delegates to this method, so it does not need to update the digest itself
+        @Override
+        public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+            super.write(b, off, len);
+            digest.update(b, off, len);
+        }
+
+        private synchronized byte[] getHash() {
+            return digest.digest();
+        }
+    }
+
+
+
+    /**
+     * Streams the content of a Concatenated Content Claim: the header, then the content of each segment with the demarcator between each
+     * pair of segments, then the footer. Each segment is only opened once the content before it has been consumed, so that no more than
+     * one segment is open at a time.
+     */
+    private class ConcatenatedInputStream extends InputStream {
+        private final ConcatenatedContentClaim claim;
+        private final int partCount;
+        private int nextPart = 0;
+        private InputStream currentPart;
+        private boolean closed = false;
+
+        ConcatenatedInputStream(final ConcatenatedContentClaim claim) {
+            this.claim = claim;
+            // The header, each segment, the demarcators between the segments, and the footer
+            this.partCount = claim.getSegments().size() * 2 + 1;
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (nextStream()) {
+                final int value = currentPart.read();
+                if (value >= 0) {
+                    return value;
+                }
+
+                closeCurrentPart();
+            }
+
+            return -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            while (nextStream()) {
+                final int bytesRead = currentPart.read(b, off, len);
+                if (bytesRead > 0) {
+                    return bytesRead;
+                }
+
+                closeCurrentPart();
+            }
+
+            return -1;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            long skipped = 0L;
+            while (skipped < n && nextStream()) {
+                final long partSkipped = currentPart.skip(n - skipped);
+                if (partSkipped > 0) {
+                    skipped += partSkipped;
+                } else if (currentPart.read() >= 0) {
+                    skipped++;
+                } else {
+                    closeCurrentPart();
+                }
+            }
+
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            closeCurrentPart();
+        }
+
+        // Ensures that a part is open, opening the next part if needed; returns false once all parts have been consumed
+        private boolean nextStream() throws IOException {
+            if (closed) {
+                throw new IOException("Stream is closed");
+            }
+            if (currentPart != null) {
+                return true;
+            }
+            if (nextPart >= partCount) {
+                return false;
+            }
 
+            final int part = nextPart++;
+            if (part == 0) {
+                currentPart = new ByteArrayInputStream(claim.getHeader());
+            } else if (part == partCount - 1) {
+                currentPart = new ByteArrayInputStream(claim.getFooter());
+            } else if (part % 2 == 0) {
+                currentPart = new ByteArrayInputStream(claim.getDemarcator());
+            } else {
+                currentPart = FileSystemRepository.this.read(claim.getSegments().get(part / 2));
+            }
+
+            return true;
+        }
+
+        private void closeCurrentPart() throws IOException {
+            if (currentPart != null) {
+                final InputStream part = currentPart;
+                currentPart = null;
+                part.close();
+            }
+        }
+    }
 
     protected class ContentRepositoryOutputStream extends ContentClaimOutputStream {
         protected StandardContentClaim scc;
@@ -1893,6 +2286,12 @@ public class FileSystemRepository implements ContentRepository {
 
                 bcos.close();
                 LOG.debug("Claim lenth >= max; Closing {}", this);
+
+                // The content of the Resource Claim is complete, so it can now be compared with content that is already stored,
+                // unless a write failed, in which case the hash may not match the content of the file
+                if (recycle && bcos instanceof HashingByteCountingOutputStream hashingStream) {
+                    deduplicate(scc.getResourceClaim(), hashingStream.getHash());
+                }
                 if (LOG.isTraceEnabled()) {
                     LOG.trace("Stack trace: ", new RuntimeException("Stack Trace for closing " + this));
                 }
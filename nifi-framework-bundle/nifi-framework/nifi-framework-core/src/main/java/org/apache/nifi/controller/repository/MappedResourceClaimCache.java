@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.apache.nifi.controller.repository.claim.ResourceClaim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * A least-recently-used cache of memory-mapped Resource Claim files, used by the {@link FileSystemRepository} to serve reads of
+ * Content Claims as slices of a mapped file rather than opening the file and seeking to the claim's offset for each read.
+ * </p>
+ *
+ * <p>
+ * Only Resource Claims that are no longer writable are mapped, as the size of their files can no longer change. The total size
+ * of the mapped files is bounded by evicting the least recently used mappings. Java does not provide a way to unmap a file
+ * explicitly, so an evicted mapping is released once the buffers that were obtained from it are no longer referenced and have
+ * been garbage collected. Files larger than a fraction of the maximum are not mapped, so that a single large file cannot evict
+ * all other mappings.
+ * </p>
+ */
+class MappedResourceClaimCache {
+    private static final int MAX_REGION_FRACTION = 16;
+
+    private final long maxMappedBytes;
+    private final long maxRegionBytes;
+
+    // guarded by synchronizing on this
+    private final Map<ResourceClaim, ByteBuffer> mappedRegions = new LinkedHashMap<>(16, 0.75F, true);
+    private long mappedBytes = 0L;
+
+    MappedResourceClaimCache(final long maxMappedBytes) {
+        this.maxMappedBytes = maxMappedBytes;
+        this.maxRegionBytes = Math.min(Integer.MAX_VALUE, maxMappedBytes / MAX_REGION_FRACTION);
+    }
+
+    /**
+     * @param resourceClaim the Resource Claim whose file is mapped
+     * @return a read-only buffer containing the entire contents of the Resource Claim's file, or <code>null</code> if it is not currently mapped
+     */
+    synchronized ByteBuffer getMappedRegion(final ResourceClaim resourceClaim) {
+        final ByteBuffer region = mappedRegions.get(resourceClaim);
+        return region == null ? null : region.duplicate();
+    }
+
+    /**
+     * Maps the file of the given Resource Claim into memory, unless the claim is still writable or the file is too large to be mapped.
+     *
+     * @param resourceClaim the Resource Claim whose file is to be mapped
+     * @param path the path of the Resource Claim's file
+     * @return a read-only buffer containing the entire contents of the file, or <code>null</code> if the file was not mapped
+     * @throws IOException if unable to map the file
+     */
+    ByteBuffer map(final ResourceClaim resourceClaim, final Path path) throws IOException {
+        if (resourceClaim.isWritable()) {
+            return null;
+        }
+
+        final ByteBuffer region;
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > maxRegionBytes) {
+                return null;
+            }
+
+            // The mapping remains valid after the channel is closed
+            region = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+        }
+
+        synchronized (this) {
+            final ByteBuffer existing = mappedRegions.put(resourceClaim, region);
+            if (existing != null) {
+                mappedBytes -= existing.capacity();
+            }
+            mappedBytes += region.capacity();
+
+            final Iterator<ByteBuffer> itr = mappedRegions.values().iterator();
+            while (mappedBytes > maxMappedBytes && itr.hasNext()) {
+                final ByteBuffer eldest = itr.next();
+                if (eldest == region) {
+                    break;
+                }
+
+                mappedBytes -= eldest.capacity();
+                itr.remove();
+            }
+        }
+
+        return region.duplicate();
+    }
+
+    /**
+     * Removes the mapping of the given Resource Claim's file, if it is mapped. This is called when the file is removed or archived.
+     *
+     * @param resourceClaim the Resource Claim whose mapping is to be removed
+     */
+    synchronized void evict(final ResourceClaim resourceClaim) {
+        final ByteBuffer region = mappedRegions.remove(resourceClaim);
+        if (region != null) {
+            mappedBytes -= region.capacity();
+        }
+    }
+
+    synchronized void clear() {
+        mappedRegions.clear();
+        mappedBytes = 0L;
+    }
+
+    synchronized long getMappedBytes() {
+        return mappedBytes;
+    }
+
+    synchronized int getMappedRegionCount() {
+        return mappedRegions.size();
+    }
+}
@@ -20,7 +20,9 @@ package org.apache.nifi.controller.repository;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Set;
 import org.apache.nifi.controller.repository.claim.ContentClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaim;
@@ -137,6 +139,11 @@ public class NonPurgeableContentRepository implements ContentRepository {
         return delegate.read(claim);
     }
 
+    @Override
+    public ByteBuffer readAsByteBuffer(final ContentClaim claim) throws IOException {
+        return delegate.readAsByteBuffer(claim);
+    }
+
     @Override
     public InputStream read(final ResourceClaim claim) throws IOException {
         return delegate.read(claim);
@@ -147,6 +154,16 @@ public class NonPurgeableContentRepository implements ContentRepository {
         return delegate.isResourceClaimStreamSupported();
     }
 
+    @Override
+    public int getMaxInlineContentSize() {
+        return delegate.getMaxInlineContentSize();
+    }
+
+    @Override
+    public ContentClaim concatenate(final List<ContentClaim> segments, final byte[] header, final byte[] footer, final byte[] demarcator) {
+        return delegate.concatenate(segments, header, footer, demarcator);
+    }
+
     @Override
     public OutputStream write(final ContentClaim claim) throws IOException {
         return delegate.write(claim);
@@ -28,16 +28,34 @@ import java.util.concurrent.atomic.AtomicLong;
 public class StandardRepositoryContext extends AbstractRepositoryContext implements RepositoryContext {
 
     private final long maxAppendableClaimBytes;
+    private final AttributeKeyDictionary attributeKeyDictionary;
 
     public StandardRepositoryContext(final Connectable connectable, final AtomicLong connectionIndex, final ContentRepository contentRepository, final FlowFileRepository flowFileRepository,
                                      final FlowFileEventRepository flowFileEventRepository, final CounterRepository counterRepository, final ProvenanceEventRepository provenanceRepository,
                                      final StateManager stateManager, final long maxAppendableClaimBytes) {
+        this(connectable, connectionIndex, contentRepository, flowFileRepository, flowFileEventRepository, counterRepository, provenanceRepository, stateManager, maxAppendableClaimBytes, null);
+    }
+
+    /**
+     * @param attributeKeyDictionary the dictionary through which the keys of {@link AttributeStorage#COMPACT compact} attributes are canonicalized,
+     * or <code>null</code> if FlowFile Records are to use {@link AttributeStorage#STANDARD standard} attribute storage
+     */
+    public StandardRepositoryContext(final Connectable connectable, final AtomicLong connectionIndex, final ContentRepository contentRepository, final FlowFileRepository flowFileRepository,
+                                     final FlowFileEventRepository flowFileEventRepository, final CounterRepository counterRepository, final ProvenanceEventRepository provenanceRepository,
+                                     final StateManager stateManager, final long maxAppendableClaimBytes, final AttributeKeyDictionary attributeKeyDictionary) {
         super(connectable, connectionIndex, contentRepository, flowFileRepository, flowFileEventRepository, counterRepository, provenanceRepository, stateManager);
         this.maxAppendableClaimBytes = maxAppendableClaimBytes;
+        this.attributeKeyDictionary = attributeKeyDictionary;
     }
 
     @Override
     public ContentClaimWriteCache createContentClaimWriteCache(final PerformanceTracker performanceTracker) {
         return new StandardContentClaimWriteCache(getContentRepository(), performanceTracker, maxAppendableClaimBytes, 8192);
     }
+
+    @Override
+    public StandardFlowFileRecord.Builder createFlowFileBuilder() {
+        final StandardFlowFileRecord.Builder builder = new StandardFlowFileRecord.Builder();
+        return attributeKeyDictionary == null ? builder : builder.compactAttributes(attributeKeyDictionary);
+    }
 }
@@ -78,12 +78,13 @@ public class StatelessBridgeFlowFileRepository extends StatelessFlowFileReposito
             return false;
         }
 
-        final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
-        if (resourceClaim.isInUse()) {
-            return false;
+        // A claim may reference several Resource Claims, in which case it is destructable if any of them may be destroyed
+        for (final ResourceClaim resourceClaim : contentClaim.getResourceClaims()) {
+            if (!resourceClaim.isInUse() && resourceClaimManager.getClaimantCount(resourceClaim) == 0) {
+                return true;
+            }
         }
 
-        final int claimantCount = resourceClaimManager.getClaimantCount(resourceClaim);
-        return claimantCount == 0;
+        return false;
     }
 }
@@ -68,30 +68,17 @@ public class VolatileFlowFileRepository implements FlowFileRepository {
     public void close() throws IOException {
     }
 
+    // Marks each Resource Claim of the given claim whose claimant count is <= 0 as destructable
     private void markDestructable(final ContentClaim contentClaim) {
         if (contentClaim == null) {
             return;
         }
 
-        final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
-        if (resourceClaim == null) {
-            return;
-        }
-
-        claimManager.markDestructable(resourceClaim);
-    }
-
-    private int getClaimantCount(final ContentClaim claim) {
-        if (claim == null) {
-            return 0;
-        }
-
-        final ResourceClaim resourceClaim = claim.getResourceClaim();
-        if (resourceClaim == null) {
-            return 0;
+        for (final ResourceClaim resourceClaim : contentClaim.getResourceClaims()) {
+            if (claimManager.getClaimantCount(resourceClaim) <= 0) {
+                claimManager.markDestructable(resourceClaim);
+            }
         }
-
-        return claimManager.getClaimantCount(resourceClaim);
     }
 
     @Override
@@ -101,17 +88,15 @@ public class VolatileFlowFileRepository implements FlowFileRepository {
 
             if (record.getType() == RepositoryRecordType.DELETE) {
                 // For any DELETE record that we have, if current claim's claimant count <= 0, mark it as destructable
-                if (record.getCurrentClaim() != null && getClaimantCount(record.getCurrentClaim()) <= 0) {
-                    markDestructable(record.getCurrentClaim());
-                }
+                markDestructable(record.getCurrentClaim());
 
                 // If the original claim is different than the current claim and the original claim has a claimant count <= 0, mark it as destructable.
-                if (record.getOriginalClaim() != null && !record.getOriginalClaim().equals(record.getCurrentClaim()) && getClaimantCount(record.getOriginalClaim()) <= 0) {
+                if (record.getOriginalClaim() != null && !record.getOriginalClaim().equals(record.getCurrentClaim())) {
                     markDestructable(record.getOriginalClaim());
                 }
             } else if (record.getType() == RepositoryRecordType.UPDATE) {
                 // if we have an update, and the original is no longer needed, mark original as destructable
-                if (record.getOriginalClaim() != null && record.getCurrentClaim() != record.getOriginalClaim() && getClaimantCount(record.getOriginalClaim()) <= 0) {
+                if (record.getOriginalClaim() != null && record.getCurrentClaim() != record.getOriginalClaim()) {
                     markDestructable(record.getOriginalClaim());
                 }
             }
@@ -138,7 +123,9 @@ public class VolatileFlowFileRepository implements FlowFileRepository {
             return;
         }
 
-        claimManager.decrementClaimantCount(claim.getResourceClaim());
+        for (final ResourceClaim resourceClaim : claim.getResourceClaims()) {
+            claimManager.decrementClaimantCount(resourceClaim);
+        }
     }
 
     @Override
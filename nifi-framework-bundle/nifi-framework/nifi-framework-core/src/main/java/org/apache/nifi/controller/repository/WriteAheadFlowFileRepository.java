@@ -25,6 +25,7 @@ import org.apache.nifi.flowfile.attributes.CoreAttributes;
 import org.apache.nifi.repository.schema.FieldCache;
 import org.apache.nifi.util.FormatUtils;
 import org.apache.nifi.util.NiFiProperties;
+import org.apache.nifi.wali.JournalSyncStatistics;
 import org.apache.nifi.wali.SequentialAccessWriteAheadLog;
 import org.apache.nifi.wali.SnapshotCapture;
 import org.slf4j.Logger;
@@ -78,6 +79,12 @@ import java.util.stream.Collectors;
  * choose instead to not sync to disk for every write but instead sync only when
  * we checkpoint.
  * </p>
+ *
+ * <p>
+ * When syncing on each update, the <code>nifi.flowfile.repository.sync.window</code>
+ * property may be used to allow concurrent updates to share a single sync to
+ * disk. Each update still waits until it is durable before returning.
+ * </p>
  */
 public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncListener {
     static final String FLOWFILE_REPOSITORY_DIRECTORY_PREFIX = "nifi.flowfile.repository.directory";
@@ -89,6 +96,9 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
 
     private final AtomicLong flowFileSequenceGenerator = new AtomicLong(0L);
     private final boolean alwaysSync;
+    private final long syncWindowNanos;
+    private final int journalPartitions;
+    private final int maxDeltaCheckpoints;
     private final boolean retainOrphanedFlowFiles;
 
     private static final Logger logger = LoggerFactory.getLogger(WriteAheadFlowFileRepository.class);
@@ -138,6 +148,9 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
      */
     public WriteAheadFlowFileRepository() {
         alwaysSync = false;
+        syncWindowNanos = 0L;
+        journalPartitions = NiFiProperties.DEFAULT_FLOWFILE_REPOSITORY_JOURNAL_PARTITIONS;
+        maxDeltaCheckpoints = NiFiProperties.DEFAULT_FLOWFILE_REPOSITORY_CHECKPOINT_MAX_DELTAS;
         checkpointDelayMillis = 0L;
         checkpointExecutor = null;
         nifiProperties = null;
@@ -147,6 +160,12 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
 
     public WriteAheadFlowFileRepository(final NiFiProperties nifiProperties) {
         alwaysSync = Boolean.parseBoolean(nifiProperties.getProperty(NiFiProperties.FLOWFILE_REPOSITORY_ALWAYS_SYNC, "false"));
+        syncWindowNanos = FormatUtils.getTimeDuration(nifiProperties.getProperty(NiFiProperties.FLOWFILE_REPOSITORY_SYNC_WINDOW,
+            NiFiProperties.DEFAULT_FLOWFILE_REPOSITORY_SYNC_WINDOW), TimeUnit.NANOSECONDS);
+        journalPartitions = nifiProperties.getIntegerProperty(NiFiProperties.FLOWFILE_REPOSITORY_JOURNAL_PARTITIONS,
+            NiFiProperties.DEFAULT_FLOWFILE_REPOSITORY_JOURNAL_PARTITIONS);
+        maxDeltaCheckpoints = nifiProperties.getIntegerProperty(NiFiProperties.FLOWFILE_REPOSITORY_CHECKPOINT_MAX_DELTAS,
+            NiFiProperties.DEFAULT_FLOWFILE_REPOSITORY_CHECKPOINT_MAX_DELTAS);
         this.nifiProperties = nifiProperties;
 
         final String orphanedFlowFileProperty = nifiProperties.getProperty(RETAIN_ORPHANED_FLOWFILES);
@@ -190,7 +209,7 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
         // delete backup. On restore, if no files exist in partition's directory, would have to check backup directory
         this.serdeFactory = serdeFactory;
 
-        wal = new SequentialAccessWriteAheadLog<>(flowFileRepositoryPaths.get(0), serdeFactory, this);
+        wal = new SequentialAccessWriteAheadLog<>(flowFileRepositoryPaths.get(0), serdeFactory, this, syncWindowNanos, journalPartitions, maxDeltaCheckpoints);
         logger.info("Initialized FlowFile Repository");
     }
 
@@ -220,10 +239,11 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
                 continue;
             }
 
-            final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
-            if (resourceClaims.contains(resourceClaim)) {
-                final Set<ResourceClaimReference> claimReferences = references.computeIfAbsent(resourceClaim, key -> new HashSet<>());
-                claimReferences.add(createResourceClaimReference(repositoryRecord));
+            for (final ResourceClaim resourceClaim : contentClaim.getResourceClaims()) {
+                if (resourceClaims.contains(resourceClaim)) {
+                    final Set<ResourceClaimReference> claimReferences = references.computeIfAbsent(resourceClaim, key -> new HashSet<>());
+                    claimReferences.add(createResourceClaimReference(repositoryRecord));
+                }
             }
         }
 
@@ -396,17 +416,16 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
         claimManager.markDestructable(resourceClaim);
     }
 
-    private boolean isDestructable(final ContentClaim claim) {
+    private void addDestructableClaims(final ContentClaim claim, final Set<ResourceClaim> destructableClaims) {
         if (claim == null) {
-            return false;
+            return;
         }
 
-        final ResourceClaim resourceClaim = claim.getResourceClaim();
-        if (resourceClaim == null) {
-            return false;
+        for (final ResourceClaim resourceClaim : claim.getResourceClaims()) {
+            if (!resourceClaim.isInUse()) {
+                destructableClaims.add(resourceClaim);
+            }
         }
-
-        return !resourceClaim.isInUse();
     }
 
     @Override
@@ -461,18 +480,16 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
 
             if (record.getType() == RepositoryRecordType.DELETE) {
                 // For any DELETE record that we have, if claim is destructible, mark it so
-                if (record.getCurrentClaim() != null && isDestructable(record.getCurrentClaim())) {
-                    claimsToAdd.add(record.getCurrentClaim().getResourceClaim());
-                }
+                addDestructableClaims(record.getCurrentClaim(), claimsToAdd);
 
                 // If the original claim is different than the current claim and the original claim is destructible, mark it so
-                if (record.getOriginalClaim() != null && !record.getOriginalClaim().equals(record.getCurrentClaim()) && isDestructable(record.getOriginalClaim())) {
-                    claimsToAdd.add(record.getOriginalClaim().getResourceClaim());
+                if (record.getOriginalClaim() != null && !record.getOriginalClaim().equals(record.getCurrentClaim())) {
+                    addDestructableClaims(record.getOriginalClaim(), claimsToAdd);
                 }
             } else if (record.getType() == RepositoryRecordType.UPDATE) {
                 // if we have an update, and the original is no longer needed, mark original as destructible
-                if (record.getOriginalClaim() != null && record.getCurrentClaim() != record.getOriginalClaim() && isDestructable(record.getOriginalClaim())) {
-                    claimsToAdd.add(record.getOriginalClaim().getResourceClaim());
+                if (record.getOriginalClaim() != null && record.getCurrentClaim() != record.getOriginalClaim()) {
+                    addDestructableClaims(record.getOriginalClaim(), claimsToAdd);
                 }
             } else if (record.getType() == RepositoryRecordType.SWAP_OUT) {
                 final String swapLocation = record.getSwapLocation();
@@ -490,9 +507,7 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
             final List<ContentClaim> transientClaims = record.getTransientClaims();
             if (transientClaims != null) {
                 for (final ContentClaim transientClaim : transientClaims) {
-                    if (isDestructable(transientClaim)) {
-                        claimsToAdd.add(transientClaim.getResourceClaim());
-                    }
+                    addDestructableClaims(transientClaim, claimsToAdd);
                 }
             }
         }
@@ -540,7 +555,9 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
             return;
         }
 
-        claimManager.decrementClaimantCount(claim.getResourceClaim());
+        for (final ResourceClaim resourceClaim : claim.getResourceClaims()) {
+            claimManager.decrementClaimantCount(resourceClaim);
+        }
     }
 
 
@@ -756,12 +773,14 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
                 numFlowFilesMissingQueue++;
 
                 if (isRetainOrphanedFlowFiles()) {
-                    if (claim == null) {
+                    if (claim == null || claim.getResourceClaims().isEmpty()) {
                         logger.warn("Encountered Repository Record (id={}) with Queue identifier {} but no Queue exists with that ID. This FlowFile will not be restored to any "
                             + "FlowFile Queue in the flow. However, it will remain in the FlowFile Repository in case the flow containing this queue is later restored.", recordId, queueId);
                     } else {
-                        claimManager.incrementClaimantCount(claim.getResourceClaim());
-                        orphanedResourceClaims.add(claim.getResourceClaim());
+                        for (final ResourceClaim resourceClaim : claim.getResourceClaims()) {
+                            claimManager.incrementClaimantCount(resourceClaim);
+                            orphanedResourceClaims.add(resourceClaim);
+                        }
                         logger.warn("Encountered Repository Record (id={}) with Queue identifier {} but no Queue exists with that ID. "
                                 + "This FlowFile will not be restored to any FlowFile Queue in the flow. However, it will remain in the FlowFile Repository in "
                                 + "case the flow containing this queue is later restored. This may result in the following Content Claim not being cleaned "
@@ -779,7 +798,9 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
 
                 continue;
             } else if (claim != null) {
-                claimManager.incrementClaimantCount(claim.getResourceClaim());
+                for (final ResourceClaim resourceClaim : claim.getResourceClaims()) {
+                    claimManager.incrementClaimantCount(resourceClaim);
+                }
             }
 
             flowFileQueue.put(record.getFlowFileRecord());
@@ -814,6 +835,7 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
                 final long end = System.nanoTime();
                 final long millis = TimeUnit.MILLISECONDS.convert(end - start, TimeUnit.NANOSECONDS);
                 logger.info("Successfully checkpointed FlowFile Repository with {} records in {} milliseconds", numRecordsCheckpointed, millis);
+                logSyncStatistics();
             } catch (final Throwable t) {
                 logger.error("Unable to checkpoint FlowFile Repository", t);
             }
@@ -859,6 +881,21 @@ public class WriteAheadFlowFileRepository implements FlowFileRepository, SyncLis
         return flowFileSequenceGenerator.get() - 1;
     }
 
+    private void logSyncStatistics() {
+        if (!(wal instanceof SequentialAccessWriteAheadLog<SerializedRepositoryRecord> sequentialWal)) {
+            return;
+        }
+
+        final JournalSyncStatistics statistics = sequentialWal.getAndResetSyncStatistics();
+        if (statistics.getSyncCount() == 0) {
+            return;
+        }
+
+        logger.info("Synced FlowFile Repository to disk {} times for {} updates since last checkpoint (average batch size {}, max batch size {}); average sync time {} millis, max sync time {} millis",
+            statistics.getSyncCount(), statistics.getSyncedUpdateCount(), String.format("%.1f", statistics.getAverageBatchSize()), statistics.getMaxBatchSize(),
+            String.format("%.2f", statistics.getAverageSyncNanos() / 1_000_000D), String.format("%.2f", statistics.getMaxSyncNanos() / 1_000_000D));
+    }
+
     public int checkpoint() throws IOException {
         return wal.checkpoint();
     }
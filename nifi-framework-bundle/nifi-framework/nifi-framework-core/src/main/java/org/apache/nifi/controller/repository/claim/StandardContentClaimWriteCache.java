@@ -171,6 +171,11 @@ public class StandardContentClaimWriteCache implements ContentClaimWriteCache {
 
     @Override
     public void flush(final ResourceClaim claim) throws IOException {
+        // Inline Content Claims have no Resource Claim and are never written through the cache
+        if (claim == null) {
+            return;
+        }
+
         final MappedOutputStream mapped = streamMap.get(claim);
         if (mapped != null) {
             mapped.getBufferedStream().flush();
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+/**
+ * An InputStream that reads the remaining bytes of a ByteBuffer without copying them into an intermediate buffer.
+ */
+public class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+    private int mark = -1;
+
+    public ByteBufferInputStream(final ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+
+        final int bytesToRead = Math.min(len, buffer.remaining());
+        buffer.get(b, off, bytesToRead);
+        return bytesToRead;
+    }
+
+    @Override
+    public long skip(final long n) {
+        if (n <= 0) {
+            return 0L;
+        }
+
+        final int bytesToSkip = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + bytesToSkip);
+        return bytesToSkip;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(final int readLimit) {
+        mark = buffer.position();
+    }
+
+    @Override
+    public void reset() throws IOException {
+        if (mark < 0) {
+            throw new IOException("Stream has not been marked");
+        }
+
+        buffer.position(mark);
+    }
+
+    @Override
+    public long transferTo(final OutputStream out) throws IOException {
+        final int remaining = buffer.remaining();
+        Channels.newChannel(out).write(buffer);
+        return remaining;
+    }
+}
@@ -20,6 +20,8 @@ import org.apache.nifi.components.state.StateManager;
 import org.apache.nifi.components.state.StateManagerProvider;
 import org.apache.nifi.connectable.Connectable;
 import org.apache.nifi.controller.ProcessorNode;
+import org.apache.nifi.controller.repository.AttributeKeyDictionary;
+import org.apache.nifi.controller.repository.AttributeStorage;
 import org.apache.nifi.controller.repository.ContentRepository;
 import org.apache.nifi.controller.repository.CounterRepository;
 import org.apache.nifi.controller.repository.FlowFileEventRepository;
@@ -39,11 +41,12 @@ public class RepositoryContextFactory {
     private final ProvenanceRepository provenanceRepo;
     private final StateManagerProvider stateManagerProvider;
     private final long maxAppendableClaimBytes;
+    private final AttributeKeyDictionary attributeKeyDictionary;
 
     public RepositoryContextFactory(final ContentRepository contentRepository, final FlowFileRepository flowFileRepository,
             final FlowFileEventRepository flowFileEventRepository, final CounterRepository counterRepository,
             final ProvenanceRepository provenanceRepository, final StateManagerProvider stateManagerProvider,
-            final long maxAppendableClaimBytes) {
+            final long maxAppendableClaimBytes, final AttributeStorage attributeStorage) {
 
         this.contentRepo = contentRepository;
         this.flowFileRepo = flowFileRepository;
@@ -52,6 +55,8 @@ public class RepositoryContextFactory {
         this.provenanceRepo = provenanceRepository;
         this.stateManagerProvider = stateManagerProvider;
         this.maxAppendableClaimBytes = maxAppendableClaimBytes;
+        // All FlowFiles of the flow share one dictionary of attribute keys
+        this.attributeKeyDictionary = attributeStorage == AttributeStorage.COMPACT ? new AttributeKeyDictionary() : null;
     }
 
     public RepositoryContext newProcessContext(final Connectable connectable, final AtomicLong connectionIndex) {
@@ -59,7 +64,8 @@ public class RepositoryContextFactory {
                 ? ((ProcessorNode) connectable).getProcessor().getClass()
                 : null;
         final StateManager stateManager = stateManagerProvider.getStateManager(connectable.getIdentifier(), componentClass);
-        return new StandardRepositoryContext(connectable, connectionIndex, contentRepo, flowFileRepo, flowFileEventRepo, counterRepo, provenanceRepo, stateManager, maxAppendableClaimBytes);
+        return new StandardRepositoryContext(connectable, connectionIndex, contentRepo, flowFileRepo, flowFileEventRepo, counterRepo, provenanceRepo, stateManager, maxAppendableClaimBytes,
+            attributeKeyDictionary);
     }
 
     public ContentRepository getContentRepository() {
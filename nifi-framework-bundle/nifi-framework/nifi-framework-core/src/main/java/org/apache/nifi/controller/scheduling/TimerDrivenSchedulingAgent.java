@@ -17,23 +17,36 @@
 package org.apache.nifi.controller.scheduling;
 
 import org.apache.nifi.connectable.Connectable;
+import org.apache.nifi.connectable.Connection;
 import org.apache.nifi.controller.FlowController;
 import org.apache.nifi.controller.ReportingTaskNode;
+import org.apache.nifi.controller.queue.AbstractFlowFileQueue;
+import org.apache.nifi.controller.queue.FlowFileQueue;
 import org.apache.nifi.controller.tasks.ConnectableTask;
 import org.apache.nifi.controller.tasks.InvocationResult;
 import org.apache.nifi.controller.tasks.ReportingTaskWrapper;
 import org.apache.nifi.engine.FlowEngine;
+import org.apache.nifi.groups.ProcessGroup;
 import org.apache.nifi.util.FormatUtils;
 import org.apache.nifi.util.NiFiProperties;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 public class TimerDrivenSchedulingAgent extends AbstractTimeBasedSchedulingAgent {
     private final long noWorkYieldNanos;
+    private final long noWorkParkNanos;
+    private final Set<String> virtualThreadComponents;
 
     public TimerDrivenSchedulingAgent(final FlowController flowController, final FlowEngine flowEngine, final RepositoryContextFactory contextFactory,
                                       final NiFiProperties nifiProperties) {
@@ -45,6 +58,15 @@ public class TimerDrivenSchedulingAgent extends AbstractTimeBasedSchedulingAgent
         } catch (final IllegalArgumentException e) {
             throw new RuntimeException("Failed to create SchedulingAgent because the " + NiFiProperties.BORED_YIELD_DURATION + " property is set to an invalid time duration: " + boredYieldDuration);
         }
+
+        final String boredParkDuration = nifiProperties.getBoredParkDuration();
+        try {
+            noWorkParkNanos = boredParkDuration == null ? 0L : FormatUtils.getTimeDuration(boredParkDuration, TimeUnit.NANOSECONDS);
+        } catch (final IllegalArgumentException e) {
+            throw new RuntimeException("Failed to create SchedulingAgent because the " + NiFiProperties.BORED_PARK_DURATION + " property is set to an invalid time duration: " + boredParkDuration);
+        }
+
+        virtualThreadComponents = nifiProperties.getVirtualThreadComponents();
     }
 
     @Override
@@ -70,6 +92,17 @@ public class TimerDrivenSchedulingAgent extends AbstractTimeBasedSchedulingAgent
         final List<ScheduledFuture<?>> futures = new ArrayList<>();
         final ConnectableTask connectableTask = new ConnectableTask(this, connectable, flowController, contextFactory, scheduleState);
 
+        if (isVirtualThreadComponent(connectable)) {
+            for (int i = 0; i < connectable.getMaxConcurrentTasks(); i++) {
+                final String threadName = "Timer-Driven Virtual Thread-" + (i + 1) + " " + connectable;
+                futures.add(new VirtualThreadTask(connectableTask, threadName));
+            }
+
+            scheduleState.setFutures(futures);
+            logger.info("Scheduled {} to run with {} virtual threads", connectable, connectable.getMaxConcurrentTasks());
+            return;
+        }
+
         for (int i = 0; i < connectable.getMaxConcurrentTasks(); i++) {
             // Determine the task to run and create it.
             final AtomicReference<ScheduledFuture<?>> futureRef = new AtomicReference<>();
@@ -95,6 +128,10 @@ public class TimerDrivenSchedulingAgent extends AbstractTimeBasedSchedulingAgent
     private Runnable createTrigger(final ConnectableTask connectableTask, final LifecycleState scheduleState, final AtomicReference<ScheduledFuture<?>> futureRef) {
         final Connectable connectable = connectableTask.getConnectable();
         final Runnable yieldDetectionRunnable = new Runnable() {
+            private final AtomicBoolean parked = new AtomicBoolean(false);
+            private final AtomicReference<ScheduledFuture<?>> parkTimeoutRef = new AtomicReference<>();
+            private final Runnable resumeTask = this::resume;
+
             @Override
             public void run() {
                 // Call the task. It will return a boolean indicating whether or not we should yield
@@ -132,6 +169,23 @@ public class TimerDrivenSchedulingAgent extends AbstractTimeBasedSchedulingAgent
                             }
                         }
                     }
+                } else if (isParkable(connectable, invocationResult)) {
+                    // Synchronize with resume() so that a run that starts before resume() has updated the futureRef parks its own future
+                    final ScheduledFuture<?> scheduledFuture;
+                    synchronized (scheduleState) {
+                        scheduledFuture = futureRef.get();
+                    }
+                    if (scheduledFuture == null) {
+                        return;
+                    }
+
+                    // The incoming queues are empty, so stop running until FlowFiles are queued or the park duration has elapsed,
+                    // whichever happens first. The cancelled future is replaced when the component resumes.
+                    if (scheduledFuture.cancel(false)) {
+                        parked.set(true);
+                        parkTimeoutRef.set(flowEngine.schedule(resumeTask, noWorkParkNanos, TimeUnit.NANOSECONDS));
+                        addEnqueueListener(connectable, resumeTask);
+                    }
                 } else if (noWorkYieldNanos > 0L && invocationResult.isYield()) {
                     // Component itself didn't yield but there was no work to do, so the framework will choose
                     // to yield the component automatically for a short period of time.
@@ -156,11 +210,95 @@ public class TimerDrivenSchedulingAgent extends AbstractTimeBasedSchedulingAgent
                     }
                 }
             }
+
+            private void resume() {
+                // Only the first of the enqueue listener and the park timeout resumes the component
+                if (!parked.compareAndSet(true, false)) {
+                    return;
+                }
+
+                // Cancel the park timeout when woken by the enqueue listener, so that idle components do not accumulate pending timeouts
+                final ScheduledFuture<?> parkTimeout = parkTimeoutRef.getAndSet(null);
+                if (parkTimeout != null) {
+                    parkTimeout.cancel(false);
+                }
+
+                final ScheduledFuture<?> parkedFuture = futureRef.get();
+                synchronized (scheduleState) {
+                    // The component may have been stopped, or stopped and started again with new futures, while it was parked
+                    if (scheduleState.isScheduled() && scheduleState.getFutures().contains(parkedFuture)) {
+                        final ScheduledFuture<?> newFuture = flowEngine.scheduleWithFixedDelay(this, 0L,
+                            connectable.getSchedulingPeriod(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+
+                        scheduleState.replaceFuture(parkedFuture, newFuture);
+                        futureRef.set(newFuture);
+                    }
+                }
+            }
         };
 
         return yieldDetectionRunnable;
     }
 
+    /**
+     * Determines whether a component that was triggered without any work to do can wait for FlowFiles to be queued rather than
+     * polling its queues every Bored Yield Duration. This is only the case when every incoming queue is empty and notifies listeners
+     * when FlowFiles are queued. Queues that hold penalized FlowFiles are not empty, as no FlowFile is queued when the penalty expires.
+     */
+    private boolean isParkable(final Connectable connectable, final InvocationResult invocationResult) {
+        if (noWorkParkNanos <= 0L || invocationResult != InvocationResult.NO_WORK) {
+            return false;
+        }
+
+        final List<Connection> incomingConnections = connectable.getIncomingConnections();
+        if (incomingConnections.isEmpty()) {
+            return false;
+        }
+
+        for (final Connection connection : incomingConnections) {
+            final FlowFileQueue queue = connection.getFlowFileQueue();
+            if (!(queue instanceof AbstractFlowFileQueue) || !queue.isActiveQueueEmpty()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void addEnqueueListener(final Connectable connectable, final Runnable listener) {
+        for (final Connection connection : connectable.getIncomingConnections()) {
+            if (connection.getFlowFileQueue() instanceof AbstractFlowFileQueue queue) {
+                queue.addEnqueueListener(listener);
+            }
+        }
+
+        // FlowFiles that were queued before the listener was added did not run the listener
+        for (final Connection connection : connectable.getIncomingConnections()) {
+            if (!connection.getFlowFileQueue().isActiveQueueEmpty()) {
+                listener.run();
+                return;
+            }
+        }
+    }
+
+    private boolean isVirtualThreadComponent(final Connectable connectable) {
+        if (virtualThreadComponents.isEmpty()) {
+            return false;
+        }
+
+        if (virtualThreadComponents.contains(connectable.getIdentifier())) {
+            return true;
+        }
+
+        for (ProcessGroup group = connectable.getProcessGroup(); group != null; group = group.getParent()) {
+            if (virtualThreadComponents.contains(group.getIdentifier())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     @Override
     public void doUnschedule(final Connectable connectable, final LifecycleState lifecycleState) {
         for (final ScheduledFuture<?> future : lifecycleState.getFutures()) {
@@ -188,4 +326,135 @@ public class TimerDrivenSchedulingAgent extends AbstractTimeBasedSchedulingAgent
     @Override
     public void setMaxThreadCount(final int maxThreads) {
     }
+
+    /**
+     * Runs one concurrent task of a component on a dedicated virtual thread. Rather than being rescheduled by the Flow Engine after each
+     * invocation, the thread parks for the scheduling period, or for the yield duration if the component yielded or had no work to do,
+     * so that the component runs at the same times as it would on the Flow Engine, including being woken when FlowFiles are queued.
+     * While a component is blocked, for example on I/O, its virtual thread does not occupy a thread of the Flow Engine. Cancelling the
+     * task stops the thread once the current invocation completes.
+     */
+    private class VirtualThreadTask implements ScheduledFuture<Void> {
+        private final ConnectableTask connectableTask;
+        private final Thread thread;
+        private final Runnable enqueueListener = this::wake;
+        private volatile boolean cancelled = false;
+        private volatile boolean woken = false;
+
+        private VirtualThreadTask(final ConnectableTask connectableTask, final String threadName) {
+            this.connectableTask = connectableTask;
+            this.thread = Thread.ofVirtual().name(threadName).unstarted(this::run);
+            this.thread.start();
+        }
+
+        private void run() {
+            final Connectable connectable = connectableTask.getConnectable();
+
+            while (!cancelled) {
+                InvocationResult invocationResult;
+                try {
+                    invocationResult = connectableTask.invoke();
+                } catch (final Throwable t) {
+                    logger.error("Failed to trigger {}", connectable, t);
+                    connectable.yield(getAdministrativeYieldDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+                    invocationResult = InvocationResult.DO_NOT_YIELD;
+                }
+
+                if (invocationResult.isYield()) {
+                    logger.debug("Yielding {} due to {}", connectable, invocationResult.getYieldExplanation());
+                }
+
+                // Terminating a task interrupts its thread, which must not carry over to the next invocation, as is the case for Flow Engine threads
+                Thread.interrupted();
+
+                final long schedulingNanos = connectable.getSchedulingPeriod(TimeUnit.NANOSECONDS);
+                final long yieldMillis = connectable.getYieldExpiration() - System.currentTimeMillis();
+                if (yieldMillis > 0) {
+                    pause(Math.max(schedulingNanos, TimeUnit.MILLISECONDS.toNanos(yieldMillis)), false);
+                } else if (isParkable(connectable, invocationResult)) {
+                    woken = false;
+                    addEnqueueListener(connectable, enqueueListener);
+                    pause(noWorkParkNanos, true);
+                } else if (noWorkYieldNanos > 0L && invocationResult.isYield()) {
+                    pause(noWorkYieldNanos, false);
+                } else {
+                    pause(schedulingNanos, false);
+                }
+            }
+        }
+
+        private void wake() {
+            woken = true;
+            LockSupport.unpark(thread);
+        }
+
+        private void pause(final long nanos, final boolean wakeOnEnqueue) {
+            if (nanos <= 0L) {
+                // Allow other virtual threads to run on the carrier thread, as a component that is always triggered would otherwise hold it
+                Thread.yield();
+                return;
+            }
+
+            final long deadline = System.nanoTime() + nanos;
+            long remaining = nanos;
+            while (!cancelled && !(wakeOnEnqueue && woken) && remaining > 0L) {
+                LockSupport.parkNanos(this, remaining);
+                remaining = deadline - System.nanoTime();
+            }
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            if (cancelled || !thread.isAlive()) {
+                return false;
+            }
+
+            cancelled = true;
+            LockSupport.unpark(thread);
+            if (mayInterruptIfRunning) {
+                thread.interrupt();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cancelled || !thread.isAlive();
+        }
+
+        @Override
+        public Void get() throws InterruptedException {
+            thread.join();
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+
+        @Override
+        public Void get(final long timeout, final TimeUnit unit) throws InterruptedException, TimeoutException {
+            if (!thread.join(Duration.ofNanos(unit.toNanos(timeout)))) {
+                throw new TimeoutException();
+            }
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return 0L;
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
 }
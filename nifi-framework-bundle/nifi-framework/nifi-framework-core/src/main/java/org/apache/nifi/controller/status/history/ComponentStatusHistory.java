@@ -21,33 +21,29 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class ComponentStatusHistory {
+public class ComponentStatusHistory<T> {
 
-    private final MetricRollingBuffer snapshots;
+    private final MetricRollingBuffer<T> metrics;
     private ComponentDetails componentDetails;
 
-    public ComponentStatusHistory(final ComponentDetails details, final int maxCapacity) {
+    public ComponentStatusHistory(final ComponentDetails details, final StatusMetricLayout<T> layout, final int maxCapacity) {
         this.componentDetails = details;
-        snapshots = new MetricRollingBuffer(maxCapacity);
+        metrics = new MetricRollingBuffer<>(maxCapacity, layout);
     }
 
     public void expireBefore(final Date timestamp) {
-        snapshots.expireBefore(timestamp);
+        metrics.expireBefore(timestamp);
     }
 
-    public void update(final StatusSnapshot snapshot, final ComponentDetails details) {
-        if (snapshot == null) {
-            return;
-        }
-
-        snapshots.update(snapshot);
+    public void update(final Date timestamp, final T status, final ComponentDetails details) {
+        metrics.update(timestamp.getTime(), status);
         componentDetails = details;
     }
 
     public StatusHistory toStatusHistory(final List<Date> timestamps, final boolean includeCounters, final Set<MetricDescriptor<?>> defaultStatusMetrics) {
         final Date dateGenerated = new Date();
         final Map<String, String> componentDetailsMap = componentDetails.toMap();
-        final List<StatusSnapshot> snapshotList = snapshots.getSnapshots(timestamps, includeCounters, defaultStatusMetrics);
+        final List<StatusSnapshot> snapshotList = metrics.getSnapshots(timestamps, includeCounters, defaultStatusMetrics);
         return new StandardStatusHistory(snapshotList, componentDetailsMap, dateGenerated);
     }
 }
@@ -17,44 +17,111 @@
 package org.apache.nifi.controller.status.history;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-public class MetricRollingBuffer {
+/**
+ * <p>
+ * The captured metrics of a single component. Rather than holding a Status Snapshot per capture, the buffer holds the capture times in
+ * a ring of primitive longs and the values of each metric in a ring of its own, all of the same length. Once the rings have grown to
+ * their capacity, capturing the status of the component does not create any objects. Status Snapshots are only created when the
+ * history is requested.
+ * </p>
+ *
+ * <p>
+ * The rings start small, grow as captures are added until they reach the maximum capacity, and shrink when most captures have expired.
+ * The rings of a buffer occupy at most <code>8 * (1 + metrics + counters) * maxCapacity</code> bytes, where <code>metrics</code> is the
+ * number of metrics of the {@link StatusMetricLayout} and <code>counters</code> is the number of distinct counters that the component
+ * reported within the retained captures. For example, a Processor without counters has 23 metrics, so with a capacity of 1440 captures its
+ * buffer occupies at most 8 * 24 * 1440 bytes, or 270 KB.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <T> type of the component status
+ */
+public class MetricRollingBuffer<T> {
+    private static final int INITIAL_LENGTH = 16;
+    private static final int GROWTH_INCREMENT = 64;
+    private static final int MAX_UNUSED_LENGTH = 128;
+
+    // Marks captures that did not report a counter, as counters may appear and disappear over time
+    private static final long NO_COUNTER_VALUE = Long.MIN_VALUE;
+
     private final int capacity;
+    private final StatusMetricLayout<T> layout;
 
-    private StatusSnapshot[] snapshots;
-    private int writeIndex = 0;
-    private int readIndex;
-    private boolean readExhausted;
+    private long[] timestamps;
+    private long[][] values;
+    private Map<String, long[]> counterValues;
+    private int head = 0;
     private int count = 0;
 
-    public MetricRollingBuffer(final int maxCapacity) {
+    public MetricRollingBuffer(final int maxCapacity, final StatusMetricLayout<T> layout) {
         this.capacity = maxCapacity;
+        this.layout = layout;
     }
 
-    public void update(final StatusSnapshot snapshot) {
-        if (snapshot == null) {
-            return;
+    /**
+     * Adds the metrics of the given status, replacing the oldest capture if the buffer is full.
+     *
+     * @param timestamp the time at which the status was captured, which must not be before the time of any capture already in the buffer
+     * @param status the status of the component
+     */
+    public void update(final long timestamp, final T status) {
+        if (timestamps == null) {
+            resize(Math.min(capacity, INITIAL_LENGTH));
         }
 
-        if (snapshots == null) {
-            snapshots = new StatusSnapshot[Math.min(capacity, 16)];
+        if (count == timestamps.length) {
+            if (timestamps.length < capacity) {
+                resize(Math.min(capacity, timestamps.length + GROWTH_INCREMENT));
+            } else {
+                head = nextIndex(head);
+                count--;
+            }
         }
 
-        if (snapshots[writeIndex] == null) {
-            count++;
+        final int index = (head + count) % timestamps.length;
+        timestamps[index] = timestamp;
+        for (int i = 0; i < values.length; i++) {
+            values[i][index] = layout.getValue(i, status);
         }
+        updateCounters(index, layout.getCounters(status));
 
-        snapshots[writeIndex++] = snapshot;
+        count++;
+    }
 
-        if (writeIndex >= snapshots.length) {
-            if (snapshots.length < capacity) {
-                grow();
-            } else {
-                writeIndex = 0;
+    private void updateCounters(final int index, final Map<String, Long> counters) {
+        if (counterValues != null) {
+            for (final Map.Entry<String, long[]> entry : counterValues.entrySet()) {
+                final Long value = counters == null ? null : counters.get(entry.getKey());
+                entry.getValue()[index] = value == null ? NO_COUNTER_VALUE : value;
+            }
+        }
+
+        if (counters == null) {
+            return;
+        }
+
+        for (final Map.Entry<String, Long> counter : counters.entrySet()) {
+            if (counterValues == null) {
+                counterValues = new LinkedHashMap<>();
+            }
+
+            if (!counterValues.containsKey(counter.getKey()) && counter.getValue() != null) {
+                final long[] ring = new long[timestamps.length];
+                Arrays.fill(ring, NO_COUNTER_VALUE);
+                ring[index] = counter.getValue();
+                counterValues.put(counter.getKey(), ring);
             }
         }
     }
@@ -63,136 +130,135 @@ public class MetricRollingBuffer {
         return count;
     }
 
-    @SuppressWarnings("PMD.ForLoopCanBeForeach")
+    /**
+     * Removes the captures made at or before the given time.
+     *
+     * @param date the time of the latest capture to remove
+     */
     public void expireBefore(final Date date) {
-        if (snapshots == null) {
+        if (timestamps == null) {
             return;
         }
 
-        int readIndex = writeIndex;
-        for (int i = 0; i < snapshots.length; i++) {
-            final StatusSnapshot snapshot = snapshots[readIndex];
-            if (snapshot == null) {
-                readIndex++;
-                if (readIndex >= snapshots.length) {
-                    readIndex = 0;
-                }
-
-                continue;
-            }
-
-            final Date snapshotTimestamp = snapshot.getTimestamp();
-            if (snapshotTimestamp.after(date)) {
-                break;
-            }
-
-            snapshots[readIndex] = null;
+        final long time = date.getTime();
+        while (count > 0 && timestamps[head] <= time) {
+            head = nextIndex(head);
             count--;
-
-            readIndex++;
-            if (readIndex >= snapshots.length) {
-                readIndex = 0;
-            }
         }
 
-        if (count < snapshots.length / 4 || snapshots.length - count > 128) {
-            // If we're using less than 1/4 of the array or we have at least 128 null entries, compact.
-            compact();
+        if (count < timestamps.length / 4 || timestamps.length - count > MAX_UNUSED_LENGTH) {
+            resize(Math.max(count, 1));
         }
     }
 
-    private void grow() {
-        final int initialSize = snapshots.length;
-        final int newSize = Math.min(capacity, snapshots.length + 64);
-        final StatusSnapshot[] newArray = new StatusSnapshot[newSize];
-        System.arraycopy(snapshots, 0, newArray, 0, snapshots.length);
-        snapshots = newArray;
-        writeIndex = initialSize;
+    private int nextIndex(final int index) {
+        return index + 1 == timestamps.length ? 0 : index + 1;
     }
 
-    @SuppressWarnings("PMD.ForLoopCanBeForeach")
-    private void compact() {
-        final StatusSnapshot[] newArray = new StatusSnapshot[count + 1];
-        int insertionIndex = 0;
+    private int getIndex(final int position) {
+        return (head + position) % timestamps.length;
+    }
 
-        int readIndex = writeIndex;
-        for (int i = 0; i < snapshots.length; i++) {
-            final StatusSnapshot snapshot = snapshots[readIndex];
-            if (snapshot != null) {
-                newArray[insertionIndex++] = snapshot;
-            }
+    private void resize(final int length) {
+        final long[] retainedTimestamps = copyRetained(timestamps, length);
+
+        if (values == null) {
+            values = new long[layout.getMetricCount()][];
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] = copyRetained(values[i], length);
+        }
 
-            readIndex++;
-            if (readIndex >= snapshots.length) {
-                readIndex = 0;
+        if (counterValues != null) {
+            final Iterator<Map.Entry<String, long[]>> itr = counterValues.entrySet().iterator();
+            while (itr.hasNext()) {
+                final Map.Entry<String, long[]> entry = itr.next();
+                final long[] ring = copyRetained(entry.getValue(), length);
+
+                // Counters that were not reported by any retained capture are no longer needed
+                if (isUnused(ring)) {
+                    itr.remove();
+                } else {
+                    entry.setValue(ring);
+                }
             }
         }
 
-        snapshots = newArray;
-        writeIndex = count;
-        count = newArray.length - 1;
+        timestamps = retainedTimestamps;
+        head = 0;
     }
 
-    public List<StatusSnapshot> getSnapshots(final List<Date> timestamps, final boolean includeCounters, final Set<MetricDescriptor<?>> defaultStatusMetrics) {
-        if (snapshots == null) {
-            return Collections.emptyList();
+    // Copies the retained captures of the given ring to the start of a new ring of the given length
+    private long[] copyRetained(final long[] ring, final int length) {
+        final long[] copy = new long[length];
+        if (ring != null) {
+            for (int i = 0; i < count; i++) {
+                copy[i] = ring[getIndex(i)];
+            }
         }
+        return copy;
+    }
 
-        final List<StatusSnapshot> list = new ArrayList<>(snapshots.length);
-
-        resetRead();
-
-        for (final Date timestamp : timestamps) {
-            final StatusSnapshot snapshot = getSnapshotForTimestamp(timestamp);
-            if (snapshot == null) {
-                list.add(new EmptyStatusSnapshot(timestamp, defaultStatusMetrics));
-            } else {
-                list.add(includeCounters ? snapshot : snapshot.withoutCounters());
+    private boolean isUnused(final long[] counterRing) {
+        for (int i = 0; i < count; i++) {
+            if (counterRing[i] != NO_COUNTER_VALUE) {
+                return false;
             }
         }
-
-        return list;
+        return true;
     }
 
-    private StatusSnapshot getSnapshotForTimestamp(final Date timestamp) {
-        while (!readExhausted) {
-            final StatusSnapshot snapshot = snapshots[readIndex];
-            if (snapshot == null) {
-                advanceRead();
-                continue;
-            }
+    /**
+     * Creates a Status Snapshot for each of the given times, in the same order. Times for which no status was captured are represented
+     * by an {@link EmptyStatusSnapshot}.
+     *
+     * @param timestamps the times to create snapshots for, in ascending order
+     * @param includeCounters whether the snapshots should include the values of counters
+     * @param defaultStatusMetrics the descriptors of the metrics of empty snapshots
+     * @return the snapshots, or an empty list if no status was ever captured
+     */
+    public List<StatusSnapshot> getSnapshots(final List<Date> timestamps, final boolean includeCounters, final Set<MetricDescriptor<?>> defaultStatusMetrics) {
+        if (this.timestamps == null) {
+            return Collections.emptyList();
+        }
 
-            final Date snapshotTimestamp = snapshot.getTimestamp();
-            if (snapshotTimestamp.before(timestamp)) {
-                advanceRead();
-                continue;
-            }
+        final List<StatusSnapshot> snapshots = new ArrayList<>(timestamps.size());
 
-            if (snapshotTimestamp.after(timestamp)) {
-                return null;
+        int position = 0;
+        for (final Date timestamp : timestamps) {
+            final long time = timestamp.getTime();
+            while (position < count && this.timestamps[getIndex(position)] < time) {
+                position++;
             }
 
-            advanceRead();
-            return snapshot;
+            if (position < count && this.timestamps[getIndex(position)] == time) {
+                snapshots.add(createSnapshot(getIndex(position), includeCounters));
+                position++;
+            } else {
+                snapshots.add(new EmptyStatusSnapshot(timestamp, defaultStatusMetrics));
+            }
         }
 
-        return null;
-    }
-
-    private void resetRead() {
-        readIndex = writeIndex;
-        readExhausted = false;
+        return snapshots;
     }
 
-    private void advanceRead() {
-        readIndex++;
+    private StatusSnapshot createSnapshot(final int index, final boolean includeCounters) {
+        final StandardStatusSnapshot snapshot = new StandardStatusSnapshot(layout.getMetricDescriptors());
+        snapshot.setTimestamp(new Date(timestamps[index]));
 
-        if (readIndex >= snapshots.length) {
-            readIndex = 0;
+        for (int i = 0; i < values.length; i++) {
+            snapshot.addStatusMetric(layout.getMetricDescriptor(i), values[i][index]);
         }
 
-        if (readIndex == writeIndex) {
-            readExhausted = true;
+        if (includeCounters && counterValues != null) {
+            for (final Map.Entry<String, long[]> entry : counterValues.entrySet()) {
+                final long value = entry.getValue()[index];
+                if (value != NO_COUNTER_VALUE) {
+                    snapshot.addStatusMetric(layout.getCounterDescriptor(entry.getKey()), value);
+                }
+            }
         }
+
+        return snapshot;
     }
 }
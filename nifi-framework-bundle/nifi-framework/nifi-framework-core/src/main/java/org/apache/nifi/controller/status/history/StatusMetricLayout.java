@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.status.history;
+
+import org.apache.nifi.controller.status.ConnectionStatus;
+import org.apache.nifi.controller.status.ProcessGroupStatus;
+import org.apache.nifi.controller.status.ProcessorStatus;
+import org.apache.nifi.controller.status.RemoteProcessGroupStatus;
+import org.apache.nifi.util.ComponentMetrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The metrics that are captured for one type of component. A single layout exists per type of component and is shared by the
+ * {@link MetricRollingBuffer} of every component of that type, so that the Metric Descriptors, including those of counters, are
+ * held once rather than once per component or per capture.
+ *
+ * @param <T> type of the component status
+ */
+public final class StatusMetricLayout<T> {
+    public static final StatusMetricLayout<ProcessorStatus> PROCESSOR = new StatusMetricLayout<>(
+        Arrays.stream(ProcessorStatusDescriptor.values()).map(ProcessorStatusDescriptor::getDescriptor).toList(), ComponentMetrics::isEmpty, ProcessorStatus::getCounters);
+    public static final StatusMetricLayout<ConnectionStatus> CONNECTION = new StatusMetricLayout<>(
+        Arrays.stream(ConnectionStatusDescriptor.values()).map(ConnectionStatusDescriptor::getDescriptor).toList(), ComponentMetrics::isEmpty, status -> null);
+    public static final StatusMetricLayout<ProcessGroupStatus> PROCESS_GROUP = new StatusMetricLayout<>(
+        Arrays.stream(ProcessGroupStatusDescriptor.values()).map(ProcessGroupStatusDescriptor::getDescriptor).toList(), ComponentMetrics::isEmpty, status -> null);
+    public static final StatusMetricLayout<RemoteProcessGroupStatus> REMOTE_PROCESS_GROUP = new StatusMetricLayout<>(
+        Arrays.stream(RemoteProcessGroupStatusDescriptor.values()).map(RemoteProcessGroupStatusDescriptor::getDescriptor).toList(), ComponentMetrics::isEmpty, status -> null);
+
+    private final List<MetricDescriptor<T>> metrics;
+    private final Set<MetricDescriptor<?>> metricDescriptors;
+    private final Predicate<T> emptyCheck;
+    private final Function<T, Map<String, Long>> counterFunction;
+    private final ConcurrentMap<String, MetricDescriptor<T>> counterDescriptors = new ConcurrentHashMap<>();
+
+    private StatusMetricLayout(final List<MetricDescriptor<T>> metrics, final Predicate<T> emptyCheck, final Function<T, Map<String, Long>> counterFunction) {
+        for (int i = 0; i < metrics.size(); i++) {
+            if (metrics.get(i).getMetricIdentifier() != i) {
+                throw new IllegalArgumentException("Metric " + metrics.get(i).getField() + " has identifier " + metrics.get(i).getMetricIdentifier() + " but is at index " + i);
+            }
+        }
+
+        this.metrics = metrics;
+        this.metricDescriptors = new LinkedHashSet<>(metrics);
+        this.emptyCheck = emptyCheck;
+        this.counterFunction = counterFunction;
+    }
+
+    /**
+     * @return the number of metrics, not including counters
+     */
+    public int getMetricCount() {
+        return metrics.size();
+    }
+
+    /**
+     * @return the descriptors of the metrics, not including counters, as shared by all Status Snapshots of this type of component
+     */
+    public Set<MetricDescriptor<?>> getMetricDescriptors() {
+        return metricDescriptors;
+    }
+
+    MetricDescriptor<T> getMetricDescriptor(final int metricIndex) {
+        return metrics.get(metricIndex);
+    }
+
+    long getValue(final int metricIndex, final T status) {
+        final Long value = metrics.get(metricIndex).getValueFunction().getValue(status);
+        return value == null ? 0L : value;
+    }
+
+    /**
+     * @param status the component status
+     * @return <code>true</code> if none of the metrics of the given status indicate any activity, in which case the status is not captured
+     */
+    public boolean isEmpty(final T status) {
+        return emptyCheck.test(status);
+    }
+
+    Map<String, Long> getCounters(final T status) {
+        return counterFunction.apply(status);
+    }
+
+    MetricDescriptor<T> getCounterDescriptor(final String counterName) {
+        return counterDescriptors.computeIfAbsent(counterName, name -> {
+            final String label = name + " (5 mins)";
+            return new CounterMetricDescriptor<>(name, label, label, MetricDescriptor.Formatter.COUNT, status -> {
+                final Map<String, Long> counters = counterFunction.apply(status);
+                return counters == null ? null : counters.get(name);
+            });
+        });
+    }
+}
@@ -21,7 +21,6 @@ import org.apache.nifi.controller.status.NodeStatus;
 import org.apache.nifi.controller.status.ProcessGroupStatus;
 import org.apache.nifi.controller.status.ProcessorStatus;
 import org.apache.nifi.controller.status.RemoteProcessGroupStatus;
-import org.apache.nifi.util.ComponentMetrics;
 import org.apache.nifi.util.NiFiProperties;
 import org.apache.nifi.util.RingBuffer;
 import org.slf4j.Logger;
@@ -42,18 +41,6 @@ public class VolatileComponentStatusRepository implements StatusHistoryRepositor
 
     private static final Logger logger = LoggerFactory.getLogger(VolatileComponentStatusRepository.class);
 
-    private static final Set<MetricDescriptor<?>> DEFAULT_PROCESSOR_METRICS = Arrays.stream(ProcessorStatusDescriptor.values())
-        .map(ProcessorStatusDescriptor::getDescriptor)
-        .collect(Collectors.toSet());
-    private static final Set<MetricDescriptor<?>> DEFAULT_CONNECTION_METRICS = Arrays.stream(ConnectionStatusDescriptor.values())
-        .map(ConnectionStatusDescriptor::getDescriptor)
-        .collect(Collectors.toSet());
-    private static final Set<MetricDescriptor<?>> DEFAULT_GROUP_METRICS = Arrays.stream(ProcessGroupStatusDescriptor.values())
-        .map(ProcessGroupStatusDescriptor::getDescriptor)
-        .collect(Collectors.toSet());
-    private static final Set<MetricDescriptor<?>> DEFAULT_RPG_METRICS = Arrays.stream(RemoteProcessGroupStatusDescriptor.values())
-        .map(RemoteProcessGroupStatusDescriptor::getDescriptor)
-        .collect(Collectors.toSet());
     private static final Set<MetricDescriptor<NodeStatus>> DEFAULT_NODE_METRICS = Arrays.stream(NodeStatusDescriptor.values())
         .map(NodeStatusDescriptor::getDescriptor)
         .collect(Collectors.toSet());
@@ -69,7 +56,7 @@ public class VolatileComponentStatusRepository implements StatusHistoryRepositor
     public static final String NUM_DATA_POINTS_PROPERTY = "nifi.components.status.repository.buffer.size";
     public static final int DEFAULT_NUM_DATA_POINTS = 288;   // 1 day worth of 5-minute snapshots
 
-    private final Map<String, ComponentStatusHistory> componentStatusHistories = new HashMap<>();
+    private final Map<String, ComponentStatusHistory<?>> componentStatusHistories = new HashMap<>();
 
     // Changed to protected to allow unit testing
     protected final RingBuffer<Date> timestamps;
@@ -113,29 +100,21 @@ public class VolatileComponentStatusRepository implements StatusHistoryRepositor
 
     private void capture(final ProcessGroupStatus groupStatus, final Date timestamp) {
         // Capture status for the ProcessGroup
-        final ComponentDetails groupDetails = ComponentDetails.forProcessGroup(groupStatus);
-        final StatusSnapshot groupSnapshot = ComponentMetrics.createSnapshot(groupStatus, timestamp);
-        updateStatusHistory(groupSnapshot, groupDetails, timestamp);
+        updateStatusHistory(groupStatus, ComponentDetails.forProcessGroup(groupStatus), StatusMetricLayout.PROCESS_GROUP, timestamp);
 
         // Capture statuses for the Processors
         for (final ProcessorStatus processorStatus : groupStatus.getProcessorStatus()) {
-            final ComponentDetails componentDetails = ComponentDetails.forProcessor(processorStatus);
-            final StatusSnapshot snapshot = ComponentMetrics.createSnapshot(processorStatus, timestamp);
-            updateStatusHistory(snapshot, componentDetails, timestamp);
+            updateStatusHistory(processorStatus, ComponentDetails.forProcessor(processorStatus), StatusMetricLayout.PROCESSOR, timestamp);
         }
 
         // Capture statuses for the Connections
         for (final ConnectionStatus connectionStatus : groupStatus.getConnectionStatus()) {
-            final ComponentDetails componentDetails = ComponentDetails.forConnection(connectionStatus);
-            final StatusSnapshot snapshot = ComponentMetrics.createSnapshot(connectionStatus, timestamp);
-            updateStatusHistory(snapshot, componentDetails, timestamp);
+            updateStatusHistory(connectionStatus, ComponentDetails.forConnection(connectionStatus), StatusMetricLayout.CONNECTION, timestamp);
         }
 
         // Capture statuses for the RPG's
         for (final RemoteProcessGroupStatus rpgStatus : groupStatus.getRemoteProcessGroupStatus()) {
-            final ComponentDetails componentDetails = ComponentDetails.forRemoteProcessGroup(rpgStatus);
-            final StatusSnapshot snapshot = ComponentMetrics.createSnapshot(rpgStatus, timestamp);
-            updateStatusHistory(snapshot, componentDetails, timestamp);
+            updateStatusHistory(rpgStatus, ComponentDetails.forRemoteProcessGroup(rpgStatus), StatusMetricLayout.REMOTE_PROCESS_GROUP, timestamp);
         }
 
         // Capture statuses for the child groups
@@ -145,30 +124,37 @@ public class VolatileComponentStatusRepository implements StatusHistoryRepositor
     }
 
 
-    private void updateStatusHistory(final StatusSnapshot statusSnapshot, final ComponentDetails componentDetails, final Date timestamp) {
+    // Component identifiers are unique across component types, so the history of a component always has the layout of its type
+    @SuppressWarnings("unchecked")
+    private <T> void updateStatusHistory(final T status, final ComponentDetails componentDetails, final StatusMetricLayout<T> layout, final Date timestamp) {
         final String componentId = componentDetails.getComponentId();
-        final ComponentStatusHistory procHistory = componentStatusHistories.computeIfAbsent(componentId, id -> new ComponentStatusHistory(componentDetails, numDataPoints));
-        procHistory.update(statusSnapshot, componentDetails);
+        final ComponentStatusHistory<T> history = (ComponentStatusHistory<T>) componentStatusHistories.computeIfAbsent(componentId,
+            id -> new ComponentStatusHistory<>(componentDetails, layout, numDataPoints));
+
+        // Statuses without any activity are not captured and are reported as empty snapshots
+        if (!layout.isEmpty(status)) {
+            history.update(timestamp, status, componentDetails);
+        }
     }
 
     @Override
     public StatusHistory getProcessorStatusHistory(final String processorId, final Date start, final Date end, final int preferredDataPoints, final boolean includeCounters) {
-        return getStatusHistory(processorId, includeCounters, DEFAULT_PROCESSOR_METRICS, start, end, preferredDataPoints);
+        return getStatusHistory(processorId, includeCounters, StatusMetricLayout.PROCESSOR.getMetricDescriptors(), start, end, preferredDataPoints);
     }
 
     @Override
     public StatusHistory getConnectionStatusHistory(final String connectionId, final Date start, final Date end, final int preferredDataPoints) {
-        return getStatusHistory(connectionId, true, DEFAULT_CONNECTION_METRICS, start, end, preferredDataPoints);
+        return getStatusHistory(connectionId, true, StatusMetricLayout.CONNECTION.getMetricDescriptors(), start, end, preferredDataPoints);
     }
 
     @Override
     public StatusHistory getProcessGroupStatusHistory(final String processGroupId, final Date start, final Date end, final int preferredDataPoints) {
-        return getStatusHistory(processGroupId, true, DEFAULT_GROUP_METRICS, start, end, preferredDataPoints);
+        return getStatusHistory(processGroupId, true, StatusMetricLayout.PROCESS_GROUP.getMetricDescriptors(), start, end, preferredDataPoints);
     }
 
     @Override
     public StatusHistory getRemoteProcessGroupStatusHistory(final String remoteGroupId, final Date start, final Date end, final int preferredDataPoints) {
-        return getStatusHistory(remoteGroupId, true, DEFAULT_RPG_METRICS, start, end, preferredDataPoints);
+        return getStatusHistory(remoteGroupId, true, StatusMetricLayout.REMOTE_PROCESS_GROUP.getMetricDescriptors(), start, end, preferredDataPoints);
     }
 
     @Override
@@ -345,7 +331,7 @@ public class VolatileComponentStatusRepository implements StatusHistoryRepositor
     private synchronized StatusHistory getStatusHistory(final String componentId,
         final boolean includeCounters, final Set<MetricDescriptor<?>> defaultMetricDescriptors,
         final Date start, final Date end, final int preferredDataPoints) {
-        final ComponentStatusHistory history = componentStatusHistories.get(componentId);
+        final ComponentStatusHistory<?> history = componentStatusHistories.get(componentId);
         if (history == null) {
             return new EmptyStatusHistory();
         }
@@ -43,6 +43,10 @@ public class SwapSchema {
     public static final RecordSchema SWAP_SUMMARY_SCHEMA_V3;
     public static final RecordSchema FULL_SWAP_FILE_SCHEMA_V3;
 
+    public static final RecordSchema FULL_SWAP_FILE_SCHEMA_V4;
+
+    public static final RecordSchema FULL_SWAP_FILE_SCHEMA_V5;
+
     public static final String RESOURCE_CLAIMS = "Resource Claims";
     public static final String RESOURCE_CLAIM = "Resource Claim";
     public static final String RESOURCE_CLAIM_COUNT = "Claim Count";
@@ -139,4 +143,20 @@ public class SwapSchema {
         fullSchemaFields.add(new ComplexRecordField(FLOWFILE_CONTENTS, Repetition.ZERO_OR_MORE, FlowFileSchema.FLOWFILE_SCHEMA_V2.getFields()));
         FULL_SWAP_FILE_SCHEMA_V3 = new RecordSchema(fullSchemaFields);
     }
+
+    static {
+        // Version 4 differs from version 3 only in that FlowFiles may hold their content inline
+        final List<RecordField> fullSchemaFields = new ArrayList<>();
+        fullSchemaFields.add(new ComplexRecordField(SWAP_SUMMARY, Repetition.EXACTLY_ONE, SWAP_SUMMARY_SCHEMA_V3.getFields()));
+        fullSchemaFields.add(new ComplexRecordField(FLOWFILE_CONTENTS, Repetition.ZERO_OR_MORE, FlowFileSchema.FLOWFILE_SCHEMA_V3.getFields()));
+        FULL_SWAP_FILE_SCHEMA_V4 = new RecordSchema(fullSchemaFields);
+    }
+
+    static {
+        // Version 5 differs from version 4 only in that FlowFiles may have content that is the concatenation of other content
+        final List<RecordField> fullSchemaFields = new ArrayList<>();
+        fullSchemaFields.add(new ComplexRecordField(SWAP_SUMMARY, Repetition.EXACTLY_ONE, SWAP_SUMMARY_SCHEMA_V3.getFields()));
+        fullSchemaFields.add(new ComplexRecordField(FLOWFILE_CONTENTS, Repetition.ZERO_OR_MORE, FlowFileSchema.FLOWFILE_SCHEMA_V4.getFields()));
+        FULL_SWAP_FILE_SCHEMA_V5 = new RecordSchema(fullSchemaFields);
+    }
 }
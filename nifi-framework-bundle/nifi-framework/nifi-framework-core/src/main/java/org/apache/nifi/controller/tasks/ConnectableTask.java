@@ -94,7 +94,8 @@ public class ConnectableTask {
         final StateManager stateManager = new TaskTerminationAwareStateManager(baseStateManager, lifecycleState::isTerminated);
         if (connectable instanceof ProcessorNode) {
             processContext = new StandardProcessContext(
-                    (ProcessorNode) connectable, flowController.getControllerServiceProvider(), stateManager, lifecycleState::isTerminated, flowController);
+                    (ProcessorNode) connectable, flowController.getControllerServiceProvider(), stateManager, lifecycleState::isTerminated, flowController,
+                    flowController.getExpressionLanguageEvaluationMode());
         } else {
             processContext = new ConnectableProcessContext(connectable, stateManager);
         }
@@ -184,7 +185,7 @@ public class ConnectableTask {
         // Make sure processor has work to do.
         if (!isWorkToDo()) {
             logger.debug("Yielding {} because it has no work to do", connectable);
-            return InvocationResult.yield("No work to do");
+            return InvocationResult.NO_WORK;
         }
 
         if (numRelationships > 0) {
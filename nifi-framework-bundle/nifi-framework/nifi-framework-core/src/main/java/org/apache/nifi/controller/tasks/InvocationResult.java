@@ -35,6 +35,8 @@ public interface InvocationResult {
         }
     };
 
+    InvocationResult NO_WORK = InvocationResult.yield("No work to do");
+
     static InvocationResult yield(final String explanation) {
         return new InvocationResult() {
             @Override
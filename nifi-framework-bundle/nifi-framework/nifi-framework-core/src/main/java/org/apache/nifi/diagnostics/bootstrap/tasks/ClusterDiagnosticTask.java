@@ -22,6 +22,10 @@ import org.apache.nifi.cluster.coordination.node.NodeConnectionStatus;
 import org.apache.nifi.cluster.protocol.NodeIdentifier;
 import org.apache.nifi.controller.FlowController;
 import org.apache.nifi.controller.leader.election.LeaderElectionManager;
+import org.apache.nifi.controller.queue.clustered.LoadBalanceTransactionSizer;
+import org.apache.nifi.controller.queue.clustered.client.async.AsyncLoadBalanceClient;
+import org.apache.nifi.controller.queue.clustered.client.async.nio.NioAsyncLoadBalanceClient;
+import org.apache.nifi.controller.queue.clustered.client.async.nio.NioAsyncLoadBalanceClientRegistry;
 import org.apache.nifi.diagnostics.DiagnosticTask;
 import org.apache.nifi.diagnostics.DiagnosticsDumpElement;
 import org.apache.nifi.diagnostics.StandardDiagnosticsDumpElement;
@@ -70,6 +74,23 @@ public class ClusterDiagnosticTask implements DiagnosticTask {
         details.add("Coordinator Node : " + clusterCoordinator.getElectedActiveCoordinatorNode());
         details.add("Local Node : " + clusterCoordinator.getLocalNodeIdentifier());
 
+        final NioAsyncLoadBalanceClientRegistry loadBalanceClientRegistry = flowController.getLoadBalanceClientRegistry();
+        if (loadBalanceClientRegistry != null) {
+            for (final AsyncLoadBalanceClient client : loadBalanceClientRegistry.getAllClients()) {
+                if (client instanceof NioAsyncLoadBalanceClient nioClient) {
+                    details.add("Load Balancing to " + nioClient.getNodeIdentifier() + " : " + nioClient.getFlowFilesSent() + " FlowFiles sent, "
+                        + nioClient.getBytesSent() + " bytes sent, " + nioClient.getBytesTransferredDirectly() + " bytes transferred directly from content files, "
+                        + TimeUnit.NANOSECONDS.toMillis(nioClient.getCommunicationNanos()) + " millis spent communicating");
+
+                    final LoadBalanceTransactionSizer sizer = nioClient.getTransactionSizer();
+                    details.add("Load Balancing Transactions to " + nioClient.getNodeIdentifier() + " : limit of " + sizer.getFlowFileCountLimit() + " FlowFiles / "
+                        + sizer.getByteLimit() + " bytes, " + sizer.getTransactionCount() + " transactions completed, average of "
+                        + String.format("%.1f", sizer.getAverageBatchSize()) + " FlowFiles per transaction, " + String.format("%.0f", sizer.getBytesPerSecond())
+                        + " bytes per second, " + sizer.getBackPressureCount() + " refused due to back pressure, " + sizer.getFailureCount() + " failed");
+                }
+            }
+        }
+
         final LeaderElectionManager leaderElectionManager = flowController.getLeaderElectionManager();
         if (leaderElectionManager != null) {
             final Map<String, Integer> changeCounts = leaderElectionManager.getLeadershipChangeCount(24, TimeUnit.HOURS);
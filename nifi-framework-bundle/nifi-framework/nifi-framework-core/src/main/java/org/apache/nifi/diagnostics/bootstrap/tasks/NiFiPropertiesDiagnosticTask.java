@@ -33,6 +33,7 @@ public class NiFiPropertiesDiagnosticTask implements DiagnosticTask {
         "nifi.zookeeper.connect.timeout",
         "nifi.zookeeper.session.timeout",
         "nifi.cluster.node.protocol.max.threads",
+        "nifi.cluster.load.balance.adaptive.transaction.size",
         "nifi.security.allow.anonymous.authentication",
         "nifi.security.user.login.identity.provider",
         "nifi.security.user.authorizer",
@@ -43,8 +44,16 @@ public class NiFiPropertiesDiagnosticTask implements DiagnosticTask {
         "nifi.components.status.snapshot.frequency",
         "nifi.content.repository.archive.max.retention.period",
         "nifi.content.repository.archive.max.usage.percentage",
+        "nifi.content.repository.memory.mapped.reads",
+        "nifi.content.repository.memory.mapped.max.size",
+        "nifi.content.repository.deduplication.enabled",
+        "nifi.content.claim.max.inline.size",
+        "nifi.content.claim.concatenation.enabled",
         "nifi.flowfile.repository.checkpoint.interval",
         "nifi.flowfile.repository.always.sync",
+        "nifi.flowfile.repository.sync.window",
+        "nifi.flowfile.repository.journal.partitions",
+        "nifi.flowfile.repository.checkpoint.max.deltas",
         "nifi.components.status.snapshot.frequency",
         "nifi.bored.yield.duration",
         "nifi.queue.swap.threshold",
@@ -46,6 +46,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -122,6 +123,30 @@ public class TestStandardFlowFileQueue {
         assertEquals(0L, unackSize.getByteCount());
     }
 
+    @Test
+    public void testEnqueueListener() {
+        final AtomicInteger notifications = new AtomicInteger();
+        final Runnable listener = notifications::incrementAndGet;
+        queue.addEnqueueListener(listener);
+        queue.addEnqueueListener(listener);
+
+        queue.put(new MockFlowFileRecord());
+        assertEquals(1, notifications.get());
+
+        // Listeners are removed once they have run
+        queue.putAll(List.of(new MockFlowFileRecord(), new MockFlowFileRecord()));
+        assertEquals(1, notifications.get());
+
+        queue.addEnqueueListener(listener);
+        queue.putAll(List.of(new MockFlowFileRecord()));
+        assertEquals(2, notifications.get());
+
+        queue.addEnqueueListener(listener);
+        queue.removeEnqueueListener(listener);
+        queue.put(new MockFlowFileRecord());
+        assertEquals(2, notifications.get());
+    }
+
     @Test
     public void testBackPressure() {
         queue.setBackPressureObjectThreshold(10);
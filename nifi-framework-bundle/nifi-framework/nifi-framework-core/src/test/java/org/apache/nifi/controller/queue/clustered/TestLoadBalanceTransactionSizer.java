@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.queue.clustered;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestLoadBalanceTransactionSizer {
+    private static final long FAST_TRANSACTION_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+    private static final long SLOW_TRANSACTION_NANOS = TimeUnit.SECONDS.toNanos(2L);
+
+    @Test
+    public void testFixedLimitsWhenNotAdaptive() {
+        final LoadBalanceTransactionSizer sizer = new LoadBalanceTransactionSizer(false);
+        sizer.onTransactionComplete(1000, 1_000_000L, FAST_TRANSACTION_NANOS, true);
+        sizer.onBackPressure();
+        sizer.onTransactionFailed();
+
+        assertEquals(LoadBalanceTransactionSizer.INITIAL_FLOWFILE_COUNT, sizer.getFlowFileCountLimit());
+        assertEquals(LoadBalanceTransactionSizer.INITIAL_BYTES, sizer.getByteLimit());
+
+        assertEquals(1, sizer.getTransactionCount());
+        assertEquals(1000, sizer.getFlowFileCount());
+        assertEquals(1, sizer.getBackPressureCount());
+        assertEquals(1, sizer.getFailureCount());
+        assertEquals(1000D, sizer.getAverageBatchSize());
+        assertEquals(100_000_000D, sizer.getBytesPerSecond(), 1D);
+    }
+
+    @Test
+    public void testAdditiveIncreaseWhenThresholdMet() {
+        final LoadBalanceTransactionSizer sizer = new LoadBalanceTransactionSizer(true);
+        sizer.onTransactionComplete(1000, 1_000_000L, FAST_TRANSACTION_NANOS, true);
+
+        assertEquals(LoadBalanceTransactionSizer.INITIAL_FLOWFILE_COUNT + LoadBalanceTransactionSizer.FLOWFILE_COUNT_INCREMENT, sizer.getFlowFileCountLimit());
+        assertEquals(LoadBalanceTransactionSizer.INITIAL_BYTES + LoadBalanceTransactionSizer.BYTES_INCREMENT, sizer.getByteLimit());
+
+        final TransactionThreshold threshold = sizer.newThreshold();
+        threshold.adjust(LoadBalanceTransactionSizer.INITIAL_FLOWFILE_COUNT, 1L);
+        assertFalse(threshold.isThresholdMet());
+        threshold.adjust(LoadBalanceTransactionSizer.FLOWFILE_COUNT_INCREMENT, 1L);
+        assertTrue(threshold.isThresholdMet());
+    }
+
+    @Test
+    public void testNoIncreaseWhenQueueDrained() {
+        final LoadBalanceTransactionSizer sizer = new LoadBalanceTransactionSizer(true);
+        sizer.onTransactionComplete(5, 5_000L, FAST_TRANSACTION_NANOS, false);
+
+        assertEquals(LoadBalanceTransactionSizer.INITIAL_FLOWFILE_COUNT, sizer.getFlowFileCountLimit());
+        assertEquals(LoadBalanceTransactionSizer.INITIAL_BYTES, sizer.getByteLimit());
+    }
+
+    @Test
+    public void testNoIncreaseWhenThroughputDrops() {
+        final LoadBalanceTransactionSizer sizer = new LoadBalanceTransactionSizer(true);
+        sizer.onTransactionComplete(1000, 1_000_000L, FAST_TRANSACTION_NANOS, true);
+        final int flowFileCountLimit = sizer.getFlowFileCountLimit();
+
+        // Half of the throughput of the first transaction
+        sizer.onTransactionComplete(1100, 1_000_000L, FAST_TRANSACTION_NANOS * 2, true);
+        assertEquals(flowFileCountLimit, sizer.getFlowFileCountLimit());
+    }
+
+    @Test
+    public void testMultiplicativeDecrease() {
+        final LoadBalanceTransactionSizer sizer = new LoadBalanceTransactionSizer(true);
+
+        sizer.onTransactionComplete(1000, 1_000_000L, SLOW_TRANSACTION_NANOS, true);
+        assertEquals(LoadBalanceTransactionSizer.INITIAL_FLOWFILE_COUNT / 2, sizer.getFlowFileCountLimit());
+        assertEquals(LoadBalanceTransactionSizer.INITIAL_BYTES / 2, sizer.getByteLimit());
+
+        sizer.onBackPressure();
+        assertEquals(LoadBalanceTransactionSizer.INITIAL_FLOWFILE_COUNT / 4, sizer.getFlowFileCountLimit());
+
+        for (int i = 0; i < 20; i++) {
+            sizer.onTransactionFailed();
+        }
+        assertEquals(LoadBalanceTransactionSizer.MIN_FLOWFILE_COUNT, sizer.getFlowFileCountLimit());
+        assertEquals(LoadBalanceTransactionSizer.MIN_BYTES, sizer.getByteLimit());
+    }
+
+    @Test
+    public void testIncreaseIsBounded() {
+        final LoadBalanceTransactionSizer sizer = new LoadBalanceTransactionSizer(true);
+        for (int i = 0; i < 1000; i++) {
+            sizer.onTransactionComplete(sizer.getFlowFileCountLimit(), 1_000_000L, FAST_TRANSACTION_NANOS, true);
+        }
+
+        assertEquals(LoadBalanceTransactionSizer.MAX_FLOWFILE_COUNT, sizer.getFlowFileCountLimit());
+        assertEquals(LoadBalanceTransactionSizer.MAX_BYTES, sizer.getByteLimit());
+    }
+}
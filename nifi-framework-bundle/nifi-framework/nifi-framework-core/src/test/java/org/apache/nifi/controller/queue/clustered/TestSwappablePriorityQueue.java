@@ -26,6 +26,7 @@ import org.apache.nifi.controller.queue.PollStrategy;
 import org.apache.nifi.controller.queue.QueueSize;
 import org.apache.nifi.controller.queue.SwappablePriorityQueue;
 import org.apache.nifi.controller.repository.FlowFileRecord;
+import org.apache.nifi.controller.status.FlowFileAvailability;
 import org.apache.nifi.events.EventReporter;
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.flowfile.FlowFilePrioritizer;
@@ -45,6 +46,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -185,6 +187,88 @@ public class TestSwappablePriorityQueue {
         }
     }
 
+    @Test
+    public void testFirstInFirstOutWithoutPrioritizers() {
+        // FlowFile IDs are intentionally assigned in reverse order to ensure that ordering is based on insertion rather than ID.
+        final List<FlowFileRecord> flowFiles = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final FlowFileRecord flowFile = mock(FlowFileRecord.class);
+            when(flowFile.getId()).thenReturn(100L - i);
+            when(flowFile.getAttribute("i")).thenReturn(String.valueOf(i));
+            flowFiles.add(flowFile);
+        }
+
+        queue.putAll(flowFiles.subList(0, 50));
+        for (final FlowFileRecord flowFile : flowFiles.subList(50, 100)) {
+            queue.put(flowFile);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            final FlowFileRecord polled = queue.poll(Set.of(), 0L);
+            assertEquals(String.valueOf(i), polled.getAttribute("i"));
+        }
+
+        assertNull(queue.poll(Set.of(), 0L));
+    }
+
+    @Test
+    public void testPenalizedFlowFileOrderedAfterUnpenalizedWithoutPrioritizers() {
+        final FlowFileRecord penalizedFlowFile = mock(FlowFileRecord.class);
+        when(penalizedFlowFile.isPenalized()).thenReturn(true);
+        when(penalizedFlowFile.getPenaltyExpirationMillis()).thenReturn(System.currentTimeMillis() + 60_000L);
+        queue.put(penalizedFlowFile);
+
+        final MockFlowFileRecord unpenalizedFlowFile = new MockFlowFileRecord(0L);
+        queue.put(unpenalizedFlowFile);
+        assertEquals(FlowFileAvailability.FLOWFILE_AVAILABLE, queue.getFlowFileAvailability());
+
+        assertSame(unpenalizedFlowFile, queue.poll(Set.of(), 0L));
+        assertEquals(FlowFileAvailability.HEAD_OF_QUEUE_PENALIZED, queue.getFlowFileAvailability());
+        assertNull(queue.poll(Set.of(), 0L));
+
+        assertSame(penalizedFlowFile, queue.poll(Set.of(), 0L, PollStrategy.ALL_FLOWFILES));
+        queue.acknowledge(List.of(unpenalizedFlowFile, penalizedFlowFile));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(30)
+    public void testConcurrentPutAndPollWithoutPrioritizers() throws InterruptedException {
+        final int threadCount = 8;
+        final int flowFilesPerThread = 25_000;
+        final AtomicInteger polledCount = new AtomicInteger();
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < flowFilesPerThread; i++) {
+                    queue.put(new MockFlowFileRecord(1L));
+
+                    final FlowFileRecord polled = queue.poll(Set.of(), 0L);
+                    if (polled != null) {
+                        queue.acknowledge(polled);
+                        polledCount.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        FlowFileRecord remaining;
+        while ((remaining = queue.poll(Set.of(), 0L)) != null) {
+            queue.acknowledge(remaining);
+            polledCount.incrementAndGet();
+        }
+
+        assertEquals(threadCount * flowFilesPerThread, polledCount.get());
+        assertTrue(queue.isEmpty());
+        assertEquals(0L, queue.size().getByteCount());
+    }
+
     @Test
     public void testExceptionInPollAllowsReprocessing() {
         for (int i = 0; i < 3; i++) {
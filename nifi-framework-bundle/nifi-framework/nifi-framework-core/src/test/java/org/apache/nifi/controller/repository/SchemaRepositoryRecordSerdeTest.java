@@ -18,6 +18,11 @@
 package org.apache.nifi.controller.repository;
 
 import org.apache.nifi.controller.queue.FlowFileQueue;
+import org.apache.nifi.controller.repository.claim.ConcatenatedContentClaim;
+import org.apache.nifi.controller.repository.claim.ContentClaim;
+import org.apache.nifi.controller.repository.claim.InlineContentClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaim;
+import org.apache.nifi.controller.repository.claim.StandardContentClaim;
 import org.apache.nifi.controller.repository.claim.StandardResourceClaimManager;
 import org.apache.nifi.controller.repository.schema.RepositoryRecordSchema;
 import org.apache.nifi.repository.schema.NoOpFieldCache;
@@ -30,11 +35,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.apache.nifi.controller.repository.RepositoryRecordType.SWAP_IN;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -245,6 +254,57 @@ public class SchemaRepositoryRecordSerdeTest {
         assertEquals(SWAP_IN, repositoryRecord.getType());
     }
 
+    @Test
+    public void testRoundTripInlineContentClaim() throws IOException {
+        final byte[] content = "Hello, World".getBytes(StandardCharsets.UTF_8);
+        final StandardRepositoryRecord record = new StandardRepositoryRecord(flowFileQueue);
+        record.setWorking(new StandardFlowFileRecord.Builder()
+                .addAttribute("testName", "testValue")
+                .contentClaim(new InlineContentClaim(content))
+                .size(content.length)
+                .build(), false);
+
+        schemaRepositoryRecordSerde.writeHeader(dataOutputStream);
+        schemaRepositoryRecordSerde.serializeRecord(new LiveSerializedRepositoryRecord(record), dataOutputStream);
+
+        DataInputStream dataInputStream = createDataInputStream();
+        schemaRepositoryRecordSerde.readHeader(dataInputStream);
+        SerializedRepositoryRecord repositoryRecord = schemaRepositoryRecordSerde.deserializeRecord(dataInputStream, 4);
+        final ContentClaim contentClaim = repositoryRecord.getFlowFileRecord().getContentClaim();
+        final InlineContentClaim inlineContentClaim = assertInstanceOf(InlineContentClaim.class, contentClaim);
+        assertArrayEquals(content, inlineContentClaim.getContent());
+        assertEquals(content.length, repositoryRecord.getFlowFileRecord().getSize());
+    }
+
+    @Test
+    public void testRoundTripConcatenatedContentClaim() throws IOException {
+        final ResourceClaim resourceClaim = resourceClaimManager.newResourceClaim("container", "section", "1", false, false);
+        final StandardContentClaim first = new StandardContentClaim(resourceClaim, 10L);
+        first.setLength(100L);
+        final StandardContentClaim second = new StandardContentClaim(resourceClaim, 200L);
+        second.setLength(50L);
+        final InlineContentClaim third = new InlineContentClaim("Hello".getBytes(StandardCharsets.UTF_8));
+        final ConcatenatedContentClaim concatenatedClaim = new ConcatenatedContentClaim(List.of(first, second, third),
+                "[".getBytes(StandardCharsets.UTF_8), "]".getBytes(StandardCharsets.UTF_8), ",".getBytes(StandardCharsets.UTF_8));
+
+        final StandardRepositoryRecord record = new StandardRepositoryRecord(flowFileQueue);
+        record.setWorking(new StandardFlowFileRecord.Builder()
+                .contentClaim(concatenatedClaim)
+                .size(concatenatedClaim.getLength())
+                .build(), false);
+
+        schemaRepositoryRecordSerde.writeHeader(dataOutputStream);
+        schemaRepositoryRecordSerde.serializeRecord(new LiveSerializedRepositoryRecord(record), dataOutputStream);
+
+        DataInputStream dataInputStream = createDataInputStream();
+        schemaRepositoryRecordSerde.readHeader(dataInputStream);
+        SerializedRepositoryRecord repositoryRecord = schemaRepositoryRecordSerde.deserializeRecord(dataInputStream, 4);
+        final ContentClaim contentClaim = repositoryRecord.getFlowFileRecord().getContentClaim();
+        assertEquals(concatenatedClaim, contentClaim);
+        assertEquals(159L, contentClaim.getLength());
+        assertEquals(List.of(resourceClaim, resourceClaim), contentClaim.getResourceClaims());
+    }
+
     private DataInputStream createDataInputStream() throws IOException {
         dataOutputStream.flush();
         return new DataInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
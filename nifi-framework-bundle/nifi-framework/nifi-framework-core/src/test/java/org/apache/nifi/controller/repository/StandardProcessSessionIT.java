@@ -31,7 +31,9 @@ import org.apache.nifi.controller.StandardProcessorNode;
 import org.apache.nifi.controller.queue.FlowFileQueue;
 import org.apache.nifi.controller.queue.PollStrategy;
 import org.apache.nifi.controller.queue.StandardFlowFileQueue;
+import org.apache.nifi.controller.repository.claim.ConcatenatedContentClaim;
 import org.apache.nifi.controller.repository.claim.ContentClaim;
+import org.apache.nifi.controller.repository.claim.InlineContentClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
 import org.apache.nifi.controller.repository.claim.StandardContentClaim;
@@ -105,6 +107,7 @@ import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -1435,6 +1438,42 @@ public class StandardProcessSessionIT {
 
     }
 
+    @Test
+    public void testCompactAttributeStorage() {
+        final StandardRepositoryContext compactContext = new StandardRepositoryContext(connectable, new AtomicLong(0L), contentRepo, flowFileRepo, flowFileEventRepository,
+            counterRepository, provenanceRepo, stateManager, 50_000L, new AttributeKeyDictionary());
+        final StandardProcessSession compactSession = new StandardProcessSession(compactContext, () -> false, new NopPerformanceTracker());
+
+        final FlowFileRecord flowFileRecord = new StandardFlowFileRecord.Builder()
+                .id(1L)
+                .addAttribute("uuid", "11111111-1111-1111-1111-111111111111")
+                .addAttribute("tmp", "a")
+                .entryDate(System.currentTimeMillis())
+                .build();
+        flowFileQueue.put(flowFileRecord);
+
+        FlowFile existing = compactSession.get();
+        existing = compactSession.putAttribute(existing, new String("index"), "1");
+        existing = compactSession.removeAttribute(existing, "tmp");
+
+        FlowFile created = compactSession.create();
+        created = compactSession.putAttribute(created, new String("index"), "2");
+
+        assertEquals("1", existing.getAttribute("index"));
+        assertNull(existing.getAttribute("tmp"));
+        assertEquals("11111111-1111-1111-1111-111111111111", existing.getAttribute("uuid"));
+        assertEquals("2", created.getAttribute("index"));
+
+        final String existingKey = existing.getAttributes().keySet().stream().filter("index"::equals).findFirst().orElseThrow();
+        final String createdKey = created.getAttributes().keySet().stream().filter("index"::equals).findFirst().orElseThrow();
+        assertSame(existingKey, createdKey);
+
+        final Relationship rel = new Relationship.Builder().name("A").build();
+        compactSession.transfer(existing, rel);
+        compactSession.transfer(created, rel);
+        compactSession.commit();
+    }
+
     @Test
     public void testUpdateAttributesThenJoin() throws IOException {
         final FlowFileRecord flowFileRecord1 = new StandardFlowFileRecord.Builder()
@@ -2094,6 +2133,71 @@ public class StandardProcessSessionIT {
         session.commit();
     }
 
+    @Test
+    public void testWriteHoldsSmallContentInline() throws IOException {
+        contentRepo.maxInlineContentSize = 8;
+
+        FlowFile small = session.write(session.create(), out -> out.write("Hello".getBytes(StandardCharsets.UTF_8)));
+        small = session.write(small, (in, out) -> {
+            out.write(in.readAllBytes());
+            out.write('!');
+        });
+
+        FlowFile large = session.create();
+        try (final OutputStream out = session.write(large)) {
+            out.write("Hello".getBytes(StandardCharsets.UTF_8));
+            out.write(", World".getBytes(StandardCharsets.UTF_8));
+        }
+        large = session.putAttribute(large, "size", "large");
+
+        assertInstanceOf(InlineContentClaim.class, ((FlowFileRecord) small).getContentClaim());
+        assertInstanceOf(StandardContentClaim.class, ((FlowFileRecord) large).getContentClaim());
+
+        session.transfer(small, Relationship.ANONYMOUS);
+        session.transfer(large, Relationship.ANONYMOUS);
+        session.commit();
+
+        // Only the content that was too large to be held inline was written to the Content Repository
+        assertEquals(1, contentRepo.getExistingClaims().size());
+
+        final Set<String> contents = new HashSet<>();
+        for (final FlowFile flowFile : session.get(2)) {
+            try (final InputStream in = session.read(flowFile)) {
+                contents.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(Set.of("Hello!", "Hello, World"), contents);
+        session.rollback();
+    }
+
+    @Test
+    public void testMergeReferencesConcatenatedContent() throws IOException {
+        contentRepo.concatenationEnabled = true;
+
+        final FlowFile first = session.write(session.create(), out -> out.write("Hello".getBytes(StandardCharsets.UTF_8)));
+        final FlowFile second = session.write(session.create(), out -> out.write("World".getBytes(StandardCharsets.UTF_8)));
+        final ContentClaim firstClaim = ((FlowFileRecord) first).getContentClaim();
+        final ContentClaim secondClaim = ((FlowFileRecord) second).getContentClaim();
+
+        // The merged content is referenced rather than copied, so the content of the sources is never read
+        contentRepo.disableRead = true;
+        final FlowFile merged = session.merge(List.of(first, second), session.create(),
+            "[".getBytes(StandardCharsets.UTF_8), "]".getBytes(StandardCharsets.UTF_8), ", ".getBytes(StandardCharsets.UTF_8));
+
+        final ConcatenatedContentClaim mergedClaim = assertInstanceOf(ConcatenatedContentClaim.class, ((FlowFileRecord) merged).getContentClaim());
+        assertEquals("[Hello, World]".length(), merged.getSize());
+        assertEquals(2, mergedClaim.getSegments().size());
+        for (int i = 0; i < 2; i++) {
+            final ContentClaim sourceClaim = i == 0 ? firstClaim : secondClaim;
+            final ContentClaim segment = mergedClaim.getSegments().get(i);
+            assertEquals(sourceClaim.getResourceClaim(), segment.getResourceClaim());
+            assertEquals(sourceClaim.getOffset(), segment.getOffset());
+            assertEquals(5, segment.getLength());
+        }
+
+        session.rollback();
+    }
+
     @Test
     public void testWriteToOutputStream() throws IOException {
         final FlowFileRecord flowFileRecord = new StandardFlowFileRecord.Builder()
@@ -3131,6 +3235,8 @@ public class StandardProcessSessionIT {
         private final AtomicLong claimsRemoved = new AtomicLong(0L);
         private ResourceClaimManager claimManager;
         private boolean disableRead = false;
+        private int maxInlineContentSize = 0;
+        private boolean concatenationEnabled = false;
 
         private final ConcurrentMap<ContentClaim, AtomicInteger> claimantCounts = new ConcurrentHashMap<>();
 
@@ -3138,6 +3244,11 @@ public class StandardProcessSessionIT {
         public void shutdown() {
         }
 
+        @Override
+        public int getMaxInlineContentSize() {
+            return maxInlineContentSize;
+        }
+
         public Set<ContentClaim> getExistingClaims() {
             final Set<ContentClaim> claims = new HashSet<>();
 
@@ -3256,6 +3367,11 @@ public class StandardProcessSessionIT {
             return null;
         }
 
+        @Override
+        public ContentClaim concatenate(List<ContentClaim> segments, byte[] header, byte[] footer, byte[] demarcator) {
+            return concatenationEnabled ? new ConcatenatedContentClaim(segments, header, footer, demarcator) : null;
+        }
+
 
         private Path getPath(final ContentClaim contentClaim) {
             final ResourceClaim claim = contentClaim.getResourceClaim();
@@ -44,12 +44,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -59,12 +61,15 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -631,6 +636,244 @@ public class TestFileSystemRepository {
         }
     }
 
+    @Test
+    public void testReadWithMemoryMappedContent() throws IOException {
+        recreateRepositoryWithPropertyOverrides(Map.of(NiFiProperties.CONTENT_REPOSITORY_MEMORY_MAPPED_READS, "true"));
+
+        final List<ContentClaim> claims = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final ContentClaim claim = repository.create(false);
+            try (final OutputStream out = repository.write(claim)) {
+                out.write(("Content " + i).getBytes(StandardCharsets.UTF_8));
+            }
+            claims.add(claim);
+        }
+
+        final ResourceClaim resourceClaim = claims.getFirst().getResourceClaim();
+        for (final ContentClaim claim : claims) {
+            assertEquals(resourceClaim, claim.getResourceClaim());
+        }
+
+        // The Resource Claim is still writable, so its content is streamed rather than mapped
+        final ByteBuffer streamedContent = repository.readAsByteBuffer(claims.getFirst());
+        assertFalse(streamedContent.isDirect());
+        assertEquals("Content 0", StandardCharsets.UTF_8.decode(streamedContent).toString());
+
+        claimManager.freeze(resourceClaim);
+
+        for (int i = 0; i < claims.size(); i++) {
+            final ContentClaim claim = claims.get(i);
+            final String expected = "Content " + i;
+
+            final ByteBuffer mappedContent = repository.readAsByteBuffer(claim);
+            assertTrue(mappedContent.isDirect());
+            assertTrue(mappedContent.isReadOnly());
+            assertEquals(expected, StandardCharsets.UTF_8.decode(mappedContent).toString());
+
+            try (final InputStream in = repository.read(claim)) {
+                assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void testConcatenate() throws IOException {
+        recreateRepositoryWithPropertyOverrides(Map.of(
+            NiFiProperties.CONTENT_CLAIM_CONCATENATION_ENABLED, "true",
+            NiFiProperties.MAX_APPENDABLE_CLAIM_SIZE, "8 B"));
+
+        final List<ContentClaim> segments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final ContentClaim claim = repository.create(false);
+            try (final OutputStream out = repository.write(claim)) {
+                out.write(("Content " + i).getBytes(StandardCharsets.UTF_8));
+            }
+            segments.add(claim);
+        }
+
+        final ContentClaim concatenatedClaim = repository.concatenate(segments, "[".getBytes(StandardCharsets.UTF_8),
+            "]".getBytes(StandardCharsets.UTF_8), ", ".getBytes(StandardCharsets.UTF_8));
+        assertNotNull(concatenatedClaim);
+        assertNull(concatenatedClaim.getResourceClaim());
+
+        final String expected = "[Content 0, Content 1, Content 2]";
+        assertEquals(expected.length(), concatenatedClaim.getLength());
+        assertEquals(expected.length(), repository.size(concatenatedClaim));
+        try (final InputStream in = repository.read(concatenatedClaim)) {
+            assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        // The concatenated claim holds a claimant count on the Resource Claim of each segment
+        for (final ContentClaim segment : segments) {
+            assertEquals(2, repository.getClaimantCount(segment));
+        }
+
+        for (final ContentClaim segment : segments) {
+            repository.decrementClaimantCount(segment);
+        }
+        try (final InputStream in = repository.read(concatenatedClaim)) {
+            assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(0, repository.decrementClaimantCount(concatenatedClaim));
+        for (final ContentClaim segment : segments) {
+            assertEquals(0, repository.getClaimantCount(segment));
+        }
+
+        // Content that is smaller than an appendable claim is copied rather than concatenated
+        final ContentClaim smallClaim = repository.create(false);
+        try (final OutputStream out = repository.write(smallClaim)) {
+            out.write("Small".getBytes(StandardCharsets.UTF_8));
+        }
+        assertNull(repository.concatenate(List.of(smallClaim), null, null, null));
+    }
+
+    @Test
+    public void testDeduplicatesIdenticalContent() throws IOException {
+        final Map<String, String> propertyOverrides = Map.of(
+            NiFiProperties.CONTENT_REPOSITORY_DEDUPLICATION_ENABLED, "true",
+            NiFiProperties.MAX_APPENDABLE_CLAIM_SIZE, "8 B");
+        recreateRepositoryWithPropertyOverrides(propertyOverrides);
+
+        final ContentClaim original = writeClaim("Identical Content");
+        final ContentClaim duplicate = writeClaim("Identical Content");
+        final ContentClaim different = writeClaim("Different Content");
+
+        assertNotEquals(original.getResourceClaim(), duplicate.getResourceClaim());
+        assertTrue(Files.isSameFile(getPath(original), getPath(duplicate)));
+        assertFalse(Files.isSameFile(getPath(original), getPath(different)));
+
+        // The index does not link to content, so only the files of the claims refer to it
+        assertEquals(2, ContentHashIndex.getLinkCount(getPath(original)));
+        assertEquals(1, ContentHashIndex.getLinkCount(getPath(different)));
+
+        // Removing one of the claims does not affect the content of the other
+        assertEquals(0, repository.decrementClaimantCount(original));
+        assertTrue(repository.remove(original));
+        try (final InputStream in = repository.read(duplicate)) {
+            assertEquals("Identical Content", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        // The index survives a restart
+        repository.shutdown();
+        repository = new FileSystemRepository(nifiProperties);
+        repository.initialize(new StandardContentRepositoryContext(claimManager, EventReporter.NO_OP));
+        final ContentClaim afterRestart = writeClaim("Identical Content");
+        assertTrue(Files.isSameFile(getPath(duplicate), getPath(afterRestart)));
+
+        // Entries are kept while the content that they refer to is stored, and removed once it is not
+        final Path containerPath = getPath(duplicate).getParent().getParent();
+        final ContentHashIndex contentHashIndex = new ContentHashIndex(containerPath);
+        assertEquals(0, removeStaleEntries(contentHashIndex));
+        assertEquals(2, countFiles(containerPath.resolve(ContentHashIndex.INDEX_DIR_NAME)));
+
+        Files.delete(getPath(duplicate));
+        Files.delete(getPath(afterRestart));
+        Files.delete(getPath(different));
+        removeStaleEntries(contentHashIndex);
+        assertEquals(0, countFiles(containerPath.resolve(ContentHashIndex.INDEX_DIR_NAME)));
+    }
+
+    @Test
+    public void testDeletingArchivedDeduplicatedContent() throws IOException {
+        final Map<String, String> propertyOverrides = Map.of(
+            NiFiProperties.CONTENT_REPOSITORY_DEDUPLICATION_ENABLED, "true",
+            NiFiProperties.MAX_APPENDABLE_CLAIM_SIZE, "8 B",
+            NiFiProperties.CONTENT_ARCHIVE_ENABLED, "true",
+            NiFiProperties.CONTENT_ARCHIVE_MAX_RETENTION_PERIOD, "12 hours",
+            NiFiProperties.CONTENT_ARCHIVE_MAX_USAGE_PERCENTAGE, "99%");
+        recreateRepositoryWithPropertyOverrides(propertyOverrides);
+
+        final ContentClaim original = writeClaim("Identical Content");
+        final ContentClaim duplicate = writeClaim("Identical Content");
+        final ContentClaim different = writeClaim("Different Content");
+
+        final List<Path> archivePaths = new ArrayList<>();
+        for (final ContentClaim claim : List.of(original, duplicate, different)) {
+            archivePaths.add(FileSystemRepository.getArchivePath(getPath(claim)));
+            assertEquals(0, repository.decrementClaimantCount(claim));
+            assertTrue(repository.archive(claim.getResourceClaim()));
+        }
+
+        // Archived content is still found in the index
+        final ContentClaim afterArchive = writeClaim("Identical Content");
+        assertTrue(Files.isSameFile(archivePaths.getFirst(), getPath(afterArchive)));
+        Files.delete(getPath(afterArchive));
+
+        // Deleting a file whose data is still linked from another file frees no space
+        final long size = original.getLength();
+        assertEquals(0L, repository.deleteArchivedFile(archivePaths.get(0), size, true));
+        assertEquals(size, repository.deleteArchivedFile(archivePaths.get(1), size, true));
+        assertEquals(size, repository.deleteArchivedFile(archivePaths.get(2), size, true));
+        assertEquals(0L, repository.deleteArchivedFile(archivePaths.get(2), size, true));
+    }
+
+    @Test
+    public void testDoesNotDeduplicateChangedContent() throws IOException {
+        final Map<String, String> propertyOverrides = Map.of(
+            NiFiProperties.CONTENT_REPOSITORY_DEDUPLICATION_ENABLED, "true",
+            NiFiProperties.MAX_APPENDABLE_CLAIM_SIZE, "8 B");
+        recreateRepositoryWithPropertyOverrides(propertyOverrides);
+
+        // Content of the same size but with different bytes than the indexed content is not shared with it
+        final ContentClaim original = writeClaim("Identical Content");
+        Files.writeString(getPath(original), "Different Content", StandardCharsets.UTF_8);
+        final ContentClaim duplicate = writeClaim("Identical Content");
+        assertFalse(Files.isSameFile(getPath(original), getPath(duplicate)));
+
+        // The entry now refers to the latest content with the hash
+        final ContentClaim afterChange = writeClaim("Identical Content");
+        assertTrue(Files.isSameFile(getPath(duplicate), getPath(afterChange)));
+    }
+
+    @Test
+    public void testArchivingDeduplicatedContentUpdatesModificationTime() throws IOException {
+        final Map<String, String> propertyOverrides = Map.of(
+            NiFiProperties.CONTENT_REPOSITORY_DEDUPLICATION_ENABLED, "true",
+            NiFiProperties.MAX_APPENDABLE_CLAIM_SIZE, "8 B",
+            NiFiProperties.CONTENT_ARCHIVE_ENABLED, "true",
+            NiFiProperties.CONTENT_ARCHIVE_MAX_RETENTION_PERIOD, "12 hours",
+            NiFiProperties.CONTENT_ARCHIVE_MAX_USAGE_PERCENTAGE, "99%");
+        recreateRepositoryWithPropertyOverrides(propertyOverrides);
+
+        final ContentClaim original = writeClaim("Identical Content");
+        final FileTime twoDaysAgo = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+        Files.setLastModifiedTime(getPath(original), twoDaysAgo);
+
+        // The duplicate shares the data, and so the modification time, of the original
+        final ContentClaim duplicate = writeClaim("Identical Content");
+        assertEquals(twoDaysAgo, Files.getLastModifiedTime(getPath(duplicate)));
+
+        final Path archivePath = FileSystemRepository.getArchivePath(getPath(duplicate));
+        final long archiveStart = System.currentTimeMillis();
+        assertEquals(0, repository.decrementClaimantCount(duplicate));
+        assertTrue(repository.archive(duplicate.getResourceClaim()));
+        assertTrue(Files.getLastModifiedTime(archivePath).toMillis() >= archiveStart - TimeUnit.SECONDS.toMillis(1));
+    }
+
+    private int removeStaleEntries(final ContentHashIndex contentHashIndex) throws IOException {
+        // Each invocation sweeps one subdirectory of the index
+        int removed = 0;
+        for (int i = 0; i < ContentHashIndex.INDEX_SUBDIRECTORY_COUNT; i++) {
+            removed += contentHashIndex.removeStaleEntries();
+        }
+        return removed;
+    }
+
+    private long countFiles(final Path directory) throws IOException {
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private ContentClaim writeClaim(final String content) throws IOException {
+        final ContentClaim claim = repository.create(false);
+        try (final OutputStream out = repository.write(claim)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return claim;
+    }
+
     @Test
     public void testReadWithContentArchived() throws IOException {
         final ContentClaim claim = repository.create(true);
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.scheduling;
+
+import org.apache.nifi.components.state.StateManager;
+import org.apache.nifi.components.state.StateManagerProvider;
+import org.apache.nifi.connectable.Connectable;
+import org.apache.nifi.connectable.Connection;
+import org.apache.nifi.controller.FlowController;
+import org.apache.nifi.controller.GarbageCollectionLog;
+import org.apache.nifi.controller.queue.AbstractFlowFileQueue;
+import org.apache.nifi.controller.status.FlowFileAvailability;
+import org.apache.nifi.engine.FlowEngine;
+import org.apache.nifi.groups.ProcessGroup;
+import org.apache.nifi.util.NiFiProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimerDrivenSchedulingAgentTest {
+
+    private static final int CONCURRENT_TASKS = 2;
+
+    @Mock
+    private FlowController flowController;
+
+    @Mock
+    private FlowEngine flowEngine;
+
+    @Mock
+    private RepositoryContextFactory repositoryContextFactory;
+
+    @Mock
+    private Connectable connectable;
+
+    @Mock
+    private ProcessGroup processGroup;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private AbstractFlowFileQueue flowFileQueue;
+
+    @Mock
+    private StateManagerProvider stateManagerProvider;
+
+    @Mock
+    private StateManager stateManager;
+
+    @Test
+    void testDoScheduleVirtualThreadsForProcessGroup() throws Exception {
+        final String componentId = UUID.randomUUID().toString();
+        final String groupId = UUID.randomUUID().toString();
+        final TimerDrivenSchedulingAgent schedulingAgent = createSchedulingAgent(groupId);
+        final LifecycleState lifecycleState = new LifecycleState(componentId);
+
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final CountDownLatch invoked = new CountDownLatch(CONCURRENT_TASKS);
+        setConnectable(componentId, CONCURRENT_TASKS);
+        when(connectable.getProcessGroup()).thenReturn(processGroup);
+        when(processGroup.getIdentifier()).thenReturn(groupId);
+
+        // Keep the component yielded so that each task parks after its first invocation
+        final long yieldExpiration = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        when(connectable.getYieldExpiration()).thenAnswer(invocation -> {
+            if (threads.add(Thread.currentThread())) {
+                invoked.countDown();
+            }
+            return yieldExpiration;
+        });
+
+        schedulingAgent.doSchedule(connectable, lifecycleState);
+
+        assertTrue(invoked.await(10, TimeUnit.SECONDS));
+        assertEquals(CONCURRENT_TASKS, lifecycleState.getFutures().size());
+        assertEquals(CONCURRENT_TASKS, threads.size());
+        for (final Thread thread : threads) {
+            assertTrue(thread.isVirtual());
+            assertTrue(thread.getName().startsWith("Timer-Driven Virtual Thread-"));
+            assertTrue(thread.getName().contains(connectable.toString()));
+        }
+        for (final ScheduledFuture<?> future : lifecycleState.getFutures()) {
+            assertFalse(future.isDone());
+        }
+        verifyNoInteractions(flowEngine);
+
+        schedulingAgent.doUnschedule(connectable, lifecycleState);
+
+        for (final Thread thread : threads) {
+            assertTrue(thread.join(Duration.ofSeconds(10)));
+        }
+        for (final ScheduledFuture<?> future : lifecycleState.getFutures()) {
+            assertTrue(future.isCancelled());
+        }
+    }
+
+    @Test
+    void testDoScheduleFlowEngine() {
+        final String componentId = UUID.randomUUID().toString();
+        final TimerDrivenSchedulingAgent schedulingAgent = createSchedulingAgent(UUID.randomUUID().toString());
+        final LifecycleState lifecycleState = new LifecycleState(componentId);
+
+        setConnectable(componentId, CONCURRENT_TASKS);
+        when(connectable.getSchedulingPeriod(eq(TimeUnit.NANOSECONDS))).thenReturn(0L);
+        when(flowEngine.scheduleWithFixedDelay(any(), eq(0L), eq(0L), eq(TimeUnit.NANOSECONDS))).thenAnswer(invocation -> mock(ScheduledFuture.class));
+
+        schedulingAgent.doSchedule(connectable, lifecycleState);
+
+        assertEquals(CONCURRENT_TASKS, lifecycleState.getFutures().size());
+    }
+
+    @Test
+    void testScheduleParksUntilFlowFilesQueued() throws Exception {
+        final String componentId = UUID.randomUUID().toString();
+        final LifecycleState lifecycleState = new LifecycleState(componentId);
+        final FlowEngine timerDrivenEngine = new FlowEngine(1, "Timer-Driven Test", true);
+        final NiFiProperties nifiProperties = NiFiProperties.createBasicNiFiProperties(null, Map.of(NiFiProperties.BORED_PARK_DURATION, "1 hour"));
+        final TimerDrivenSchedulingAgent schedulingAgent = new TimerDrivenSchedulingAgent(flowController, timerDrivenEngine, repositoryContextFactory, nifiProperties);
+
+        setConnectable(componentId, 1);
+        when(connectable.getSchedulingPeriod(eq(TimeUnit.NANOSECONDS))).thenReturn(TimeUnit.MILLISECONDS.toNanos(1));
+        when(connectable.hasIncomingConnection()).thenReturn(true);
+        when(connectable.getIncomingConnections()).thenReturn(List.of(connection));
+        when(connection.getSource()).thenReturn(mock(Connectable.class));
+        when(connection.getFlowFileQueue()).thenReturn(flowFileQueue);
+        when(flowFileQueue.getFlowFileAvailability()).thenReturn(FlowFileAvailability.ACTIVE_QUEUE_EMPTY);
+        when(flowFileQueue.isActiveQueueEmpty()).thenReturn(true);
+
+        // Each invocation checks whether the component runs on this node, and then finds that it has no work to do
+        final AtomicInteger invocations = new AtomicInteger();
+        when(connectable.isIsolated()).thenAnswer(invocation -> {
+            invocations.incrementAndGet();
+            return false;
+        });
+
+        final AtomicReference<Runnable> enqueueListener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            enqueueListener.set(invocation.getArgument(0));
+            return null;
+        }).when(flowFileQueue).addEnqueueListener(any());
+
+        try {
+            schedulingAgent.schedule(connectable, lifecycleState);
+            waitForEnqueueListener(enqueueListener);
+
+            // The component is parked, rather than being triggered every Bored Yield Duration
+            final int parkedInvocations = invocations.get();
+            Thread.sleep(200L);
+            assertEquals(parkedInvocations, invocations.get());
+
+            enqueueListener.getAndSet(null).run();
+            waitForEnqueueListener(enqueueListener);
+            assertTrue(invocations.get() > parkedInvocations);
+            assertEquals(1, lifecycleState.getFutures().size());
+
+            // The park timeout of the first park was cancelled on wake, so only the timeout of the current park is pending
+            final long pendingTasks = timerDrivenEngine.getQueue().stream()
+                .filter(task -> !((Future<?>) task).isCancelled())
+                .count();
+            assertEquals(1, pendingTasks);
+        } finally {
+            schedulingAgent.unschedule(connectable, lifecycleState);
+            timerDrivenEngine.shutdownNow();
+        }
+    }
+
+    private void waitForEnqueueListener(final AtomicReference<Runnable> enqueueListener) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (enqueueListener.get() == null && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10L);
+        }
+        assertTrue(enqueueListener.get() != null, "Component did not park");
+    }
+
+    private TimerDrivenSchedulingAgent createSchedulingAgent(final String virtualThreadComponents) {
+        final NiFiProperties nifiProperties = NiFiProperties.createBasicNiFiProperties(null,
+            Map.of(NiFiProperties.VIRTUAL_THREAD_COMPONENTS, virtualThreadComponents));
+        return new TimerDrivenSchedulingAgent(flowController, flowEngine, repositoryContextFactory, nifiProperties);
+    }
+
+    private void setConnectable(final String componentId, final int concurrentTasks) {
+        when(connectable.getMaxConcurrentTasks()).thenReturn(concurrentTasks);
+        when(connectable.getIdentifier()).thenReturn(componentId);
+        when(flowController.getStateManagerProvider()).thenReturn(stateManagerProvider);
+        when(stateManagerProvider.getStateManager(eq(componentId))).thenReturn(stateManager);
+        when(flowController.getGarbageCollectionLog()).thenReturn(mock(GarbageCollectionLog.class));
+    }
+}
@@ -16,41 +16,36 @@
  */
 package org.apache.nifi.controller.status.history;
 
+import org.apache.nifi.controller.status.ProcessorStatus;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 public class TestMetricRollingBuffer {
-    private static final Set<MetricDescriptor<?>> PROCESSOR_METRICS = Arrays.stream(ProcessorStatusDescriptor.values())
-        .map(ProcessorStatusDescriptor::getDescriptor)
-        .collect(Collectors.toSet());
+    private static final Set<MetricDescriptor<?>> PROCESSOR_METRICS = StatusMetricLayout.PROCESSOR.getMetricDescriptors();
 
     @Test
     public void testBufferGrows() {
         final int bufferCapacity = 1000;
-        final MetricRollingBuffer buffer = new MetricRollingBuffer(bufferCapacity);
+        final MetricRollingBuffer<ProcessorStatus> buffer = new MetricRollingBuffer<>(bufferCapacity, StatusMetricLayout.PROCESSOR);
 
         final long startTime = System.currentTimeMillis();
         final List<Date> timestamps = new ArrayList<>();
 
         int iterations = 1440;
         for (int i = 0; i < iterations; i++) {
-            final StandardStatusSnapshot snapshot = new StandardStatusSnapshot(PROCESSOR_METRICS);
-            snapshot.setTimestamp(new Date(startTime + i * 1000));
-            timestamps.add(snapshot.getTimestamp());
+            final long timestamp = startTime + i * 1000;
+            timestamps.add(new Date(timestamp));
 
-            snapshot.addStatusMetric(ProcessorStatusDescriptor.BYTES_WRITTEN.getDescriptor(), (long) i);
-
-            buffer.update(snapshot);
+            buffer.update(timestamp, createStatus(i, null));
         }
 
         assertEquals(bufferCapacity, buffer.size());
@@ -78,17 +73,13 @@ public class TestMetricRollingBuffer {
     public void testBufferShrinks() {
         // Cause buffer to grow
         final int bufferCapacity = 1000;
-        final MetricRollingBuffer buffer = new MetricRollingBuffer(bufferCapacity);
+        final MetricRollingBuffer<ProcessorStatus> buffer = new MetricRollingBuffer<>(bufferCapacity, StatusMetricLayout.PROCESSOR);
 
         final long startTime = System.currentTimeMillis();
 
         int iterations = 1440;
         for (int i = 0; i < iterations; i++) {
-            final StandardStatusSnapshot snapshot = new StandardStatusSnapshot(PROCESSOR_METRICS);
-            snapshot.setTimestamp(new Date(startTime + i * 1000));
-
-            snapshot.addStatusMetric(ProcessorStatusDescriptor.BYTES_WRITTEN.getDescriptor(), (long) i);
-            buffer.update(snapshot);
+            buffer.update(startTime + i * 1000, createStatus(i, null));
         }
 
         assertEquals(bufferCapacity, buffer.size());
@@ -108,12 +99,10 @@ public class TestMetricRollingBuffer {
         long insertStart = lastTimestamp + 10_000L;
         final List<Date> timestamps = new ArrayList<>();
         for (int i = 0; i < 4; i++) {
-            final StandardStatusSnapshot snapshot = new StandardStatusSnapshot(PROCESSOR_METRICS);
-            snapshot.setTimestamp(new Date(insertStart + i * 1000));
-            timestamps.add(snapshot.getTimestamp());
+            final long timestamp = insertStart + i * 1000;
+            timestamps.add(new Date(timestamp));
 
-            snapshot.addStatusMetric(ProcessorStatusDescriptor.BYTES_WRITTEN.getDescriptor(), (long) i);
-            buffer.update(snapshot);
+            buffer.update(timestamp, createStatus(i, null));
         }
 
         assertEquals(4, buffer.size());
@@ -124,4 +113,37 @@ public class TestMetricRollingBuffer {
             assertEquals(Long.valueOf(i), snapshot.getStatusMetric(ProcessorStatusDescriptor.BYTES_WRITTEN.getDescriptor()));
         }
     }
+
+    @Test
+    public void testCounters() {
+        final MetricRollingBuffer<ProcessorStatus> buffer = new MetricRollingBuffer<>(10, StatusMetricLayout.PROCESSOR);
+        final MetricDescriptor<?> counterDescriptor = StatusMetricLayout.PROCESSOR.getCounterDescriptor("records");
+
+        final long startTime = System.currentTimeMillis();
+        final List<Date> timestamps = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final long timestamp = startTime + i * 1000;
+            timestamps.add(new Date(timestamp));
+
+            // The counter is only reported by the second capture
+            buffer.update(timestamp, createStatus(i, i == 1 ? Map.of("records", 42L) : null));
+        }
+
+        final List<StatusSnapshot> snapshots = buffer.getSnapshots(timestamps, true, PROCESSOR_METRICS);
+        assertEquals(3, snapshots.size());
+        assertFalse(snapshots.get(0).getMetricDescriptors().contains(counterDescriptor));
+        assertEquals(Long.valueOf(42L), snapshots.get(1).getStatusMetric(counterDescriptor));
+        assertFalse(snapshots.get(2).getMetricDescriptors().contains(counterDescriptor));
+
+        final List<StatusSnapshot> snapshotsWithoutCounters = buffer.getSnapshots(timestamps, false, PROCESSOR_METRICS);
+        assertFalse(snapshotsWithoutCounters.get(1).getMetricDescriptors().contains(counterDescriptor));
+        assertEquals(Long.valueOf(1L), snapshotsWithoutCounters.get(1).getStatusMetric(ProcessorStatusDescriptor.BYTES_WRITTEN.getDescriptor()));
+    }
+
+    private static ProcessorStatus createStatus(final long bytesWritten, final Map<String, Long> counters) {
+        final ProcessorStatus status = new ProcessorStatus();
+        status.setBytesWritten(bytesWritten);
+        status.setCounters(counters);
+        return status;
+    }
 }
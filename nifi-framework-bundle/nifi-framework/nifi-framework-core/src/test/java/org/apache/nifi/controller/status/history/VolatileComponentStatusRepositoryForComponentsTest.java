@@ -16,6 +16,9 @@
  */
 package org.apache.nifi.controller.status.history;
 
+import org.apache.nifi.controller.status.NodeStatus;
+import org.apache.nifi.controller.status.ProcessGroupStatus;
+import org.apache.nifi.controller.status.ProcessorStatus;
 import org.apache.nifi.util.NiFiProperties;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -23,6 +26,7 @@ import org.mockito.Mockito;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -30,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 /**
  * This class verifies the VolatileComponentStatusRepository getConnectionStatusHistory method
@@ -222,4 +227,45 @@ public class VolatileComponentStatusRepositoryForComponentsTest {
       assertEquals(emptyRepo.timestamps.getNewestElement(), dates.get(dates.size() - 1));
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testProcessorStatusHistory() {
+    final VolatileComponentStatusRepository repo = createRepo(2);
+    for (int i = 0; i < 3; i++) {
+      // The processor is idle during the second capture
+      repo.capture(new NodeStatus(), createGroupStatus(i == 1 ? 0 : i + 1), Collections.emptyList(), new Date(i * FIVE_MINUTES));
+    }
+
+    final List<StatusSnapshot> snapshots = repo.getProcessorStatusHistory("processor", null, null, Integer.MAX_VALUE, true).getStatusSnapshots();
+    assertEquals(2, snapshots.size());
+    assertInstanceOf(EmptyStatusSnapshot.class, snapshots.get(0));
+    assertEquals(new Date(2 * FIVE_MINUTES), snapshots.get(1).getTimestamp());
+    assertEquals(Long.valueOf(3), snapshots.get(1).getStatusMetric(ProcessorStatusDescriptor.BYTES_WRITTEN.getDescriptor()));
+  }
+
+  private static ProcessGroupStatus createGroupStatus(final long bytesWritten) {
+    final ProcessorStatus processorStatus = new ProcessorStatus();
+    processorStatus.setId("processor");
+    processorStatus.setName("Processor");
+    processorStatus.setType("Processor");
+    processorStatus.setGroupId("group");
+    processorStatus.setBytesWritten(bytesWritten);
+
+    final ProcessGroupStatus groupStatus = new ProcessGroupStatus();
+    groupStatus.setId("group");
+    groupStatus.setName("Group");
+    groupStatus.setInputContentSize(0L);
+    groupStatus.setOutputContentSize(0L);
+    groupStatus.setBytesRead(0L);
+    groupStatus.setBytesWritten(0L);
+    groupStatus.setQueuedContentSize(0L);
+    groupStatus.setInputCount(0);
+    groupStatus.setOutputCount(0);
+    groupStatus.setQueuedCount(0);
+    groupStatus.setActiveThreadCount(0);
+    groupStatus.setStatelessActiveThreadCount(0);
+    groupStatus.setTerminatedThreadCount(0);
+    groupStatus.setProcessorStatus(List.of(processorStatus));
+    return groupStatus;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.controller.repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A dictionary of FlowFile attribute keys that is shared by the FlowFiles of a flow. The number of distinct attribute keys in a flow is typically
+ * very small compared to the number of FlowFiles, so {@link CompactAttributeMap} references the canonical instance of each key rather than holding
+ * its own copy. Keys are never evicted. Once the dictionary holds its maximum number of keys, any new key is returned as-is, so a flow that generates
+ * unbounded attribute names cannot exhaust the heap through the dictionary.
+ */
+public final class AttributeKeyDictionary {
+    public static final int DEFAULT_MAX_KEYS = 100_000;
+
+    private final ConcurrentMap<String, String> keys = new ConcurrentHashMap<>();
+    private final int maxKeys;
+
+    public AttributeKeyDictionary() {
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * @param maxKeys the maximum number of keys to hold
+     */
+    public AttributeKeyDictionary(final int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @param key an attribute key
+     * @return the canonical instance of the given key, or the key itself if the dictionary is full
+     */
+    public String intern(final String key) {
+        final String canonical = keys.get(key);
+        if (canonical != null) {
+            return canonical;
+        }
+
+        if (keys.size() >= maxKeys) {
+            return key;
+        }
+
+        final String existing = keys.putIfAbsent(key, key);
+        return existing == null ? key : existing;
+    }
+}
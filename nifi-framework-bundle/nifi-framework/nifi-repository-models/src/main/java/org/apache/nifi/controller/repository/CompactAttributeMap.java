@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.controller.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * An immutable, memory-efficient representation of FlowFile attributes. Keys may be canonicalized through an {@link AttributeKeyDictionary}
+ * so that each distinct key is held in the heap only once, and all values are packed, UTF-8 encoded, into a single byte array. Compared to
+ * a {@link HashMap}, this avoids an entry object and a String object per attribute, at the cost of decoding a value each time it is read.
+ * </p>
+ *
+ * <p>
+ * Updates are copy-on-write: {@link #withUpdates(Map)} returns a new map that holds only the updated attributes and references this map
+ * for all others. Once that chain reaches {@link #MAX_DEPTH} layers, the attributes are merged into a single flat map again, so that a FlowFile
+ * that is updated many times does not make lookups progressively slower.
+ * </p>
+ */
+public final class CompactAttributeMap extends AbstractMap<String, String> {
+    static final int MAX_DEPTH = 4;
+
+    private static final Comparator<String> HASH_ORDER = Comparator.comparingInt(String::hashCode);
+    private static final CompactAttributeMap EMPTY = new CompactAttributeMap(null, new String[0], new int[0], new byte[0], 0);
+
+    private final CompactAttributeMap parent;
+    // Sorted by hash code so that a key can be found using a binary search
+    private final String[] keys;
+    // The offset into 'values' at which the value for the corresponding key ends, or the one's complement of that offset if the key was removed
+    private final int[] valueEnds;
+    private final byte[] values;
+    private final int size;
+    private final int depth;
+
+    private CompactAttributeMap(final CompactAttributeMap parent, final String[] keys, final int[] valueEnds, final byte[] values, final int size) {
+        this.parent = parent;
+        this.keys = keys;
+        this.valueEnds = valueEnds;
+        this.values = values;
+        this.size = size;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+    }
+
+    /**
+     * Creates a compact representation of the given attributes
+     *
+     * @param attributes the attributes, may be <code>null</code>
+     * @return a CompactAttributeMap containing the given attributes; the given map itself if it is already a CompactAttributeMap
+     */
+    public static CompactAttributeMap of(final Map<String, String> attributes) {
+        return of(attributes, null);
+    }
+
+    /**
+     * Creates a compact representation of the given attributes
+     *
+     * @param attributes the attributes, may be <code>null</code>
+     * @param keyDictionary the dictionary through which to canonicalize the keys, or <code>null</code> to hold the keys as given
+     * @return a CompactAttributeMap containing the given attributes; the given map itself if it is already a CompactAttributeMap
+     */
+    public static CompactAttributeMap of(final Map<String, String> attributes, final AttributeKeyDictionary keyDictionary) {
+        if (attributes instanceof CompactAttributeMap compactAttributeMap) {
+            return compactAttributeMap;
+        }
+        if (attributes == null || attributes.isEmpty()) {
+            return EMPTY;
+        }
+
+        return createLayer(null, attributes, attributes.size(), keyDictionary);
+    }
+
+    /**
+     * Returns a map that contains all of the attributes of this map, updated with the given values. This map is not modified.
+     *
+     * @param updates the attributes to add or replace; a <code>null</code> value indicates that the attribute is to be removed
+     * @return a map containing the updated attributes
+     */
+    public CompactAttributeMap withUpdates(final Map<String, String> updates) {
+        return withUpdates(updates, null);
+    }
+
+    /**
+     * Returns a map that contains all of the attributes of this map, updated with the given values. This map is not modified.
+     *
+     * @param updates the attributes to add or replace; a <code>null</code> value indicates that the attribute is to be removed
+     * @param keyDictionary the dictionary through which to canonicalize the keys of the updates, or <code>null</code> to hold the keys as given
+     * @return a map containing the updated attributes
+     */
+    public CompactAttributeMap withUpdates(final Map<String, String> updates, final AttributeKeyDictionary keyDictionary) {
+        if (updates == null || updates.isEmpty()) {
+            return this;
+        }
+
+        if (depth >= MAX_DEPTH || updates.size() >= size) {
+            final Map<String, String> merged = toMap();
+            for (final Map.Entry<String, String> entry : updates.entrySet()) {
+                if (entry.getValue() == null) {
+                    merged.remove(entry.getKey());
+                } else {
+                    merged.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            return merged.isEmpty() ? EMPTY : createLayer(null, merged, merged.size(), keyDictionary);
+        }
+
+        final Map<String, String> changes = new HashMap<>(updates.size() * 4 / 3 + 1);
+        int updatedSize = size;
+        for (final Map.Entry<String, String> entry : updates.entrySet()) {
+            final boolean present = containsKey(entry.getKey());
+            if (entry.getValue() == null) {
+                if (present) {
+                    changes.put(entry.getKey(), null);
+                    updatedSize--;
+                }
+            } else {
+                changes.put(entry.getKey(), entry.getValue());
+                if (!present) {
+                    updatedSize++;
+                }
+            }
+        }
+
+        return changes.isEmpty() ? this : createLayer(this, changes, updatedSize, keyDictionary);
+    }
+
+    private static CompactAttributeMap createLayer(final CompactAttributeMap parent, final Map<String, String> entries, final int size,
+                                                   final AttributeKeyDictionary keyDictionary) {
+        final String[] keys = new String[entries.size()];
+        int index = 0;
+        for (final String key : entries.keySet()) {
+            keys[index++] = keyDictionary == null ? key : keyDictionary.intern(key);
+        }
+        Arrays.sort(keys, HASH_ORDER);
+
+        final byte[][] encoded = new byte[keys.length][];
+        int totalLength = 0;
+        for (int i = 0; i < keys.length; i++) {
+            final String value = entries.get(keys[i]);
+            if (value != null) {
+                encoded[i] = value.getBytes(StandardCharsets.UTF_8);
+                totalLength += encoded[i].length;
+            }
+        }
+
+        final byte[] values = new byte[totalLength];
+        final int[] valueEnds = new int[keys.length];
+        int offset = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (encoded[i] == null) {
+                valueEnds[i] = ~offset;
+            } else {
+                System.arraycopy(encoded[i], 0, values, offset, encoded[i].length);
+                offset += encoded[i].length;
+                valueEnds[i] = offset;
+            }
+        }
+
+        return new CompactAttributeMap(parent, keys, valueEnds, values, size);
+    }
+
+    private int indexOf(final String key) {
+        final int hash = key.hashCode();
+        int low = 0;
+        int high = keys.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midHash = keys[mid].hashCode();
+            if (midHash < hash) {
+                low = mid + 1;
+            } else if (midHash > hash) {
+                high = mid - 1;
+            } else {
+                // Multiple keys may share a hash code, so scan in both directions
+                for (int i = mid; i >= 0 && keys[i].hashCode() == hash; i--) {
+                    if (keys[i].equals(key)) {
+                        return i;
+                    }
+                }
+                for (int i = mid + 1; i < keys.length && keys[i].hashCode() == hash; i++) {
+                    if (keys[i].equals(key)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int end(final int encodedEnd) {
+        return encodedEnd < 0 ? ~encodedEnd : encodedEnd;
+    }
+
+    private String valueAt(final int index) {
+        final int encodedEnd = valueEnds[index];
+        if (encodedEnd < 0) {
+            return null;
+        }
+
+        final int start = index == 0 ? 0 : end(valueEnds[index - 1]);
+        return new String(values, start, encodedEnd - start, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String get(final Object key) {
+        if (!(key instanceof String attributeKey)) {
+            return null;
+        }
+
+        for (CompactAttributeMap layer = this; layer != null; layer = layer.parent) {
+            final int index = layer.indexOf(attributeKey);
+            if (index >= 0) {
+                return layer.valueAt(index);
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (!(key instanceof String attributeKey)) {
+            return false;
+        }
+
+        for (CompactAttributeMap layer = this; layer != null; layer = layer.parent) {
+            final int index = layer.indexOf(attributeKey);
+            if (index >= 0) {
+                return layer.valueEnds[index] >= 0;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of layers that this map references, not including itself
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    private HashMap<String, String> toMap() {
+        final HashMap<String, String> map = parent == null ? new HashMap<>(size * 4 / 3 + 1) : parent.toMap();
+        for (int i = 0; i < keys.length; i++) {
+            if (valueEnds[i] < 0) {
+                map.remove(keys[i]);
+            } else {
+                map.put(keys[i], valueAt(i));
+            }
+        }
+
+        return map;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                if (parent == null) {
+                    return new FlatEntryIterator();
+                }
+
+                return Collections.unmodifiableMap(toMap()).entrySet().iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private class FlatEntryIterator implements Iterator<Entry<String, String>> {
+        private int index = 0;
+
+        @Override
+        public boolean hasNext() {
+            return index < keys.length;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (index >= keys.length) {
+                throw new NoSuchElementException();
+            }
+
+            final Entry<String, String> entry = new SimpleImmutableEntry<>(keys[index], valueAt(index));
+            index++;
+            return entry;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -56,7 +57,7 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
 
     private StandardFlowFileRecord(final Builder builder) {
         this.id = builder.bId;
-        this.attributes = builder.bAttributes == null ? Collections.emptyMap() : builder.bAttributes;
+        this.attributes = builder.buildAttributes();
         this.entryDate = builder.bEntryDate;
         this.lineageStartDate = builder.bLineageStartDate;
         this.lineageStartIndex = builder.bLineageStartIndex;
@@ -184,6 +185,23 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
         private long bQueueDateIndex = 0L;
         private Map<String, String> bAttributes;
         private boolean bAttributesCopied = false;
+        // Used only for COMPACT attribute storage: attributes to update in bAttributes, with a null value for attributes to remove
+        private boolean bCompactAttributes = false;
+        private AttributeKeyDictionary bKeyDictionary;
+        private Map<String, String> bAttributeUpdates;
+
+        /**
+         * Holds the attributes of the record in a {@link CompactAttributeMap} rather than a HashMap, as with {@link AttributeStorage#COMPACT}.
+         * Records that are built from a record with compact attributes keep them compact whether or not this is called.
+         *
+         * @param keyDictionary the dictionary through which attribute keys are canonicalized
+         * @return this builder
+         */
+        public Builder compactAttributes(final AttributeKeyDictionary keyDictionary) {
+            bCompactAttributes = true;
+            bKeyDictionary = Objects.requireNonNull(keyDictionary, "Attribute Key Dictionary required");
+            return this;
+        }
 
         public Builder id(final long id) {
             bId = id;
@@ -225,15 +243,44 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
             return bAttributes;
         }
 
+        private Map<String, String> initializeAttributeUpdates() {
+            if (bAttributeUpdates == null) {
+                bAttributeUpdates = new HashMap<>();
+            }
+
+            return bAttributeUpdates;
+        }
+
+        private Map<String, String> buildAttributes() {
+            if (bCompactAttributes) {
+                return CompactAttributeMap.of(bAttributes, bKeyDictionary).withUpdates(bAttributeUpdates, bKeyDictionary);
+            }
+
+            return bAttributes == null ? Collections.emptyMap() : bAttributes;
+        }
+
+        private void removeAttribute(final String key) {
+            if (bCompactAttributes) {
+                initializeAttributeUpdates().put(key, null);
+            } else {
+                initializeAttributes().remove(key);
+            }
+        }
+
         public Builder addAttribute(final String key, final String value) {
             if (key != null && value != null) {
-                initializeAttributes().put(FlowFile.KeyValidator.validateKey(key), value);
+                final String validatedKey = FlowFile.KeyValidator.validateKey(key);
+                if (bCompactAttributes) {
+                    initializeAttributeUpdates().put(validatedKey, value);
+                } else {
+                    initializeAttributes().put(validatedKey, value);
+                }
             }
             return this;
         }
 
         public Builder addAttributes(final Map<String, String> attributes) {
-            final Map<String, String> initializedAttributes = initializeAttributes();
+            final Map<String, String> initializedAttributes = bCompactAttributes ? initializeAttributeUpdates() : initializeAttributes();
 
             if (null != attributes) {
                 for (final String key : attributes.keySet()) {
@@ -257,7 +304,7 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
                         continue;
                     }
 
-                    initializeAttributes().remove(key);
+                    removeAttribute(key);
                 }
             }
             return this;
@@ -270,14 +317,28 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
                         continue;
                     }
 
-                    initializeAttributes().remove(key);
+                    removeAttribute(key);
                 }
             }
             return this;
         }
 
         public Builder removeAttributes(final Pattern keyPattern) {
-            if (keyPattern != null) {
+            if (keyPattern != null && bCompactAttributes) {
+                final Set<String> keys = new HashSet<>();
+                if (bAttributes != null) {
+                    keys.addAll(bAttributes.keySet());
+                }
+                if (bAttributeUpdates != null) {
+                    keys.addAll(bAttributeUpdates.keySet());
+                }
+
+                for (final String key : keys) {
+                    if (!CoreAttributes.UUID.key().equals(key) && keyPattern.matcher(key).matches()) {
+                        removeAttribute(key);
+                    }
+                }
+            } else if (keyPattern != null) {
                 final Iterator<String> iterator = initializeAttributes().keySet().iterator();
                 while (iterator.hasNext()) {
                     final String key = iterator.next();
@@ -328,6 +389,8 @@ public final class StandardFlowFileRecord implements FlowFile, FlowFileRecord {
             // UnmodifiableMap, though, so that Processors cannot directly modify that Map.
             bAttributes = specFlowFile instanceof StandardFlowFileRecord ? ((StandardFlowFileRecord) specFlowFile).attributes : specFlowFile.getAttributes();
             bAttributesCopied = false;
+            bAttributeUpdates = null;
+            bCompactAttributes |= bAttributes instanceof CompactAttributeMap;
             bClaim = specFlowFile.getContentClaim();
             bClaimOffset = specFlowFile.getContentClaimOffset();
             bLastQueueDate = specFlowFile.getLastQueueDate();
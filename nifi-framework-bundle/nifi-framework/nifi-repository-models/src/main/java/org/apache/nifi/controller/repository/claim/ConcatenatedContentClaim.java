@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository.claim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A ContentClaim whose content is the concatenation of the content of other claims, rather than a section of a single {@link ResourceClaim}.
+ * The content of the claim is the header, followed by the content of each segment with the demarcator between each pair of segments,
+ * followed by the footer. Each segment is a claim whose offset and length identify exactly the content that it contributes, and is either
+ * a {@link StandardContentClaim} or an {@link InlineContentClaim}.
+ * </p>
+ *
+ * <p>
+ * A concatenated claim has no Resource Claim of its own. Instead, it holds a claimant count on the Resource Claim of each of its segments,
+ * so that the content that it references is neither archived nor destroyed while the claim is in use.
+ * </p>
+ *
+ * <p>
+ * Concatenated claims are immutable and are equal to one another when they have the same segments, header, footer and demarcator.
+ * </p>
+ */
+public final class ConcatenatedContentClaim implements ContentClaim {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final List<ContentClaim> segments;
+    private final byte[] header;
+    private final byte[] footer;
+    private final byte[] demarcator;
+    private final long length;
+
+    /**
+     * @param segments the claims whose content is concatenated, in order, each of which must have a known length
+     * @param header the bytes that precede the first segment, or <code>null</code>
+     * @param footer the bytes that follow the last segment, or <code>null</code>
+     * @param demarcator the bytes between each pair of segments, or <code>null</code>
+     */
+    public ConcatenatedContentClaim(final List<ContentClaim> segments, final byte[] header, final byte[] footer, final byte[] demarcator) {
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("A Concatenated Content Claim must have at least one segment");
+        }
+
+        this.segments = Collections.unmodifiableList(new ArrayList<>(segments));
+        this.header = header == null ? EMPTY : header;
+        this.footer = footer == null ? EMPTY : footer;
+        this.demarcator = demarcator == null ? EMPTY : demarcator;
+
+        long totalLength = this.header.length + this.footer.length + (long) this.demarcator.length * (segments.size() - 1);
+        for (final ContentClaim segment : segments) {
+            if (segment.getLength() < 0) {
+                throw new IllegalArgumentException("Cannot concatenate " + segment + " because its length is not known");
+            }
+
+            totalLength += segment.getLength();
+        }
+        this.length = totalLength;
+    }
+
+    /**
+     * @return the claims whose content is concatenated, in order
+     */
+    public List<ContentClaim> getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return the bytes that precede the first segment, which may be empty but are never <code>null</code>
+     */
+    public byte[] getHeader() {
+        return header;
+    }
+
+    /**
+     * @return the bytes that follow the last segment, which may be empty but are never <code>null</code>
+     */
+    public byte[] getFooter() {
+        return footer;
+    }
+
+    /**
+     * @return the bytes between each pair of segments, which may be empty but are never <code>null</code>
+     */
+    public byte[] getDemarcator() {
+        return demarcator;
+    }
+
+    @Override
+    public ResourceClaim getResourceClaim() {
+        return null;
+    }
+
+    @Override
+    public List<ResourceClaim> getResourceClaims() {
+        final List<ResourceClaim> resourceClaims = new ArrayList<>(segments.size());
+        for (final ContentClaim segment : segments) {
+            final ResourceClaim resourceClaim = segment.getResourceClaim();
+            if (resourceClaim != null) {
+                resourceClaims.add(resourceClaim);
+            }
+        }
+
+        return resourceClaims;
+    }
+
+    @Override
+    public long getOffset() {
+        return 0L;
+    }
+
+    @Override
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = segments.hashCode();
+        result = 31 * result + Arrays.hashCode(header);
+        result = 31 * result + Arrays.hashCode(footer);
+        result = 31 * result + Arrays.hashCode(demarcator);
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof ConcatenatedContentClaim other)) {
+            return false;
+        }
+
+        return segments.equals(other.segments) && Arrays.equals(header, other.header) && Arrays.equals(footer, other.footer)
+            && Arrays.equals(demarcator, other.demarcator);
+    }
+
+    @Override
+    public int compareTo(final ContentClaim o) {
+        if (o instanceof InlineContentClaim) {
+            return 1;
+        }
+        if (!(o instanceof ConcatenatedContentClaim other)) {
+            // Concatenated claims are ordered after Inline claims and before all claims that reference a Resource Claim
+            return -1;
+        }
+
+        final int segmentCountComparison = Integer.compare(segments.size(), other.segments.size());
+        if (segmentCountComparison != 0) {
+            return segmentCountComparison;
+        }
+
+        for (int i = 0; i < segments.size(); i++) {
+            final int segmentComparison = segments.get(i).compareTo(other.segments.get(i));
+            if (segmentComparison != 0) {
+                return segmentComparison;
+            }
+        }
+
+        final int headerComparison = Arrays.compare(header, other.header);
+        if (headerComparison != 0) {
+            return headerComparison;
+        }
+
+        final int footerComparison = Arrays.compare(footer, other.footer);
+        if (footerComparison != 0) {
+            return footerComparison;
+        }
+
+        return Arrays.compare(demarcator, other.demarcator);
+    }
+
+    @Override
+    public String toString() {
+        return "ConcatenatedContentClaim [segments=" + segments.size() + ", length=" + length + "]";
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository.claim;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A ContentClaim that holds the content of a FlowFile itself, rather than referencing a section of a {@link ResourceClaim}. Inline claims
+ * are created by the session for content that is no larger than the maximum inline content size of the Content Repository, and they are
+ * persisted along with the FlowFile in the FlowFile Repository and in swap files. As an inline claim has no Resource Claim, it has no
+ * claimant count and is never archived or destroyed; its content is released when the claim is no longer referenced.
+ * </p>
+ *
+ * <p>
+ * Inline claims are immutable and are equal to one another when they hold the same content.
+ * </p>
+ */
+public final class InlineContentClaim implements ContentClaim {
+
+    private final byte[] content;
+
+    /**
+     * @param content the content of the claim, which must not be modified once the claim has been created
+     */
+    public InlineContentClaim(final byte[] content) {
+        this.content = content;
+    }
+
+    /**
+     * @return the content of the claim, which must not be modified
+     */
+    public byte[] getContent() {
+        return content;
+    }
+
+    /**
+     * @return a new InputStream of the content of the claim
+     */
+    public InputStream read() {
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public ResourceClaim getResourceClaim() {
+        return null;
+    }
+
+    @Override
+    public long getOffset() {
+        return 0L;
+    }
+
+    @Override
+    public long getLength() {
+        return content.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(content);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof InlineContentClaim other)) {
+            return false;
+        }
+
+        return Arrays.equals(content, other.content);
+    }
+
+    @Override
+    public int compareTo(final ContentClaim o) {
+        if (o instanceof InlineContentClaim other) {
+            return Arrays.compare(content, other.content);
+        }
+
+        // Inline claims are ordered before all other claims
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "InlineContentClaim [length=" + content.length + "]";
+    }
+}
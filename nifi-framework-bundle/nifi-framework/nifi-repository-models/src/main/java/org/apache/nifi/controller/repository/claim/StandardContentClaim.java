@@ -79,6 +79,11 @@ public final class StandardContentClaim implements ContentClaim, Comparable<Cont
 
     @Override
     public int compareTo(final ContentClaim o) {
+        // Inline and Concatenated Content Claims have no Resource Claim and are ordered before all other claims
+        if (o.getResourceClaim() == null) {
+            return 1;
+        }
+
         final int resourceComp = resourceClaim.compareTo(o.getResourceClaim());
         if (resourceComp != 0) {
             return resourceComp;
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.controller.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCompactAttributeMap {
+
+    @Test
+    public void testEqualToSourceMap() {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("filename", "file.txt");
+        attributes.put("path", "./");
+        attributes.put("unicode", "été 漢字");
+        attributes.put("empty", "");
+
+        final CompactAttributeMap compact = CompactAttributeMap.of(attributes);
+        assertEquals(attributes, compact);
+        assertEquals(attributes.hashCode(), compact.hashCode());
+        assertEquals("été 漢字", compact.get("unicode"));
+        assertEquals("", compact.get("empty"));
+        assertTrue(compact.containsKey("empty"));
+        assertNull(compact.get("missing"));
+        assertThrows(UnsupportedOperationException.class, () -> compact.put("filename", "other.txt"));
+    }
+
+    @Test
+    public void testKeysWithSameHashCode() {
+        // "Aa" and "BB" have the same hash code
+        final CompactAttributeMap compact = CompactAttributeMap.of(Map.of("Aa", "1", "BB", "2", "C", "3"));
+        assertEquals("1", compact.get("Aa"));
+        assertEquals("2", compact.get("BB"));
+        assertEquals("3", compact.get("C"));
+        assertNull(compact.get("AaAa"));
+    }
+
+    @Test
+    public void testUpdatesDoNotModifyOriginal() {
+        final Map<String, String> attributes = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            attributes.put("attribute-" + i, String.valueOf(i));
+        }
+        final CompactAttributeMap original = CompactAttributeMap.of(attributes);
+
+        final Map<String, String> updates = new HashMap<>();
+        updates.put("attribute-1", "updated");
+        updates.put("attribute-2", null);
+        updates.put("attribute-missing", null);
+        updates.put("new-attribute", "new");
+        final CompactAttributeMap updated = original.withUpdates(updates);
+
+        assertEquals(1, updated.getDepth());
+        assertEquals(10, updated.size());
+        assertEquals("updated", updated.get("attribute-1"));
+        assertFalse(updated.containsKey("attribute-2"));
+        assertEquals("new", updated.get("new-attribute"));
+        assertEquals("3", updated.get("attribute-3"));
+
+        final Map<String, String> expected = new HashMap<>(attributes);
+        expected.put("attribute-1", "updated");
+        expected.remove("attribute-2");
+        expected.put("new-attribute", "new");
+        assertEquals(expected, updated);
+
+        assertEquals(attributes, original);
+    }
+
+    @Test
+    public void testLayersFlattenedAtMaxDepth() {
+        final Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            expected.put("attribute-" + i, String.valueOf(i));
+        }
+
+        CompactAttributeMap compact = CompactAttributeMap.of(expected);
+        for (int i = 0; i < CompactAttributeMap.MAX_DEPTH * 3; i++) {
+            compact = compact.withUpdates(Map.of("attribute-" + i, "updated-" + i));
+            expected.put("attribute-" + i, "updated-" + i);
+
+            assertTrue(compact.getDepth() <= CompactAttributeMap.MAX_DEPTH);
+            assertEquals(expected, compact);
+        }
+    }
+
+    @Test
+    public void testBuilderWithCompactStorage() {
+        final AttributeKeyDictionary keyDictionary = new AttributeKeyDictionary();
+        final FlowFileRecord original = new StandardFlowFileRecord.Builder()
+            .compactAttributes(keyDictionary)
+            .id(1L)
+            .addAttribute("uuid", "11111111-1111-1111-1111-111111111111")
+            .addAttributes(Map.of("filename", "file.txt", "tmp.a", "a", "tmp.b", "b"))
+            .build();
+        assertEquals(Map.of("uuid", "11111111-1111-1111-1111-111111111111", "filename", "file.txt", "tmp.a", "a", "tmp.b", "b"), original.getAttributes());
+
+        final FlowFileRecord updated = new StandardFlowFileRecord.Builder()
+            .fromFlowFile(original)
+            .addAttribute("filename", "renamed.txt")
+            .removeAttributes(Pattern.compile("tmp\\..*"))
+            .removeAttributes("uuid")
+            .build();
+
+        assertEquals(Map.of("uuid", "11111111-1111-1111-1111-111111111111", "filename", "renamed.txt"), updated.getAttributes());
+        assertEquals("file.txt", original.getAttribute("filename"));
+        assertEquals("a", original.getAttribute("tmp.a"));
+
+        final FlowFileRecord unchanged = new StandardFlowFileRecord.Builder().fromFlowFile(updated).size(10L).build();
+        assertEquals(updated.getAttributes(), unchanged.getAttributes());
+    }
+
+    @Test
+    public void testKeysSharedThroughDictionary() {
+        final AttributeKeyDictionary keyDictionary = new AttributeKeyDictionary();
+        final CompactAttributeMap first = CompactAttributeMap.of(Map.of(new String("filename"), "a.txt"), keyDictionary);
+        final CompactAttributeMap second = CompactAttributeMap.of(Map.of(new String("filename"), "b.txt"), keyDictionary);
+        assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+
+        final CompactAttributeMap unshared = CompactAttributeMap.of(Map.of(new String("filename"), "c.txt"));
+        assertNotSame(first.keySet().iterator().next(), unshared.keySet().iterator().next());
+    }
+
+    @Test
+    public void testDictionaryFull() {
+        final AttributeKeyDictionary keyDictionary = new AttributeKeyDictionary(1);
+        assertEquals("first", keyDictionary.intern("first"));
+
+        final String second = new String("second");
+        assertSame(second, keyDictionary.intern(second));
+        assertNotSame(second, keyDictionary.intern(new String("second")));
+    }
+}
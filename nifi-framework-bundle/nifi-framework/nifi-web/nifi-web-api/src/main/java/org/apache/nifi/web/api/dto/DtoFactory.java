@@ -694,10 +694,12 @@ public final class DtoFactory {
        final ContentClaim contentClaim = record.getContentClaim();
        if (contentClaim != null) {
            final ResourceClaim resourceClaim = contentClaim.getResourceClaim();
-           dto.setContentClaimSection(resourceClaim.getSection());
-           dto.setContentClaimContainer(resourceClaim.getContainer());
-           dto.setContentClaimIdentifier(resourceClaim.getId());
-           dto.setContentClaimOffset(contentClaim.getOffset() + record.getContentClaimOffset());
+           if (resourceClaim != null) {
+               dto.setContentClaimSection(resourceClaim.getSection());
+               dto.setContentClaimContainer(resourceClaim.getContainer());
+               dto.setContentClaimIdentifier(resourceClaim.getId());
+               dto.setContentClaimOffset(contentClaim.getOffset() + record.getContentClaimOffset());
+           }
            dto.setContentClaimFileSizeBytes(record.getSize());
            dto.setContentClaimFileSize(FormatUtils.formatDataSize(record.getSize()));
        }
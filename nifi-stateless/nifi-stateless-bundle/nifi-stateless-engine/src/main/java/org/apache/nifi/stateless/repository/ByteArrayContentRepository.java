@@ -22,6 +22,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
@@ -190,6 +191,16 @@ public class ByteArrayContentRepository implements ContentRepository {
         return byteArrayContentClaim.read();
     }
 
+    @Override
+    public ByteBuffer readAsByteBuffer(final ContentClaim claim) {
+        if (claim == null) {
+            return ByteBuffer.allocate(0).asReadOnlyBuffer();
+        }
+
+        final byte[] contents = verifyClaim(claim).resourceClaim.contents;
+        return contents == null ? ByteBuffer.allocate(0).asReadOnlyBuffer() : ByteBuffer.wrap(contents).asReadOnlyBuffer();
+    }
+
     @Override
     public InputStream read(final ResourceClaim claim) {
         if (claim == null) {
@@ -25,6 +25,7 @@ import org.apache.nifi.controller.repository.QueueProvider;
 import org.apache.nifi.controller.repository.RepositoryRecord;
 import org.apache.nifi.controller.repository.RepositoryRecordType;
 import org.apache.nifi.controller.repository.claim.ContentClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaim;
 import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
 
 import java.io.IOException;
@@ -82,7 +83,9 @@ public class StatelessFlowFileRepository implements FlowFileRepository {
             return;
         }
 
-        claimManager.decrementClaimantCount(claim.getResourceClaim());
+        for (final ResourceClaim resourceClaim : claim.getResourceClaims()) {
+            claimManager.decrementClaimantCount(resourceClaim);
+        }
     }
 
     @Override
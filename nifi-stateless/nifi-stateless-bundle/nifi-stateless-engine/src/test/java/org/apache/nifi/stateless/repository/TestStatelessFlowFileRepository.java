@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.stateless.repository;
+
+import org.apache.nifi.controller.repository.FlowFileRecord;
+import org.apache.nifi.controller.repository.RepositoryRecord;
+import org.apache.nifi.controller.repository.StandardFlowFileRecord;
+import org.apache.nifi.controller.repository.StandardRepositoryRecord;
+import org.apache.nifi.controller.repository.claim.ConcatenatedContentClaim;
+import org.apache.nifi.controller.repository.claim.ContentClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaim;
+import org.apache.nifi.controller.repository.claim.ResourceClaimManager;
+import org.apache.nifi.controller.repository.claim.StandardContentClaim;
+import org.apache.nifi.controller.repository.claim.StandardResourceClaimManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestStatelessFlowFileRepository {
+    private ResourceClaimManager claimManager;
+    private StatelessFlowFileRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        claimManager = new StandardResourceClaimManager();
+        repository = new StatelessFlowFileRepository();
+        repository.initialize(claimManager);
+    }
+
+    @Test
+    public void testRemovingMergedFlowFileReleasesSegmentClaims() throws IOException {
+        final ResourceClaim firstResourceClaim = claimManager.newResourceClaim("container", "section", "1", false, false);
+        final ResourceClaim secondResourceClaim = claimManager.newResourceClaim("container", "section", "2", false, false);
+        final FlowFileRecord first = createFlowFile(1L, createClaim(firstResourceClaim));
+        final FlowFileRecord second = createFlowFile(2L, createClaim(secondResourceClaim));
+
+        // Merging references the content of the sources, holding a claimant count on the Resource Claim of each segment
+        final ContentClaim mergedClaim = new ConcatenatedContentClaim(List.of(first.getContentClaim(), second.getContentClaim()), null, null, null);
+        mergedClaim.getResourceClaims().forEach(claimManager::incrementClaimantCount);
+        final FlowFileRecord merged = createFlowFile(3L, mergedClaim);
+
+        repository.updateRepository(List.of(createDeleteRecord(first), createDeleteRecord(second)));
+        assertEquals(1, claimManager.getClaimantCount(firstResourceClaim));
+        assertEquals(1, claimManager.getClaimantCount(secondResourceClaim));
+
+        repository.updateRepository(List.of(createDeleteRecord(merged)));
+        assertEquals(0, claimManager.getClaimantCount(firstResourceClaim));
+        assertEquals(0, claimManager.getClaimantCount(secondResourceClaim));
+    }
+
+    private ContentClaim createClaim(final ResourceClaim resourceClaim) {
+        claimManager.incrementClaimantCount(resourceClaim);
+
+        final StandardContentClaim claim = new StandardContentClaim(resourceClaim, 0L);
+        claim.setLength(10L);
+        return claim;
+    }
+
+    private FlowFileRecord createFlowFile(final long id, final ContentClaim claim) {
+        return new StandardFlowFileRecord.Builder()
+            .id(id)
+            .contentClaim(claim)
+            .size(claim.getLength())
+            .build();
+    }
+
+    private RepositoryRecord createDeleteRecord(final FlowFileRecord flowFile) {
+        final StandardRepositoryRecord record = new StandardRepositoryRecord(null, flowFile);
+        record.markForDelete();
+        return record;
+    }
+}